@@ -0,0 +1,47 @@
+package app.tempest.ims.entity;
+
+import app.tempest.common.entity.TenantAwareEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * On-hand and reserved quantity for a SKU within a tenant.
+ * Quantities are written in batches by InventoryLedgerWriter, never row-by-row.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "inventory_balances", uniqueConstraints = {
+                @UniqueConstraint(name = "uk_inventory_balances_tenant_sku", columnNames = { "tenant_id", "sku" })
+})
+public class InventoryBalance extends TenantAwareEntity {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(name = "sku", nullable = false)
+        private String sku;
+
+        @Column(name = "on_hand_quantity", nullable = false)
+        private long onHandQuantity;
+
+        @Column(name = "reserved_quantity", nullable = false)
+        private long reservedQuantity;
+
+        public long getAvailableQuantity() {
+                return onHandQuantity - reservedQuantity;
+        }
+}
@@ -0,0 +1,57 @@
+package app.tempest.ims.entity;
+
+import app.tempest.common.entity.TenantAwareEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Quantity of a SKU held for an order.
+ * Status moves RESERVED -> CONSUMED (picked) or RESERVED -> RELEASED (cancelled).
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "inventory_reservations", uniqueConstraints = {
+                @UniqueConstraint(name = "uk_inventory_reservations_tenant_order_sku", columnNames = {
+                                "tenant_id", "order_id", "sku" })
+}, indexes = {
+                @Index(name = "idx_inventory_reservations_tenant_reservation", columnList = "tenant_id, reservation_id")
+})
+public class InventoryReservation extends TenantAwareEntity {
+        public static final String STATUS_RESERVED = "RESERVED";
+        public static final String STATUS_CONSUMED = "CONSUMED";
+        public static final String STATUS_RELEASED = "RELEASED";
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(name = "reservation_id", nullable = false)
+        private String reservationId;
+
+        @Column(name = "order_id", nullable = false)
+        private Long orderId;
+
+        @Column(name = "sku", nullable = false)
+        private String sku;
+
+        @Column(name = "quantity", nullable = false)
+        private int quantity;
+
+        @Column(name = "status", nullable = false)
+        private String status;
+}
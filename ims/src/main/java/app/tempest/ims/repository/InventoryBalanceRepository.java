@@ -0,0 +1,22 @@
+package app.tempest.ims.repository;
+
+import app.tempest.ims.entity.InventoryBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for InventoryBalance entities.
+ * Reads only - balance quantities are written in batches by InventoryLedgerWriter.
+ */
+@Repository
+public interface InventoryBalanceRepository extends JpaRepository<InventoryBalance, Long> {
+
+    /**
+     * Find the balances of the given SKUs within a tenant.
+     * Used to warm the ATP cache for a batch in one query.
+     */
+    List<InventoryBalance> findByTenantIdAndSkuIn(String tenantId, Collection<String> skus);
+}
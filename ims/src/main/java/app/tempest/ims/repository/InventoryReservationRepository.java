@@ -0,0 +1,27 @@
+package app.tempest.ims.repository;
+
+import app.tempest.ims.entity.InventoryReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for InventoryReservation entities.
+ * Reads only - reservations are written in batches by InventoryLedgerWriter.
+ */
+@Repository
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservation, Long> {
+
+    /**
+     * Find all reservations for the given orders within a tenant.
+     * Used to make allocation retries idempotent in one query per batch.
+     */
+    List<InventoryReservation> findByTenantIdAndOrderIdIn(String tenantId, Collection<Long> orderIds);
+
+    /**
+     * Find all reservations for an order within a tenant.
+     */
+    List<InventoryReservation> findByTenantIdAndOrderId(String tenantId, Long orderId);
+}
@@ -0,0 +1,200 @@
+package app.tempest.ims.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+import app.tempest.ims.entity.InventoryBalance;
+import app.tempest.ims.repository.InventoryBalanceRepository;
+
+/**
+ * In-memory available-to-promise counters keyed by (tenant, sku).
+ *
+ * Reservations are taken with a compare-and-set loop on a single counter, so
+ * concurrent reservations of a hot SKU never block each other or touch a
+ * Postgres row. Cache misses are loaded from inventory_balances under one of a
+ * fixed set of striped locks, so a cold SKU is loaded once without serializing
+ * loads of unrelated SKUs.
+ *
+ * Each counter also remembers the available quantity this instance has
+ * committed to inventory_balances. InventoryLedgerWriter periodically calls
+ * reconcile, which re-reads the balances and adds any difference to the
+ * counters, so changes made by another IMS instance or directly in the database
+ * are picked up within one reconcile interval. Until then the balance CHECK
+ * constraint rejects any write that would oversell.
+ */
+@Slf4j
+@Component
+public class AtpCache {
+
+    private static final int LOAD_LOCK_STRIPES = 64;
+
+    // SKUs per balance query when reconciling
+    private static final int RECONCILE_CHUNK_SIZE = 1000;
+
+    public record BalanceKey(String tenantId, String sku) {
+    }
+
+    /**
+     * Available-to-promise counter, and the available quantity this instance
+     * last knew to be committed for the SKU. Only the ledger writer thread
+     * changes the committed quantity once the counter is loaded.
+     */
+    private record Counter(AtomicLong available, AtomicLong committed) {
+
+        Counter(long quantity) {
+            this(new AtomicLong(quantity), new AtomicLong(quantity));
+        }
+    }
+
+    private final InventoryBalanceRepository balanceRepository;
+    private final ConcurrentHashMap<BalanceKey, Counter> available = new ConcurrentHashMap<>();
+    private final ReentrantLock[] loadLocks = new ReentrantLock[LOAD_LOCK_STRIPES];
+
+    public AtpCache(InventoryBalanceRepository balanceRepository) {
+        this.balanceRepository = balanceRepository;
+        for (int i = 0; i < LOAD_LOCK_STRIPES; i++) {
+            loadLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Make sure counters for the given SKUs are loaded, querying the database
+     * once per lock stripe for the SKUs that are not cached yet.
+     */
+    public void ensureLoaded(String tenantId, Collection<String> skus) {
+        Map<Integer, List<String>> missingByStripe = new HashMap<>();
+        for (String sku : skus) {
+            BalanceKey key = new BalanceKey(tenantId, sku);
+            if (!available.containsKey(key)) {
+                missingByStripe.computeIfAbsent(stripe(key), s -> new ArrayList<>()).add(sku);
+            }
+        }
+
+        for (Map.Entry<Integer, List<String>> entry : missingByStripe.entrySet()) {
+            ReentrantLock lock = loadLocks[entry.getKey()];
+            lock.lock();
+            try {
+                List<String> stillMissing = entry.getValue().stream()
+                        .filter(sku -> !available.containsKey(new BalanceKey(tenantId, sku)))
+                        .distinct()
+                        .toList();
+                if (stillMissing.isEmpty()) {
+                    continue;
+                }
+                for (InventoryBalance balance : balanceRepository.findByTenantIdAndSkuIn(tenantId, stillMissing)) {
+                    available.putIfAbsent(new BalanceKey(tenantId, balance.getSku()),
+                            new Counter(balance.getAvailableQuantity()));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Whether a balance exists (and is loaded) for the SKU.
+     */
+    public boolean isKnown(String tenantId, String sku) {
+        return available.containsKey(new BalanceKey(tenantId, sku));
+    }
+
+    /**
+     * Current available-to-promise quantity, or empty if the SKU has no balance.
+     */
+    public OptionalLong getAvailable(String tenantId, String sku) {
+        Counter counter = available.get(new BalanceKey(tenantId, sku));
+        return counter == null ? OptionalLong.empty() : OptionalLong.of(counter.available().get());
+    }
+
+    /**
+     * Atomically take quantity from the available counter.
+     *
+     * @return true if the full quantity was reserved, false if the SKU is
+     *         unknown or does not have enough available
+     */
+    public boolean tryReserve(String tenantId, String sku, long quantity) {
+        Counter counter = available.get(new BalanceKey(tenantId, sku));
+        if (counter == null) {
+            return false;
+        }
+        while (true) {
+            long current = counter.available().get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.available().compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Return quantity to the available counter (rolled-back or released reservation).
+     */
+    public void giveBack(String tenantId, String sku, long quantity) {
+        Counter counter = available.get(new BalanceKey(tenantId, sku));
+        if (counter != null) {
+            counter.available().addAndGet(quantity);
+        }
+    }
+
+    /**
+     * Record a change to the SKU's available quantity that this instance has
+     * just committed. Called by the ledger writer thread only.
+     */
+    void committed(BalanceKey key, long availableDelta) {
+        Counter counter = available.get(key);
+        if (counter != null) {
+            counter.committed().addAndGet(availableDelta);
+        }
+    }
+
+    /**
+     * Re-read the balance of every cached SKU and add whatever changed in the
+     * database since this instance last committed it to the counter. Called by
+     * the ledger writer thread between flushes, so every write this instance
+     * has committed is already reflected in the committed quantities.
+     */
+    void reconcile() {
+        Map<String, List<String>> skusByTenant = new HashMap<>();
+        for (BalanceKey key : Set.copyOf(available.keySet())) {
+            skusByTenant.computeIfAbsent(key.tenantId(), t -> new ArrayList<>()).add(key.sku());
+        }
+
+        int drifted = 0;
+        for (Map.Entry<String, List<String>> entry : skusByTenant.entrySet()) {
+            List<String> skus = entry.getValue();
+            for (int from = 0; from < skus.size(); from += RECONCILE_CHUNK_SIZE) {
+                List<String> chunk = skus.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, skus.size()));
+                for (InventoryBalance balance : balanceRepository.findByTenantIdAndSkuIn(entry.getKey(), chunk)) {
+                    Counter counter = available.get(new BalanceKey(entry.getKey(), balance.getSku()));
+                    long drift = balance.getAvailableQuantity() - counter.committed().get();
+                    if (drift != 0) {
+                        counter.committed().addAndGet(drift);
+                        counter.available().addAndGet(drift);
+                        drifted++;
+                    }
+                }
+            }
+        }
+        if (drifted > 0) {
+            log.warn("Reconciled {} ATP counters that drifted from inventory_balances", drifted);
+        }
+    }
+
+    private static int stripe(BalanceKey key) {
+        return Math.floorMod(key.hashCode(), LOAD_LOCK_STRIPES);
+    }
+}
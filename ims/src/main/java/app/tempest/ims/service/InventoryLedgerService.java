@@ -0,0 +1,228 @@
+package app.tempest.ims.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import app.tempest.common.dto.OrderAllocationDTO;
+import app.tempest.common.dto.OrderLineDTO;
+import app.tempest.common.dto.results.AllocateInventoryResult;
+import app.tempest.common.dto.results.OrderAllocationResult;
+import app.tempest.ims.entity.InventoryReservation;
+import app.tempest.ims.repository.InventoryReservationRepository;
+import app.tempest.ims.service.InventoryLedgerWriter.Kind;
+import app.tempest.ims.service.InventoryLedgerWriter.LedgerWrite;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inventory allocation, consumption and release against the ATP cache and the
+ * durable inventory ledger.
+ *
+ * Availability is decided in memory by AtpCache; every change is then committed
+ * through InventoryLedgerWriter before the caller gets an answer. In-memory
+ * counters are reconciled when a write completes: a reservation that fails to
+ * persist or turns out to be a duplicate gives its quantity back, and a release
+ * returns quantity only once it has committed.
+ */
+@Slf4j
+@Service
+public class InventoryLedgerService {
+
+    private final AtpCache atpCache;
+    private final InventoryLedgerWriter ledgerWriter;
+    private final InventoryReservationRepository reservationRepository;
+    private final long writeTimeoutMs;
+
+    public InventoryLedgerService(
+            AtpCache atpCache,
+            InventoryLedgerWriter ledgerWriter,
+            InventoryReservationRepository reservationRepository,
+            @Value("${ims.ledger.write-timeout-ms:10000}") long writeTimeoutMs) {
+        this.atpCache = atpCache;
+        this.ledgerWriter = ledgerWriter;
+        this.reservationRepository = reservationRepository;
+        this.writeTimeoutMs = writeTimeoutMs;
+    }
+
+    public static String reservationId(Long orderId) {
+        return "reservation-" + orderId;
+    }
+
+    public static String lineReservationId(Long orderId, String sku) {
+        return "reservation-" + orderId + "-" + sku;
+    }
+
+    /**
+     * Allocate many orders at once. Each order is all-or-nothing: if any of its
+     * SKUs cannot be reserved, quantities already taken for that order are given
+     * back and the order is reported as failed. Orders that already hold
+     * reservations (activity retries) are answered from the ledger.
+     */
+    public List<OrderAllocationResult> allocate(String tenantId, List<OrderAllocationDTO> orders) {
+        Map<Long, Map<String, InventoryReservation>> existing = new HashMap<>();
+        for (InventoryReservation reservation : reservationRepository.findByTenantIdAndOrderIdIn(
+                tenantId, orders.stream().map(OrderAllocationDTO::getOrderId).toList())) {
+            existing.computeIfAbsent(reservation.getOrderId(), k -> new HashMap<>())
+                    .put(reservation.getSku(), reservation);
+        }
+
+        atpCache.ensureLoaded(tenantId, orders.stream()
+                .flatMap(order -> order.getOrderLines().stream())
+                .map(OrderLineDTO::getSku)
+                .distinct()
+                .toList());
+
+        List<OrderAllocationResult> results = new ArrayList<>();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (OrderAllocationDTO order : orders) {
+            Map<String, Integer> quantities = quantitiesBySku(order);
+            Map<String, InventoryReservation> held = existing.getOrDefault(order.getOrderId(), Map.of());
+
+            String error = null;
+            List<LedgerWrite> writes = new ArrayList<>();
+            for (Map.Entry<String, Integer> line : quantities.entrySet()) {
+                String sku = line.getKey();
+                InventoryReservation reservation = held.get(sku);
+                if (reservation != null) {
+                    if (InventoryReservation.STATUS_RELEASED.equals(reservation.getStatus())) {
+                        error = "Reservation for SKU " + sku + " was already released";
+                        break;
+                    }
+                    continue;
+                }
+                if (!atpCache.isKnown(tenantId, sku)) {
+                    error = "No inventory balance for SKU " + sku;
+                    break;
+                }
+                if (!atpCache.tryReserve(tenantId, sku, line.getValue())) {
+                    error = "Insufficient inventory for SKU " + sku + ": requested " + line.getValue()
+                            + ", available " + atpCache.getAvailable(tenantId, sku).orElse(0);
+                    break;
+                }
+                writes.add(LedgerWrite.of(Kind.RESERVE, tenantId, order.getOrderId(),
+                        reservationId(order.getOrderId()), sku, line.getValue()));
+            }
+
+            if (error != null) {
+                writes.forEach(write -> atpCache.giveBack(tenantId, write.sku(), write.quantity()));
+                results.add(OrderAllocationResult.builder()
+                        .orderId(order.getOrderId())
+                        .success(false)
+                        .lines(List.of())
+                        .errorMessage(error)
+                        .build());
+                continue;
+            }
+
+            if (!writes.isEmpty()) {
+                for (LedgerWrite write : writes) {
+                    // Duplicates (a concurrent retry won the insert) and failed flushes give the quantity back
+                    write.applied().whenComplete((applied, failure) -> {
+                        if (failure != null || !applied) {
+                            atpCache.giveBack(tenantId, write.sku(), write.quantity());
+                        }
+                    });
+                }
+                pending.add(ledgerWriter.submit(writes));
+            }
+
+            results.add(OrderAllocationResult.builder()
+                    .orderId(order.getOrderId())
+                    .success(true)
+                    .reservationId(reservationId(order.getOrderId()))
+                    .lines(quantities.entrySet().stream()
+                            .map(line -> AllocateInventoryResult.builder()
+                                    .reservationId(lineReservationId(order.getOrderId(), line.getKey()))
+                                    .success(true)
+                                    .sku(line.getKey())
+                                    .quantityAllocated(line.getValue())
+                                    .build())
+                            .toList())
+                    .build());
+        }
+
+        await(CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)));
+        return results;
+    }
+
+    /**
+     * Consume the reservation for an order line after it has been picked:
+     * on-hand and reserved quantity both drop by the reserved quantity.
+     * Consuming an already consumed reservation is a no-op.
+     */
+    public int consume(String tenantId, Long orderId, String sku) {
+        InventoryReservation reservation = reservationRepository.findByTenantIdAndOrderId(tenantId, orderId).stream()
+                .filter(r -> r.getSku().equals(sku))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "No reservation for order " + orderId + " and SKU " + sku));
+
+        if (InventoryReservation.STATUS_CONSUMED.equals(reservation.getStatus())) {
+            return reservation.getQuantity();
+        }
+        if (InventoryReservation.STATUS_RELEASED.equals(reservation.getStatus())) {
+            throw new IllegalArgumentException(
+                    "Reservation for order " + orderId + " and SKU " + sku + " was released");
+        }
+
+        await(ledgerWriter.submit(List.of(LedgerWrite.of(Kind.CONSUME, tenantId, orderId,
+                reservation.getReservationId(), sku, reservation.getQuantity()))));
+        return reservation.getQuantity();
+    }
+
+    /**
+     * Release every outstanding reservation for an order and return the
+     * quantities to available-to-promise. Releasing twice is a no-op.
+     */
+    public int release(String tenantId, Long orderId) {
+        List<LedgerWrite> writes = reservationRepository.findByTenantIdAndOrderId(tenantId, orderId).stream()
+                .filter(r -> InventoryReservation.STATUS_RESERVED.equals(r.getStatus()))
+                .map(r -> LedgerWrite.of(Kind.RELEASE, tenantId, orderId, r.getReservationId(), r.getSku(),
+                        r.getQuantity()))
+                .toList();
+        if (writes.isEmpty()) {
+            return 0;
+        }
+
+        atpCache.ensureLoaded(tenantId, writes.stream().map(LedgerWrite::sku).toList());
+        for (LedgerWrite write : writes) {
+            write.applied().thenAccept(applied -> {
+                if (applied) {
+                    atpCache.giveBack(tenantId, write.sku(), write.quantity());
+                }
+            });
+        }
+        await(ledgerWriter.submit(writes));
+        return writes.size();
+    }
+
+    private static Map<String, Integer> quantitiesBySku(OrderAllocationDTO order) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OrderLineDTO line : order.getOrderLines()) {
+            quantities.merge(line.getSku(), line.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private void await(CompletableFuture<Void> future) {
+        try {
+            future.get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out persisting inventory ledger writes", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to persist inventory ledger writes", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while persisting inventory ledger writes", e);
+        }
+    }
+}
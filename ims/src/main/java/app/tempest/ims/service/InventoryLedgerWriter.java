@@ -0,0 +1,354 @@
+package app.tempest.ims.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.tempest.ims.entity.InventoryReservation;
+import app.tempest.ims.service.AtpCache.BalanceKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group-commit writer for the inventory ledger.
+ *
+ * Callers submit groups of ledger writes and wait on the returned future. A
+ * single background thread drains whatever groups are queued (up to
+ * max-batch-size writes) and persists them in one transaction:
+ * - one batched INSERT for new reservations
+ * - one batched UPDATE for reservation status transitions
+ * - one UPDATE per touched (tenant, sku) balance with the net delta of the batch
+ *
+ * A hot SKU taking thousands of reservations per second therefore costs one
+ * balance row update per flush instead of one per reservation. A group is never
+ * split across flushes, so all lines of an order commit together. Futures only
+ * complete after commit, which keeps every acknowledged write durable.
+ *
+ * If the combined flush fails (for example a group that would drive a balance
+ * below zero), it is retried in one transaction with a savepoint per group, so
+ * only the offending groups fail and unrelated waiters still commit.
+ *
+ * Between flushes the same thread reconciles the ATP cache with
+ * inventory_balances every reconcile-interval-ms.
+ *
+ * Per-row update counts decide whether a write applied (a retried reservation
+ * hits the unique constraint and applies nothing), so the JDBC driver must not
+ * rewrite batched inserts for this datasource.
+ */
+@Slf4j
+@Component
+public class InventoryLedgerWriter {
+
+    public enum Kind {
+        RESERVE, CONSUME, RELEASE
+    }
+
+    /**
+     * A single ledger write. The future completes with true if the write changed
+     * the ledger and false if it was a no-op (already reserved, or not in
+     * RESERVED status for a transition).
+     */
+    public record LedgerWrite(Kind kind, String tenantId, Long orderId, String reservationId, String sku,
+            int quantity, CompletableFuture<Boolean> applied) {
+
+        public static LedgerWrite of(Kind kind, String tenantId, Long orderId, String reservationId, String sku,
+                int quantity) {
+            return new LedgerWrite(kind, tenantId, orderId, reservationId, sku, quantity, new CompletableFuture<>());
+        }
+    }
+
+    private static final String INSERT_RESERVATION = """
+            INSERT INTO inventory_reservations (tenant_id, reservation_id, order_id, sku, quantity, status,
+                created_by_user_id, updated_by_user_id)
+            VALUES (?, ?, ?, ?, ?, 'RESERVED', 'ims-ledger', 'ims-ledger')
+            ON CONFLICT (tenant_id, order_id, sku) DO NOTHING
+            """;
+
+    private static final String TRANSITION_RESERVATION = """
+            UPDATE inventory_reservations
+            SET status = ?, updated_by_user_id = 'ims-ledger', updated_at = NOW()
+            WHERE tenant_id = ? AND order_id = ? AND sku = ? AND status = 'RESERVED'
+            """;
+
+    private static final String APPLY_BALANCE_DELTA = """
+            UPDATE inventory_balances
+            SET on_hand_quantity = on_hand_quantity + ?, reserved_quantity = reserved_quantity + ?,
+                updated_by_user_id = 'ims-ledger', updated_at = NOW()
+            WHERE tenant_id = ? AND sku = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AtpCache atpCache;
+    private final int maxBatchSize;
+    private final long reconcileIntervalMs;
+    private final LinkedBlockingQueue<List<LedgerWrite>> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread flusher;
+    private long lastReconcile;
+
+    public InventoryLedgerWriter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            AtpCache atpCache,
+            @Value("${ims.ledger.max-batch-size:500}") int maxBatchSize,
+            @Value("${ims.ledger.reconcile-interval-ms:60000}") long reconcileIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.atpCache = atpCache;
+        this.maxBatchSize = maxBatchSize;
+        this.reconcileIntervalMs = reconcileIntervalMs;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        lastReconcile = System.currentTimeMillis();
+        flusher = Thread.ofPlatform().name("inventory-ledger-writer").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Queue a group of writes to be committed together.
+     *
+     * @return a future that completes when the whole group has been committed
+     */
+    public CompletableFuture<Void> submit(List<LedgerWrite> group) {
+        if (!running) {
+            throw new IllegalStateException("Inventory ledger writer is not running");
+        }
+        queue.add(group);
+        return CompletableFuture.allOf(group.stream()
+                .map(LedgerWrite::applied)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            reconcileIfDue();
+            List<List<LedgerWrite>> groups = new ArrayList<>();
+            try {
+                List<LedgerWrite> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                groups.add(first);
+                int size = first.size();
+                List<LedgerWrite> next;
+                while (size < maxBatchSize && (next = queue.poll()) != null) {
+                    groups.add(next);
+                    size += next.size();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flush(groups);
+        }
+    }
+
+    private void reconcileIfDue() {
+        if (reconcileIntervalMs <= 0 || System.currentTimeMillis() - lastReconcile < reconcileIntervalMs) {
+            return;
+        }
+        lastReconcile = System.currentTimeMillis();
+        try {
+            atpCache.reconcile();
+        } catch (Exception e) {
+            log.error("Failed to reconcile the ATP cache with inventory balances", e);
+        }
+    }
+
+    private void flush(List<List<LedgerWrite>> groups) {
+        List<LedgerWrite> writes = groups.stream().flatMap(List::stream).toList();
+        boolean[] applied = new boolean[writes.size()];
+        Map<BalanceKey, long[]> deltas;
+        try {
+            deltas = transactionTemplate.execute(status -> apply(writes, applied));
+        } catch (Exception e) {
+            if (groups.size() > 1) {
+                log.warn("Failed to persist {} inventory ledger writes together; retrying each group on its own",
+                        writes.size(), e);
+                flushIsolated(groups);
+                return;
+            }
+            log.error("Failed to persist {} inventory ledger writes", writes.size(), e);
+            writes.forEach(write -> write.applied().completeExceptionally(e));
+            return;
+        }
+        committed(writes, applied, deltas);
+    }
+
+    /**
+     * Persist each group behind its own savepoint in one transaction. A group
+     * that fails is rolled back to its savepoint and its futures fail; the
+     * other groups commit.
+     */
+    private void flushIsolated(List<List<LedgerWrite>> groups) {
+        List<boolean[]> applied = new ArrayList<>();
+        List<Map<BalanceKey, long[]>> deltas = new ArrayList<>();
+        List<Exception> failures = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (List<LedgerWrite> group : groups) {
+                    boolean[] groupApplied = new boolean[group.size()];
+                    Object savepoint = status.createSavepoint();
+                    try {
+                        deltas.add(apply(group, groupApplied));
+                        failures.add(null);
+                        status.releaseSavepoint(savepoint);
+                    } catch (DataAccessException e) {
+                        status.rollbackToSavepoint(savepoint);
+                        deltas.add(null);
+                        failures.add(e);
+                    }
+                    applied.add(groupApplied);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to persist {} inventory ledger groups", groups.size(), e);
+            groups.forEach(group -> group.forEach(write -> write.applied().completeExceptionally(e)));
+            return;
+        }
+
+        for (int i = 0; i < groups.size(); i++) {
+            Exception failure = failures.get(i);
+            if (failure != null) {
+                log.error("Failed to persist an inventory ledger group of {} writes", groups.get(i).size(), failure);
+                groups.get(i).forEach(write -> write.applied().completeExceptionally(failure));
+            } else {
+                committed(groups.get(i), applied.get(i), deltas.get(i));
+            }
+        }
+    }
+
+    /**
+     * Record committed balance changes in the ATP cache, then complete the
+     * writes' futures.
+     */
+    private void committed(List<LedgerWrite> writes, boolean[] applied, Map<BalanceKey, long[]> deltas) {
+        deltas.forEach((key, delta) -> atpCache.committed(key, delta[0] - delta[1]));
+        for (int i = 0; i < writes.size(); i++) {
+            writes.get(i).applied().complete(applied[i]);
+        }
+    }
+
+    /**
+     * Write a batch and return the net (on hand, reserved) delta applied to
+     * each balance.
+     */
+    private Map<BalanceKey, long[]> apply(List<LedgerWrite> writes, boolean[] applied) {
+        List<Integer> reserves = new ArrayList<>();
+        List<Integer> transitions = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            (writes.get(i).kind() == Kind.RESERVE ? reserves : transitions).add(i);
+        }
+
+        // Inserts first, so a reservation and its transition in the same flush both apply
+        int[] inserted = batch(INSERT_RESERVATION, reserves, writes, (ps, write) -> {
+            ps.setString(1, write.tenantId());
+            ps.setString(2, write.reservationId());
+            ps.setLong(3, write.orderId());
+            ps.setString(4, write.sku());
+            ps.setInt(5, write.quantity());
+        });
+        markApplied(reserves, inserted, applied);
+
+        int[] transitioned = batch(TRANSITION_RESERVATION, transitions, writes, (ps, write) -> {
+            ps.setString(1, write.kind() == Kind.CONSUME
+                    ? InventoryReservation.STATUS_CONSUMED
+                    : InventoryReservation.STATUS_RELEASED);
+            ps.setString(2, write.tenantId());
+            ps.setLong(3, write.orderId());
+            ps.setString(4, write.sku());
+        });
+        markApplied(transitions, transitioned, applied);
+
+        // Net balance deltas, in key order so concurrent transactions lock rows consistently
+        Map<BalanceKey, long[]> deltas = new TreeMap<>(Comparator
+                .comparing(BalanceKey::tenantId)
+                .thenComparing(BalanceKey::sku));
+        for (int i = 0; i < writes.size(); i++) {
+            if (!applied[i]) {
+                continue;
+            }
+            LedgerWrite write = writes.get(i);
+            long[] delta = deltas.computeIfAbsent(new BalanceKey(write.tenantId(), write.sku()), k -> new long[2]);
+            switch (write.kind()) {
+                case RESERVE -> delta[1] += write.quantity();
+                case CONSUME -> {
+                    delta[0] -= write.quantity();
+                    delta[1] -= write.quantity();
+                }
+                case RELEASE -> delta[1] -= write.quantity();
+            }
+        }
+
+        List<Map.Entry<BalanceKey, long[]>> entries = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(APPLY_BALANCE_DELTA, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<BalanceKey, long[]> entry = entries.get(i);
+                ps.setLong(1, entry.getValue()[0]);
+                ps.setLong(2, entry.getValue()[1]);
+                ps.setString(3, entry.getKey().tenantId());
+                ps.setString(4, entry.getKey().sku());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+        return deltas;
+    }
+
+    @FunctionalInterface
+    private interface WriteBinder {
+        void bind(PreparedStatement ps, LedgerWrite write) throws SQLException;
+    }
+
+    private int[] batch(String sql, List<Integer> indexes, List<LedgerWrite> writes, WriteBinder binder) {
+        if (indexes.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                binder.bind(ps, writes.get(indexes.get(i)));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return indexes.size();
+            }
+        });
+    }
+
+    private static void markApplied(List<Integer> indexes, int[] counts, boolean[] applied) {
+        for (int i = 0; i < indexes.size(); i++) {
+            applied[indexes.get(i)] = counts[i] > 0;
+        }
+    }
+}
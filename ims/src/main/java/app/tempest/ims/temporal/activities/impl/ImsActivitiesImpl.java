@@ -1,55 +1,91 @@
 package app.tempest.ims.temporal.activities.impl;
 
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
+import app.tempest.common.dto.OrderAllocationDTO;
+import app.tempest.common.dto.OrderLineDTO;
+import app.tempest.common.dto.requests.AllocateInventoryBatchRequest;
 import app.tempest.common.dto.requests.AllocateInventoryRequest;
 import app.tempest.common.dto.requests.ConsumeInventoryRequest;
 import app.tempest.common.dto.requests.ReleaseInventoryRequest;
+import app.tempest.common.dto.results.AllocateInventoryBatchResult;
 import app.tempest.common.dto.results.AllocateInventoryResult;
 import app.tempest.common.dto.results.ConsumeInventoryResult;
+import app.tempest.common.dto.results.OrderAllocationResult;
 import app.tempest.common.dto.results.ReleaseInventoryResult;
 import app.tempest.common.temporal.activities.ims.ImsActivities;
+import app.tempest.ims.service.InventoryLedgerService;
+import io.temporal.failure.ApplicationFailure;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of ImsActivities for remote calls from other services.
  * This is registered on the ims-tasks queue and handles cross-service activity calls.
+ *
+ * Allocation outcomes (insufficient stock, unknown SKU) are reported in the
+ * result; invalid requests fail non-retryably; persistence failures are thrown
+ * so Temporal retries them.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class ImsActivitiesImpl implements ImsActivities {
 
+    private final InventoryLedgerService ledgerService;
+
     @Override
     public AllocateInventoryResult allocate(AllocateInventoryRequest request) {
-        // Stub implementation for now
-        // TODO: Implement actual reservation logic
-        // 1. Check if SKU is a KIT, expand BOM if needed
-        // 2. Check availability
-        // 3. Create InventoryReservation record
-        // 4. Increment reservedQuantity on InventoryBalance
+        String tenantId = requireTenant(request.getTenantId());
 
-        String reservationId = "reservation-" + request.getOrderId() + "-" + request.getSku();
+        OrderAllocationDTO order = OrderAllocationDTO.builder()
+                .orderId(request.getOrderId())
+                .orderLines(List.of(OrderLineDTO.builder()
+                        .sku(request.getSku())
+                        .quantity(request.getQuantity())
+                        .build()))
+                .build();
+        OrderAllocationResult result = ledgerService.allocate(tenantId, List.of(order)).get(0);
 
-        log.info("Allocation {} of {} for order {}", request.getQuantity(),
-                request.getSku(), request.getOrderId());
+        log.info("Allocation {} of {} for order {}: {}", request.getQuantity(),
+                request.getSku(), request.getOrderId(), result.isSuccess() ? "reserved" : result.getErrorMessage());
 
-        return AllocateInventoryResult.builder()
-                .reservationId(reservationId)
-                .success(true)
-                .sku(request.getSku())
-                .quantityAllocated(request.getQuantity())
+        if (!result.isSuccess()) {
+            return AllocateInventoryResult.builder()
+                    .success(false)
+                    .sku(request.getSku())
+                    .quantityAllocated(0)
+                    .errorMessage(result.getErrorMessage())
+                    .build();
+        }
+        return result.getLines().get(0);
+    }
+
+    @Override
+    public AllocateInventoryBatchResult allocateBatch(AllocateInventoryBatchRequest request) {
+        String tenantId = requireTenant(request.getTenantId());
+
+        List<OrderAllocationResult> results = ledgerService.allocate(tenantId, request.getOrders());
+
+        long failed = results.stream().filter(r -> !r.isSuccess()).count();
+        log.info("Batch allocation for {} orders: {} reserved, {} failed",
+                results.size(), results.size() - failed, failed);
+
+        return AllocateInventoryBatchResult.builder()
+                .orders(results)
                 .build();
     }
 
     @Override
     public ReleaseInventoryResult releaseInventory(ReleaseInventoryRequest request) {
-        // Stub implementation for now
-        // TODO: Implement actual release logic
-        // 1. Find reservation by ID
-        // 2. Decrement reservedQuantity on InventoryBalance
-        // 3. Mark reservation as RELEASED
+        String tenantId = requireTenant(request.getTenantId());
+
+        int released = ledgerService.release(tenantId, parseOrderId(request.getOrderId()));
 
-        log.info("Releasing reservation {} for order {}, reason: {}",
+        log.info("Released {} reservations ({}) for order {}, reason: {}",
+                released,
                 request.getReservationId(),
                 request.getOrderId(),
                 request.getReason());
@@ -62,15 +98,17 @@ public class ImsActivitiesImpl implements ImsActivities {
 
     @Override
     public ConsumeInventoryResult consumeInventory(ConsumeInventoryRequest request) {
-        // Stub implementation for now
-        // TODO: Implement actual consumption logic
-        // 1. Validate reservation exists
-        // 2. Decrement availableQuantity on InventoryBalance
-        // 3. Decrement reservedQuantity on InventoryBalance
-        // 4. Mark reservation as CONSUMED
-
-        log.info("Consuming {} of {} for order {}, reservation {}",
-                request.getQuantity(),
+        String tenantId = requireTenant(request.getTenantId());
+
+        int consumed;
+        try {
+            consumed = ledgerService.consume(tenantId, parseOrderId(request.getOrderId()), request.getSku());
+        } catch (IllegalArgumentException e) {
+            throw ApplicationFailure.newNonRetryableFailure(e.getMessage(), "INVALID_RESERVATION");
+        }
+
+        log.info("Consumed {} of {} for order {}, reservation {}",
+                consumed,
                 request.getSku(),
                 request.getOrderId(),
                 request.getReservationId());
@@ -78,8 +116,22 @@ public class ImsActivitiesImpl implements ImsActivities {
         return ConsumeInventoryResult.builder()
                 .success(true)
                 .sku(request.getSku())
-                .quantityConsumed(request.getQuantity())
+                .quantityConsumed(consumed)
                 .build();
     }
-}
 
+    private static String requireTenant(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            throw ApplicationFailure.newNonRetryableFailure("tenantId is required", "MISSING_TENANT");
+        }
+        return tenantId;
+    }
+
+    private static Long parseOrderId(String orderId) {
+        try {
+            return Long.valueOf(orderId);
+        } catch (NumberFormatException e) {
+            throw ApplicationFailure.newNonRetryableFailure("Invalid orderId: " + orderId, "INVALID_ORDER_ID");
+        }
+    }
+}
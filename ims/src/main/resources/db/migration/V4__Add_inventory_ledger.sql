@@ -0,0 +1,48 @@
+-- V4: Inventory ledger - balances and reservations
+-- Balances hold on-hand and reserved quantity per tenant/SKU.
+-- Reservations hold one row per order/SKU; allocations of an order are all-or-nothing.
+-- Available-to-promise = on_hand_quantity - reserved_quantity.
+
+CREATE TABLE IF NOT EXISTS inventory_balances (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(255) NOT NULL,
+    sku VARCHAR(255) NOT NULL,
+    on_hand_quantity BIGINT NOT NULL DEFAULT 0,
+    reserved_quantity BIGINT NOT NULL DEFAULT 0,
+    created_by_user_id VARCHAR(255),
+    updated_by_user_id VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT uk_inventory_balances_tenant_sku UNIQUE (tenant_id, sku),
+    -- Backstop against oversell if more than one writer ever touches a balance
+    CONSTRAINT chk_inventory_balances_reserved CHECK (reserved_quantity >= 0 AND reserved_quantity <= on_hand_quantity)
+);
+
+CREATE TABLE IF NOT EXISTS inventory_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(255) NOT NULL,
+    reservation_id VARCHAR(255) NOT NULL,
+    order_id BIGINT NOT NULL,
+    sku VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(32) NOT NULL DEFAULT 'RESERVED',
+    created_by_user_id VARCHAR(255),
+    updated_by_user_id VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+
+    -- One reservation per order and SKU makes allocation retries idempotent
+    CONSTRAINT uk_inventory_reservations_tenant_order_sku UNIQUE (tenant_id, order_id, sku)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_reservations_tenant_reservation
+    ON inventory_reservations(tenant_id, reservation_id);
+
+COMMENT ON COLUMN inventory_reservations.status IS 'RESERVED, CONSUMED or RELEASED';
+
+-- Seed on-hand stock for the demo catalog
+INSERT INTO inventory_balances (tenant_id, sku, on_hand_quantity, reserved_quantity, created_by_user_id, updated_by_user_id)
+SELECT tenant_id, sku, 1000, 0, 'seed-migration', 'seed-migration'
+FROM items
+ON CONFLICT (tenant_id, sku) DO NOTHING;
@@ -0,0 +1,12 @@
+package app.tempest.oms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled housekeeping jobs in OMS.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
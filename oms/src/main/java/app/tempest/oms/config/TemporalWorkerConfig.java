@@ -3,6 +3,7 @@ package app.tempest.oms.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import app.tempest.common.config.TemporalWorkerTuning;
 import app.tempest.common.temporal.TaskQueues;
 import app.tempest.oms.temporal.activities.impl.CreateOrderActivityImpl;
 import app.tempest.oms.temporal.activities.impl.MarkOrderAwaitingWaveActivityImpl;
@@ -15,15 +16,14 @@ import app.tempest.oms.temporal.workflow.impl.OrderIntakeWorkflowImpl;
 import io.temporal.client.WorkflowClient;
 import io.temporal.worker.Worker;
 import io.temporal.worker.WorkerFactory;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 @Configuration
 public class TemporalWorkerConfig {
 
      @Bean
      public WorkerFactory workerFactory(
                WorkflowClient workflowClient,
+               TemporalWorkerTuning workerTuning,
                ValidateOrderActivityImpl validateOrderActivity,
                CreateOrderActivityImpl createOrderActivity,
                MarkOrderAwaitingWaveActivityImpl markOrderAwaitingWaveActivity,
@@ -31,9 +31,9 @@ public class TemporalWorkerConfig {
                MarkOrderShippedActivityImpl markOrderShippedActivity,
                OmsActivitiesImpl omsActivities) {
 
-          WorkerFactory factory = WorkerFactory.newInstance(workflowClient);
+          WorkerFactory factory = workerTuning.newWorkerFactory(workflowClient);
 
-          Worker worker = factory.newWorker(TaskQueues.OMS);
+          Worker worker = workerTuning.newWorker(factory, TaskQueues.OMS);
 
           // Register workflow implementations
           worker.registerWorkflowImplementationTypes(
@@ -49,8 +49,7 @@ public class TemporalWorkerConfig {
                     markOrderShippedActivity,
                     omsActivities);  // Remote activities for cross-service calls
 
-          log.info("Starting OMS Temporal worker on task queue: {}", TaskQueues.OMS);
-          factory.start();
+          workerTuning.start(factory, TaskQueues.OMS);
 
           return factory;
      }
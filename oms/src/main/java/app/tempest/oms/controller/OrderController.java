@@ -1,8 +1,16 @@
 package app.tempest.oms.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -13,35 +21,96 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 
 import app.tempest.common.security.SecurityUtils;
+import app.tempest.oms.dto.BulkOrderIntakeResponse;
 import app.tempest.oms.dto.CancelOrderRequest;
 import app.tempest.oms.dto.CreateOrderCommand;
 import app.tempest.oms.dto.CreateOrderLineRequest;
 import app.tempest.oms.dto.CreateOrderRequest;
 import app.tempest.oms.dto.CreateOrderResponse;
 import app.tempest.oms.dto.OrderLineCommand;
+import app.tempest.oms.dto.OrderPage;
+import app.tempest.oms.dto.OrderSummary;
 import app.tempest.oms.entity.Order;
 import app.tempest.oms.entity.OrderLine;
+import app.tempest.oms.service.BulkOrderIntakeService;
 import app.tempest.oms.service.OrderService;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final OrderService orderService;
+    private final BulkOrderIntakeService bulkOrderIntakeService;
+    private final ObjectMapper objectMapper;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, BulkOrderIntakeService bulkOrderIntakeService,
+            ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.bulkOrderIntakeService = bulkOrderIntakeService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * List orders newest first, one keyset page at a time. When more orders
+     * follow, the X-Next-Cursor header carries the cursor for the next page.
+     * With ids, returns just those orders (up to the maximum page size) and
+     * ignores the other filters.
+     */
     @GetMapping
-    public ResponseEntity<List<Order>> getOrders(
+    public ResponseEntity<List<OrderSummary>> getOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal Jwt jwt) {
+        String tenantId = SecurityUtils.requireTenantId(jwt);
+
+        if (ids != null && !ids.isEmpty()) {
+            try {
+                return ResponseEntity.ok(orderService.getOrdersByIds(tenantId, ids));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        OrderPage page;
+        try {
+            page = orderService.getOrders(tenantId, status, sku, cursor, limit);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.orders());
+    }
+
+    /**
+     * Export all matching orders as NDJSON, streamed straight from the database.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String sku,
             @AuthenticationPrincipal Jwt jwt) {
         String tenantId = SecurityUtils.requireTenantId(jwt);
-        return ResponseEntity.ok(orderService.getOrders(tenantId, status, sku));
+        StreamingResponseBody body = out -> orderService.exportOrders(tenantId, status, sku, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -75,6 +144,63 @@ public class OrderController {
                 request.externalOrderId()));
     }
 
+    /**
+     * Accept a batch of orders as a JSON array or NDJSON and start their intake
+     * workflows asynchronously. Returns 202 with per-order workflow IDs; poll
+     * GET /orders/bulk/{batchId} for progress. Returns 503 with Retry-After when
+     * this instance already has too many starts queued.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<BulkOrderIntakeResponse> createOrdersBulk(
+            InputStream body,
+            @AuthenticationPrincipal Jwt jwt) throws IOException {
+        String tenantId = SecurityUtils.requireTenantId(jwt);
+        String userId = SecurityUtils.getUserId(jwt).orElse(null);
+
+        // JSON arrays are unwrapped by the reader, so both formats stream the same way
+        List<CreateOrderCommand> commands = new ArrayList<>();
+        try (MappingIterator<CreateOrderRequest> requests = objectMapper.readerFor(CreateOrderRequest.class)
+                .readValues(body)) {
+            while (requests.hasNext()) {
+                if (commands.size() == bulkOrderIntakeService.getMaxBatchSize()) {
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+                }
+                CreateOrderRequest request = requests.next();
+                if (request == null) {
+                    return ResponseEntity.badRequest().build();
+                }
+                commands.add(toCommand(request, tenantId, userId));
+            }
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            // hasNext() and next() wrap a malformed body in an unchecked exception
+            if (e.getCause() instanceof JsonProcessingException) {
+                return ResponseEntity.badRequest().build();
+            }
+            throw e;
+        }
+
+        try {
+            return ResponseEntity.accepted().body(bulkOrderIntakeService.submit(tenantId, commands));
+        } catch (RejectedExecutionException e) {
+            // Too many intake starts already queued on this instance
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+
+    @GetMapping("/bulk/{batchId}")
+    public ResponseEntity<BulkOrderIntakeResponse> getBulkBatch(
+            @PathVariable String batchId,
+            @AuthenticationPrincipal Jwt jwt) {
+        String tenantId = SecurityUtils.requireTenantId(jwt);
+        return bulkOrderIntakeService.getBatch(tenantId, batchId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/counts")
     public ResponseEntity<Map<String, Long>> getOrderCounts(@AuthenticationPrincipal Jwt jwt) {
         String tenantId = SecurityUtils.requireTenantId(jwt);
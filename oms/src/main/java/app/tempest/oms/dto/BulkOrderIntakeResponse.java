@@ -0,0 +1,16 @@
+package app.tempest.oms.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Bulk intake batch: returned when the batch is accepted and when its status is
+ * polled.
+ */
+public record BulkOrderIntakeResponse(
+        String batchId,
+        Instant submittedAt,
+        int accepted,
+        int rejected,
+        List<BulkOrderItem> orders) {
+}
@@ -0,0 +1,18 @@
+package app.tempest.oms.dto;
+
+/**
+ * Outcome of one order in a bulk intake batch.
+ *
+ * startStatus is PENDING until the intake workflow start is attempted, then
+ * STARTED, ALREADY_STARTED (same order submitted before), FAILED, or REJECTED
+ * when the order never got a workflow. orderId and orderStatus are filled in
+ * once the intake workflow has created the order.
+ */
+public record BulkOrderItem(
+        String externalOrderId,
+        String workflowId,
+        String startStatus,
+        String error,
+        Long orderId,
+        String orderStatus) {
+}
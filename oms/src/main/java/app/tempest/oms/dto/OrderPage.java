@@ -0,0 +1,9 @@
+package app.tempest.oms.dto;
+
+import java.util.List;
+
+/**
+ * One page of orders, newest first. nextCursor is null on the last page.
+ */
+public record OrderPage(List<OrderSummary> orders, String nextCursor) {
+}
@@ -0,0 +1,27 @@
+package app.tempest.oms.dto;
+
+import java.time.Instant;
+
+/**
+ * Order row without its lines, read straight into a DTO (no managed entity)
+ * for list and export endpoints.
+ */
+public record OrderSummary(
+        Long id,
+        String tenantId,
+        String externalOrderId,
+        String status,
+        String customerEmail,
+        String customerName,
+        String shippingAddressLine1,
+        String shippingAddressLine2,
+        String shippingCity,
+        String shippingState,
+        String shippingPostalCode,
+        String shippingCountry,
+        String workflowId,
+        String createdByUserId,
+        String updatedByUserId,
+        Instant createdAt,
+        Instant updatedAt) {
+}
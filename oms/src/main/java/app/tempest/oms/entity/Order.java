@@ -15,6 +15,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -38,12 +39,15 @@ import lombok.Setter;
           @UniqueConstraint(name = "uk_orders_tenant_external_id", columnNames = { "tenant_id", "external_order_id" })
 }, indexes = {
           @Index(name = "idx_orders_tenant_id", columnList = "tenant_id"),
-          @Index(name = "idx_orders_status", columnList = "tenant_id, status")
+          @Index(name = "idx_orders_tenant_created", columnList = "tenant_id, created_at DESC, id DESC"),
+          @Index(name = "idx_orders_tenant_status_created", columnList = "tenant_id, status, created_at DESC, id DESC")
 })
 public class Order extends TenantAwareEntity {
 
+     // Pooled sequence (V3 sets INCREMENT BY 50) so inserts can be JDBC-batched
      @Id
-     @GeneratedValue(strategy = GenerationType.IDENTITY)
+     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+     @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
      private Long id;
 
      @Column(name = "external_order_id", nullable = false)
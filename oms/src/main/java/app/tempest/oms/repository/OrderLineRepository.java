@@ -4,6 +4,7 @@ import app.tempest.oms.entity.OrderLine;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,4 +17,6 @@ public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
      List<OrderLine> findByOrderId(Long orderId);
 
      List<OrderLine> findByOrderIdAndTenantId(Long orderId, String tenantId);
+
+     List<OrderLine> findByTenantIdAndOrderIdIn(String tenantId, Collection<Long> orderIds);
 }
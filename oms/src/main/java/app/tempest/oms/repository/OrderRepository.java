@@ -1,14 +1,22 @@
 package app.tempest.oms.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import app.tempest.oms.dto.OrderSummary;
 import app.tempest.oms.entity.Order;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository for Order entities.
@@ -17,23 +25,97 @@ import app.tempest.oms.entity.Order;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-     List<Order> findByTenantIdOrderByCreatedAtDesc(String tenantId);
+     String SUMMARY_SELECT = """
+               SELECT new app.tempest.oms.dto.OrderSummary(o.id, o.tenantId, o.externalOrderId, o.status,
+                    o.customerEmail, o.customerName, o.shippingAddressLine1, o.shippingAddressLine2, o.shippingCity,
+                    o.shippingState, o.shippingPostalCode, o.shippingCountry, o.workflowId, o.createdByUserId,
+                    o.updatedByUserId, o.createdAt, o.updatedAt)
+               FROM Order o
+               """;
 
-     List<Order> findByTenantIdAndStatusOrderByCreatedAtDesc(String tenantId, String status);
+     String KEYSET = " AND (o.createdAt, o.id) < (:createdAt, :id) ORDER BY o.createdAt DESC, o.id DESC";
+
+     // Leads with the line's tenant so the subquery can use idx_order_lines_tenant_sku
+     String HAS_SKU = " AND EXISTS (SELECT 1 FROM OrderLine ol"
+               + " WHERE ol.tenantId = :tenantId AND ol.sku = :sku AND ol.order = o)";
+
+     /**
+      * Orders created before the (createdAt, id) keyset position, newest first.
+      */
+     @Query(SUMMARY_SELECT + "WHERE o.tenantId = :tenantId" + KEYSET)
+     List<OrderSummary> findPage(@Param("tenantId") String tenantId, @Param("createdAt") Instant createdAt,
+               @Param("id") Long id, Limit limit);
+
+     @Query(SUMMARY_SELECT + "WHERE o.tenantId = :tenantId AND o.status = :status" + KEYSET)
+     List<OrderSummary> findPageByStatus(@Param("tenantId") String tenantId, @Param("status") String status,
+               @Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+     /**
+      * Keyset page of orders that contain order lines with the given SKU.
+      */
+     @Query(SUMMARY_SELECT + "WHERE o.tenantId = :tenantId" + HAS_SKU + KEYSET)
+     List<OrderSummary> findPageBySku(@Param("tenantId") String tenantId, @Param("sku") String sku,
+               @Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+     /**
+      * The given orders, newest first. IDs of other tenants' orders match nothing.
+      */
+     @Query(SUMMARY_SELECT + "WHERE o.tenantId = :tenantId AND o.id IN :ids ORDER BY o.createdAt DESC, o.id DESC")
+     List<OrderSummary> findSummariesByIds(@Param("tenantId") String tenantId, @Param("ids") Collection<Long> ids);
 
      /**
-      * Find orders that contain order lines with the given SKU.
+      * Stream every matching order, newest first, for export. Null filters match
+      * everything. Must be consumed inside a transaction and closed.
       */
-     @Query("SELECT DISTINCT o FROM Order o JOIN o.orderLines ol WHERE o.tenantId = :tenantId AND ol.sku = :sku ORDER BY o.createdAt DESC")
-     List<Order> findByTenantIdAndOrderLinesSku(@Param("tenantId") String tenantId, @Param("sku") String sku);
+     @Query(SUMMARY_SELECT + """
+               WHERE o.tenantId = :tenantId
+                    AND (:status IS NULL OR o.status = :status)
+                    AND (:sku IS NULL OR EXISTS (SELECT 1 FROM OrderLine ol
+                         WHERE ol.tenantId = :tenantId AND ol.sku = :sku AND ol.order = o))
+               ORDER BY o.createdAt DESC, o.id DESC
+               """)
+     @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+     Stream<OrderSummary> streamSummaries(@Param("tenantId") String tenantId, @Param("status") String status,
+               @Param("sku") String sku);
+
+     /**
+      * AWAITING_WAVE orders after the (createdAt, id) keyset position, oldest
+      * first, for wave planning.
+      */
+     @Query("""
+               SELECT o FROM Order o
+               WHERE o.tenantId = :tenantId AND o.status = 'AWAITING_WAVE'
+                    AND (o.createdAt, o.id) > (:createdAt, :id)
+               ORDER BY o.createdAt, o.id
+               """)
+     List<Order> findAwaitingWave(@Param("tenantId") String tenantId, @Param("createdAt") Instant createdAt,
+               @Param("id") Long id, Limit limit);
+
+     List<Order> findByTenantIdAndIdInAndStatus(String tenantId, Collection<Long> ids, String status);
+
+     List<Order> findByTenantIdAndIdIn(String tenantId, Collection<Long> ids);
 
      Optional<Order> findByIdAndTenantId(Long id, String tenantId);
 
      Optional<Order> findByTenantIdAndExternalOrderId(String tenantId, String externalOrderId);
 
+     List<Order> findByTenantIdAndExternalOrderIdIn(String tenantId, Collection<String> externalOrderIds);
+
      Optional<Order> findByWorkflowId(String workflowId);
 
      boolean existsByTenantIdAndExternalOrderId(String tenantId, String externalOrderId);
 
      long countByTenantIdAndStatus(String tenantId, String status);
+
+     /**
+      * Order counts per status for a tenant, in one grouped query.
+      */
+     @Query("SELECT o.status AS status, COUNT(o) AS count FROM Order o WHERE o.tenantId = :tenantId GROUP BY o.status")
+     List<StatusCount> countByStatus(@Param("tenantId") String tenantId);
+
+     interface StatusCount {
+          String getStatus();
+
+          long getCount();
+     }
 }
@@ -0,0 +1,239 @@
+package app.tempest.oms.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import app.tempest.common.dto.requests.OrderIntakeWorkflowRequest;
+import app.tempest.oms.dto.BulkOrderIntakeResponse;
+import app.tempest.oms.dto.BulkOrderItem;
+import app.tempest.oms.dto.CreateOrderCommand;
+import app.tempest.oms.entity.Order;
+import app.tempest.oms.repository.OrderRepository;
+import app.tempest.oms.temporal.OrderWorkflowClient;
+import io.temporal.client.WorkflowExecutionAlreadyStarted;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk order intake.
+ *
+ * A batch is accepted right away: every order gets a deterministic workflow ID
+ * derived from (tenant, externalOrderId), and the OrderIntakeWorkflow starts
+ * are handed to a fixed pool of start-concurrency threads. Resubmitting an
+ * order therefore never creates a second workflow while the first one is
+ * running or has completed.
+ *
+ * At most start-queue-capacity starts wait for the pool. A batch whose starts
+ * do not all fit is refused as a whole with RejectedExecutionException, so
+ * the caller can retry it later instead of the backlog growing without bound.
+ *
+ * Batch status lives in memory on the instance that accepted the batch and is
+ * dropped after batch-retention; order status comes from the database.
+ */
+@Slf4j
+@Service
+public class BulkOrderIntakeService {
+
+     private final OrderService orderService;
+     private final OrderRepository orderRepository;
+     private final OrderWorkflowClient orderWorkflowClient;
+     private final int maxBatchSize;
+     private final Duration batchRetention;
+     private final BlockingQueue<Runnable> startQueue;
+     private final ThreadPoolExecutor startExecutor;
+
+     private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+
+     public BulkOrderIntakeService(
+               OrderService orderService,
+               OrderRepository orderRepository,
+               OrderWorkflowClient orderWorkflowClient,
+               @Value("${oms.bulk-intake.start-concurrency:16}") int startConcurrency,
+               @Value("${oms.bulk-intake.max-batch-size:10000}") int maxBatchSize,
+               @Value("${oms.bulk-intake.start-queue-capacity:20000}") int startQueueCapacity,
+               @Value("${oms.bulk-intake.batch-retention:1h}") Duration batchRetention) {
+          this.orderService = orderService;
+          this.orderRepository = orderRepository;
+          this.orderWorkflowClient = orderWorkflowClient;
+          this.maxBatchSize = maxBatchSize;
+          this.batchRetention = batchRetention;
+          this.startQueue = new ArrayBlockingQueue<>(startQueueCapacity);
+          this.startExecutor = new ThreadPoolExecutor(startConcurrency, startConcurrency, 0L, TimeUnit.MILLISECONDS,
+                    startQueue, Thread.ofPlatform().name("order-intake-start-", 0).daemon().factory());
+     }
+
+     public int getMaxBatchSize() {
+          return maxBatchSize;
+     }
+
+     /**
+      * Accept a batch of orders and start their intake workflows asynchronously.
+      * Orders without an externalOrderId, or repeating one already in the batch,
+      * are rejected individually.
+      *
+      * @throws RejectedExecutionException if the start queue has no room for the batch
+      */
+     public BulkOrderIntakeResponse submit(String tenantId, List<CreateOrderCommand> commands) {
+          if (commands.size() > maxBatchSize) {
+               throw new IllegalArgumentException(
+                         "Batch has " + commands.size() + " orders; the maximum is " + maxBatchSize);
+          }
+
+          Batch batch = new Batch(UUID.randomUUID().toString(), tenantId, Instant.now(), new ArrayList<>());
+          Set<String> seen = new HashSet<>();
+          List<Runnable> starts = new ArrayList<>();
+          for (CreateOrderCommand command : commands) {
+               String externalOrderId = command.externalOrderId();
+               if (externalOrderId == null || externalOrderId.isBlank()) {
+                    batch.items().add(new ItemState(null, null, "REJECTED", "externalOrderId is required"));
+                    continue;
+               }
+               if (!seen.add(externalOrderId)) {
+                    batch.items().add(new ItemState(externalOrderId, null, "REJECTED",
+                              "Duplicate externalOrderId in batch"));
+                    continue;
+               }
+               String requestId = intakeRequestId(tenantId, externalOrderId);
+               ItemState item = new ItemState(externalOrderId, OrderWorkflowClient.ORDER_INTAKE_PREFIX + requestId, "PENDING", null);
+               batch.items().add(item);
+               OrderIntakeWorkflowRequest request = orderService.toIntakeRequest(command, requestId);
+               starts.add(() -> start(item, request));
+          }
+          enqueue(starts);
+          batches.put(batch.batchId(), batch);
+
+          log.info("Accepted bulk intake batch {} for tenant {} - {} orders", batch.batchId(), tenantId,
+                    commands.size());
+          return toResponse(batch, Map.of());
+     }
+
+     /**
+      * Current status of a batch, or empty if it is unknown, expired or belongs
+      * to another tenant.
+      */
+     public Optional<BulkOrderIntakeResponse> getBatch(String tenantId, String batchId) {
+          Batch batch = batches.get(batchId);
+          if (batch == null || !batch.tenantId().equals(tenantId)) {
+               return Optional.empty();
+          }
+
+          List<String> externalOrderIds = batch.items().stream()
+                    .map(ItemState::externalOrderId)
+                    .filter(id -> id != null)
+                    .toList();
+          Map<String, Order> orders = orderRepository.findByTenantIdAndExternalOrderIdIn(tenantId, externalOrderIds)
+                    .stream()
+                    .collect(Collectors.toMap(Order::getExternalOrderId, Function.identity()));
+          return Optional.of(toResponse(batch, orders));
+     }
+
+     @Scheduled(fixedDelayString = "${oms.bulk-intake.cleanup-interval-ms:60000}")
+     public void evictExpiredBatches() {
+          Instant cutoff = Instant.now().minus(batchRetention);
+          batches.values().removeIf(batch -> batch.submittedAt().isBefore(cutoff));
+     }
+
+     @PreDestroy
+     void shutdown() throws InterruptedException {
+          startExecutor.shutdown();
+          startExecutor.awaitTermination(30, TimeUnit.SECONDS);
+     }
+
+     /**
+      * Intake request ID for an order: stable per (tenant, externalOrderId) so
+      * the workflow ID doubles as a deduplication key.
+      */
+     static String intakeRequestId(String tenantId, String externalOrderId) {
+          return UUID.nameUUIDFromBytes((tenantId + ":" + externalOrderId).getBytes(StandardCharsets.UTF_8))
+                    .toString();
+     }
+
+     /**
+      * Queue all of a batch's starts or none. Only submit adds to the queue, and
+      * it does so under this lock, so the room checked here cannot shrink before
+      * the starts are added.
+      */
+     private synchronized void enqueue(List<Runnable> starts) {
+          if (startQueue.remainingCapacity() < starts.size()) {
+               throw new RejectedExecutionException("Intake start queue is full - " + startQueue.size()
+                         + " starts waiting, " + starts.size() + " requested");
+          }
+          starts.forEach(startExecutor::execute);
+     }
+
+     private void start(ItemState item, OrderIntakeWorkflowRequest request) {
+          try {
+               orderWorkflowClient.startOrderIntakeAsync(request);
+               item.startStatus = "STARTED";
+          } catch (WorkflowExecutionAlreadyStarted e) {
+               item.startStatus = "ALREADY_STARTED";
+          } catch (Exception e) {
+               log.warn("Failed to start intake workflow {}: {}", item.workflowId, e.getMessage());
+               item.error = e.getMessage();
+               item.startStatus = "FAILED";
+          }
+     }
+
+     private BulkOrderIntakeResponse toResponse(Batch batch, Map<String, Order> orders) {
+          List<BulkOrderItem> items = batch.items().stream()
+                    .map(item -> {
+                         Order order = item.externalOrderId == null ? null : orders.get(item.externalOrderId);
+                         return new BulkOrderItem(
+                                   item.externalOrderId,
+                                   item.workflowId,
+                                   item.startStatus,
+                                   item.error,
+                                   order != null ? order.getId() : null,
+                                   order != null ? order.getStatus() : null);
+                    })
+                    .toList();
+          int rejected = (int) items.stream().filter(item -> "REJECTED".equals(item.startStatus())).count();
+          return new BulkOrderIntakeResponse(batch.batchId(), batch.submittedAt(), items.size() - rejected, rejected,
+                    items);
+     }
+
+     private record Batch(String batchId, String tenantId, Instant submittedAt, List<ItemState> items) {
+     }
+
+     /**
+      * Mutable per-order start state, written by the start pool and read by
+      * status polls.
+      */
+     private static final class ItemState {
+          private final String externalOrderId;
+          private final String workflowId;
+          private volatile String startStatus;
+          private volatile String error;
+
+          ItemState(String externalOrderId, String workflowId, String startStatus, String error) {
+               this.externalOrderId = externalOrderId;
+               this.workflowId = workflowId;
+               this.startStatus = startStatus;
+               this.error = error;
+          }
+
+          String externalOrderId() {
+               return externalOrderId;
+          }
+     }
+}
@@ -1,19 +1,38 @@
 package app.tempest.oms.service;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.tempest.common.cache.QueryResultCache;
+import app.tempest.common.dto.AwaitingWaveOrderDTO;
 import app.tempest.common.dto.OrderLineDTO;
 import app.tempest.common.dto.ShipToDTO;
+import app.tempest.common.dto.WaveOrderDTO;
 import app.tempest.common.dto.requests.OrderIntakeWorkflowRequest;
+import app.tempest.common.dto.results.GetOrdersAwaitingWaveResult;
 import app.tempest.common.dto.results.OrderIntakeWorkflowResult;
 import app.tempest.oms.dto.CreateOrderCommand;
+import app.tempest.oms.dto.OrderPage;
+import app.tempest.oms.dto.OrderSummary;
 import app.tempest.oms.entity.Order;
 import app.tempest.oms.entity.OrderLine;
 import app.tempest.oms.repository.OrderLineRepository;
@@ -31,23 +50,119 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderService {
 
+     public static final int DEFAULT_PAGE_SIZE = 100;
+     public static final int MAX_PAGE_SIZE = 500;
+
+     // Keyset position before the newest possible order (first page)
+     private static final Instant KEYSET_START = Instant.parse("9999-12-31T23:59:59Z");
+
+     public static final int MAX_AWAITING_WAVE_PAGE_SIZE = 5000;
+
      private final OrderRepository orderRepository;
      private final OrderLineRepository orderLineRepository;
      private final OrderWorkflowClient orderWorkflowClient;
+     private final OrderStatusCountsCache orderStatusCountsCache;
+     private final ObjectMapper objectMapper;
+     private final QueryResultCache queryCache;
+
+     // How long a cached order-to-workflow mapping is trusted
+     @Value("${oms.query-cache.order-ref-ttl:30s}")
+     private Duration orderRefTtl;
 
+     /**
+      * One keyset page of orders, newest first. The SKU filter takes precedence
+      * over the status filter.
+      *
+      * @param cursor opaque cursor from the previous page, or null for the first page
+      * @param limit  page size, defaulting to DEFAULT_PAGE_SIZE and capped at MAX_PAGE_SIZE
+      * @throws IllegalArgumentException if the cursor is malformed
+      */
      @Transactional(readOnly = true)
-     public List<Order> getOrders(String tenantId, String status, String sku) {
-          log.debug("Fetching orders for tenant: {}, status filter: {}, sku filter: {}", tenantId, status, sku);
+     public OrderPage getOrders(String tenantId, String status, String sku, String cursor, Integer limit) {
+          log.debug("Fetching orders for tenant: {}, status filter: {}, sku filter: {}, cursor: {}",
+                    tenantId, status, sku, cursor);
+
+          int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+          Instant createdAt = KEYSET_START;
+          long id = Long.MAX_VALUE;
+          if (cursor != null && !cursor.isEmpty()) {
+               String[] position = decodeCursor(cursor);
+               createdAt = Instant.parse(position[0]);
+               id = Long.parseLong(position[1]);
+          }
 
-          // SKU filter takes precedence - find orders containing this SKU
+          // Fetch one extra row to know whether there is a next page
+          Limit fetch = Limit.of(pageSize + 1);
+          List<OrderSummary> rows;
           if (sku != null && !sku.isEmpty()) {
-               return orderRepository.findByTenantIdAndOrderLinesSku(tenantId, sku);
+               rows = orderRepository.findPageBySku(tenantId, sku, createdAt, id, fetch);
+          } else if (status != null && !status.isEmpty()) {
+               rows = orderRepository.findPageByStatus(tenantId, status, createdAt, id, fetch);
+          } else {
+               rows = orderRepository.findPage(tenantId, createdAt, id, fetch);
+          }
+
+          if (rows.size() <= pageSize) {
+               return new OrderPage(rows, null);
+          }
+          List<OrderSummary> page = rows.subList(0, pageSize);
+          OrderSummary last = page.get(pageSize - 1);
+          return new OrderPage(new ArrayList<>(page), encodeCursor(last.createdAt(), last.id()));
+     }
+
+     /**
+      * The given orders, newest first, in one page. Unknown IDs are skipped.
+      *
+      * @throws IllegalArgumentException if more than MAX_PAGE_SIZE IDs are given
+      */
+     @Transactional(readOnly = true)
+     public List<OrderSummary> getOrdersByIds(String tenantId, List<Long> ids) {
+          if (ids.size() > MAX_PAGE_SIZE) {
+               throw new IllegalArgumentException("At most " + MAX_PAGE_SIZE + " order IDs per request");
+          }
+          return orderRepository.findSummariesByIds(tenantId, ids);
+     }
+
+     /**
+      * Write every matching order as NDJSON, newest first. Rows are streamed from
+      * the database with a bounded fetch size, so memory stays flat regardless of
+      * how many orders match.
+      */
+     @Transactional(readOnly = true)
+     public void exportOrders(String tenantId, String status, String sku, OutputStream out) throws IOException {
+          log.info("Exporting orders for tenant: {}, status filter: {}, sku filter: {}", tenantId, status, sku);
+
+          try (Stream<OrderSummary> orders = orderRepository.streamSummaries(tenantId, emptyToNull(status),
+                    emptyToNull(sku))) {
+               Iterator<OrderSummary> rows = orders.iterator();
+               while (rows.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(rows.next()));
+                    out.write('\n');
+               }
           }
+          out.flush();
+     }
+
+     private static String emptyToNull(String value) {
+          return value == null || value.isEmpty() ? null : value;
+     }
+
+     private static String encodeCursor(Instant createdAt, Long id) {
+          return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+     }
 
-          if (status != null && !status.isEmpty()) {
-               return orderRepository.findByTenantIdAndStatusOrderByCreatedAtDesc(tenantId, status);
+     private static String[] decodeCursor(String cursor) {
+          String[] position;
+          try {
+               position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+          } catch (IllegalArgumentException e) {
+               throw new IllegalArgumentException("Invalid cursor", e);
+          }
+          if (position.length != 2) {
+               throw new IllegalArgumentException("Invalid cursor");
           }
-          return orderRepository.findByTenantIdOrderByCreatedAtDesc(tenantId);
+          return position;
      }
 
      @Transactional(readOnly = true)
@@ -80,7 +195,21 @@ public class OrderService {
                     command.externalOrderId(), command.tenantId(), command.userId());
 
           String requestId = UUID.randomUUID().toString();
+          OrderIntakeWorkflowRequest workflowRequest = toIntakeRequest(command, requestId);
+
+          // Execute workflow synchronously - waits for completion
+          OrderIntakeWorkflowResult result = orderWorkflowClient.startOrderIntake(workflowRequest);
+
+          log.info("Order intake workflow completed - orderId: {}, status: {}, externalOrderId: {}, tenant: {}",
+                    result.getOrderId(), result.getStatus(), command.externalOrderId(), command.tenantId());
+
+          return result;
+     }
 
+     /**
+      * Build the OrderIntakeWorkflow request for an order creation command.
+      */
+     public OrderIntakeWorkflowRequest toIntakeRequest(CreateOrderCommand command, String requestId) {
           List<OrderLineDTO> lineDTOs = command.lines() != null
                     ? command.lines().stream()
                               .map(l -> OrderLineDTO.builder()
@@ -102,7 +231,7 @@ public class OrderService {
                     .country(command.shippingCountry())
                     .build();
 
-          OrderIntakeWorkflowRequest workflowRequest = OrderIntakeWorkflowRequest.builder()
+          return OrderIntakeWorkflowRequest.builder()
                     .requestId(requestId)
                     .tenantId(command.tenantId())
                     .userId(command.userId())
@@ -111,32 +240,142 @@ public class OrderService {
                     .orderLines(lineDTOs)
                     .shipTo(shipTo)
                     .build();
+     }
 
-          // Execute workflow synchronously - waits for completion
-          OrderIntakeWorkflowResult result = orderWorkflowClient.startOrderIntake(workflowRequest);
+     /**
+      * One keyset page of AWAITING_WAVE orders, oldest first, as wave planning
+      * keys. Lines for the whole page are loaded with one query and reduced to
+      * counts and the primary SKU.
+      */
+     @Transactional(readOnly = true)
+     public GetOrdersAwaitingWaveResult getOrdersAwaitingWave(String tenantId, Instant afterCreatedAt,
+               Long afterOrderId, int limit) {
+          int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_AWAITING_WAVE_PAGE_SIZE);
+          Instant createdAt = afterCreatedAt != null ? afterCreatedAt : Instant.EPOCH;
+          long id = afterOrderId != null ? afterOrderId : 0L;
+
+          // Fetch one extra row to know whether there is a next page
+          List<Order> orders = orderRepository.findAwaitingWave(tenantId, createdAt, id, Limit.of(pageSize + 1));
+          boolean hasMore = orders.size() > pageSize;
+          if (hasMore) {
+               orders = orders.subList(0, pageSize);
+          }
 
-          log.info("Order intake workflow completed - orderId: {}, status: {}, externalOrderId: {}, tenant: {}",
-                    result.getOrderId(), result.getStatus(), command.externalOrderId(), command.tenantId());
+          Map<Long, List<OrderLineDTO>> linesByOrder = loadLines(tenantId, orders);
 
-          return result;
+          List<AwaitingWaveOrderDTO> page = orders.stream()
+                    .map(order -> toPlanningKey(order, linesByOrder.getOrDefault(order.getId(), List.of())))
+                    .toList();
+
+          Order last = hasMore ? orders.get(orders.size() - 1) : null;
+          return GetOrdersAwaitingWaveResult.builder()
+                    .orders(page)
+                    .nextAfterCreatedAt(last != null ? last.getCreatedAt() : null)
+                    .nextAfterOrderId(last != null ? last.getId() : null)
+                    .build();
      }
 
+     /**
+      * Details of the orders in one planned wave. Orders that are no longer
+      * AWAITING_WAVE are left out.
+      *
+      * @throws IllegalArgumentException if more than MAX_AWAITING_WAVE_PAGE_SIZE IDs are given
+      */
      @Transactional(readOnly = true)
-     public Map<String, Long> getOrderCounts(String tenantId) {
-          log.debug("Fetching order counts for tenant: {}", tenantId);
+     public List<WaveOrderDTO> getOrdersForWave(String tenantId, List<Long> orderIds) {
+          if (orderIds.size() > MAX_AWAITING_WAVE_PAGE_SIZE) {
+               throw new IllegalArgumentException("At most " + MAX_AWAITING_WAVE_PAGE_SIZE + " orders per wave");
+          }
+          if (orderIds.isEmpty()) {
+               return List.of();
+          }
+          return toWaveOrders(tenantId,
+                    orderRepository.findByTenantIdAndIdInAndStatus(tenantId, orderIds, "AWAITING_WAVE"));
+     }
+
+     /**
+      * Details of the orders in one shard of a released wave, whatever their
+      * status.
+      *
+      * @throws IllegalArgumentException if more than MAX_AWAITING_WAVE_PAGE_SIZE IDs are given
+      */
+     @Transactional(readOnly = true)
+     public List<WaveOrderDTO> getOrdersForWaveShard(String tenantId, List<Long> orderIds) {
+          if (orderIds.size() > MAX_AWAITING_WAVE_PAGE_SIZE) {
+               throw new IllegalArgumentException("At most " + MAX_AWAITING_WAVE_PAGE_SIZE + " orders per shard");
+          }
+          if (orderIds.isEmpty()) {
+               return List.of();
+          }
+          return toWaveOrders(tenantId, orderRepository.findByTenantIdAndIdIn(tenantId, orderIds));
+     }
+
+     private List<WaveOrderDTO> toWaveOrders(String tenantId, List<Order> orders) {
+          Map<Long, List<OrderLineDTO>> linesByOrder = loadLines(tenantId, orders);
+
+          return orders.stream()
+                    .map(order -> WaveOrderDTO.builder()
+                              .orderId(order.getId())
+                              .externalOrderId(order.getExternalOrderId())
+                              .orderLines(linesByOrder.getOrDefault(order.getId(), List.of()))
+                              .shipTo(ShipToDTO.builder()
+                                        .name(order.getCustomerName())
+                                        .addressLine1(order.getShippingAddressLine1())
+                                        .addressLine2(order.getShippingAddressLine2())
+                                        .city(order.getShippingCity())
+                                        .state(order.getShippingState())
+                                        .postalCode(order.getShippingPostalCode())
+                                        .country(order.getShippingCountry())
+                                        .build())
+                              .build())
+                    .toList();
+     }
+
+     private Map<Long, List<OrderLineDTO>> loadLines(String tenantId, List<Order> orders) {
+          return orderLineRepository
+                    .findByTenantIdAndOrderIdIn(tenantId, orders.stream().map(Order::getId).toList())
+                    .stream()
+                    .collect(Collectors.groupingBy(line -> line.getOrder().getId(),
+                              Collectors.mapping(line -> OrderLineDTO.builder()
+                                        .orderLineId(line.getId())
+                                        .sku(line.getSku())
+                                        .quantity(line.getQuantity())
+                                        .unitPrice(line.getUnitPrice())
+                                        .build(), Collectors.toList())));
+     }
 
-          Map<String, Long> counts = new HashMap<>();
-          counts.put("CREATED", orderRepository.countByTenantIdAndStatus(tenantId, "CREATED"));
-          counts.put("VALIDATED", orderRepository.countByTenantIdAndStatus(tenantId, "VALIDATED"));
-          counts.put("RESERVED", orderRepository.countByTenantIdAndStatus(tenantId, "RESERVED"));
-          counts.put("AWAITING_WAVE", orderRepository.countByTenantIdAndStatus(tenantId, "AWAITING_WAVE"));
-          counts.put("IN_WAVE", orderRepository.countByTenantIdAndStatus(tenantId, "IN_WAVE"));
-          counts.put("PICKING", orderRepository.countByTenantIdAndStatus(tenantId, "PICKING"));
-          counts.put("PACKING", orderRepository.countByTenantIdAndStatus(tenantId, "PACKING"));
-          counts.put("SHIPPED", orderRepository.countByTenantIdAndStatus(tenantId, "SHIPPED"));
-          counts.put("CANCELLED", orderRepository.countByTenantIdAndStatus(tenantId, "CANCELLED"));
+     private static AwaitingWaveOrderDTO toPlanningKey(Order order, List<OrderLineDTO> lines) {
+          String primarySku = "";
+          int primaryUnits = -1;
+          int units = 0;
+          for (OrderLineDTO line : lines) {
+               units += line.getQuantity();
+               if (line.getSku() == null) {
+                    continue;
+               }
+               if (line.getQuantity() > primaryUnits
+                         || (line.getQuantity() == primaryUnits && line.getSku().compareTo(primarySku) < 0)) {
+                    primarySku = line.getSku();
+                    primaryUnits = line.getQuantity();
+               }
+          }
+          return AwaitingWaveOrderDTO.builder()
+                    .orderId(order.getId())
+                    .createdAt(order.getCreatedAt())
+                    .shipToCountry(order.getShippingCountry())
+                    .shipToState(order.getShippingState())
+                    .primarySku(primarySku)
+                    .lineCount(lines.size())
+                    .unitCount(units)
+                    .build();
+     }
 
-          return counts;
+     /**
+      * Order counts by status, served from the per-tenant counts cache.
+      */
+     public Map<String, Long> getOrderCounts(String tenantId) {
+          log.debug("Fetching order counts for tenant: {}", tenantId);
+          return orderStatusCountsCache.getCounts(tenantId);
      }
 
      @Transactional
@@ -148,47 +387,56 @@ public class OrderService {
                          if (order.getWorkflowId() != null) {
                               try {
                                    orderWorkflowClient.signalCancelOrder(order.getWorkflowId(), reason);
+                                   queryCache.invalidate(tenantId, order.getWorkflowId());
                               } catch (Exception e) {
                                    log.warn("Failed to signal workflow cancellation: {}", e.getMessage());
                               }
                          }
+                         String previousStatus = order.getStatus();
                          order.setStatus("CANCELLED");
                          orderRepository.save(order);
+                         orderStatusCountsCache.recordTransition(tenantId, previousStatus, "CANCELLED");
+                         queryCache.invalidateAfterCommit(tenantId, cacheGroup(orderId));
                          return true;
                     })
                     .orElse(false);
      }
 
+     /**
+      * Workflow status of an order. The order's workflow ID and the query result
+      * are both served from the query cache.
+      */
      @Transactional(readOnly = true)
      public Optional<WorkflowStatus> getOrderWorkflowStatus(Long orderId, String tenantId) {
           log.debug("Fetching workflow status for order {} tenant: {}", orderId, tenantId);
 
-          return orderRepository.findByIdAndTenantId(orderId, tenantId)
-                    .flatMap(order -> {
-                         if (order.getWorkflowId() == null) {
-                              return Optional.empty();
-                         }
-                         return getWorkflowStatus(order.getWorkflowId());
-                    });
-     }
-
-     private Optional<WorkflowStatus> getWorkflowStatus(String workflowId) {
-          try {
-               // Try OrderFulfillmentWorkflow first
-               String status = orderWorkflowClient.getFulfillmentStatus(workflowId);
-               String currentStep = orderWorkflowClient.getCurrentStep(workflowId);
-               String blockingReason = orderWorkflowClient.getBlockingReason(workflowId);
-               return Optional.of(new WorkflowStatus(status, currentStep, blockingReason));
-          } catch (Exception e) {
-               // Fall back to OrderIntakeWorkflow
+          Optional<String> workflowId = queryCache.get(tenantId, cacheGroup(orderId), "workflow-id", orderRefTtl,
+                    previous -> orderRepository.findByIdAndTenantId(orderId, tenantId).map(Order::getWorkflowId));
+          return workflowId.flatMap(id -> {
+               // Failed queries are not cached; the empty fallback is returned outside the cache
                try {
-                    String status = orderWorkflowClient.getOrderIntakeStatus(workflowId);
-                    return Optional.of(new WorkflowStatus(status, null, null));
-               } catch (Exception e2) {
-                    log.warn("Could not get workflow status for {}: {}", workflowId, e2.getMessage());
+                    return Optional.of(queryCache.get(tenantId, id, "status", () -> getWorkflowStatus(id)));
+               } catch (Exception e) {
+                    log.warn("Could not get workflow status for {}: {}", id, e.getMessage());
                     return Optional.empty();
                }
+          });
+     }
+
+     private WorkflowStatus getWorkflowStatus(String workflowId) {
+          // The workflow type follows from the ID; intake workflows have no step or blocking reason
+          if (workflowId.startsWith(OrderWorkflowClient.ORDER_INTAKE_PREFIX)) {
+               String status = orderWorkflowClient.getOrderIntakeStatus(workflowId);
+               return new WorkflowStatus(status, null, null);
           }
+          String status = orderWorkflowClient.getFulfillmentStatus(workflowId);
+          String currentStep = orderWorkflowClient.getCurrentStep(workflowId);
+          String blockingReason = orderWorkflowClient.getBlockingReason(workflowId);
+          return new WorkflowStatus(status, currentStep, blockingReason);
+     }
+
+     private static String cacheGroup(Long orderId) {
+          return "order-" + orderId;
      }
 
      public record WorkflowStatus(String status, String currentStep, String blockingReason) {
@@ -211,6 +459,7 @@ public class OrderService {
           String previousStatus = order.getStatus();
           order.setStatus(newStatus);
           orderRepository.save(order);
+          orderStatusCountsCache.recordTransition(order.getTenantId(), previousStatus, newStatus);
 
           log.info("Order {} status updated: {} -> {}", orderId, previousStatus, newStatus);
      }
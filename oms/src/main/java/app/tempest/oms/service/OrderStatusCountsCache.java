@@ -0,0 +1,158 @@
+package app.tempest.oms.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.tempest.oms.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-tenant order counts by status, for dashboards.
+ *
+ * A tenant's counts are loaded with one grouped query on first read and then
+ * kept current by status transitions reported from the code paths that change
+ * an order's status. Transitions are applied after their transaction commits,
+ * so rolled-back changes never reach the cache. A scheduled job reloads every
+ * cached tenant to correct drift (writes from other instances, missed hooks)
+ * and drops tenants nobody has read recently. Transitions applied while a
+ * tenant is being reloaded go to the old counts only: the count query may or
+ * may not have seen them, and replaying them could count them twice. Anything
+ * the query missed is picked up by the next reconcile.
+ */
+@Slf4j
+@Component
+public class OrderStatusCountsCache {
+
+     /**
+      * Statuses always present in the counts, in dashboard order.
+      */
+     public static final List<String> STATUSES = List.of(
+               "CREATED", "VALIDATED", "RESERVED", "AWAITING_WAVE", "IN_WAVE",
+               "PICKING", "PACKING", "SHIPPED", "CANCELLED");
+
+     private final OrderRepository orderRepository;
+     private final long idleEvictionMs;
+     private final Map<String, TenantCounts> tenants = new ConcurrentHashMap<>();
+
+     public OrderStatusCountsCache(
+               OrderRepository orderRepository,
+               @Value("${oms.order-counts.idle-eviction-ms:900000}") long idleEvictionMs) {
+          this.orderRepository = orderRepository;
+          this.idleEvictionMs = idleEvictionMs;
+     }
+
+     /**
+      * Counts for every status in STATUSES (zero if absent).
+      */
+     public Map<String, Long> getCounts(String tenantId) {
+          TenantCounts counts = tenants.computeIfAbsent(tenantId, this::load);
+          counts.lastReadMillis = System.currentTimeMillis();
+
+          Map<String, Long> result = new LinkedHashMap<>();
+          for (String status : STATUSES) {
+               AtomicLong count = counts.byStatus.get(status);
+               result.put(status, count != null ? Math.max(0, count.get()) : 0L);
+          }
+          return result;
+     }
+
+     /**
+      * Record that an order was created with the given status.
+      */
+     public void recordCreated(String tenantId, String status) {
+          recordTransition(tenantId, null, status);
+     }
+
+     /**
+      * Record a status change. Applied after the current transaction commits, or
+      * immediately when there is none. A no-op for tenants not in the cache.
+      */
+     public void recordTransition(String tenantId, String fromStatus, String toStatus) {
+          if (tenantId == null || (fromStatus != null && fromStatus.equals(toStatus))) {
+               return;
+          }
+          if (TransactionSynchronizationManager.isSynchronizationActive()) {
+               TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                         apply(tenantId, fromStatus, toStatus);
+                    }
+               });
+          } else {
+               apply(tenantId, fromStatus, toStatus);
+          }
+     }
+
+     @Scheduled(fixedDelayString = "${oms.order-counts.reconcile-interval-ms:300000}")
+     public void reconcile() {
+          long now = System.currentTimeMillis();
+          for (Map.Entry<String, TenantCounts> entry : tenants.entrySet()) {
+               if (now - entry.getValue().lastReadMillis > idleEvictionMs) {
+                    tenants.remove(entry.getKey());
+                    continue;
+               }
+               TenantCounts current = entry.getValue();
+               try {
+                    TenantCounts fresh = load(entry.getKey());
+                    fresh.lastReadMillis = current.lastReadMillis;
+                    synchronized (current) {
+                         current.replaced = true;
+                         tenants.replace(entry.getKey(), current, fresh);
+                    }
+               } catch (Exception e) {
+                    log.warn("Failed to reconcile order counts for tenant {}: {}", entry.getKey(), e.getMessage());
+               }
+          }
+     }
+
+     private void apply(String tenantId, String fromStatus, String toStatus) {
+          while (true) {
+               TenantCounts counts = tenants.get(tenantId);
+               if (counts == null) {
+                    return;
+               }
+               synchronized (counts) {
+                    // Swapped out by a reconcile since the lookup - apply to the new counts
+                    if (counts.replaced) {
+                         continue;
+                    }
+                    applyTo(counts, fromStatus, toStatus);
+                    return;
+               }
+          }
+     }
+
+     private static void applyTo(TenantCounts counts, String fromStatus, String toStatus) {
+          if (fromStatus != null) {
+               counts.byStatus.computeIfAbsent(fromStatus, k -> new AtomicLong()).decrementAndGet();
+          }
+          if (toStatus != null) {
+               counts.byStatus.computeIfAbsent(toStatus, k -> new AtomicLong()).incrementAndGet();
+          }
+     }
+
+     private TenantCounts load(String tenantId) {
+          TenantCounts counts = new TenantCounts();
+          for (OrderRepository.StatusCount row : orderRepository.countByStatus(tenantId)) {
+               counts.byStatus.put(row.getStatus(), new AtomicLong(row.getCount()));
+          }
+          return counts;
+     }
+
+     private static final class TenantCounts {
+          private final Map<String, AtomicLong> byStatus = new ConcurrentHashMap<>();
+          private volatile long lastReadMillis = System.currentTimeMillis();
+
+          // Guarded by this: whether these counts have been swapped out by a reconcile
+          private boolean replaced;
+     }
+}
@@ -9,6 +9,7 @@ import app.tempest.common.dto.results.OrderIntakeWorkflowResult;
 import app.tempest.common.temporal.TaskQueues;
 import app.tempest.oms.temporal.workflow.OrderFulfillmentWorkflow;
 import app.tempest.oms.temporal.workflow.OrderIntakeWorkflow;
+import io.temporal.api.enums.v1.WorkflowIdReusePolicy;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowOptions;
 import lombok.RequiredArgsConstructor;
@@ -22,10 +23,13 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderWorkflowClient {
 
+     // Workflow ID prefix of every OrderIntakeWorkflow
+     public static final String ORDER_INTAKE_PREFIX = "order-intake-";
+
      private final WorkflowClient workflowClient;
 
      public OrderIntakeWorkflowResult startOrderIntake(OrderIntakeWorkflowRequest request) {
-          String workflowId = "order-intake-" + request.getRequestId();
+          String workflowId = ORDER_INTAKE_PREFIX + request.getRequestId();
 
           log.info("Starting OrderIntakeWorkflow - workflowId: {}, requestId: {}",
                     workflowId, request.getRequestId());
@@ -42,18 +46,28 @@ public class OrderWorkflowClient {
           return workflow.execute(request);
      }
 
+     /**
+      * Start an OrderIntakeWorkflow without waiting for it to complete.
+      *
+      * @return the workflow ID
+      * @throws io.temporal.client.WorkflowExecutionAlreadyStarted if the intake
+      *         for this request is running or has already succeeded
+      */
      public String startOrderIntakeAsync(OrderIntakeWorkflowRequest request) {
-          String workflowId = "order-intake-" + request.getRequestId();
+          String workflowId = ORDER_INTAKE_PREFIX + request.getRequestId();
 
           log.info("Starting OrderIntakeWorkflow async - workflowId: {}, requestId: {}",
                     workflowId, request.getRequestId());
 
+          // A finished intake may only be re-run if it failed, so a resubmitted order is not re-processed
           OrderIntakeWorkflow workflow = workflowClient.newWorkflowStub(
                     OrderIntakeWorkflow.class,
                     WorkflowOptions.newBuilder()
                               .setTaskQueue(TaskQueues.OMS)
                               .setWorkflowId(workflowId)
                               .setWorkflowExecutionTimeout(Duration.ofMinutes(10))
+                              .setWorkflowIdReusePolicy(
+                                        WorkflowIdReusePolicy.WORKFLOW_ID_REUSE_POLICY_ALLOW_DUPLICATE_FAILED_ONLY)
                               .build());
 
           // Start workflow asynchronously
@@ -9,8 +9,8 @@ import app.tempest.common.dto.requests.CreateOrderRequest;
 import app.tempest.common.dto.results.CreateOrderResult;
 import app.tempest.oms.entity.Order;
 import app.tempest.oms.entity.OrderLine;
-import app.tempest.oms.repository.OrderLineRepository;
 import app.tempest.oms.repository.OrderRepository;
+import app.tempest.oms.service.OrderStatusCountsCache;
 import app.tempest.oms.temporal.activities.CreateOrderActivity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CreateOrderActivityImpl implements CreateOrderActivity {
 
      private final OrderRepository orderRepository;
-     private final OrderLineRepository orderLineRepository;
+     private final OrderStatusCountsCache orderStatusCountsCache;
 
      @Override
      @Transactional
@@ -64,10 +64,7 @@ public class CreateOrderActivityImpl implements CreateOrderActivity {
                order.setShippingCountry(request.getShipTo().getCountry());
           }
 
-          order = orderRepository.save(order);
-          log.info("Order saved - orderId: {}, externalOrderId: {}", order.getId(), order.getExternalOrderId());
-
-          // Create order lines
+          // Lines are cascaded from the order and go out in one JDBC batch
           if (request.getOrderLines() != null) {
                for (var lineDto : request.getOrderLines()) {
                     OrderLine line = OrderLine.builder()
@@ -79,11 +76,15 @@ public class CreateOrderActivityImpl implements CreateOrderActivity {
                     line.setTenantId(request.getTenantId());
                     line.setCreatedByUserId(request.getUserId());
                     line.setUpdatedByUserId(request.getUserId());
-                    orderLineRepository.save(line);
+                    order.getOrderLines().add(line);
                }
-               log.info("Created {} order lines for orderId: {}", request.getOrderLines().size(), order.getId());
           }
 
+          order = orderRepository.save(order);
+          orderStatusCountsCache.recordCreated(order.getTenantId(), order.getStatus());
+          log.info("Order saved - orderId: {}, externalOrderId: {}, lines: {}",
+                    order.getId(), order.getExternalOrderId(), order.getOrderLines().size());
+
           return CreateOrderResult.builder()
                     .orderId(order.getId())
                     .status(order.getStatus())
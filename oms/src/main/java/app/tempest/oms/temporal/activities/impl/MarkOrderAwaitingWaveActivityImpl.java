@@ -7,6 +7,7 @@ import app.tempest.common.dto.requests.MarkOrderAwaitingWaveRequest;
 import app.tempest.common.dto.results.MarkOrderAwaitingWaveResult;
 import app.tempest.oms.entity.Order;
 import app.tempest.oms.repository.OrderRepository;
+import app.tempest.oms.service.OrderStatusCountsCache;
 import app.tempest.oms.temporal.activities.MarkOrderAwaitingWaveActivity;
 import io.temporal.failure.ApplicationFailure;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 public class MarkOrderAwaitingWaveActivityImpl implements MarkOrderAwaitingWaveActivity {
 
      private final OrderRepository orderRepository;
+     private final OrderStatusCountsCache orderStatusCountsCache;
 
      @Override
      @Transactional
@@ -52,6 +54,7 @@ public class MarkOrderAwaitingWaveActivityImpl implements MarkOrderAwaitingWaveA
           // Update status
           order.setStatus("AWAITING_WAVE");
           orderRepository.save(order);
+          orderStatusCountsCache.recordTransition(order.getTenantId(), previousStatus, "AWAITING_WAVE");
 
           log.info("Order marked as AWAITING_WAVE - orderId: {}, previousStatus: {}",
                     request.getOrderId(), previousStatus);
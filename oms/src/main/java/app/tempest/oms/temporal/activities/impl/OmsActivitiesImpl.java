@@ -1,9 +1,16 @@
 package app.tempest.oms.temporal.activities.impl;
 
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
+import app.tempest.common.dto.WaveOrderDTO;
+import app.tempest.common.dto.requests.GetOrdersAwaitingWaveRequest;
+import app.tempest.common.dto.requests.GetOrdersForWaveRequest;
 import app.tempest.common.dto.requests.MarkOrderReservedRequest;
 import app.tempest.common.dto.requests.MarkOrderShippedRequest;
+import app.tempest.common.dto.results.GetOrdersAwaitingWaveResult;
+import app.tempest.common.dto.results.GetOrdersForWaveResult;
 import app.tempest.common.dto.results.MarkOrderReservedResult;
 import app.tempest.common.dto.results.MarkOrderShippedResult;
 import app.tempest.common.temporal.activities.oms.OmsActivities;
@@ -55,5 +62,36 @@ public class OmsActivitiesImpl implements OmsActivities {
                 .currentStatus("SHIPPED")
                 .build();
     }
-}
 
+    @Override
+    public GetOrdersAwaitingWaveResult getOrdersAwaitingWave(GetOrdersAwaitingWaveRequest request) {
+        GetOrdersAwaitingWaveResult result = orderService.getOrdersAwaitingWave(request.getTenantId(),
+                request.getAfterCreatedAt(), request.getAfterOrderId(), request.getLimit());
+
+        log.info("Fetched {} AWAITING_WAVE orders for wave planning - tenantId: {}, more: {}",
+                result.getOrders().size(), request.getTenantId(), result.getNextAfterOrderId() != null);
+        return result;
+    }
+
+    @Override
+    public GetOrdersForWaveResult getOrdersForWave(GetOrdersForWaveRequest request) {
+        List<WaveOrderDTO> orders = orderService.getOrdersForWave(request.getTenantId(), request.getOrderIds());
+
+        log.info("Fetched {} of {} orders for a planned wave - tenantId: {}",
+                orders.size(), request.getOrderIds().size(), request.getTenantId());
+        return GetOrdersForWaveResult.builder()
+                .orders(orders)
+                .build();
+    }
+
+    @Override
+    public GetOrdersForWaveResult getOrdersForWaveShard(GetOrdersForWaveRequest request) {
+        List<WaveOrderDTO> orders = orderService.getOrdersForWaveShard(request.getTenantId(), request.getOrderIds());
+
+        log.info("Fetched {} of {} orders for a wave shard - tenantId: {}",
+                orders.size(), request.getOrderIds().size(), request.getTenantId());
+        return GetOrdersForWaveResult.builder()
+                .orders(orders)
+                .build();
+    }
+}
@@ -5,9 +5,11 @@ import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import app.tempest.common.dto.OrderAllocationDTO;
 import app.tempest.common.dto.OrderLineDTO;
 import app.tempest.common.dto.PickItemDTO;
 import app.tempest.common.dto.ShipToDTO;
+import app.tempest.common.dto.requests.AllocateInventoryBatchRequest;
 import app.tempest.common.dto.requests.AllocateInventoryRequest;
 import app.tempest.common.dto.requests.ConfirmShipmentRequest;
 import app.tempest.common.dto.requests.ConsumeInventoryRequest;
@@ -21,6 +23,7 @@ import app.tempest.common.dto.requests.ReleaseInventoryRequest;
 import app.tempest.common.dto.results.AllocateInventoryResult;
 import app.tempest.common.dto.results.CreateShipmentResult;
 import app.tempest.common.dto.results.GenerateShippingLabelResult;
+import app.tempest.common.dto.results.OrderAllocationResult;
 import app.tempest.common.dto.results.OrderFulfillmentWorkflowResult;
 import app.tempest.common.temporal.TaskQueues;
 import app.tempest.common.temporal.activities.ims.ImsActivities;
@@ -31,6 +34,7 @@ import app.tempest.oms.temporal.activities.MarkOrderShippedActivity;
 import app.tempest.oms.temporal.workflow.OrderFulfillmentWorkflow;
 import io.temporal.activity.ActivityOptions;
 import io.temporal.common.RetryOptions;
+import io.temporal.failure.ApplicationFailure;
 import io.temporal.workflow.Workflow;
 
 /**
@@ -39,6 +43,10 @@ import io.temporal.workflow.Workflow;
  */
 public class OrderFulfillmentWorkflowImpl implements OrderFulfillmentWorkflow {
 
+     // Workflow.getVersion change ID for the allocateBatch call. Runs that already
+     // passed it replay the DEFAULT_VERSION branch, which allocates per line
+     private static final String BATCHED_ALLOCATION = "batched-allocation";
+
      // Workflow state
      private String status = "STARTED";
      private String currentStep = "INITIALIZING";
@@ -101,21 +109,44 @@ public class OrderFulfillmentWorkflowImpl implements OrderFulfillmentWorkflow {
                currentStep = "ALLOCATING_INVENTORY";
                status = "ALLOCATING";
 
-               String reservationId = null;
-               for (OrderLineDTO line : request.getOrderLines()) {
-                    AllocateInventoryRequest allocateRequest = AllocateInventoryRequest.builder()
-                              .orderId(orderId)
-                              .sku(line.getSku())
-                              .quantity(line.getQuantity())
+               String reservationId;
+               if (Workflow.getVersion(BATCHED_ALLOCATION, Workflow.DEFAULT_VERSION, 1) == 1) {
+                    AllocateInventoryBatchRequest allocateRequest = AllocateInventoryBatchRequest.builder()
+                              .tenantId(request.getTenantId())
+                              .orders(List.of(OrderAllocationDTO.builder()
+                                        .orderId(orderId)
+                                        .orderLines(request.getOrderLines())
+                                        .build()))
                               .build();
 
-                    AllocateInventoryResult allocateResult = imsActivities.allocate(allocateRequest);
+                    OrderAllocationResult allocateResult = imsActivities.allocateBatch(allocateRequest)
+                              .getOrders().get(0);
+                    if (!allocateResult.isSuccess()) {
+                         throw ApplicationFailure.newNonRetryableFailure(
+                                   "Inventory allocation failed for order " + orderId + ": "
+                                             + allocateResult.getErrorMessage(),
+                                   "ALLOCATION_FAILED");
+                    }
                     reservationId = allocateResult.getReservationId();
+               } else {
+                    // Runs started before batched allocation allocate one line per call
+                    reservationId = null;
+                    for (OrderLineDTO line : request.getOrderLines()) {
+                         AllocateInventoryRequest allocateRequest = AllocateInventoryRequest.builder()
+                                   .tenantId(request.getTenantId())
+                                   .orderId(orderId)
+                                   .sku(line.getSku())
+                                   .quantity(line.getQuantity())
+                                   .build();
+
+                         AllocateInventoryResult allocateResult = imsActivities.allocate(allocateRequest);
+                         reservationId = allocateResult.getReservationId();
+                    }
                }
 
                // Check for cancellation
                if (cancelled) {
-                    return handleCancellation(orderId, reservationId);
+                    return handleCancellation(request.getTenantId(), orderId, reservationId);
                }
 
                // Step 2: Mark Order Reserved
@@ -134,12 +165,14 @@ public class OrderFulfillmentWorkflowImpl implements OrderFulfillmentWorkflow {
 
                List<PickItemDTO> pickItems = request.getOrderLines().stream()
                          .map(line -> PickItemDTO.builder()
+                                   .orderLineId(line.getOrderLineId())
                                    .sku(line.getSku())
                                    .quantity(line.getQuantity())
                                    .build())
                          .collect(Collectors.toList());
 
                CreatePickWaveRequest pickWaveRequest = CreatePickWaveRequest.builder()
+                         .tenantId(request.getTenantId())
                          .orderId(orderId)
                          .facilityId(request.getFacilityId() != null ? request.getFacilityId() : 1L)
                          .strategy("SINGLE_ORDER")
@@ -157,7 +190,7 @@ public class OrderFulfillmentWorkflowImpl implements OrderFulfillmentWorkflow {
                blockingReason = null;
 
                if (cancelled) {
-                    return handleCancellation(orderId, reservationId);
+                    return handleCancellation(request.getTenantId(), orderId, reservationId);
                }
 
                // Step 5: Consume Inventory
@@ -165,6 +198,7 @@ public class OrderFulfillmentWorkflowImpl implements OrderFulfillmentWorkflow {
 
                for (OrderLineDTO line : request.getOrderLines()) {
                     ConsumeInventoryRequest consumeRequest = ConsumeInventoryRequest.builder()
+                              .tenantId(request.getTenantId())
                               .orderId(String.valueOf(orderId))
                               .reservationId(reservationId)
                               .sku(line.getSku())
@@ -182,7 +216,7 @@ public class OrderFulfillmentWorkflowImpl implements OrderFulfillmentWorkflow {
                blockingReason = null;
 
                if (cancelled) {
-                    return handleCancellation(orderId, reservationId);
+                    return handleCancellation(request.getTenantId(), orderId, reservationId);
                }
 
                // Step 7: Create Shipment
@@ -254,13 +288,14 @@ public class OrderFulfillmentWorkflowImpl implements OrderFulfillmentWorkflow {
           }
      }
 
-     private OrderFulfillmentWorkflowResult handleCancellation(Long orderId, String reservationId) {
+     private OrderFulfillmentWorkflowResult handleCancellation(String tenantId, Long orderId, String reservationId) {
           status = "CANCELLED";
           currentStep = "RELEASING_INVENTORY";
 
           // Release inventory if allocated
           if (reservationId != null) {
                ReleaseInventoryRequest releaseRequest = ReleaseInventoryRequest.builder()
+                         .tenantId(tenantId)
                          .orderId(String.valueOf(orderId))
                          .reservationId(reservationId)
                          .reason(cancellationReason)
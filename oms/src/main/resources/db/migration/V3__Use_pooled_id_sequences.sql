@@ -0,0 +1,7 @@
+-- V3: Pooled ID allocation for orders and order lines
+-- Hibernate reserves blocks of 50 IDs per sequence call (allocationSize = 50),
+-- which lets it batch inserts instead of round-tripping for each generated key.
+-- The increment must match the entities' allocationSize.
+
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_lines_id_seq INCREMENT BY 50;
@@ -0,0 +1,12 @@
+-- V4: Indexes for keyset pagination of order listings
+-- Pages are ordered by (created_at DESC, id DESC) within a tenant, optionally
+-- filtered by status or by SKU.
+
+CREATE INDEX IF NOT EXISTS idx_orders_tenant_created ON orders(tenant_id, created_at DESC, id DESC);
+
+-- Supersedes idx_orders_status (tenant_id, status)
+CREATE INDEX IF NOT EXISTS idx_orders_tenant_status_created ON orders(tenant_id, status, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_orders_status;
+
+-- SKU filter probes order lines per order
+CREATE INDEX IF NOT EXISTS idx_order_lines_tenant_sku ON order_lines(tenant_id, sku, order_id);
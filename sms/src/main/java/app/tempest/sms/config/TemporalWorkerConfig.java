@@ -3,31 +3,37 @@ package app.tempest.sms.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import app.tempest.common.config.TemporalWorkerTuning;
 import app.tempest.common.temporal.TaskQueues;
 import app.tempest.sms.temporal.activities.impl.FetchFedExRatesActivityImpl;
 import app.tempest.sms.temporal.activities.impl.FetchUPSRatesActivityImpl;
 import app.tempest.sms.temporal.activities.impl.FetchUSPSRatesActivityImpl;
+import app.tempest.sms.temporal.activities.impl.ManifestActivityImpl;
 import app.tempest.sms.temporal.activities.impl.SmsActivitiesImpl;
+import app.tempest.sms.temporal.workflow.impl.CarrierManifestWorkflowImpl;
 import io.temporal.client.WorkflowClient;
 import io.temporal.worker.Worker;
 import io.temporal.worker.WorkerFactory;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 @Configuration
 public class TemporalWorkerConfig {
 
     @Bean
     public WorkerFactory workerFactory(
             WorkflowClient workflowClient,
+            TemporalWorkerTuning workerTuning,
             SmsActivitiesImpl smsActivities,
             FetchUSPSRatesActivityImpl fetchUSPSRatesActivity,
             FetchUPSRatesActivityImpl fetchUPSRatesActivity,
-            FetchFedExRatesActivityImpl fetchFedExRatesActivity) {
+            FetchFedExRatesActivityImpl fetchFedExRatesActivity,
+            ManifestActivityImpl manifestActivity) {
 
-        WorkerFactory factory = WorkerFactory.newInstance(workflowClient);
+        WorkerFactory factory = workerTuning.newWorkerFactory(workflowClient);
 
-        Worker worker = factory.newWorker(TaskQueues.SMS);
+        Worker worker = workerTuning.newWorker(factory, TaskQueues.SMS);
+
+        // End-of-day carrier manifest close, started by per-facility schedules
+        worker.registerWorkflowImplementationTypes(CarrierManifestWorkflowImpl.class);
 
         // Register consolidated SMS activities for cross-service calls
         // Plus carrier-specific rate activities (internal use)
@@ -35,10 +41,10 @@ public class TemporalWorkerConfig {
                 smsActivities,
                 fetchUSPSRatesActivity,
                 fetchUPSRatesActivity,
-                fetchFedExRatesActivity);
+                fetchFedExRatesActivity,
+                manifestActivity);
 
-        log.info("Starting SMS Temporal worker on task queue: {}", TaskQueues.SMS);
-        factory.start();
+        workerTuning.start(factory, TaskQueues.SMS);
 
         return factory;
     }
@@ -0,0 +1,108 @@
+package app.tempest.sms.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import app.tempest.common.dto.CarrierManifestDTO;
+import app.tempest.common.security.SecurityUtils;
+import app.tempest.sms.entity.CarrierManifest;
+import app.tempest.sms.manifest.ManifestScheduler;
+import app.tempest.sms.manifest.ManifestService;
+
+/**
+ * Controller for end-of-day carrier manifests.
+ * All operations are tenant-scoped - tenantId is extracted from JWT, never from request body.
+ */
+@RestController
+@RequestMapping("/manifests")
+public class ManifestController {
+
+    private static final Logger log = LoggerFactory.getLogger(ManifestController.class);
+
+    private final ManifestService manifestService;
+    private final ManifestScheduler manifestScheduler;
+
+    public ManifestController(ManifestService manifestService, ManifestScheduler manifestScheduler) {
+        this.manifestService = manifestService;
+        this.manifestScheduler = manifestScheduler;
+    }
+
+    /**
+     * Get the current tenant's manifests for a day.
+     * Accessible by ADMIN, MANAGER, and INTEGRATION roles.
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'INTEGRATION')")
+    public ResponseEntity<List<CarrierManifestDTO>> getManifests(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal Jwt jwt) {
+        String tenantId = SecurityUtils.requireTenantId(jwt);
+        log.debug("Fetching manifests for {} for tenant: {}", date, tenantId);
+
+        return ResponseEntity.ok(manifestService.findManifests(tenantId, date));
+    }
+
+    /**
+     * Download a closed manifest's file.
+     * Accessible by ADMIN, MANAGER, and INTEGRATION roles.
+     */
+    @GetMapping("/{id}/file")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'INTEGRATION')")
+    public ResponseEntity<Resource> getManifestFile(@PathVariable Long id, @AuthenticationPrincipal Jwt jwt) {
+        String tenantId = SecurityUtils.requireTenantId(jwt);
+        log.debug("Fetching manifest file {} for tenant: {}", id, tenantId);
+
+        return manifestService.findFile(tenantId, id)
+                .map(download -> {
+                    CarrierManifest manifest = download.manifest();
+                    String fileName = "manifest-" + manifest.getFacilityId() + "-" + manifest.getCarrier() + "-"
+                            + manifest.getManifestDate() + ".csv";
+                    return ResponseEntity.ok()
+                            .contentType(new MediaType("text", "csv"))
+                            .eTag("\"" + manifest.getSha256() + "\"")
+                            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                    .filename(fileName)
+                                    .build()
+                                    .toString())
+                            .<Resource>body(new FileSystemResource(download.file()));
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Close a facility's manifests for the current day now. Runs asynchronously
+     * through the facility's manifest schedule; skipped if a close is already in
+     * progress. Accessible by ADMIN and MANAGER roles only.
+     */
+    @PostMapping("/close")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Map<String, String>> closeManifests(
+            @RequestParam Long facilityId,
+            @AuthenticationPrincipal Jwt jwt) {
+        String tenantId = SecurityUtils.requireTenantId(jwt);
+        log.info("Triggering manifest close - tenantId: {}, facilityId: {}", tenantId, facilityId);
+
+        String scheduleId = manifestScheduler.trigger(tenantId, facilityId);
+        return ResponseEntity.accepted().body(Map.of("scheduleId", scheduleId));
+    }
+}
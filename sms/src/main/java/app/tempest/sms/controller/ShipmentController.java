@@ -1,9 +1,17 @@
 package app.tempest.sms.controller;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -13,11 +21,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import app.tempest.common.security.SecurityUtils;
 import app.tempest.sms.entity.Shipment;
+import app.tempest.sms.label.LabelFormat;
+import app.tempest.sms.label.LabelService;
 import app.tempest.sms.repository.ShipmentRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Controller for Shipment operations.
@@ -29,10 +43,18 @@ public class ShipmentController {
 
     private static final Logger log = LoggerFactory.getLogger(ShipmentController.class);
 
+    // Tomcat request attributes for handing a file to the connector's sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final ShipmentRepository shipmentRepository;
+    private final LabelService labelService;
 
-    public ShipmentController(ShipmentRepository shipmentRepository) {
+    public ShipmentController(ShipmentRepository shipmentRepository, LabelService labelService) {
         this.shipmentRepository = shipmentRepository;
+        this.labelService = labelService;
     }
 
     /**
@@ -64,6 +86,59 @@ public class ShipmentController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Download a shipment's label as PDF (default) or ZPL.
+     * Accessible by ADMIN, MANAGER, and INTEGRATION roles.
+     *
+     * The label file goes to the socket without passing through the heap:
+     * Tomcat's sendfile when the connector supports it (plain HTTP), else
+     * FileChannel.transferTo into the response. The ETag is the label's
+     * content hash, so reprints of an unchanged label get a 304.
+     */
+    @GetMapping("/{id}/label")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'INTEGRATION')")
+    public void getLabel(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "PDF") LabelFormat format,
+            @AuthenticationPrincipal Jwt jwt,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        String tenantId = SecurityUtils.requireTenantId(jwt);
+        log.debug("Fetching {} label of shipment {} for tenant: {}", format, id, tenantId);
+
+        Optional<Path> label = labelService.find(tenantId, id, format);
+        if (label.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path path = label.get();
+        String fileName = path.getFileName().toString();
+        String etag = "\"" + fileName.substring(0, fileName.indexOf('.')) + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            response.setContentType(format.contentType());
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                    .filename("label-" + id + "." + format.extension())
+                    .build()
+                    .toString());
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = 0; position < size;) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
     /**
      * Create a new shipment.
      * Accessible by ADMIN and MANAGER roles only.
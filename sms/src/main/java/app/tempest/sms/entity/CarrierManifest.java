@@ -0,0 +1,72 @@
+package app.tempest.sms.entity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import app.tempest.common.entity.TenantAwareEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * End-of-day manifest of one carrier's shipments from a facility, handed to
+ * the carrier at pickup.
+ *
+ * Status flow: OPEN -> CLOSED
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "carrier_manifests", indexes = {
+        @Index(name = "idx_carrier_manifests_tenant_date", columnList = "tenant_id, manifest_date")
+})
+public class CarrierManifest extends TenantAwareEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "facility_id", nullable = false)
+    private Long facilityId;
+
+    @Column(name = "carrier", nullable = false)
+    private String carrier;
+
+    @Column(name = "manifest_date", nullable = false)
+    private LocalDate manifestDate;
+
+    @Column(name = "status", nullable = false)
+    @Builder.Default
+    private String status = "OPEN";
+
+    @Column(name = "shipment_count", nullable = false)
+    private int shipmentCount;
+
+    @Column(name = "parcel_count", nullable = false)
+    private int parcelCount;
+
+    @Column(name = "total_weight_oz", nullable = false)
+    @Builder.Default
+    private BigDecimal totalWeightOz = BigDecimal.ZERO;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "sha256")
+    private String sha256;
+
+    @Column(name = "closed_at")
+    private Instant closedAt;
+}
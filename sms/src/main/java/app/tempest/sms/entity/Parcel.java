@@ -0,0 +1,55 @@
+package app.tempest.sms.entity;
+
+import java.math.BigDecimal;
+
+import app.tempest.common.entity.TenantAwareEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Parcel entity - one physical package within a shipment.
+ * All parcels are tenant-scoped.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "parcels", indexes = {
+        @Index(name = "idx_parcels_tenant_id", columnList = "tenant_id"),
+        @Index(name = "idx_parcels_shipment_id", columnList = "shipment_id")
+})
+public class Parcel extends TenantAwareEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "shipment_id", nullable = false)
+    private Long shipmentId;
+
+    @Column(name = "tracking_number")
+    private String trackingNumber;
+
+    @Column(name = "weight_oz", precision = 10, scale = 2)
+    private BigDecimal weightOz;
+
+    @Column(name = "length_in", precision = 10, scale = 2)
+    private BigDecimal lengthIn;
+
+    @Column(name = "width_in", precision = 10, scale = 2)
+    private BigDecimal widthIn;
+
+    @Column(name = "height_in", precision = 10, scale = 2)
+    private BigDecimal heightIn;
+}
@@ -59,9 +59,32 @@ public class Shipment extends TenantAwareEntity {
     @Column(name = "label_url")
     private String labelUrl;
 
+    // Label store keys (SHA-256 of the rendered label plus extension)
+    @Column(name = "label_zpl_key")
+    private String labelZplKey;
+
+    @Column(name = "label_pdf_key")
+    private String labelPdfKey;
+
     @Column(name = "shipped_at")
     private Instant shippedAt;
 
     @Column(name = "delivered_at")
     private Instant deliveredAt;
+
+    // Carrier manifest the shipment was closed on
+    @Column(name = "manifest_id")
+    private Long manifestId;
+
+    @Column(name = "ship_to_city")
+    private String shipToCity;
+
+    @Column(name = "ship_to_state")
+    private String shipToState;
+
+    @Column(name = "ship_to_postal_code")
+    private String shipToPostalCode;
+
+    @Column(name = "ship_to_country")
+    private String shipToCountry;
 }
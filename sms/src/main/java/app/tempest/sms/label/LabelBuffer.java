@@ -0,0 +1,129 @@
+package app.tempest.sms.label;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Growable byte buffer a label is rendered into, reused across renders.
+ *
+ * Backed by a direct buffer so writing it to a FileChannel needs no temporary
+ * copy - on virtual threads the JDK's per-thread temporary direct buffers
+ * would otherwise be allocated per render. A buffer that grew past
+ * retainCapacity for an unusually large label is dropped on reset, so pooled
+ * buffers stay small.
+ */
+final class LabelBuffer {
+
+    private final int initialCapacity;
+    private final int retainCapacity;
+    private ByteBuffer buffer;
+
+    LabelBuffer(int initialCapacity, int retainCapacity) {
+        this.initialCapacity = initialCapacity;
+        this.retainCapacity = retainCapacity;
+        this.buffer = ByteBuffer.allocateDirect(initialCapacity);
+    }
+
+    void reset() {
+        if (buffer.capacity() > retainCapacity) {
+            buffer = ByteBuffer.allocateDirect(initialCapacity);
+        } else {
+            buffer.clear();
+        }
+    }
+
+    int size() {
+        return buffer.position();
+    }
+
+    /**
+     * The bytes written since the last reset, as a new view positioned at 0.
+     */
+    ByteBuffer contents() {
+        return buffer.slice(0, buffer.position());
+    }
+
+    LabelBuffer write(int b) {
+        ensureCapacity(1);
+        buffer.put((byte) b);
+        return this;
+    }
+
+    LabelBuffer write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        buffer.put(bytes);
+        return this;
+    }
+
+    LabelBuffer write(LabelBuffer other) {
+        int length = other.size();
+        ensureCapacity(length);
+        buffer.put(buffer.position(), other.buffer, 0, length);
+        buffer.position(buffer.position() + length);
+        return this;
+    }
+
+    /**
+     * Write a literal that is known to be ASCII, one byte per char.
+     */
+    LabelBuffer writeAscii(String ascii) {
+        ensureCapacity(ascii.length());
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer.put((byte) ascii.charAt(i));
+        }
+        return this;
+    }
+
+    LabelBuffer writeUtf8(int codePoint) {
+        ensureCapacity(4);
+        if (codePoint < 0x80) {
+            buffer.put((byte) codePoint);
+        } else if (codePoint < 0x800) {
+            buffer.put((byte) (0xC0 | (codePoint >> 6)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        } else if (codePoint < 0x10000) {
+            buffer.put((byte) (0xE0 | (codePoint >> 12)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+            buffer.put((byte) (0xF0 | (codePoint >> 18)));
+            buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        }
+        return this;
+    }
+
+    LabelBuffer writeLong(long value) {
+        return writeLong(value, 1);
+    }
+
+    /**
+     * Write a non-negative number in decimal, zero-padded to at least width
+     * digits.
+     */
+    LabelBuffer writeLong(long value, int width) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int length = Math.max(digits, width);
+        ensureCapacity(length);
+        int end = buffer.position() + length;
+        for (int i = end - 1; i >= buffer.position(); i--) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+        return this;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (buffer.remaining() >= additional) {
+            return;
+        }
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + additional);
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(buffer.flip());
+        buffer = grown;
+    }
+}
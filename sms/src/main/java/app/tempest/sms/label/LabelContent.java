@@ -0,0 +1,56 @@
+package app.tempest.sms.label;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import app.tempest.sms.entity.Parcel;
+import app.tempest.sms.entity.Shipment;
+
+/**
+ * Everything printed on a shipping label.
+ *
+ * Rendering is a pure function of this record - no timestamps or random IDs -
+ * so the same shipment always renders to the same bytes and the same
+ * content address.
+ */
+public record LabelContent(
+        Long shipmentId,
+        Long orderId,
+        Long facilityId,
+        String carrier,
+        String serviceLevel,
+        String trackingNumber,
+        String shipToCity,
+        String shipToState,
+        String shipToPostalCode,
+        String shipToCountry,
+        int parcelCount,
+        BigDecimal weightLbs) {
+
+    private static final BigDecimal OZ_PER_LB = new BigDecimal("16");
+
+    /**
+     * @param trackingNumber passed separately so a batch can label shipments
+     *                       without touching the managed entities
+     */
+    public static LabelContent of(Shipment shipment, String trackingNumber, List<Parcel> parcels) {
+        BigDecimal weightOz = parcels.stream()
+                .map(Parcel::getWeightOz)
+                .filter(weight -> weight != null)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new LabelContent(
+                shipment.getId(),
+                shipment.getOrderId(),
+                shipment.getFacilityId(),
+                shipment.getCarrier(),
+                shipment.getServiceLevel(),
+                trackingNumber,
+                shipment.getShipToCity(),
+                shipment.getShipToState(),
+                shipment.getShipToPostalCode(),
+                shipment.getShipToCountry(),
+                parcels.size(),
+                weightOz.divide(OZ_PER_LB, 2, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,28 @@
+package app.tempest.sms.label;
+
+/**
+ * Formats a shipping label is rendered in. Every labelled shipment has one
+ * stored label per format.
+ */
+public enum LabelFormat {
+    /** Zebra Programming Language, sent as-is to thermal printers */
+    ZPL("zpl", "application/zpl"),
+    /** 4x6 inch PDF for desktop printers and previews */
+    PDF("pdf", "application/pdf");
+
+    private final String extension;
+    private final String contentType;
+
+    LabelFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,103 @@
+package app.tempest.sms.label;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders labels into the label store.
+ *
+ * Templates are compiled once and shared; everything a render mutates - the
+ * output and scratch buffers and the SHA-256 digest - lives in a fixed pool
+ * of sms.labels.render-pool-size contexts. A print storm at carrier cutoff
+ * therefore renders in a bounded set of reused buffers: callers beyond the
+ * pool size wait for a context (cheap on the activity virtual threads)
+ * instead of allocating more.
+ */
+@Component
+public class LabelRenderer {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final class Context {
+        private final LabelBuffer out = new LabelBuffer(BUFFER_SIZE, MAX_RETAINED_BUFFER_SIZE);
+        private final LabelBuffer scratch = new LabelBuffer(BUFFER_SIZE, MAX_RETAINED_BUFFER_SIZE);
+        private final MessageDigest digest;
+
+        private Context() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+
+    private final LabelStore store;
+    private final BlockingQueue<Context> pool;
+
+    public LabelRenderer(LabelStore store, @Value("${sms.labels.render-pool-size:16}") int poolSize) {
+        this.store = store;
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            pool.add(new Context());
+        }
+    }
+
+    /**
+     * Render and store a label in every format.
+     *
+     * @return the store key per format
+     */
+    public Map<LabelFormat, String> render(LabelContent content) {
+        Map<LabelFormat, String> keys = new EnumMap<>(LabelFormat.class);
+        Context context = borrow();
+        try {
+            for (LabelFormat format : LabelFormat.values()) {
+                keys.put(format, render(context, content, format));
+            }
+        } finally {
+            pool.add(context);
+        }
+        return keys;
+    }
+
+    /**
+     * Render and store a label in one format.
+     *
+     * @return the store key
+     */
+    public String render(LabelContent content, LabelFormat format) {
+        Context context = borrow();
+        try {
+            return render(context, content, format);
+        } finally {
+            pool.add(context);
+        }
+    }
+
+    private String render(Context context, LabelContent content, LabelFormat format) {
+        context.out.reset();
+        switch (format) {
+            case ZPL -> ZplLabelTemplate.render(content, context.out);
+            case PDF -> PdfLabelTemplate.render(content, context.out, context.scratch);
+        }
+        return store.put(context.out, format, context.digest);
+    }
+
+    private Context borrow() {
+        try {
+            return pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a label render context", e);
+        }
+    }
+}
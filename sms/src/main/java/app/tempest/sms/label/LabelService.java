@@ -0,0 +1,101 @@
+package app.tempest.sms.label;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.tempest.sms.entity.Parcel;
+import app.tempest.sms.entity.Shipment;
+import app.tempest.sms.repository.ParcelRepository;
+import app.tempest.sms.repository.ShipmentRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Label rendering and lookup for shipments.
+ *
+ * Labels are rendered when a shipment is labelled and their store keys are
+ * kept on the shipment (label_zpl_key, label_pdf_key), so serving a label is
+ * one row read and a file lookup. Shipments labelled before labels were
+ * rendered, and labels missing from this instance's store, are rendered on
+ * first request.
+ */
+@Slf4j
+@Service
+public class LabelService {
+
+    private final LabelRenderer renderer;
+    private final LabelStore store;
+    private final ShipmentRepository shipmentRepository;
+    private final ParcelRepository parcelRepository;
+    private final String baseUrl;
+
+    public LabelService(
+            LabelRenderer renderer,
+            LabelStore store,
+            ShipmentRepository shipmentRepository,
+            ParcelRepository parcelRepository,
+            @Value("${sms.labels.base-url:http://localhost:8084}") String baseUrl) {
+        this.renderer = renderer;
+        this.store = store;
+        this.shipmentRepository = shipmentRepository;
+        this.parcelRepository = parcelRepository;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * URL of a shipment's label on ShipmentController.
+     */
+    public String labelUrl(Long shipmentId) {
+        return baseUrl + "/shipments/" + shipmentId + "/label";
+    }
+
+    /**
+     * Render and store a shipment's label in every format.
+     *
+     * @param trackingNumber the shipment's tracking number, which may not be
+     *                       set on the entity yet
+     * @return the store key per format
+     */
+    public Map<LabelFormat, String> render(Shipment shipment, String trackingNumber, List<Parcel> parcels) {
+        return renderer.render(LabelContent.of(shipment, trackingNumber, parcels));
+    }
+
+    /**
+     * The stored label of a labelled shipment, rendering it if it is not in
+     * this instance's store.
+     *
+     * @return empty if the shipment does not exist for the tenant or has no
+     *         tracking number yet
+     */
+    @Transactional
+    public Optional<Path> find(String tenantId, Long shipmentId, LabelFormat format) {
+        Optional<Shipment> found = shipmentRepository.findByIdAndTenantId(shipmentId, tenantId);
+        if (found.isEmpty() || found.get().getTrackingNumber() == null) {
+            return Optional.empty();
+        }
+        Shipment shipment = found.get();
+        String key = format == LabelFormat.ZPL ? shipment.getLabelZplKey() : shipment.getLabelPdfKey();
+        Optional<Path> stored = store.find(key);
+        if (stored.isPresent()) {
+            return stored;
+        }
+
+        List<Parcel> parcels = parcelRepository.findByTenantIdAndShipmentIdOrderByIdAsc(tenantId, shipmentId);
+        String rendered = renderer.render(LabelContent.of(shipment, shipment.getTrackingNumber(), parcels), format);
+        if (!rendered.equals(key)) {
+            if (format == LabelFormat.ZPL) {
+                shipment.setLabelZplKey(rendered);
+            } else {
+                shipment.setLabelPdfKey(rendered);
+            }
+            shipmentRepository.save(shipment);
+        }
+        log.info("Label rendered on request - shipmentId: {}, format: {}, key: {}", shipmentId, format, rendered);
+        return store.find(rendered);
+    }
+}
@@ -0,0 +1,97 @@
+package app.tempest.sms.label;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed local store for rendered labels.
+ *
+ * A label is stored once under the SHA-256 of its bytes plus the format's
+ * extension (the key), fanned out into directories by the first two hex
+ * digits. Writes go to a temporary file that is atomically renamed, so
+ * readers never see a partial label, and a label whose key already exists is
+ * not written again.
+ *
+ * The store is a cache of what the shipments table describes: a label
+ * missing here (wiped disk, or rendered by another SMS instance) is rendered
+ * again under the same key, so files are not fsynced.
+ */
+@Slf4j
+@Component
+public class LabelStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}\\.(zpl|pdf)");
+
+    private final Path root;
+
+    public LabelStore(@Value("${sms.labels.store-dir:${java.io.tmpdir}/tempest-labels}") Path root) throws IOException {
+        this.root = Files.createDirectories(root);
+        log.info("Label store at {}", this.root.toAbsolutePath());
+    }
+
+    /**
+     * Store a rendered label.
+     *
+     * @param digest SHA-256 digest, reset before use
+     * @return the label's key
+     */
+    String put(LabelBuffer label, LabelFormat format, MessageDigest digest) {
+        digest.reset();
+        digest.update(label.contents());
+        String key = HexFormat.of().formatHex(digest.digest()) + "." + format.extension();
+        Path path = path(key);
+        if (Files.exists(path)) {
+            return key;
+        }
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    ByteBuffer contents = label.contents();
+                    while (contents.hasRemaining()) {
+                        channel.write(contents);
+                    }
+                }
+                // A concurrent writer of the same key wrote the same bytes, so replacing it is harmless
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store label " + key, e);
+        }
+        return key;
+    }
+
+    /**
+     * @return the file of a stored label, empty if the key is null, malformed
+     *         or not in this store
+     */
+    public Optional<Path> find(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        Path path = path(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path path(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+}
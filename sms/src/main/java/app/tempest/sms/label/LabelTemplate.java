@@ -0,0 +1,117 @@
+package app.tempest.sms.label;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Label text with {FIELD} placeholders, compiled once.
+ *
+ * The literal text between placeholders is encoded to bytes at compile time,
+ * so rendering only copies those bytes and writes the field values - through
+ * the format's escaper - straight into the buffer, without building strings.
+ */
+final class LabelTemplate {
+
+    enum Field {
+        SHIPMENT_ID,
+        ORDER_ID,
+        FACILITY_ID,
+        CARRIER,
+        SERVICE_LEVEL,
+        TRACKING_NUMBER,
+        SHIP_TO_CITY,
+        SHIP_TO_STATE,
+        SHIP_TO_POSTAL_CODE,
+        SHIP_TO_COUNTRY,
+        PARCEL_COUNT,
+        WEIGHT_LBS
+    }
+
+    /**
+     * Writes a text value in the format's encoding, escaping whatever the
+     * format treats as markup.
+     */
+    @FunctionalInterface
+    interface Escaper {
+        void write(LabelBuffer out, String value);
+    }
+
+    // literals.length == fields.length + 1; the template is literals[0] fields[0] literals[1] ...
+    private final byte[][] literals;
+    private final Field[] fields;
+    private final Escaper escaper;
+
+    private LabelTemplate(byte[][] literals, Field[] fields, Escaper escaper) {
+        this.literals = literals;
+        this.fields = fields;
+        this.escaper = escaper;
+    }
+
+    /**
+     * @param text ASCII template text
+     * @throws IllegalArgumentException on an unknown or unterminated
+     *                                  placeholder
+     */
+    static LabelTemplate compile(String text, Escaper escaper) {
+        List<byte[]> literals = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = text.indexOf('{', start)) >= 0) {
+            int close = text.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at " + open);
+            }
+            literals.add(text.substring(start, open).getBytes(StandardCharsets.US_ASCII));
+            fields.add(Field.valueOf(text.substring(open + 1, close)));
+            start = close + 1;
+        }
+        literals.add(text.substring(start).getBytes(StandardCharsets.US_ASCII));
+        return new LabelTemplate(literals.toArray(byte[][]::new), fields.toArray(Field[]::new), escaper);
+    }
+
+    void render(LabelContent content, LabelBuffer out) {
+        for (int i = 0; i < fields.length; i++) {
+            out.write(literals[i]);
+            writeField(fields[i], content, out);
+        }
+        out.write(literals[fields.length]);
+    }
+
+    private void writeField(Field field, LabelContent content, LabelBuffer out) {
+        switch (field) {
+            case SHIPMENT_ID -> writeNumber(content.shipmentId(), out);
+            case ORDER_ID -> writeNumber(content.orderId(), out);
+            case FACILITY_ID -> writeNumber(content.facilityId(), out);
+            case CARRIER -> writeText(content.carrier(), out);
+            case SERVICE_LEVEL -> writeText(content.serviceLevel(), out);
+            case TRACKING_NUMBER -> writeText(content.trackingNumber(), out);
+            case SHIP_TO_CITY -> writeText(content.shipToCity(), out);
+            case SHIP_TO_STATE -> writeText(content.shipToState(), out);
+            case SHIP_TO_POSTAL_CODE -> writeText(content.shipToPostalCode(), out);
+            case SHIP_TO_COUNTRY -> writeText(content.shipToCountry(), out);
+            case PARCEL_COUNT -> out.writeLong(content.parcelCount());
+            case WEIGHT_LBS -> writeWeight(content.weightLbs(), out);
+        }
+    }
+
+    private static void writeNumber(Long value, LabelBuffer out) {
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private void writeText(String value, LabelBuffer out) {
+        if (value != null) {
+            escaper.write(out, value);
+        }
+    }
+
+    private static void writeWeight(BigDecimal weight, LabelBuffer out) {
+        if (weight != null) {
+            out.writeAscii(weight.toPlainString());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package app.tempest.sms.label;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 4x6 inch single-page PDF label using the standard Helvetica font, so no
+ * font is embedded and a label stays around 1 KB.
+ *
+ * Objects 1-4 (catalog, page tree, page, font) never change and are encoded
+ * once with their offsets; only the content stream, the cross-reference table
+ * and the trailer are written per label.
+ */
+final class PdfLabelTemplate {
+
+    private static final LabelTemplate CONTENT = LabelTemplate.compile("""
+            BT
+            /F1 22 Tf
+            20 396 Td
+            ({CARRIER}) Tj
+            /F1 13 Tf
+            0 -18 Td
+            ({SERVICE_LEVEL}) Tj
+            /F1 10 Tf
+            0 -34 Td
+            (SHIP TO:) Tj
+            /F1 15 Tf
+            0 -18 Td
+            ({SHIP_TO_CITY}, {SHIP_TO_STATE} {SHIP_TO_POSTAL_CODE}) Tj
+            0 -18 Td
+            ({SHIP_TO_COUNTRY}) Tj
+            /F1 16 Tf
+            0 -52 Td
+            (TRACKING #: {TRACKING_NUMBER}) Tj
+            /F1 10 Tf
+            0 -46 Td
+            (SHIPMENT {SHIPMENT_ID}  ORDER {ORDER_ID}) Tj
+            0 -14 Td
+            (FACILITY {FACILITY_ID}) Tj
+            0 -14 Td
+            ({PARCEL_COUNT} PARCEL\\(S\\)  {WEIGHT_LBS} LB) Tj
+            ET
+            1 w
+            20 344 m 268 344 l S
+            20 252 m 268 252 l S
+            20 204 m 268 204 l S
+            """, PdfLabelTemplate::escape);
+
+    private static final String[] OBJECTS = {
+            "<< /Type /Catalog /Pages 2 0 R >>",
+            "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+            "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 288 432] /Resources << /Font << /F1 4 0 R >> >>"
+                    + " /Contents 5 0 R >>",
+            "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>"
+    };
+
+    private static final byte[] PREFIX;
+    private static final int[] OFFSETS = new int[OBJECTS.length];
+
+    static {
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+        prefix.writeBytes("%PDF-1.4\n%".getBytes(StandardCharsets.US_ASCII));
+        // Binary comment so transfer tools treat the file as binary
+        prefix.writeBytes(new byte[] { (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n' });
+        for (int i = 0; i < OBJECTS.length; i++) {
+            OFFSETS[i] = prefix.size();
+            prefix.writeBytes(((i + 1) + " 0 obj\n" + OBJECTS[i] + "\nendobj\n").getBytes(StandardCharsets.US_ASCII));
+        }
+        PREFIX = prefix.toByteArray();
+    }
+
+    private PdfLabelTemplate() {
+    }
+
+    /**
+     * @param scratch receives the content stream, whose length precedes it
+     *                in the file
+     */
+    static void render(LabelContent content, LabelBuffer out, LabelBuffer scratch) {
+        scratch.reset();
+        CONTENT.render(content, scratch);
+
+        out.write(PREFIX);
+        int contentOffset = out.size();
+        out.writeAscii("5 0 obj\n<< /Length ").writeLong(scratch.size()).writeAscii(" >>\nstream\n")
+                .write(scratch)
+                .writeAscii("\nendstream\nendobj\n");
+
+        // Cross-reference entries are exactly 20 bytes each
+        int xrefOffset = out.size();
+        out.writeAscii("xref\n0 ").writeLong(OBJECTS.length + 2).writeAscii("\n0000000000 65535 f \n");
+        for (int offset : OFFSETS) {
+            out.writeLong(offset, 10).writeAscii(" 00000 n \n");
+        }
+        out.writeLong(contentOffset, 10).writeAscii(" 00000 n \n");
+        out.writeAscii("trailer\n<< /Size ").writeLong(OBJECTS.length + 2).writeAscii(" /Root 1 0 R >>\nstartxref\n")
+                .writeLong(xrefOffset)
+                .writeAscii("\n%%EOF\n");
+    }
+
+    // Standard fonts use WinAnsiEncoding: Latin-1 above 0x9F, ASCII below; anything else prints as ?
+    private static void escape(LabelBuffer out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                out.write('\\').write(c);
+            } else if (c < 0x20) {
+                out.write(' ');
+            } else if (c < 0x7F || (c > 0x9F && c <= 0xFF)) {
+                out.write(c);
+            } else {
+                out.write('?');
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package app.tempest.sms.label;
+
+/**
+ * 4x6 inch thermal label at 203 dpi, with the tracking number as a Code 128
+ * barcode.
+ */
+final class ZplLabelTemplate {
+
+    private static final LabelTemplate TEMPLATE = LabelTemplate.compile("""
+            ^XA
+            ^CI28
+            ^PW812
+            ^LL1218
+            ^FO40,40^A0N,56,56^FD{CARRIER}^FS
+            ^FO40,110^A0N,36,36^FD{SERVICE_LEVEL}^FS
+            ^FO40,180^GB732,3,3^FS
+            ^FO40,210^A0N,28,28^FDSHIP TO:^FS
+            ^FO40,250^A0N,44,44^FD{SHIP_TO_CITY}, {SHIP_TO_STATE} {SHIP_TO_POSTAL_CODE}^FS
+            ^FO40,305^A0N,44,44^FD{SHIP_TO_COUNTRY}^FS
+            ^FO40,390^GB732,3,3^FS
+            ^FO60,430^BY2^BCN,200,N,N,N^FD{TRACKING_NUMBER}^FS
+            ^FO40,660^A0N,40,40^FDTRACKING #: {TRACKING_NUMBER}^FS
+            ^FO40,740^GB732,3,3^FS
+            ^FO40,770^A0N,30,30^FDSHIPMENT {SHIPMENT_ID}  ORDER {ORDER_ID}^FS
+            ^FO40,815^A0N,30,30^FDFACILITY {FACILITY_ID}^FS
+            ^FO40,860^A0N,30,30^FD{PARCEL_COUNT} PARCEL(S)  {WEIGHT_LBS} LB^FS
+            ^XZ
+            """, ZplLabelTemplate::escape);
+
+    private ZplLabelTemplate() {
+    }
+
+    static void render(LabelContent content, LabelBuffer out) {
+        TEMPLATE.render(content, out);
+    }
+
+    // Field data is UTF-8 (^CI28); ^ and ~ would start a command, so they print as spaces
+    private static void escape(LabelBuffer out, String value) {
+        for (int i = 0; i < value.length();) {
+            int c = value.codePointAt(i);
+            out.writeUtf8(c == '^' || c == '~' || c < 0x20 ? ' ' : c);
+            i += Character.charCount(c);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package app.tempest.sms.manifest;
+
+/**
+ * A tenant's facility that ships through SMS.
+ */
+public record ManifestFacility(String tenantId, Long facilityId) {
+}
@@ -0,0 +1,24 @@
+package app.tempest.sms.manifest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One shipment on a carrier manifest with its parcels aggregated. Read as a
+ * projection, so streamed lines never enter the persistence context.
+ *
+ * @param weightOz null when the shipment has no weighed parcels
+ */
+public record ManifestLine(
+        Long shipmentId,
+        Long orderId,
+        String trackingNumber,
+        String serviceLevel,
+        String shipToCity,
+        String shipToState,
+        String shipToPostalCode,
+        String shipToCountry,
+        Instant shippedAt,
+        Long parcelCount,
+        BigDecimal weightOz) {
+}
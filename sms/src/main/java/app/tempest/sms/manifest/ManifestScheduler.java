@@ -0,0 +1,169 @@
+package app.tempest.sms.manifest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import app.tempest.common.config.TemporalSchedules;
+import app.tempest.common.dto.requests.CarrierManifestRequest;
+import app.tempest.common.temporal.TaskQueues;
+import app.tempest.sms.repository.ShipmentRepository;
+import app.tempest.sms.temporal.workflow.CarrierManifestWorkflow;
+import io.temporal.api.enums.v1.ScheduleOverlapPolicy;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.schedules.Schedule;
+import io.temporal.client.schedules.ScheduleActionStartWorkflow;
+import io.temporal.client.schedules.ScheduleHandle;
+import io.temporal.client.schedules.SchedulePolicy;
+import io.temporal.client.schedules.ScheduleSpec;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps one Temporal Schedule per shipping facility that starts a
+ * CarrierManifestWorkflow at sms.manifests.close-cron in
+ * sms.manifests.time-zone.
+ *
+ * SMS has no facility table, so a facility gets its schedule at startup if
+ * it has shipments waiting for a manifest, or the first time this instance
+ * confirms one of its shipments. A close is skipped while the facility's
+ * previous one is still running.
+ */
+@Slf4j
+@Component
+public class ManifestScheduler {
+
+    private final TemporalSchedules temporalSchedules;
+    private final ShipmentRepository shipmentRepository;
+    private final boolean enabled;
+    private final String closeCron;
+    private final String timeZone;
+    // Facilities whose schedule this instance has created or updated
+    private final Set<ManifestFacility> registered = ConcurrentHashMap.newKeySet();
+
+    public ManifestScheduler(
+            TemporalSchedules temporalSchedules,
+            ShipmentRepository shipmentRepository,
+            @Value("${sms.manifests.enabled:false}") boolean enabled,
+            @Value("${sms.manifests.close-cron:0 20 * * *}") String closeCron,
+            @Value("${sms.manifests.time-zone:UTC}") String timeZone) {
+        this.temporalSchedules = temporalSchedules;
+        this.shipmentRepository = shipmentRepository;
+        this.enabled = enabled;
+        this.closeCron = closeCron;
+        this.timeZone = timeZone;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerSchedules() {
+        if (!enabled) {
+            log.info("Carrier manifests disabled (sms.manifests.enabled=false); no schedules registered");
+            return;
+        }
+        shipmentRepository.findFacilitiesToManifest()
+                .forEach(facility -> register(facility.tenantId(), facility.facilityId()));
+    }
+
+    /**
+     * Make sure the facility has a manifest schedule. Only the first call per
+     * facility reaches Temporal; failures are logged and retried on the next
+     * call.
+     */
+    public void register(String tenantId, Long facilityId) {
+        ManifestFacility facility = new ManifestFacility(tenantId, facilityId);
+        if (!enabled || !registered.add(facility)) {
+            return;
+        }
+        try {
+            ScheduleHandle handle = ensureSchedule(facility);
+            log.info("Carrier manifest schedule {} at '{}' {} - tenantId: {}, facilityId: {}", handle.getId(),
+                    closeCron, timeZone, tenantId, facilityId);
+        } catch (Exception e) {
+            registered.remove(facility);
+            log.warn("Failed to register carrier manifest schedule for facility {}: {}", facilityId, e.getMessage());
+        }
+    }
+
+    /**
+     * Register once the current transaction commits, so the Temporal call never
+     * runs while it holds a connection and row locks, and a rolled-back
+     * confirmation registers nothing. Registers right away outside a
+     * transaction.
+     */
+    public void registerAfterCommit(String tenantId, Long facilityId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(tenantId, facilityId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                register(tenantId, facilityId);
+            }
+        });
+    }
+
+    /**
+     * Close the facility's manifests for the current day now. Skipped by
+     * Temporal if a close for the facility is already in progress.
+     *
+     * @return the schedule ID
+     * @throws IllegalArgumentException if the tenant has no shipments from the
+     *                                  facility
+     * @throws IllegalStateException    if carrier manifests are disabled
+     */
+    public String trigger(String tenantId, Long facilityId) {
+        if (!enabled) {
+            throw new IllegalStateException("Carrier manifests are disabled");
+        }
+        if (!shipmentRepository.existsByTenantIdAndFacilityId(tenantId, facilityId)) {
+            throw new IllegalArgumentException("No shipments for facility: " + facilityId);
+        }
+        ManifestFacility facility = new ManifestFacility(tenantId, facilityId);
+        ScheduleHandle handle = ensureSchedule(facility);
+        registered.add(facility);
+        handle.trigger(ScheduleOverlapPolicy.SCHEDULE_OVERLAP_POLICY_SKIP);
+        log.info("Triggered carrier manifest close - schedule: {}", handle.getId());
+        return handle.getId();
+    }
+
+    /**
+     * Create or update the facility's schedule with the current configuration.
+     */
+    private ScheduleHandle ensureSchedule(ManifestFacility facility) {
+        String scheduleId = "carrier-manifest-" + facility.tenantId() + "-" + facility.facilityId();
+        Schedule schedule = Schedule.newBuilder()
+                .setAction(ScheduleActionStartWorkflow.newBuilder()
+                        .setWorkflowType(CarrierManifestWorkflow.class)
+                        .setArguments(CarrierManifestRequest.builder()
+                                .tenantId(facility.tenantId())
+                                .facilityId(facility.facilityId())
+                                .timeZone(timeZone)
+                                .build())
+                        .setOptions(WorkflowOptions.newBuilder()
+                                .setWorkflowId(scheduleId)
+                                .setTaskQueue(TaskQueues.SMS)
+                                .build())
+                        .build())
+                .setSpec(ScheduleSpec.newBuilder()
+                        .setCronExpressions(List.of(closeCron))
+                        .setTimeZoneName(timeZone)
+                        .build())
+                .setPolicy(SchedulePolicy.newBuilder()
+                        .setOverlap(ScheduleOverlapPolicy.SCHEDULE_OVERLAP_POLICY_SKIP)
+                        // A close missed while Temporal was unreachable still runs if it is
+                        // no more than a few hours late; later closes pick up its shipments
+                        .setCatchupWindow(Duration.ofHours(3))
+                        .build())
+                .build();
+
+        return temporalSchedules.ensure(scheduleId, schedule);
+    }
+}
@@ -0,0 +1,183 @@
+package app.tempest.sms.manifest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.tempest.common.dto.CarrierManifestDTO;
+import app.tempest.common.dto.requests.CarrierManifestRequest;
+import app.tempest.sms.entity.CarrierManifest;
+import app.tempest.sms.repository.CarrierManifestRepository;
+import app.tempest.sms.repository.ShipmentRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Closes end-of-day carrier manifests.
+ *
+ * Closing a facility's manifest for a carrier and day takes three short
+ * transactions:
+ * <ol>
+ * <li>Create the day's manifest (OPEN) and put every SHIPPED shipment of the
+ * facility and carrier that was shipped before the end of the day and is not
+ * on a manifest yet onto it, with one UPDATE. Shipments confirmed after an
+ * earlier close of their day therefore go on the next day's manifest.</li>
+ * <li>Stream the manifest's shipments from a database cursor, parcels
+ * aggregated in the query, into the manifest file (see ManifestWriter).</li>
+ * <li>Record the totals and checksum and mark the manifest CLOSED.</li>
+ * </ol>
+ * A failed close leaves the manifest OPEN; running it again claims any newer
+ * shipments and rewrites the file. A CLOSED manifest is returned as is.
+ */
+@Slf4j
+@Service
+public class ManifestService {
+
+    /**
+     * A closed manifest and its file.
+     */
+    public record ManifestDownload(CarrierManifest manifest, Path file) {
+    }
+
+    private final CarrierManifestRepository manifestRepository;
+    private final ShipmentRepository shipmentRepository;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+
+    public ManifestService(
+            CarrierManifestRepository manifestRepository,
+            ShipmentRepository shipmentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${sms.manifests.dir:${java.io.tmpdir}/tempest-manifests}") Path directory) throws IOException {
+        this.manifestRepository = manifestRepository;
+        this.shipmentRepository = shipmentRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * Carriers with SHIPPED shipments from the facility waiting for a manifest
+     * at the end of the day.
+     */
+    public List<String> findCarriersToManifest(CarrierManifestRequest request, LocalDate manifestDate) {
+        return shipmentRepository.findCarriersToManifest(request.getTenantId(), request.getFacilityId(),
+                endOfDay(request, manifestDate));
+    }
+
+    /**
+     * Close the facility's manifest for a carrier and day.
+     */
+    public CarrierManifestDTO close(CarrierManifestRequest request, LocalDate manifestDate, String carrier) {
+        String tenantId = request.getTenantId();
+        Instant shippedBefore = endOfDay(request, manifestDate);
+
+        CarrierManifest manifest = transaction.execute(status -> {
+            CarrierManifest existing = manifestRepository
+                    .findByTenantIdAndFacilityIdAndCarrierAndManifestDate(tenantId, request.getFacilityId(), carrier,
+                            manifestDate)
+                    .orElseGet(() -> {
+                        CarrierManifest created = CarrierManifest.builder()
+                                .facilityId(request.getFacilityId())
+                                .carrier(carrier)
+                                .manifestDate(manifestDate)
+                                .build();
+                        created.setTenantId(tenantId);
+                        return manifestRepository.save(created);
+                    });
+            if (!"CLOSED".equals(existing.getStatus())) {
+                int added = shipmentRepository.assignToManifest(existing.getId(), tenantId, request.getFacilityId(),
+                        carrier, shippedBefore, Instant.now());
+                log.info("Shipments added to manifest {} - tenantId: {}, facilityId: {}, carrier: {}, date: {}, added: {}",
+                        existing.getId(), tenantId, request.getFacilityId(), carrier, manifestDate, added);
+            }
+            return existing;
+        });
+        if ("CLOSED".equals(manifest.getStatus())) {
+            log.info("Manifest already closed - manifestId: {}", manifest.getId());
+            return toDTO(manifest);
+        }
+
+        long started = System.nanoTime();
+        Path file = directory.resolve(fileName(manifest));
+        ManifestWriter.ManifestFile written = readOnlyTransaction.execute(status -> {
+            try (Stream<ManifestLine> lines = shipmentRepository.streamManifestLines(tenantId, manifest.getId())) {
+                return ManifestWriter.write(manifest, lines, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write manifest " + manifest.getId(), e);
+            }
+        });
+
+        CarrierManifest closed = transaction.execute(status -> {
+            CarrierManifest current = manifestRepository.findById(manifest.getId()).orElseThrow();
+            current.setShipmentCount(written.shipmentCount());
+            current.setParcelCount(written.parcelCount());
+            current.setTotalWeightOz(written.totalWeightOz());
+            current.setFileName(file.getFileName().toString());
+            current.setSha256(written.sha256());
+            current.setStatus("CLOSED");
+            current.setClosedAt(Instant.now());
+            return manifestRepository.save(current);
+        });
+        log.info("Manifest closed in {} ms - manifestId: {}, carrier: {}, date: {}, shipments: {}, parcels: {}",
+                (System.nanoTime() - started) / 1_000_000, closed.getId(), carrier, manifestDate,
+                closed.getShipmentCount(), closed.getParcelCount());
+        return toDTO(closed);
+    }
+
+    /**
+     * A tenant's manifests for a day.
+     */
+    public List<CarrierManifestDTO> findManifests(String tenantId, LocalDate manifestDate) {
+        return manifestRepository.findByTenantIdAndManifestDateOrderByFacilityIdAscCarrierAsc(tenantId, manifestDate)
+                .stream()
+                .map(ManifestService::toDTO)
+                .toList();
+    }
+
+    /**
+     * @return the manifest and its file, empty if the manifest does not exist
+     *         for the tenant, is not closed, or its file is gone
+     */
+    public Optional<ManifestDownload> findFile(String tenantId, Long manifestId) {
+        return manifestRepository.findByIdAndTenantId(manifestId, tenantId)
+                .filter(manifest -> "CLOSED".equals(manifest.getStatus()) && manifest.getFileName() != null)
+                .map(manifest -> new ManifestDownload(manifest, directory.resolve(manifest.getFileName())))
+                .filter(download -> Files.isRegularFile(download.file()));
+    }
+
+    private static Instant endOfDay(CarrierManifestRequest request, LocalDate manifestDate) {
+        return manifestDate.plusDays(1).atStartOfDay(ZoneId.of(request.getTimeZone())).toInstant();
+    }
+
+    private static String fileName(CarrierManifest manifest) {
+        return "manifest-" + manifest.getId() + ".csv";
+    }
+
+    private static CarrierManifestDTO toDTO(CarrierManifest manifest) {
+        return CarrierManifestDTO.builder()
+                .manifestId(manifest.getId())
+                .facilityId(manifest.getFacilityId())
+                .carrier(manifest.getCarrier())
+                .manifestDate(manifest.getManifestDate())
+                .status(manifest.getStatus())
+                .shipmentCount(manifest.getShipmentCount())
+                .parcelCount(manifest.getParcelCount())
+                .totalWeightLbs(ManifestWriter.pounds(manifest.getTotalWeightOz()))
+                .sha256(manifest.getSha256())
+                .build();
+    }
+}
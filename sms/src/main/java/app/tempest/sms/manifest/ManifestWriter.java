@@ -0,0 +1,152 @@
+package app.tempest.sms.manifest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import app.tempest.sms.entity.CarrierManifest;
+
+/**
+ * Writes a manifest file in one pass over its shipments.
+ *
+ * The file is CSV with a record type in the first column: one H (header)
+ * line, a D (detail) line per shipment in shipment ID order, and a T
+ * (trailer) line with the totals, so totals need no second pass. The SHA-256
+ * is computed while writing. Memory use is the writer's buffer, whatever the
+ * number of shipments.
+ */
+final class ManifestWriter {
+
+    /**
+     * Totals of a written manifest file.
+     */
+    record ManifestFile(String sha256, int shipmentCount, int parcelCount, BigDecimal totalWeightOz) {
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final BigDecimal OZ_PER_LB = new BigDecimal("16");
+
+    private ManifestWriter() {
+    }
+
+    /**
+     * Write the manifest to a temporary file next to target and atomically
+     * move it into place, replacing the file of an earlier attempt.
+     */
+    static ManifestFile write(CarrierManifest manifest, Stream<ManifestLine> lines, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        int shipments = 0;
+        int parcels = 0;
+        BigDecimal weightOz = BigDecimal.ZERO;
+
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new DigestOutputStream(Files.newOutputStream(temp), digest), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                writer.write("H,");
+                writer.write(String.valueOf(manifest.getId()));
+                writer.write(',');
+                writeField(writer, manifest.getCarrier());
+                writer.write(',');
+                writer.write(String.valueOf(manifest.getFacilityId()));
+                writer.write(',');
+                writer.write(manifest.getManifestDate().toString());
+                writer.write('\n');
+
+                for (Iterator<ManifestLine> it = lines.iterator(); it.hasNext();) {
+                    ManifestLine line = it.next();
+                    BigDecimal lineWeightOz = line.weightOz() != null ? line.weightOz() : BigDecimal.ZERO;
+                    shipments++;
+                    parcels += line.parcelCount().intValue();
+                    weightOz = weightOz.add(lineWeightOz);
+
+                    writer.write("D,");
+                    writer.write(String.valueOf(line.shipmentId()));
+                    writer.write(',');
+                    writer.write(String.valueOf(line.orderId()));
+                    writer.write(',');
+                    writeField(writer, line.trackingNumber());
+                    writer.write(',');
+                    writeField(writer, line.serviceLevel());
+                    writer.write(',');
+                    writeField(writer, line.shipToCity());
+                    writer.write(',');
+                    writeField(writer, line.shipToState());
+                    writer.write(',');
+                    writeField(writer, line.shipToPostalCode());
+                    writer.write(',');
+                    writeField(writer, line.shipToCountry());
+                    writer.write(',');
+                    writer.write(String.valueOf(line.parcelCount()));
+                    writer.write(',');
+                    writer.write(pounds(lineWeightOz).toPlainString());
+                    writer.write(',');
+                    writer.write(line.shippedAt() != null ? line.shippedAt().toString() : "");
+                    writer.write('\n');
+                }
+
+                writer.write("T,");
+                writer.write(String.valueOf(shipments));
+                writer.write(',');
+                writer.write(String.valueOf(parcels));
+                writer.write(',');
+                writer.write(pounds(weightOz).toPlainString());
+                writer.write('\n');
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return new ManifestFile(HexFormat.of().formatHex(digest.digest()), shipments, parcels, weightOz);
+    }
+
+    static BigDecimal pounds(BigDecimal weightOz) {
+        return weightOz.divide(OZ_PER_LB, 2, RoundingMode.HALF_UP);
+    }
+
+    // Quote fields containing a separator, quote or line break
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
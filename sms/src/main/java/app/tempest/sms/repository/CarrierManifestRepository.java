@@ -0,0 +1,34 @@
+package app.tempest.sms.repository;
+
+import app.tempest.sms.entity.CarrierManifest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for CarrierManifest entities.
+ * All queries MUST be tenant-scoped to enforce multi-tenant isolation.
+ */
+@Repository
+public interface CarrierManifestRepository extends JpaRepository<CarrierManifest, Long> {
+
+    /**
+     * Find a manifest by ID and tenant ID.
+     */
+    Optional<CarrierManifest> findByIdAndTenantId(Long id, String tenantId);
+
+    /**
+     * Find a facility's manifest for a carrier and day within a tenant.
+     */
+    Optional<CarrierManifest> findByTenantIdAndFacilityIdAndCarrierAndManifestDate(
+            String tenantId, Long facilityId, String carrier, LocalDate manifestDate);
+
+    /**
+     * Find a tenant's manifests for a day.
+     */
+    List<CarrierManifest> findByTenantIdAndManifestDateOrderByFacilityIdAscCarrierAsc(String tenantId,
+            LocalDate manifestDate);
+}
@@ -0,0 +1,26 @@
+package app.tempest.sms.repository;
+
+import app.tempest.sms.entity.Parcel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for Parcel entities.
+ * All queries MUST be tenant-scoped to enforce multi-tenant isolation.
+ */
+@Repository
+public interface ParcelRepository extends JpaRepository<Parcel, Long> {
+
+    /**
+     * Find the parcels of a shipment within a tenant.
+     */
+    List<Parcel> findByTenantIdAndShipmentIdOrderByIdAsc(String tenantId, Long shipmentId);
+
+    /**
+     * Find the parcels of several shipments within a tenant.
+     */
+    List<Parcel> findByTenantIdAndShipmentIdInOrderByIdAsc(String tenantId, Collection<Long> shipmentIds);
+}
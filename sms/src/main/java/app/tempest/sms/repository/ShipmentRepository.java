@@ -1,11 +1,24 @@
 package app.tempest.sms.repository;
 
 import app.tempest.sms.entity.Shipment;
+import app.tempest.sms.manifest.ManifestFacility;
+import app.tempest.sms.manifest.ManifestLine;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Shipment entities.
@@ -30,6 +43,19 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      */
     Optional<Shipment> findByIdAndTenantId(Long id, String tenantId);
 
+    /**
+     * Find shipments by ID within a tenant.
+     */
+    List<Shipment> findByTenantIdAndIdIn(String tenantId, Collection<Long> ids);
+
+    /**
+     * Load and row-lock shipments within a tenant for the rest of the transaction.
+     * Rows are locked in ID order so concurrent batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Shipment s WHERE s.tenantId = :tenantId AND s.id IN :ids ORDER BY s.id")
+    List<Shipment> findForUpdate(@Param("tenantId") String tenantId, @Param("ids") Collection<Long> ids);
+
     /**
      * Find shipments by order ID within a tenant.
      */
@@ -39,5 +65,67 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
      * Find a shipment by tracking number within a tenant.
      */
     Optional<Shipment> findByTenantIdAndTrackingNumber(String tenantId, String trackingNumber);
+
+    /**
+     * Check whether a tenant has any shipment from a facility.
+     */
+    boolean existsByTenantIdAndFacilityId(String tenantId, Long facilityId);
+
+    /**
+     * Facilities with SHIPPED shipments not yet on a carrier manifest, across tenants.
+     */
+    @Query("""
+            SELECT DISTINCT new app.tempest.sms.manifest.ManifestFacility(s.tenantId, s.facilityId)
+            FROM Shipment s
+            WHERE s.status = 'SHIPPED' AND s.manifestId IS NULL
+            """)
+    List<ManifestFacility> findFacilitiesToManifest();
+
+    /**
+     * Carriers of a facility's SHIPPED shipments that are not yet on a manifest
+     * and were shipped before the given instant.
+     */
+    @Query("""
+            SELECT DISTINCT s.carrier FROM Shipment s
+            WHERE s.tenantId = :tenantId AND s.facilityId = :facilityId
+              AND s.status = 'SHIPPED' AND s.manifestId IS NULL AND s.shippedAt < :shippedBefore
+            ORDER BY s.carrier
+            """)
+    List<String> findCarriersToManifest(@Param("tenantId") String tenantId, @Param("facilityId") Long facilityId,
+            @Param("shippedBefore") Instant shippedBefore);
+
+    /**
+     * Put a facility's SHIPPED shipments for a carrier that were shipped before the
+     * given instant and are not yet on a manifest onto the manifest, in one statement.
+     *
+     * @return the number of shipments added
+     */
+    @Modifying
+    @Query("""
+            UPDATE Shipment s SET s.manifestId = :manifestId, s.updatedAt = :now
+            WHERE s.tenantId = :tenantId AND s.facilityId = :facilityId AND s.carrier = :carrier
+              AND s.status = 'SHIPPED' AND s.manifestId IS NULL AND s.shippedAt < :shippedBefore
+            """)
+    int assignToManifest(@Param("manifestId") Long manifestId, @Param("tenantId") String tenantId,
+            @Param("facilityId") Long facilityId, @Param("carrier") String carrier,
+            @Param("shippedBefore") Instant shippedBefore, @Param("now") Instant now);
+
+    /**
+     * Stream a manifest's shipments in ID order with their parcels aggregated.
+     * Rows are fetched through a database cursor in pages of the fetch size, so
+     * the stream must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new app.tempest.sms.manifest.ManifestLine(s.id, s.orderId, s.trackingNumber, s.serviceLevel,
+                s.shipToCity, s.shipToState, s.shipToPostalCode, s.shipToCountry, s.shippedAt,
+                COUNT(p.id), SUM(p.weightOz))
+            FROM Shipment s LEFT JOIN Parcel p ON p.shipmentId = s.id AND p.tenantId = s.tenantId
+            WHERE s.tenantId = :tenantId AND s.manifestId = :manifestId
+            GROUP BY s.id
+            ORDER BY s.id
+            """)
+    Stream<ManifestLine> streamManifestLines(@Param("tenantId") String tenantId,
+            @Param("manifestId") Long manifestId);
 }
 
@@ -0,0 +1,187 @@
+package app.tempest.sms.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import app.tempest.common.cache.QueryResultCache;
+import app.tempest.common.dto.CarrierRateDTO;
+import app.tempest.common.dto.ParcelDTO;
+import app.tempest.common.dto.requests.FetchRatesRequest;
+import app.tempest.common.dto.results.FetchRatesResult;
+import app.tempest.sms.entity.Parcel;
+import app.tempest.sms.entity.Shipment;
+import app.tempest.sms.repository.ParcelRepository;
+import app.tempest.sms.repository.ShipmentRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caches carrier rate quotes per tenant, carrier and RateLane.
+ *
+ * Shipments in a wave mostly leave the same facility for a handful of
+ * destination zones in a handful of box sizes, so after the first quote per
+ * lane the rest of the wave is served from memory instead of the carrier API.
+ * A carrier call returns every service level it offers for the lane, so the
+ * whole list is cached as one entry.
+ *
+ * Entries expire after sms.rate-cache.ttl and the cache holds at most
+ * sms.rate-cache.max-entries lanes. Concurrent misses for one lane make a
+ * single carrier call; failed calls are not cached, so a retrying activity
+ * calls the carrier again.
+ *
+ * Lane fields missing from the request are taken from the shipment and its
+ * parcels; for a batch they are loaded for all shipments at once. If the
+ * origin, destination or a parcel profile is still unknown the carrier is
+ * called directly, uncached.
+ */
+@Slf4j
+@Component
+public class CarrierRateCache {
+
+     private final ShipmentRepository shipmentRepository;
+     private final ParcelRepository parcelRepository;
+     private final boolean enabled;
+     private final Duration ttl;
+     private final QueryResultCache cache;
+
+     public CarrierRateCache(
+               ShipmentRepository shipmentRepository,
+               ParcelRepository parcelRepository,
+               @Value("${sms.rate-cache.enabled:true}") boolean enabled,
+               @Value("${sms.rate-cache.ttl:15m}") Duration ttl,
+               @Value("${sms.rate-cache.max-entries:50000}") int maxEntries) {
+          this.shipmentRepository = shipmentRepository;
+          this.parcelRepository = parcelRepository;
+          this.enabled = enabled;
+          this.ttl = ttl;
+          this.cache = new QueryResultCache(maxEntries, ttl.toMillis());
+     }
+
+     /**
+      * Rates for the request's lane from the carrier, calling fetch only on a miss.
+      */
+     public List<CarrierRateDTO> getRates(String carrier, FetchRatesRequest request,
+               Supplier<List<CarrierRateDTO>> fetch) {
+          if (!enabled) {
+               return fetch.get();
+          }
+          Shipment shipment = needsShipment(request)
+                    ? shipmentRepository.findByIdAndTenantId(request.getShipmentId(), request.getTenantId())
+                              .orElse(null)
+                    : null;
+          List<Parcel> parcels = request.getParcel() == null
+                    ? parcelRepository.findByTenantIdAndShipmentIdOrderByIdAsc(request.getTenantId(),
+                              request.getShipmentId())
+                    : List.of();
+          RateLane resolved = resolveLane(request, shipment, parcels);
+          if (!resolved.complete()) {
+               log.info("{} rates fetched uncached - shipmentId: {}, incomplete lane: {}", carrier,
+                         request.getShipmentId(), resolved.key());
+               return fetch.get();
+          }
+          String lane = resolved.key();
+          boolean[] fetched = { false };
+          List<CarrierRateDTO> rates = lookup(carrier, request.getTenantId(), lane, () -> {
+               fetched[0] = true;
+               return fetch.get();
+          });
+          log.info("{} rates {} - shipmentId: {}, lane: {}", carrier, fetched[0] ? "fetched" : "from cache",
+                    request.getShipmentId(), lane);
+          return rates;
+     }
+
+     /**
+      * Rates for each request's lane from the carrier, in request order.
+      * Shipments on the same complete lane share one carrier call; distinct
+      * lanes and incomplete ones are quoted one after another.
+      */
+     public List<FetchRatesResult> getRates(String carrier, String tenantId, List<FetchRatesRequest> requests,
+               Function<FetchRatesRequest, List<CarrierRateDTO>> fetch) {
+          Set<Long> shipmentIds = requests.stream()
+                    .filter(CarrierRateCache::needsShipment)
+                    .map(FetchRatesRequest::getShipmentId)
+                    .collect(Collectors.toSet());
+          Set<Long> parcelShipmentIds = requests.stream()
+                    .filter(request -> request.getParcel() == null)
+                    .map(FetchRatesRequest::getShipmentId)
+                    .collect(Collectors.toSet());
+          Map<Long, Shipment> shipments = !enabled || shipmentIds.isEmpty()
+                    ? Map.of()
+                    : shipmentRepository.findByTenantIdAndIdIn(tenantId, shipmentIds).stream()
+                              .collect(Collectors.toMap(Shipment::getId, Function.identity()));
+          Map<Long, List<Parcel>> parcels = !enabled || parcelShipmentIds.isEmpty()
+                    ? Map.of()
+                    : parcelRepository.findByTenantIdAndShipmentIdInOrderByIdAsc(tenantId, parcelShipmentIds)
+                              .stream()
+                              .collect(Collectors.groupingBy(Parcel::getShipmentId));
+
+          List<FetchRatesResult> results = new ArrayList<>(requests.size());
+          int[] calls = { 0 };
+          for (FetchRatesRequest request : requests) {
+               Supplier<List<CarrierRateDTO>> call = () -> {
+                    calls[0]++;
+                    return fetch.apply(request);
+               };
+               RateLane lane = enabled
+                         ? resolveLane(request, shipments.get(request.getShipmentId()),
+                                   parcels.getOrDefault(request.getShipmentId(), List.of()))
+                         : null;
+               List<CarrierRateDTO> rates = lane != null && lane.complete()
+                         ? lookup(carrier, tenantId, lane.key(), call)
+                         : call.get();
+               results.add(FetchRatesResult.builder()
+                         .shipmentId(request.getShipmentId())
+                         .rates(rates)
+                         .build());
+          }
+          log.info("{} rates for {} shipments with {} carrier calls", carrier, requests.size(), calls[0]);
+          return results;
+     }
+
+     private List<CarrierRateDTO> lookup(String carrier, String tenantId, String lane,
+               Supplier<List<CarrierRateDTO>> fetch) {
+          return cache.get(tenantId, carrier, lane, ttl, previous -> List.copyOf(fetch.get()));
+     }
+
+     private static boolean needsShipment(FetchRatesRequest request) {
+          return request.getFacilityId() == null || request.getDestinationCountry() == null
+                    || request.getDestinationPostalCode() == null;
+     }
+
+     private static RateLane resolveLane(FetchRatesRequest request, Shipment shipment, List<Parcel> shipmentParcels) {
+          Long facilityId = request.getFacilityId();
+          String country = request.getDestinationCountry();
+          String postalCode = request.getDestinationPostalCode();
+          if (shipment != null) {
+               facilityId = facilityId != null ? facilityId : shipment.getFacilityId();
+               country = country != null ? country : shipment.getShipToCountry();
+               postalCode = postalCode != null ? postalCode : shipment.getShipToPostalCode();
+          }
+
+          List<String> parcels;
+          ParcelDTO parcel = request.getParcel();
+          if (parcel != null) {
+               parcels = List.of(RateLane.parcel(parcel.getWeightLbs(), parcel.getLengthIn(), parcel.getWidthIn(),
+                         parcel.getHeightIn()));
+          } else {
+               parcels = shipmentParcels.stream()
+                         .map(CarrierRateCache::profile)
+                         .sorted()
+                         .toList();
+          }
+          return RateLane.of(facilityId, country, postalCode, parcels);
+     }
+
+     private static String profile(Parcel parcel) {
+          return RateLane.parcel(RateLane.ouncesToPounds(parcel.getWeightOz()), parcel.getLengthIn(),
+                    parcel.getWidthIn(), parcel.getHeightIn());
+     }
+}
@@ -0,0 +1,44 @@
+package app.tempest.sms.service;
+
+import java.math.BigDecimal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import app.tempest.common.dto.ParcelDTO;
+
+/**
+ * The parcel a shipment gets when it is created without one.
+ *
+ * Nothing upstream knows package weights or box sizes yet, so shipments are
+ * created with this configured profile (sms.shipments.default-parcel). That
+ * gives every shipment a complete RateLane, so carrier rates are cached and
+ * shared per lane instead of quoted per shipment.
+ */
+@Component
+public class DefaultParcel {
+
+    private final ParcelDTO parcel;
+
+    public DefaultParcel(
+            @Value("${sms.shipments.default-parcel.weight-lbs:2}") BigDecimal weightLbs,
+            @Value("${sms.shipments.default-parcel.length-in:12}") BigDecimal lengthIn,
+            @Value("${sms.shipments.default-parcel.width-in:10}") BigDecimal widthIn,
+            @Value("${sms.shipments.default-parcel.height-in:6}") BigDecimal heightIn) {
+        this.parcel = ParcelDTO.builder()
+                .weightLbs(weightLbs)
+                .lengthIn(lengthIn)
+                .widthIn(widthIn)
+                .heightIn(heightIn)
+                .build();
+    }
+
+    public ParcelDTO get() {
+        return ParcelDTO.builder()
+                .weightLbs(parcel.getWeightLbs())
+                .lengthIn(parcel.getLengthIn())
+                .widthIn(parcel.getWidthIn())
+                .heightIn(parcel.getHeightIn())
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package app.tempest.sms.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What a carrier prices a shipment by: origin facility, destination zone and
+ * parcel profile. Shipments on the same lane get the same rates, so the lane
+ * is the rate cache key.
+ *
+ * The destination zone is the country plus the first three characters of the
+ * postal code (the ZIP3 in the US). Each parcel's profile is its weight
+ * rounded up to the next whole pound - the weight break carriers bill by -
+ * and its dimensions rounded up to whole inches, largest first, so the
+ * orientation a packer measured in doesn't matter.
+ */
+public record RateLane(Long originFacilityId, String destinationZone, List<String> parcels) {
+
+     private static final Set<String> US_NAMES = Set.of("US", "USA", "UNITED STATES", "UNITED STATES OF AMERICA");
+     private static final BigDecimal OZ_PER_LB = new BigDecimal("16");
+
+     public static RateLane of(Long originFacilityId, String country, String postalCode, List<String> parcels) {
+          return new RateLane(originFacilityId, destinationZone(country, postalCode), parcels);
+     }
+
+     /**
+      * Profile of one parcel. Unknown weight or dimensions show as "?", which
+      * makes the lane incomplete.
+      */
+     public static String parcel(BigDecimal weightLbs, BigDecimal lengthIn, BigDecimal widthIn, BigDecimal heightIn) {
+          String weight = weightLbs != null
+                    ? weightLbs.max(BigDecimal.ONE).setScale(0, RoundingMode.CEILING).toPlainString() + "lb"
+                    : "?lb";
+          if (lengthIn == null || widthIn == null || heightIn == null) {
+               return weight + ":?";
+          }
+          return weight + ":" + Arrays.stream(new BigDecimal[] { lengthIn, widthIn, heightIn })
+                    .map(d -> d.setScale(0, RoundingMode.CEILING))
+                    .sorted((a, b) -> b.compareTo(a))
+                    .map(BigDecimal::toPlainString)
+                    .collect(Collectors.joining("x"));
+     }
+
+     public static BigDecimal ouncesToPounds(BigDecimal weightOz) {
+          return weightOz != null ? weightOz.divide(OZ_PER_LB, 4, RoundingMode.HALF_UP) : null;
+     }
+
+     /**
+      * Whether origin, destination zone and every parcel profile are known.
+      * An incomplete lane would share rates between unrelated shipments, so it
+      * is never cached.
+      */
+     public boolean complete() {
+          return originFacilityId != null
+                    && !destinationZone.startsWith("/") && !destinationZone.endsWith("/")
+                    && !parcels.isEmpty()
+                    && parcels.stream().noneMatch(parcel -> parcel.contains("?"));
+     }
+
+     /**
+      * Cache key form of the lane.
+      */
+     public String key() {
+          return originFacilityId + "|" + destinationZone + "|" + String.join("+", parcels);
+     }
+
+     private static String destinationZone(String country, String postalCode) {
+          String normalizedCountry = country != null ? country.trim().toUpperCase(Locale.ROOT) : "";
+          if (US_NAMES.contains(normalizedCountry)) {
+               normalizedCountry = "US";
+          }
+          String postal = postalCode != null ? postalCode.replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT) : "";
+          return normalizedCountry + "/" + postal.substring(0, Math.min(3, postal.length()));
+     }
+}
@@ -0,0 +1,111 @@
+package app.tempest.sms.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out tracking numbers from per-carrier blocks reserved in
+ * tracking_number_sequences.
+ *
+ * A block of sms.tracking-numbers.block-size numbers is reserved with one
+ * UPDATE ... RETURNING in its own transaction, so the sequence row is locked
+ * only for that statement, and numbers are then handed out from memory.
+ * Callers must not hold a transaction: the reservation takes a connection of
+ * its own, and waiting for it while holding another (and row locks) can drain
+ * the pool.
+ * Several SMS instances each hold their own blocks, so numbers never repeat;
+ * a block left unused at shutdown is a gap, never a duplicate.
+ *
+ * A number is the carrier's prefix followed by 14 digits, which also keeps it
+ * apart from the 12-character random numbers of older labels.
+ */
+@Slf4j
+@Component
+public class TrackingNumberAllocator {
+
+    private static final String RESERVE_BLOCK = """
+            UPDATE tracking_number_sequences
+            SET next_value = next_value + ?, updated_at = NOW()
+            WHERE carrier = ?
+            RETURNING next_value
+            """;
+
+    private static final Map<String, String> PREFIXES = Map.of(
+            "UPS", "1Z",
+            "FEDEX", "FX",
+            "USPS", "94",
+            "OTHER", "TRK");
+
+    // Unreserved numbers [next, end) of the current block per sequence
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new HashMap<>();
+    // Not synchronized: activities run on virtual threads and a block reservation does IO
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TrackingNumberAllocator(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${sms.tracking-numbers.block-size:1000}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Allocate count tracking numbers for a carrier, reserving a new block
+     * when the current one runs out. Must be called outside any transaction.
+     */
+    public List<String> allocate(String carrier, int count) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Tracking numbers must be allocated outside a transaction");
+        }
+        String sequence = sequence(carrier);
+        String prefix = PREFIXES.get(sequence);
+        List<String> numbers = new ArrayList<>(count);
+        lock.lock();
+        try {
+            Block block = blocks.computeIfAbsent(sequence, k -> new Block());
+            while (numbers.size() < count) {
+                if (block.next == block.end) {
+                    reserve(sequence, block, Math.max(blockSize, count - numbers.size()));
+                }
+                numbers.add(prefix + String.format("%014d", block.next++));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return numbers;
+    }
+
+    private void reserve(String sequence, Block block, int size) {
+        Long end = transaction.execute(status -> jdbcTemplate.queryForObject(RESERVE_BLOCK, Long.class,
+                size, sequence));
+        block.end = end;
+        block.next = end - size;
+        log.info("Reserved tracking number block - sequence: {}, from: {}, size: {}", sequence, block.next, size);
+    }
+
+    private static String sequence(String carrier) {
+        String key = carrier != null ? carrier.toUpperCase() : "OTHER";
+        return PREFIXES.containsKey(key) ? key : "OTHER";
+    }
+}
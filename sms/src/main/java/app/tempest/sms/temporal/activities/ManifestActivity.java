@@ -0,0 +1,30 @@
+package app.tempest.sms.temporal.activities;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import app.tempest.common.dto.CarrierManifestDTO;
+import app.tempest.common.dto.requests.CarrierManifestRequest;
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityMethod;
+
+/**
+ * Activities of the end-of-day carrier manifest close.
+ */
+@ActivityInterface
+public interface ManifestActivity {
+
+    /**
+     * @return carriers with SHIPPED shipments from the facility that are
+     *         waiting for a manifest at the end of the day
+     */
+    @ActivityMethod
+    List<String> findCarriersToManifest(CarrierManifestRequest request, LocalDate manifestDate);
+
+    /**
+     * Close the facility's manifest for a carrier and day: claim its
+     * shipments, write the manifest file and mark it CLOSED. Safe to retry.
+     */
+    @ActivityMethod
+    CarrierManifestDTO closeManifest(CarrierManifestRequest request, LocalDate manifestDate, String carrier);
+}
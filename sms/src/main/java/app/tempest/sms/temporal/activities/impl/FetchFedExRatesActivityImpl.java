@@ -6,30 +6,62 @@ import java.util.List;
 import org.springframework.stereotype.Component;
 
 import app.tempest.common.dto.CarrierRateDTO;
+import app.tempest.common.dto.requests.FetchRatesBatchRequest;
 import app.tempest.common.dto.requests.FetchRatesRequest;
+import app.tempest.common.dto.results.FetchRatesBatchResult;
 import app.tempest.common.dto.results.FetchRatesResult;
 import app.tempest.common.temporal.activities.sms.FetchFedExRatesActivity;
+import app.tempest.sms.service.CarrierRateCache;
 import io.temporal.activity.Activity;
 import io.temporal.failure.ApplicationFailure;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of FetchFedExRatesActivity.
  * This activity simulates failures for demo purposes - it fails 4 times
  * before succeeding on the 5th attempt to demonstrate Temporal's retry capabilities.
+ * Quotes are cached per lane, so only the first shipment on a lane sees the failures.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class FetchFedExRatesActivityImpl implements FetchFedExRatesActivity {
 
     private static final int SUCCEED_ON_ATTEMPT = 5;
 
+    private final CarrierRateCache rateCache;
+
     @Override
     public FetchRatesResult fetchFedExRates(FetchRatesRequest request) {
         int attempt = Activity.getExecutionContext().getInfo().getAttempt();
         log.info("Fetching FedEx rates - attempt: {}, tenantId: {}, shipmentId: {}, orderId: {}",
                 attempt, request.getTenantId(), request.getShipmentId(), request.getOrderId());
 
+        List<CarrierRateDTO> rates = rateCache.getRates("FedEx", request, () -> callCarrierApi(request, attempt));
+
+        log.info("FedEx rates fetched successfully on attempt {} - shipmentId: {}",
+                attempt, request.getShipmentId());
+
+        return FetchRatesResult.builder()
+                .shipmentId(request.getShipmentId())
+                .rates(rates)
+                .build();
+    }
+
+    @Override
+    public FetchRatesBatchResult fetchFedExRatesBatch(FetchRatesBatchRequest request) {
+        int attempt = Activity.getExecutionContext().getInfo().getAttempt();
+        log.info("Fetching FedEx rates in batch - attempt: {}, tenantId: {}, shipments: {}",
+                attempt, request.getTenantId(), request.getShipments().size());
+
+        return FetchRatesBatchResult.builder()
+                .results(rateCache.getRates("FedEx", request.getTenantId(), request.getShipments(),
+                        shipment -> callCarrierApi(shipment, attempt)))
+                .build();
+    }
+
+    private List<CarrierRateDTO> callCarrierApi(FetchRatesRequest request, int attempt) {
         // Simulate API call delay
         try {
             Thread.sleep(500);
@@ -37,7 +69,7 @@ public class FetchFedExRatesActivityImpl implements FetchFedExRatesActivity {
             Thread.currentThread().interrupt();
         }
 
-        // Fail on attempts 1-4, succeed on attempt 5
+        // Fail on attempts 1-4, succeed on attempt 5; failures are not cached
         if (attempt < SUCCEED_ON_ATTEMPT) {
             String errorMessage = String.format(
                     "FedEx API temporarily unavailable (attempt %d of %d) - shipmentId: %d",
@@ -48,28 +80,22 @@ public class FetchFedExRatesActivityImpl implements FetchFedExRatesActivity {
                     "FedExTemporaryError");
         }
 
-        log.info("FedEx rates fetched successfully on attempt {} - shipmentId: {}",
-                attempt, request.getShipmentId());
-
-        List<CarrierRateDTO> rates = List.of(
+        return List.of(
                 CarrierRateDTO.builder()
                         .carrier("FedEx")
                         .serviceLevel("Express")
                         .price(new BigDecimal("15.00"))
                         .estimatedDelivery("1-2 business days")
+                        .transitDays(2)
                         .build(),
                 CarrierRateDTO.builder()
                         .carrier("FedEx")
                         .serviceLevel("Ground")
                         .price(new BigDecimal("7.99"))
                         .estimatedDelivery("4-6 business days")
+                        .transitDays(6)
                         .build()
         );
-
-        return FetchRatesResult.builder()
-                .shipmentId(request.getShipmentId())
-                .rates(rates)
-                .build();
     }
 }
 
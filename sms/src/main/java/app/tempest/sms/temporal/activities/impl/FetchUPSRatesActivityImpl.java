@@ -6,10 +6,14 @@ import java.util.List;
 import org.springframework.stereotype.Component;
 
 import app.tempest.common.dto.CarrierRateDTO;
+import app.tempest.common.dto.requests.FetchRatesBatchRequest;
 import app.tempest.common.dto.requests.FetchRatesRequest;
+import app.tempest.common.dto.results.FetchRatesBatchResult;
 import app.tempest.common.dto.results.FetchRatesResult;
 import app.tempest.common.temporal.activities.sms.FetchUPSRatesActivity;
+import app.tempest.sms.service.CarrierRateCache;
 import io.temporal.activity.Activity;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -18,14 +22,40 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class FetchUPSRatesActivityImpl implements FetchUPSRatesActivity {
 
+    private final CarrierRateCache rateCache;
+
     @Override
     public FetchRatesResult fetchUPSRates(FetchRatesRequest request) {
         int attempt = Activity.getExecutionContext().getInfo().getAttempt();
         log.info("Fetching UPS rates - attempt: {}, tenantId: {}, shipmentId: {}, orderId: {}",
                 attempt, request.getTenantId(), request.getShipmentId(), request.getOrderId());
 
+        List<CarrierRateDTO> rates = rateCache.getRates("UPS", request, () -> callCarrierApi(request));
+
+        log.info("UPS rates fetched successfully - shipmentId: {}", request.getShipmentId());
+
+        return FetchRatesResult.builder()
+                .shipmentId(request.getShipmentId())
+                .rates(rates)
+                .build();
+    }
+
+    @Override
+    public FetchRatesBatchResult fetchUPSRatesBatch(FetchRatesBatchRequest request) {
+        int attempt = Activity.getExecutionContext().getInfo().getAttempt();
+        log.info("Fetching UPS rates in batch - attempt: {}, tenantId: {}, shipments: {}",
+                attempt, request.getTenantId(), request.getShipments().size());
+
+        return FetchRatesBatchResult.builder()
+                .results(rateCache.getRates("UPS", request.getTenantId(), request.getShipments(),
+                        this::callCarrierApi))
+                .build();
+    }
+
+    private List<CarrierRateDTO> callCarrierApi(FetchRatesRequest request) {
         // Simulate API call delay
         try {
             Thread.sleep(500);
@@ -33,27 +63,22 @@ public class FetchUPSRatesActivityImpl implements FetchUPSRatesActivity {
             Thread.currentThread().interrupt();
         }
 
-        List<CarrierRateDTO> rates = List.of(
+        return List.of(
                 CarrierRateDTO.builder()
                         .carrier("UPS")
                         .serviceLevel("Ground")
                         .price(new BigDecimal("8.50"))
                         .estimatedDelivery("3-5 business days")
+                        .transitDays(5)
                         .build(),
                 CarrierRateDTO.builder()
                         .carrier("UPS")
                         .serviceLevel("2nd Day Air")
                         .price(new BigDecimal("18.75"))
                         .estimatedDelivery("2 business days")
+                        .transitDays(2)
                         .build()
         );
-
-        log.info("UPS rates fetched successfully - shipmentId: {}", request.getShipmentId());
-
-        return FetchRatesResult.builder()
-                .shipmentId(request.getShipmentId())
-                .rates(rates)
-                .build();
     }
 }
 
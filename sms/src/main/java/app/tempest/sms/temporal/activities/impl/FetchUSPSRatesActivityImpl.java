@@ -6,10 +6,14 @@ import java.util.List;
 import org.springframework.stereotype.Component;
 
 import app.tempest.common.dto.CarrierRateDTO;
+import app.tempest.common.dto.requests.FetchRatesBatchRequest;
 import app.tempest.common.dto.requests.FetchRatesRequest;
+import app.tempest.common.dto.results.FetchRatesBatchResult;
 import app.tempest.common.dto.results.FetchRatesResult;
 import app.tempest.common.temporal.activities.sms.FetchUSPSRatesActivity;
+import app.tempest.sms.service.CarrierRateCache;
 import io.temporal.activity.Activity;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -18,14 +22,40 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class FetchUSPSRatesActivityImpl implements FetchUSPSRatesActivity {
 
+    private final CarrierRateCache rateCache;
+
     @Override
     public FetchRatesResult fetchUSPSRates(FetchRatesRequest request) {
         int attempt = Activity.getExecutionContext().getInfo().getAttempt();
         log.info("Fetching USPS rates - attempt: {}, tenantId: {}, shipmentId: {}, orderId: {}",
                 attempt, request.getTenantId(), request.getShipmentId(), request.getOrderId());
 
+        List<CarrierRateDTO> rates = rateCache.getRates("USPS", request, () -> callCarrierApi(request));
+
+        log.info("USPS rates fetched successfully - shipmentId: {}", request.getShipmentId());
+
+        return FetchRatesResult.builder()
+                .shipmentId(request.getShipmentId())
+                .rates(rates)
+                .build();
+    }
+
+    @Override
+    public FetchRatesBatchResult fetchUSPSRatesBatch(FetchRatesBatchRequest request) {
+        int attempt = Activity.getExecutionContext().getInfo().getAttempt();
+        log.info("Fetching USPS rates in batch - attempt: {}, tenantId: {}, shipments: {}",
+                attempt, request.getTenantId(), request.getShipments().size());
+
+        return FetchRatesBatchResult.builder()
+                .results(rateCache.getRates("USPS", request.getTenantId(), request.getShipments(),
+                        this::callCarrierApi))
+                .build();
+    }
+
+    private List<CarrierRateDTO> callCarrierApi(FetchRatesRequest request) {
         // Simulate API call delay
         try {
             Thread.sleep(500);
@@ -33,21 +63,15 @@ public class FetchUSPSRatesActivityImpl implements FetchUSPSRatesActivity {
             Thread.currentThread().interrupt();
         }
 
-        List<CarrierRateDTO> rates = List.of(
+        return List.of(
                 CarrierRateDTO.builder()
                         .carrier("USPS")
                         .serviceLevel("Priority")
                         .price(new BigDecimal("6.25"))
                         .estimatedDelivery("2-3 business days")
+                        .transitDays(3)
                         .build()
         );
-
-        log.info("USPS rates fetched successfully - shipmentId: {}", request.getShipmentId());
-
-        return FetchRatesResult.builder()
-                .shipmentId(request.getShipmentId())
-                .rates(rates)
-                .build();
     }
 }
 
@@ -0,0 +1,33 @@
+package app.tempest.sms.temporal.activities.impl;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import app.tempest.common.dto.CarrierManifestDTO;
+import app.tempest.common.dto.requests.CarrierManifestRequest;
+import app.tempest.sms.manifest.ManifestService;
+import app.tempest.sms.temporal.activities.ManifestActivity;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Implementation of ManifestActivity.
+ * Delegates to ManifestService.
+ */
+@Component
+@RequiredArgsConstructor
+public class ManifestActivityImpl implements ManifestActivity {
+
+    private final ManifestService manifestService;
+
+    @Override
+    public List<String> findCarriersToManifest(CarrierManifestRequest request, LocalDate manifestDate) {
+        return manifestService.findCarriersToManifest(request, manifestDate);
+    }
+
+    @Override
+    public CarrierManifestDTO closeManifest(CarrierManifestRequest request, LocalDate manifestDate, String carrier) {
+        return manifestService.close(request, manifestDate, carrier);
+    }
+}
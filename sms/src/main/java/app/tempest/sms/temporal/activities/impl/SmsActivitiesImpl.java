@@ -2,26 +2,48 @@ package app.tempest.sms.temporal.activities.impl;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import app.tempest.common.dto.CarrierRateDTO;
+import app.tempest.common.dto.ParcelDTO;
 import app.tempest.common.dto.requests.ConfirmShipmentRequest;
 import app.tempest.common.dto.requests.CreateShipmentRequest;
 import app.tempest.common.dto.requests.FetchRatesRequest;
 import app.tempest.common.dto.requests.GenerateShippingLabelRequest;
+import app.tempest.common.dto.requests.GenerateShippingLabelsRequest;
 import app.tempest.common.dto.requests.SelectRateRequest;
+import app.tempest.common.dto.requests.SelectRatesRequest;
 import app.tempest.common.dto.results.ConfirmShipmentResult;
 import app.tempest.common.dto.results.CreateShipmentResult;
 import app.tempest.common.dto.results.FetchRatesResult;
 import app.tempest.common.dto.results.GenerateShippingLabelResult;
+import app.tempest.common.dto.results.GenerateShippingLabelsResult;
 import app.tempest.common.dto.results.SelectRateResult;
+import app.tempest.common.dto.results.SelectRatesResult;
 import app.tempest.common.temporal.activities.sms.SmsActivities;
+import app.tempest.sms.entity.Parcel;
 import app.tempest.sms.entity.Shipment;
+import app.tempest.sms.label.LabelFormat;
+import app.tempest.sms.label.LabelService;
+import app.tempest.sms.manifest.ManifestScheduler;
+import app.tempest.sms.repository.ParcelRepository;
 import app.tempest.sms.repository.ShipmentRepository;
+import app.tempest.sms.service.DefaultParcel;
+import app.tempest.sms.service.RateLane;
+import app.tempest.sms.service.TrackingNumberAllocator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,7 +57,25 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class SmsActivitiesImpl implements SmsActivities {
 
+        private static final BigDecimal OZ_PER_LB = new BigDecimal("16");
+
+        // Labels a whole batch in one batched statement. Only unlabelled rows match - the
+        // same test generateLabels selects them by - which keeps it idempotent
+        private static final String SET_LABEL = """
+                        UPDATE shipments
+                        SET tracking_number = ?, label_url = ?, label_zpl_key = ?, label_pdf_key = ?,
+                            status = 'LABEL_GENERATED', updated_at = NOW()
+                        WHERE id = ? AND tenant_id = ? AND (tracking_number IS NULL OR label_url IS NULL)
+                        """;
+
         private final ShipmentRepository shipmentRepository;
+        private final ParcelRepository parcelRepository;
+        private final TrackingNumberAllocator trackingNumberAllocator;
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+        private final LabelService labelService;
+        private final ManifestScheduler manifestScheduler;
+        private final DefaultParcel defaultParcel;
 
         @Override
         @Transactional
@@ -56,6 +96,11 @@ public class SmsActivitiesImpl implements SmsActivities {
                                         .shipmentId(existing.getId())
                                         .status(existing.getStatus())
                                         .alreadyExisted(true)
+                                        .parcels(parcelRepository.findByTenantIdAndShipmentIdOrderByIdAsc(
+                                                        request.getTenantId(), existing.getId())
+                                                        .stream()
+                                                        .map(SmsActivitiesImpl::toParcelDTO)
+                                                        .toList())
                                         .build();
                 }
 
@@ -68,8 +113,31 @@ public class SmsActivitiesImpl implements SmsActivities {
                                 .status("CREATED")
                                 .build();
                 shipment.setTenantId(request.getTenantId());
+                if (request.getShipTo() != null) {
+                        shipment.setShipToCity(request.getShipTo().getCity());
+                        shipment.setShipToState(request.getShipTo().getState());
+                        shipment.setShipToPostalCode(request.getShipTo().getPostalCode());
+                        shipment.setShipToCountry(request.getShipTo().getCountry());
+                }
 
                 Shipment saved = shipmentRepository.save(shipment);
+                // Without parcels the shipment's rate lane would be incomplete and never cached
+                List<ParcelDTO> parcels = request.getParcels() != null && !request.getParcels().isEmpty()
+                                ? request.getParcels()
+                                : List.of(defaultParcel.get());
+                for (ParcelDTO parcelDTO : parcels) {
+                        Parcel parcel = Parcel.builder()
+                                        .shipmentId(saved.getId())
+                                        .weightOz(parcelDTO.getWeightLbs() != null
+                                                        ? parcelDTO.getWeightLbs().multiply(OZ_PER_LB)
+                                                        : null)
+                                        .lengthIn(parcelDTO.getLengthIn())
+                                        .widthIn(parcelDTO.getWidthIn())
+                                        .heightIn(parcelDTO.getHeightIn())
+                                        .build();
+                        parcel.setTenantId(request.getTenantId());
+                        parcelRepository.save(parcel);
+                }
                 log.info("Shipment created - shipmentId: {}, orderId: {}, tenantId: {}",
                                 saved.getId(), request.getOrderId(), request.getTenantId());
 
@@ -77,16 +145,34 @@ public class SmsActivitiesImpl implements SmsActivities {
                                 .shipmentId(saved.getId())
                                 .status(saved.getStatus())
                                 .alreadyExisted(false)
+                                .parcels(parcels)
+                                .build();
+        }
+
+        private static ParcelDTO toParcelDTO(Parcel parcel) {
+                return ParcelDTO.builder()
+                                .weightLbs(RateLane.ouncesToPounds(parcel.getWeightOz()))
+                                .lengthIn(parcel.getLengthIn())
+                                .widthIn(parcel.getWidthIn())
+                                .heightIn(parcel.getHeightIn())
                                 .build();
         }
 
         @Override
-        @Transactional
         public GenerateShippingLabelResult generateLabel(GenerateShippingLabelRequest request) {
                 log.info("Generating shipping label - tenantId: {}, shipmentId: {}, orderId: {}, carrier: {}",
                                 request.getTenantId(), request.getShipmentId(), request.getOrderId(),
                                 request.getCarrier());
 
+                // Reserve before the transaction opens: a block reservation takes its own
+                // connection, which must not be waited for while this one is held
+                Map<Long, ReservedNumber> reserved = reserveTrackingNumbers(request.getTenantId(),
+                                List.of(request.getShipmentId()));
+                return transactionTemplate.execute(status -> labelShipment(request, reserved));
+        }
+
+        private GenerateShippingLabelResult labelShipment(GenerateShippingLabelRequest request,
+                        Map<Long, ReservedNumber> reserved) {
                 // Find the shipment
                 Shipment shipment = shipmentRepository
                                 .findByIdAndTenantId(request.getShipmentId(), request.getTenantId())
@@ -97,34 +183,166 @@ public class SmsActivitiesImpl implements SmsActivities {
                 if (shipment.getTrackingNumber() != null && shipment.getLabelUrl() != null) {
                         log.info("Label already exists - shipmentId: {}, trackingNumber: {}",
                                         shipment.getId(), shipment.getTrackingNumber());
-                        return GenerateShippingLabelResult.builder()
-                                        .labelId(shipment.getId())
-                                        .trackingNumber(shipment.getTrackingNumber())
-                                        .labelUrl(shipment.getLabelUrl())
-                                        .build();
+                        return labelResult(shipment.getId(), shipment.getTrackingNumber(), shipment.getLabelUrl());
                 }
 
-                // Generate fake tracking number based on carrier
-                String carrierPrefix = switch (shipment.getCarrier().toUpperCase()) {
-                        case "UPS" -> "1Z";
-                        case "FEDEX" -> "FX";
-                        case "USPS" -> "94";
-                        default -> "TRK";
-                };
-                String trackingNumber = carrierPrefix + UUID.randomUUID().toString().substring(0, 12).toUpperCase();
-                String labelUrl = "https://labels.tempest.example.com/shipment/" + shipment.getId() + "/label.pdf";
+                // Keep a tracking number an earlier attempt assigned; otherwise use the one
+                // reserved above
+                String trackingNumber = shipment.getTrackingNumber() != null
+                                ? shipment.getTrackingNumber()
+                                : reservedNumber(shipment, reserved);
+                String labelUrl = labelService.labelUrl(shipment.getId());
+                Map<LabelFormat, String> rendered = labelService.render(shipment, trackingNumber,
+                                parcelRepository.findByTenantIdAndShipmentIdOrderByIdAsc(request.getTenantId(),
+                                                shipment.getId()));
 
                 // Update shipment with label info
                 shipment.setTrackingNumber(trackingNumber);
                 shipment.setLabelUrl(labelUrl);
+                shipment.setLabelZplKey(rendered.get(LabelFormat.ZPL));
+                shipment.setLabelPdfKey(rendered.get(LabelFormat.PDF));
                 shipment.setStatus("LABEL_GENERATED");
                 shipmentRepository.save(shipment);
 
                 log.info("Label generated - shipmentId: {}, trackingNumber: {}, labelUrl: {}",
                                 shipment.getId(), trackingNumber, labelUrl);
 
+                return labelResult(shipment.getId(), trackingNumber, labelUrl);
+        }
+
+        @Override
+        public GenerateShippingLabelsResult generateLabels(GenerateShippingLabelsRequest request) {
+                String tenantId = request.getTenantId();
+                List<Long> shipmentIds = request.getLabels().stream()
+                                .map(GenerateShippingLabelRequest::getShipmentId)
+                                .distinct()
+                                .toList();
+                log.info("Generating shipping labels - tenantId: {}, shipments: {}", tenantId, shipmentIds.size());
+                if (shipmentIds.isEmpty()) {
+                        return GenerateShippingLabelsResult.builder()
+                                        .labels(List.of())
+                                        .missingShipmentIds(List.of())
+                                        .build();
+                }
+
+                // Reserve before the transaction opens, as in generateLabel
+                Map<Long, ReservedNumber> reserved = reserveTrackingNumbers(tenantId, shipmentIds);
+                return transactionTemplate.execute(status -> labelShipments(tenantId, shipmentIds, reserved));
+        }
+
+        private GenerateShippingLabelsResult labelShipments(String tenantId, List<Long> shipmentIds,
+                        Map<Long, ReservedNumber> reserved) {
+                // Lock the batch so a concurrent call cannot label the same shipment twice
+                Map<Long, Shipment> shipments = shipmentRepository.findForUpdate(tenantId, shipmentIds).stream()
+                                .collect(Collectors.toMap(Shipment::getId, Function.identity()));
+
+                // Shipments still needing a label. One that already has a tracking number
+                // keeps it; the rest take the number reserved for them
+                Map<Long, String> trackingNumbers = new LinkedHashMap<>();
+                List<Long> missing = new ArrayList<>();
+                for (Long shipmentId : shipmentIds) {
+                        Shipment shipment = shipments.get(shipmentId);
+                        if (shipment == null) {
+                                missing.add(shipmentId);
+                        } else if (shipment.getTrackingNumber() == null) {
+                                trackingNumbers.put(shipmentId, reservedNumber(shipment, reserved));
+                        } else if (shipment.getLabelUrl() == null) {
+                                trackingNumbers.put(shipmentId, shipment.getTrackingNumber());
+                        }
+                }
+
+                if (!trackingNumbers.isEmpty()) {
+                        // Render from the locked rows; the entities are left untouched so only the batch writes
+                        Map<Long, List<Parcel>> parcels = parcelRepository
+                                        .findByTenantIdAndShipmentIdInOrderByIdAsc(tenantId, trackingNumbers.keySet())
+                                        .stream()
+                                        .collect(Collectors.groupingBy(Parcel::getShipmentId));
+                        Map<Long, Map<LabelFormat, String>> rendered = new HashMap<>();
+                        trackingNumbers.forEach((shipmentId, trackingNumber) -> rendered.put(shipmentId,
+                                        labelService.render(shipments.get(shipmentId), trackingNumber,
+                                                        parcels.getOrDefault(shipmentId, List.of()))));
+
+                        jdbcTemplate.batchUpdate(SET_LABEL, new ArrayList<>(trackingNumbers.entrySet()),
+                                        trackingNumbers.size(), (PreparedStatement ps, Map.Entry<Long, String> label) -> {
+                                                Map<LabelFormat, String> keys = rendered.get(label.getKey());
+                                                ps.setString(1, label.getValue());
+                                                ps.setString(2, labelService.labelUrl(label.getKey()));
+                                                ps.setString(3, keys.get(LabelFormat.ZPL));
+                                                ps.setString(4, keys.get(LabelFormat.PDF));
+                                                ps.setLong(5, label.getKey());
+                                                ps.setString(6, tenantId);
+                                        });
+                }
+
+                List<GenerateShippingLabelResult> labels = new ArrayList<>();
+                for (Long shipmentId : shipmentIds) {
+                        Shipment shipment = shipments.get(shipmentId);
+                        if (shipment == null) {
+                                continue;
+                        }
+                        String trackingNumber = trackingNumbers.get(shipmentId);
+                        labels.add(trackingNumber != null
+                                        ? labelResult(shipmentId, trackingNumber, labelService.labelUrl(shipmentId))
+                                        : labelResult(shipmentId, shipment.getTrackingNumber(), shipment.getLabelUrl()));
+                }
+
+                if (!missing.isEmpty()) {
+                        log.warn("Shipments not found while generating labels - tenantId: {}, shipmentIds: {}",
+                                        tenantId, missing);
+                }
+                log.info("Labels generated - tenantId: {}, new: {}, existing: {}", tenantId, trackingNumbers.size(),
+                                labels.size() - trackingNumbers.size());
+
+                return GenerateShippingLabelsResult.builder()
+                                .labels(labels)
+                                .missingShipmentIds(missing)
+                                .build();
+        }
+
+        private record ReservedNumber(String carrier, String trackingNumber) {
+        }
+
+        /**
+         * Reserve a tracking number for each shipment not numbered yet, grouped by
+         * carrier so each carrier's numbers come from its block in one allocation.
+         * Runs with no transaction open; numbers left unused because a concurrent
+         * call numbered the shipment first are gaps.
+         */
+        private Map<Long, ReservedNumber> reserveTrackingNumbers(String tenantId, List<Long> shipmentIds) {
+                Map<String, List<Long>> unnumbered = new LinkedHashMap<>();
+                for (Shipment shipment : shipmentRepository.findByTenantIdAndIdIn(tenantId, shipmentIds)) {
+                        if (shipment.getTrackingNumber() == null) {
+                                unnumbered.computeIfAbsent(shipment.getCarrier(), k -> new ArrayList<>())
+                                                .add(shipment.getId());
+                        }
+                }
+
+                Map<Long, ReservedNumber> reserved = new HashMap<>();
+                unnumbered.forEach((carrier, ids) -> {
+                        List<String> numbers = trackingNumberAllocator.allocate(carrier, ids.size());
+                        for (int i = 0; i < ids.size(); i++) {
+                                reserved.put(ids.get(i), new ReservedNumber(carrier, numbers.get(i)));
+                        }
+                });
+                return reserved;
+        }
+
+        private static String reservedNumber(Shipment shipment, Map<Long, ReservedNumber> reserved) {
+                ReservedNumber number = reserved.get(shipment.getId());
+                // The carrier (and so the number's prefix) can change between the read and the
+                // lock; fail so the retry reserves again
+                if (number == null || !Objects.equals(number.carrier(), shipment.getCarrier())) {
+                        throw new IllegalStateException("Shipment changed while reserving its tracking number: "
+                                        + shipment.getId());
+                }
+                return number.trackingNumber();
+        }
+
+        private static GenerateShippingLabelResult labelResult(Long shipmentId, String trackingNumber,
+                        String labelUrl) {
                 return GenerateShippingLabelResult.builder()
-                                .labelId(shipment.getId())
+                                .labelId(shipmentId)
+                                .shipmentId(shipmentId)
                                 .trackingNumber(trackingNumber)
                                 .labelUrl(labelUrl)
                                 .build();
@@ -156,6 +374,8 @@ public class SmsActivitiesImpl implements SmsActivities {
                 shipment.setStatus("SHIPPED");
                 shipment.setShippedAt(request.getShippedAt() != null ? request.getShippedAt() : Instant.now());
                 shipmentRepository.save(shipment);
+                // The end-of-day close puts the shipment on its carrier's manifest
+                manifestScheduler.registerAfterCommit(shipment.getTenantId(), shipment.getFacilityId());
 
                 log.info("Shipment confirmed - shipmentId: {}, shippedAt: {}", shipment.getId(),
                                 shipment.getShippedAt());
@@ -178,30 +398,35 @@ public class SmsActivitiesImpl implements SmsActivities {
                                                 .serviceLevel("Priority")
                                                 .price(new BigDecimal("6.25"))
                                                 .estimatedDelivery("2-3 business days")
+                                                .transitDays(3)
                                                 .build(),
                                 CarrierRateDTO.builder()
                                                 .carrier("UPS")
                                                 .serviceLevel("Ground")
                                                 .price(new BigDecimal("8.50"))
                                                 .estimatedDelivery("3-5 business days")
+                                                .transitDays(5)
                                                 .build(),
                                 CarrierRateDTO.builder()
                                                 .carrier("UPS")
                                                 .serviceLevel("2nd Day Air")
                                                 .price(new BigDecimal("18.75"))
                                                 .estimatedDelivery("2 business days")
+                                                .transitDays(2)
                                                 .build(),
                                 CarrierRateDTO.builder()
                                                 .carrier("FedEx")
                                                 .serviceLevel("Express")
                                                 .price(new BigDecimal("15.00"))
                                                 .estimatedDelivery("1-2 business days")
+                                                .transitDays(2)
                                                 .build(),
                                 CarrierRateDTO.builder()
                                                 .carrier("FedEx")
                                                 .serviceLevel("Ground")
                                                 .price(new BigDecimal("7.99"))
                                                 .estimatedDelivery("4-6 business days")
+                                                .transitDays(6)
                                                 .build());
 
                 log.info("Fetched {} rates for shipmentId: {}", rates.size(), request.getShipmentId());
@@ -240,4 +465,43 @@ public class SmsActivitiesImpl implements SmsActivities {
                                 .success(true)
                                 .build();
         }
+
+        @Override
+        @Transactional
+        public SelectRatesResult selectRates(SelectRatesRequest request) {
+                log.info("Selecting rates - tenantId: {}, shipments: {}", request.getTenantId(),
+                                request.getSelections().size());
+
+                Map<Long, Shipment> shipments = shipmentRepository
+                                .findByTenantIdAndIdIn(request.getTenantId(), request.getSelections().stream()
+                                                .map(SelectRateRequest::getShipmentId)
+                                                .toList())
+                                .stream()
+                                .collect(Collectors.toMap(Shipment::getId, Function.identity()));
+
+                List<Long> selected = new ArrayList<>();
+                List<Long> missing = new ArrayList<>();
+                for (SelectRateRequest selection : request.getSelections()) {
+                        Shipment shipment = shipments.get(selection.getShipmentId());
+                        if (shipment == null) {
+                                missing.add(selection.getShipmentId());
+                                continue;
+                        }
+                        shipment.setCarrier(selection.getCarrier());
+                        shipment.setServiceLevel(selection.getServiceLevel());
+                        selected.add(shipment.getId());
+                }
+                shipmentRepository.saveAll(shipments.values());
+
+                if (!missing.isEmpty()) {
+                        log.warn("Shipments not found while selecting rates - tenantId: {}, shipmentIds: {}",
+                                        request.getTenantId(), missing);
+                }
+                log.info("Rates selected - tenantId: {}, shipments: {}", request.getTenantId(), selected.size());
+
+                return SelectRatesResult.builder()
+                                .selectedShipmentIds(selected)
+                                .missingShipmentIds(missing)
+                                .build();
+        }
 }
@@ -0,0 +1,21 @@
+package app.tempest.sms.temporal.workflow;
+
+import app.tempest.common.dto.requests.CarrierManifestRequest;
+import app.tempest.common.dto.results.CarrierManifestResult;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+
+/**
+ * Workflow for one facility's end-of-day close, started by the facility's
+ * Temporal Schedule (see ManifestScheduler).
+ *
+ * Closes one manifest per carrier with SHIPPED shipments waiting for one, for
+ * the request's day or, if none is given, the current day in the request's
+ * time zone.
+ */
+@WorkflowInterface
+public interface CarrierManifestWorkflow {
+
+    @WorkflowMethod
+    CarrierManifestResult closeManifests(CarrierManifestRequest request);
+}
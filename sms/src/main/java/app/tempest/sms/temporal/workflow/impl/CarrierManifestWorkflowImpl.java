@@ -0,0 +1,51 @@
+package app.tempest.sms.temporal.workflow.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import app.tempest.common.dto.CarrierManifestDTO;
+import app.tempest.common.dto.requests.CarrierManifestRequest;
+import app.tempest.common.dto.results.CarrierManifestResult;
+import app.tempest.sms.temporal.activities.ManifestActivity;
+import app.tempest.sms.temporal.workflow.CarrierManifestWorkflow;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.common.RetryOptions;
+import io.temporal.workflow.Workflow;
+
+public class CarrierManifestWorkflowImpl implements CarrierManifestWorkflow {
+
+    // Writing a large manifest streams every shipment of the day; a retry
+    // rewrites the file of a manifest that was not closed
+    private final ManifestActivity manifestActivity = Workflow.newActivityStub(
+            ManifestActivity.class,
+            ActivityOptions.newBuilder()
+                    .setStartToCloseTimeout(Duration.ofMinutes(10))
+                    .setRetryOptions(RetryOptions.newBuilder()
+                            .setMaximumAttempts(5)
+                            .setInitialInterval(Duration.ofSeconds(5))
+                            .setBackoffCoefficient(2.0)
+                            .build())
+                    .build());
+
+    @Override
+    public CarrierManifestResult closeManifests(CarrierManifestRequest request) {
+        LocalDate manifestDate = request.getManifestDate() != null
+                ? request.getManifestDate()
+                : Instant.ofEpochMilli(Workflow.currentTimeMillis())
+                        .atZone(ZoneId.of(request.getTimeZone()))
+                        .toLocalDate();
+
+        List<CarrierManifestDTO> manifests = new ArrayList<>();
+        for (String carrier : manifestActivity.findCarriersToManifest(request, manifestDate)) {
+            manifests.add(manifestActivity.closeManifest(request, manifestDate, carrier));
+        }
+        return CarrierManifestResult.builder()
+                .manifestDate(manifestDate)
+                .manifests(manifests)
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+-- V2: Ship-to address on shipments
+-- Rate shopping groups shipments into lanes (origin facility, destination
+-- zone, parcel profile); the destination is kept with the shipment so rates
+-- can be quoted without asking OMS
+
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS ship_to_city VARCHAR(100);
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS ship_to_state VARCHAR(100);
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS ship_to_postal_code VARCHAR(20);
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS ship_to_country VARCHAR(100);
@@ -0,0 +1,21 @@
+-- V3: Tracking number blocks
+-- Each SMS instance reserves a block of tracking numbers per carrier with one
+-- row update and hands numbers out from memory, so label generation does not
+-- touch this table per label. Numbers are global per carrier, not per tenant.
+
+CREATE TABLE IF NOT EXISTS tracking_number_sequences (
+    carrier VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- One sequence per tracking number prefix; other carriers share OTHER
+INSERT INTO tracking_number_sequences (carrier, next_value) VALUES
+    ('UPS', 1),
+    ('FEDEX', 1),
+    ('USPS', 1),
+    ('OTHER', 1)
+ON CONFLICT (carrier) DO NOTHING;
+
+-- Comments
+COMMENT ON TABLE tracking_number_sequences IS 'Next unreserved tracking number per carrier; blocks are reserved by bumping next_value';
@@ -0,0 +1,10 @@
+-- V4: Rendered labels
+-- Labels are rendered to ZPL and PDF and kept in a content-addressed file
+-- store; shipments reference them by key so serving a label needs no render.
+
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS label_zpl_key VARCHAR(80);
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS label_pdf_key VARCHAR(80);
+
+-- Comments
+COMMENT ON COLUMN shipments.label_zpl_key IS 'Label store key of the ZPL label: SHA-256 of its bytes plus .zpl';
+COMMENT ON COLUMN shipments.label_pdf_key IS 'Label store key of the PDF label: SHA-256 of its bytes plus .pdf';
@@ -0,0 +1,41 @@
+-- V5: End-of-day carrier manifests
+-- One manifest per tenant, facility, carrier and day lists the SHIPPED
+-- shipments handed to the carrier; each shipment is on at most one manifest.
+
+CREATE TABLE IF NOT EXISTS carrier_manifests (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(255) NOT NULL,
+    facility_id BIGINT NOT NULL,
+    carrier VARCHAR(100) NOT NULL,
+    manifest_date DATE NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'OPEN',
+    shipment_count INTEGER NOT NULL DEFAULT 0,
+    parcel_count INTEGER NOT NULL DEFAULT 0,
+    total_weight_oz DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    file_name VARCHAR(255),
+    sha256 VARCHAR(64),
+    closed_at TIMESTAMP WITH TIME ZONE,
+    created_by_user_id VARCHAR(255),
+    updated_by_user_id VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+
+    -- A facility closes each carrier once per day
+    CONSTRAINT uk_carrier_manifests_facility_carrier_date UNIQUE (tenant_id, facility_id, carrier, manifest_date)
+);
+
+-- Indexes for carrier manifests
+CREATE INDEX IF NOT EXISTS idx_carrier_manifests_tenant_date ON carrier_manifests(tenant_id, manifest_date);
+
+-- Shipments reference the manifest they were closed on
+ALTER TABLE shipments ADD COLUMN IF NOT EXISTS manifest_id BIGINT REFERENCES carrier_manifests(id);
+
+CREATE INDEX IF NOT EXISTS idx_shipments_manifest_id ON shipments(manifest_id);
+-- Shipments still waiting for a manifest, by facility and carrier
+CREATE INDEX IF NOT EXISTS idx_shipments_unmanifested ON shipments(tenant_id, facility_id, carrier, shipped_at)
+    WHERE status = 'SHIPPED' AND manifest_id IS NULL;
+
+-- Comments
+COMMENT ON COLUMN carrier_manifests.status IS 'OPEN while shipments are claimed and the file is written, then CLOSED';
+COMMENT ON COLUMN carrier_manifests.sha256 IS 'SHA-256 of the manifest file';
+COMMENT ON COLUMN shipments.manifest_id IS 'Carrier manifest the shipment was closed on; NULL until the end-of-day close';
@@ -0,0 +1,166 @@
+package app.tempest.common.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Short-lived cache for workflow query results and other lookups that sit on
+ * dashboard hot paths.
+ *
+ * Entries are keyed by (tenant, group, name). The group is what a write
+ * invalidates - typically one workflow or one wave - so sending a signal can
+ * drop every cached query for that workflow at once. Concurrent misses for
+ * the same key are coalesced: one caller runs the loader and the others wait
+ * for its result (or its exception; failures are never cached).
+ *
+ * An expired value is kept until it is replaced and handed to the next
+ * loader, which lets a loader ask "has anything changed since this?" instead
+ * of fetching everything again. Size is bounded by max-entries; when full,
+ * expired entries go first, then arbitrary ones.
+ */
+@Component
+public class QueryResultCache {
+
+    private final int maxEntries;
+    private final Duration defaultTtl;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    public QueryResultCache(
+            @Value("${tempest.query-cache.max-entries:10000}") int maxEntries,
+            @Value("${tempest.query-cache.ttl-ms:1000}") long ttlMs) {
+        this.maxEntries = maxEntries;
+        this.defaultTtl = Duration.ofMillis(ttlMs);
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    /**
+     * Cached value for the key, loaded with the default TTL on a miss.
+     */
+    public <T> T get(String tenantId, String group, String name, Supplier<T> loader) {
+        return get(tenantId, group, name, defaultTtl, previous -> loader.get());
+    }
+
+    /**
+     * Cached value for the key, loaded on a miss and kept for ttl. The loader
+     * receives the previous, expired value for the key, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String tenantId, String group, String name, Duration ttl, UnaryOperator<T> loader) {
+        Key key = new Key(tenantId, group, name);
+        Entry loading;
+        while (true) {
+            Entry current = entries.get(key);
+            if (current != null && (!current.future.isDone() || current.isFresh())) {
+                return (T) current.await();
+            }
+            loading = new Entry(current != null ? current.valueOrNull() : null);
+            boolean installed = current == null
+                    ? entries.putIfAbsent(key, loading) == null
+                    : entries.replace(key, current, loading);
+            if (installed) {
+                break;
+            }
+        }
+
+        trimIfFull();
+        try {
+            T value = loader.apply((T) loading.previous);
+            loading.expiresAtNanos = System.nanoTime() + ttl.toNanos();
+            loading.future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, loading);
+            loading.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop every entry in a tenant's group, including loads still in flight
+     * (their callers still get the result, but it is not kept).
+     */
+    public void invalidate(String tenantId, String group) {
+        entries.keySet().removeIf(key -> Objects.equals(key.tenantId, tenantId) && key.group.equals(group));
+    }
+
+    /**
+     * Invalidate a group now and again after the current transaction commits, so
+     * a reader that reloads before the commit cannot keep the old state.
+     */
+    public void invalidateAfterCommit(String tenantId, String group) {
+        invalidate(tenantId, group);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(tenantId, group);
+                }
+            });
+        }
+    }
+
+    private void trimIfFull() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.future.isDone() && !entry.isFresh());
+        Iterator<Entry> it = entries.values().iterator();
+        int target = maxEntries - maxEntries / 10;
+        while (entries.size() > target && it.hasNext()) {
+            if (it.next().future.isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    private record Key(String tenantId, String group, String name) {
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private final Object previous;
+        private volatile long expiresAtNanos;
+
+        Entry(Object previous) {
+            this.previous = previous;
+        }
+
+        boolean isFresh() {
+            return future.isDone() && !future.isCompletedExceptionally()
+                    && System.nanoTime() - expiresAtNanos < 0;
+        }
+
+        Object valueOrNull() {
+            return future.isDone() && !future.isCompletedExceptionally() ? future.getNow(null) : null;
+        }
+
+        Object await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
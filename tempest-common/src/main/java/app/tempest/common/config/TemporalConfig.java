@@ -2,6 +2,7 @@ package app.tempest.common.config;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import javax.net.ssl.SSLException;
 
@@ -12,10 +13,22 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
 
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.util.Duration;
+
+import app.tempest.common.temporal.codec.GzipPayloadCodec;
 import io.grpc.Metadata;
 import io.grpc.stub.MetadataUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowClientOptions;
+import io.temporal.client.schedules.ScheduleClient;
+import io.temporal.client.schedules.ScheduleClientOptions;
+import io.temporal.common.converter.CodecDataConverter;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.common.reporter.MicrometerClientStatsReporter;
 import io.temporal.serviceclient.SimpleSslContextBuilder;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.serviceclient.WorkflowServiceStubsOptions;
@@ -51,10 +64,32 @@ public class TemporalConfig {
     @Value("${temporal.client.key:}")
     private String clientKey;
 
+    @Value("${temporal.payload-compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${temporal.payload-compression.threshold-bytes:4096}")
+    private int compressionThresholdBytes;
+
+    @Value("${tempest.metrics.temporal-report-interval-seconds:10}")
+    private int metricsReportIntervalSeconds;
+
+    /**
+     * Temporal SDK metrics scope, reported to the service's Micrometer registry.
+     * Covers client requests, worker polls, task latencies and the custom timers
+     * recorded by MetricsWorkerInterceptor.
+     */
+    @Bean(destroyMethod = "close")
+    public Scope temporalMetricsScope(MeterRegistry meterRegistry) {
+        return new RootScopeBuilder()
+                .reporter(new MicrometerClientStatsReporter(meterRegistry))
+                .reportEvery(Duration.ofSeconds(metricsReportIntervalSeconds));
+    }
+
     @Bean
-    public WorkflowServiceStubs workflowServiceStubs() {
+    public WorkflowServiceStubs workflowServiceStubs(Scope temporalMetricsScope) {
         WorkflowServiceStubsOptions.Builder optionsBuilder = WorkflowServiceStubsOptions.newBuilder()
-                .setTarget(temporalAddress);
+                .setTarget(temporalAddress)
+                .setMetricsScope(temporalMetricsScope);
 
         // Check for API Key authentication first (preferred for Temporal Cloud)
         if (StringUtils.hasText(temporalApiKey)) {
@@ -109,11 +144,39 @@ public class TemporalConfig {
     }
 
     @Bean
-    public WorkflowClient workflowClient(WorkflowServiceStubs serviceStubs) {
+    public WorkflowClient workflowClient(WorkflowServiceStubs serviceStubs, DataConverter temporalDataConverter) {
+        // Workers created from this client inherit the data converter
         return WorkflowClient.newInstance(serviceStubs,
                 WorkflowClientOptions.newBuilder()
                         .setNamespace(temporalNamespace)
+                        .setDataConverter(temporalDataConverter)
                         .build());
     }
-}
 
+    /**
+     * Client for Temporal Schedules (recurring workflow starts), sharing the
+     * namespace and data converter of the workflow client.
+     */
+    @Bean
+    public ScheduleClient scheduleClient(WorkflowServiceStubs serviceStubs, DataConverter temporalDataConverter) {
+        return ScheduleClient.newInstance(serviceStubs,
+                ScheduleClientOptions.newBuilder()
+                        .setNamespace(temporalNamespace)
+                        .setDataConverter(temporalDataConverter)
+                        .build());
+    }
+
+    /**
+     * Default JSON converter wrapped with gzip compression for large payloads
+     * (wave requests, status and shipment-state queries). Compressed payloads
+     * are always decoded; payload-compression.enabled only controls encoding.
+     */
+    @Bean
+    public DataConverter temporalDataConverter() {
+        log.info("Temporal payload compression {} (threshold {} bytes)",
+                compressionEnabled ? "enabled" : "disabled", compressionThresholdBytes);
+        return new CodecDataConverter(
+                DefaultDataConverter.newDefaultInstance(),
+                List.of(new GzipPayloadCodec(compressionThresholdBytes, compressionEnabled)));
+    }
+}
@@ -0,0 +1,41 @@
+package app.tempest.common.config;
+
+import org.springframework.stereotype.Component;
+
+import io.temporal.client.schedules.Schedule;
+import io.temporal.client.schedules.ScheduleAlreadyRunningException;
+import io.temporal.client.schedules.ScheduleClient;
+import io.temporal.client.schedules.ScheduleHandle;
+import io.temporal.client.schedules.ScheduleOptions;
+import io.temporal.client.schedules.ScheduleUpdate;
+
+/**
+ * Registration of the Temporal Schedules services keep for recurring
+ * workflows (wave planning, carrier manifests).
+ */
+@Component
+public class TemporalSchedules {
+
+    private final ScheduleClient scheduleClient;
+
+    public TemporalSchedules(ScheduleClient scheduleClient) {
+        this.scheduleClient = scheduleClient;
+    }
+
+    /**
+     * Create the schedule, or bring an existing one up to the given definition
+     * while keeping its paused/unpaused state, so a restart never resumes a
+     * schedule someone paused.
+     */
+    public ScheduleHandle ensure(String scheduleId, Schedule schedule) {
+        try {
+            return scheduleClient.createSchedule(scheduleId, schedule, ScheduleOptions.newBuilder().build());
+        } catch (ScheduleAlreadyRunningException e) {
+            ScheduleHandle handle = scheduleClient.getHandle(scheduleId);
+            handle.update(input -> new ScheduleUpdate(Schedule.newBuilder(schedule)
+                    .setState(input.getDescription().getSchedule().getState())
+                    .build()));
+            return handle;
+        }
+    }
+}
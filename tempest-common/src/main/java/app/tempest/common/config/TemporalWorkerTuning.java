@@ -0,0 +1,141 @@
+package app.tempest.common.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import app.tempest.common.temporal.metrics.MetricsWorkerInterceptor;
+import io.temporal.client.WorkflowClient;
+import io.temporal.worker.Worker;
+import io.temporal.worker.WorkerFactory;
+import io.temporal.worker.WorkerFactoryOptions;
+import io.temporal.worker.WorkerOptions;
+
+/**
+ * Worker tuning shared by every service's TemporalWorkerConfig.
+ *
+ * Bound from temporal.worker.*. A value of 0 leaves the Temporal SDK default
+ * in place, so services only need to set what they actually tune. With
+ * virtual-threads.activities enabled, activity (and local activity) tasks run
+ * on virtual threads: blocking JDBC or HTTP calls no longer pin a platform
+ * thread, and max-concurrent-activities can be raised well past the platform
+ * thread budget. The database pool still bounds how many of those activities
+ * hold a connection at once.
+ */
+@Component
+public class TemporalWorkerTuning {
+
+    private static final Logger log = LoggerFactory.getLogger(TemporalWorkerTuning.class);
+
+    @Value("${temporal.worker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${temporal.worker.workflow-pollers:0}")
+    private int workflowPollers;
+
+    @Value("${temporal.worker.activity-pollers:0}")
+    private int activityPollers;
+
+    @Value("${temporal.worker.max-concurrent-workflow-tasks:0}")
+    private int maxConcurrentWorkflowTasks;
+
+    @Value("${temporal.worker.max-concurrent-activities:0}")
+    private int maxConcurrentActivities;
+
+    @Value("${temporal.worker.max-concurrent-local-activities:0}")
+    private int maxConcurrentLocalActivities;
+
+    @Value("${temporal.worker.activities-per-second:0}")
+    private double activitiesPerSecond;
+
+    @Value("${temporal.worker.task-queue-activities-per-second:0}")
+    private double taskQueueActivitiesPerSecond;
+
+    @Value("${temporal.worker.virtual-threads.activities:false}")
+    private boolean virtualThreadActivities;
+
+    @Value("${temporal.worker.workflow-cache-size:0}")
+    private int workflowCacheSize;
+
+    @Value("${temporal.worker.max-workflow-threads:0}")
+    private int maxWorkflowThreads;
+
+    private final MetricsWorkerInterceptor metricsWorkerInterceptor;
+
+    public TemporalWorkerTuning(MetricsWorkerInterceptor metricsWorkerInterceptor) {
+        this.metricsWorkerInterceptor = metricsWorkerInterceptor;
+    }
+
+    /**
+     * Worker factory with the shared interceptors and workflow cache settings.
+     */
+    public WorkerFactory newWorkerFactory(WorkflowClient workflowClient) {
+        WorkerFactoryOptions.Builder options = WorkerFactoryOptions.newBuilder()
+                .setWorkerInterceptors(metricsWorkerInterceptor);
+        if (workflowCacheSize > 0) {
+            options.setWorkflowCacheSize(workflowCacheSize);
+        }
+        if (maxWorkflowThreads > 0) {
+            options.setMaxWorkflowThreadCount(maxWorkflowThreads);
+        }
+        return WorkerFactory.newInstance(workflowClient, options.build());
+    }
+
+    /**
+     * Worker for the given task queue with the configured pollers, slots and
+     * rate limits.
+     */
+    public Worker newWorker(WorkerFactory factory, String taskQueue) {
+        WorkerOptions.Builder options = WorkerOptions.newBuilder();
+        if (workflowPollers > 0) {
+            options.setMaxConcurrentWorkflowTaskPollers(workflowPollers);
+        }
+        if (activityPollers > 0) {
+            options.setMaxConcurrentActivityTaskPollers(activityPollers);
+        }
+        if (maxConcurrentWorkflowTasks > 0) {
+            options.setMaxConcurrentWorkflowTaskExecutionSize(maxConcurrentWorkflowTasks);
+        }
+        if (maxConcurrentActivities > 0) {
+            options.setMaxConcurrentActivityExecutionSize(maxConcurrentActivities);
+        }
+        if (maxConcurrentLocalActivities > 0) {
+            options.setMaxConcurrentLocalActivityExecutionSize(maxConcurrentLocalActivities);
+        }
+        if (activitiesPerSecond > 0) {
+            options.setMaxWorkerActivitiesPerSecond(activitiesPerSecond);
+        }
+        if (taskQueueActivitiesPerSecond > 0) {
+            options.setMaxTaskQueueActivitiesPerSecond(taskQueueActivitiesPerSecond);
+        }
+        if (virtualThreadActivities) {
+            options.setUsingVirtualThreadsOnActivityWorker(true)
+                    .setUsingVirtualThreadsOnLocalActivityWorker(true);
+        }
+
+        log.info("Temporal worker for {}: pollers(workflow={}, activity={}), slots(workflow={}, activity={}), "
+                + "activitiesPerSecond={}, virtualThreadActivities={}",
+                taskQueue, orDefault(workflowPollers), orDefault(activityPollers),
+                orDefault(maxConcurrentWorkflowTasks), orDefault(maxConcurrentActivities),
+                activitiesPerSecond > 0 ? activitiesPerSecond : "unlimited", virtualThreadActivities);
+        return factory.newWorker(taskQueue, options.build());
+    }
+
+    /**
+     * Start polling, unless temporal.worker.enabled is false. A disabled instance
+     * keeps its registrations and can still start workflows as a client.
+     */
+    public void start(WorkerFactory factory, String taskQueue) {
+        if (!enabled) {
+            log.info("Temporal worker disabled (temporal.worker.enabled=false); not polling {}", taskQueue);
+            return;
+        }
+        log.info("Starting Temporal worker on task queue: {}", taskQueue);
+        factory.start();
+    }
+
+    private static Object orDefault(int value) {
+        return value > 0 ? value : "default";
+    }
+}
@@ -0,0 +1,28 @@
+package app.tempest.common.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Planning key of an order waiting to be planned into a wave: only what the
+ * wave planner groups and packs on. A wave's order details are fetched when it
+ * is released (see GetOrdersForWaveRequest), so planning never carries them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AwaitingWaveOrderDTO {
+     private Long orderId;
+     private Instant createdAt;
+     private String shipToCountry;
+     private String shipToState;
+     // SKU with the most units; ties go to the lowest SKU
+     private String primarySku;
+     private int lineCount;
+     private int unitCount;
+}
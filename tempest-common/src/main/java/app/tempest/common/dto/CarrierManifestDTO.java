@@ -0,0 +1,30 @@
+package app.tempest.common.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One carrier's end-of-day manifest for a facility.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarrierManifestDTO {
+     private Long manifestId;
+     private Long facilityId;
+     private String carrier;
+     private LocalDate manifestDate;
+     // OPEN, CLOSED
+     private String status;
+     private int shipmentCount;
+     private int parcelCount;
+     private BigDecimal totalWeightLbs;
+     // SHA-256 of the manifest file
+     private String sha256;
+}
@@ -19,5 +19,6 @@ public class CarrierRateDTO {
      private String serviceLevel;
      private BigDecimal price;
      private String estimatedDelivery;
+     private Integer transitDays; // business days, latest end of estimatedDelivery
 }
 
@@ -16,9 +16,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class FetchedRatesDTO {
     private Long shipmentId;
-    private String status; // PENDING, FETCHING, COMPLETED, FAILED
-    private List<CarrierRateDTO> rates;
-    private String uspsStatus; // PENDING, FETCHING, COMPLETED, FAILED
+    private String status; // PENDING, FETCHING, COMPLETED, PARTIAL, TIMED_OUT, FAILED
+    private List<CarrierRateDTO> rates; // grows as each carrier answers
+    private String uspsStatus; // PENDING, FETCHING, COMPLETED, TIMED_OUT, FAILED
     private String upsStatus;
     private String fedexStatus;
     private String errorMessage;
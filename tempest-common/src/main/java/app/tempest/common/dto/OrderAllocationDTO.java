@@ -0,0 +1,20 @@
+package app.tempest.common.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An order and the lines to allocate for it within a batch allocation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAllocationDTO {
+     private Long orderId;
+     private List<OrderLineDTO> orderLines;
+}
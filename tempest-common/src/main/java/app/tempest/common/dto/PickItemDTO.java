@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PickItemDTO {
+     private Long orderLineId;
      private String sku;
      private int quantity;
 }
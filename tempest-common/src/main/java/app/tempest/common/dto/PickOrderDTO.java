@@ -0,0 +1,20 @@
+package app.tempest.common.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An order and the items to pick for it within a wave.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickOrderDTO {
+     private Long orderId;
+     private List<PickItemDTO> items;
+}
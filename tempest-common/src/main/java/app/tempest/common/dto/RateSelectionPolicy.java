@@ -0,0 +1,52 @@
+package app.tempest.common.dto;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * How a wave's bulk rate shopping picks a rate for each shipment.
+ * Ties are broken by price, then transit days, then carrier and service level,
+ * so the choice does not depend on the order carriers answered in.
+ */
+public enum RateSelectionPolicy {
+
+     /** Lowest price. */
+     CHEAPEST,
+
+     /** Fewest transit days; rates without transit days are never fastest. */
+     FASTEST,
+
+     /** Lowest price among rates arriving within maxTransitDays. */
+     CHEAPEST_WITHIN_SLA;
+
+     private static final Comparator<CarrierRateDTO> BY_PRICE = Comparator
+               .comparing(CarrierRateDTO::getPrice, Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder()))
+               .thenComparing(CarrierRateDTO::getTransitDays, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+               .thenComparing(CarrierRateDTO::getCarrier, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+               .thenComparing(CarrierRateDTO::getServiceLevel,
+                         Comparator.nullsLast(Comparator.<String>naturalOrder()));
+
+     private static final Comparator<CarrierRateDTO> BY_TRANSIT = Comparator
+               .comparing(CarrierRateDTO::getTransitDays, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+               .thenComparing(BY_PRICE);
+
+     /**
+      * @param maxTransitDays the SLA for CHEAPEST_WITHIN_SLA; ignored otherwise
+      * @return the chosen rate, or empty if no rate qualifies
+      */
+     public Optional<CarrierRateDTO> select(List<CarrierRateDTO> rates, Integer maxTransitDays) {
+          List<CarrierRateDTO> priced = rates.stream().filter(rate -> rate.getPrice() != null).toList();
+          return switch (this) {
+               case CHEAPEST -> priced.stream().min(BY_PRICE);
+               case FASTEST -> priced.stream().filter(rate -> rate.getTransitDays() != null).min(BY_TRANSIT);
+               case CHEAPEST_WITHIN_SLA -> maxTransitDays == null
+                         ? Optional.empty()
+                         : priced.stream()
+                                   .filter(rate -> rate.getTransitDays() != null
+                                             && rate.getTransitDays() <= maxTransitDays)
+                                   .min(BY_PRICE);
+          };
+     }
+}
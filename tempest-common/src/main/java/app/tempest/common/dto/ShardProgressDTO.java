@@ -0,0 +1,29 @@
+package app.tempest.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of one shard of a sharded wave, reported by the shard workflow to
+ * its parent at step transitions (and, in streaming mode, coalesced across
+ * order advances). Only absolute counts are reported, so the parent's history
+ * stays small regardless of shard size.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardProgressDTO {
+     private int shardIndex;
+     private String status;
+     private String currentStep;
+     private String blockingReason;
+     private int totalOrders;
+     private int ordersAllocated;
+     private int ordersPicked;
+     private int ordersPacked;
+     private int ordersShipped;
+     private int ordersFailed;
+}
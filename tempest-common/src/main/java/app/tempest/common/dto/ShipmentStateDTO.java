@@ -15,10 +15,12 @@ import lombok.NoArgsConstructor;
 public class ShipmentStateDTO {
      private Long shipmentId;
      private Long orderId;
-     private String status;  // CREATED, RATE_SELECTED, LABEL_GENERATED, SHIPPED
+     private String status;  // CREATED, NEEDS_REVIEW, RATE_SELECTED, LABEL_GENERATED, SHIPPED
      private String carrier;
      private String serviceLevel;
      private String trackingNumber;
      private String labelUrl;
+     private String reviewReason; // why bulk rate shopping left it NEEDS_REVIEW
+     private ParcelDTO parcel; // the shipment's parcel when it has exactly one, sent with rate requests
 }
 
@@ -0,0 +1,55 @@
+package app.tempest.common.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import app.tempest.common.dto.results.OrderShipmentResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Wave execution state carried into a continue-as-new run of the wave
+ * workflow, so the shipment loop resumes exactly where the previous run left
+ * off - including signals that were queued but not yet processed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaveExecutionStateDTO {
+     private String status;
+     private String currentStep;
+     private boolean allPicksCompleted;
+     private boolean allPacksCompleted;
+     private boolean cancelled;
+     private String cancellationReason;
+
+     private Map<Long, String> orderStatuses;
+     private Map<Long, String> orderReservationIds;
+     private List<Long> failedOrderIds;
+     private List<OrderShipmentResult> orderShipments;
+
+     private Map<Long, ShipmentStateDTO> shipmentStates;
+     private Map<Long, Long> orderToShipmentMap;
+     private Map<Long, FetchedRatesDTO> fetchedRates;
+
+     // Signals received but not yet processed
+     private List<Long> shipmentsToFetchRates;
+     private List<Long> shipmentsToGenerateLabel;
+     private List<Long> shipmentsToConfirm;
+
+     // Streaming mode: per-order signals not yet processed, and whether the
+     // wave-level signals have already been flushed
+     private List<Long> ordersPickCompleted;
+     private List<Long> ordersPackCompleted;
+     private boolean picksFlushed;
+     private boolean packsFlushed;
+
+     private int ordersAllocated;
+     private int ordersPicked;
+     private int ordersPacked;
+     private int ordersShipped;
+     private int ordersFailed;
+}
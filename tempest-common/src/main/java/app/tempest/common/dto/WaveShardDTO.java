@@ -0,0 +1,21 @@
+package app.tempest.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One shard of a sharded wave: a contiguous range of the wave's order IDs.
+ * The shard workflow loads its own orders from the range, so the parent wave
+ * never holds order details.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaveShardDTO {
+     private Long firstOrderId;
+     private Long lastOrderId;
+     private int orderCount;
+}
@@ -0,0 +1,44 @@
+package app.tempest.common.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything a wave view needs in one query: status, step, counters,
+ * shipments and fetched rates, tagged with a version.
+ *
+ * When the caller already holds the current version the snapshot comes back
+ * with modified=false and only version and shardWorkflowIds set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaveSnapshotDTO {
+     private String version;
+     private boolean modified;
+
+     private Long waveId;
+     private String status;
+     private String currentStep;
+     private String blockingReason;
+     private int totalOrders;
+     private int ordersAllocated;
+     private int ordersPicked;
+     private int ordersPacked;
+     private int ordersShipped;
+     private int ordersFailed;
+     private Map<Long, ShipmentStateDTO> shipments;
+     private Map<Long, FetchedRatesDTO> rates;
+
+     /**
+      * Shard workflows holding the shipments of a sharded wave (empty if not
+      * sharded). Always set, so callers can follow shards without another query.
+      */
+     private List<String> shardWorkflowIds;
+}
@@ -0,0 +1,21 @@
+package app.tempest.common.dto.requests;
+
+import java.util.List;
+
+import app.tempest.common.dto.OrderAllocationDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to allocate inventory for many orders and their lines in one call.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocateInventoryBatchRequest {
+     private String tenantId;
+     private List<OrderAllocationDTO> orders;
+}
@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class AllocateInventoryRequest {
+     private String tenantId;
      private Long orderId;
      private String sku;
      private int quantity;
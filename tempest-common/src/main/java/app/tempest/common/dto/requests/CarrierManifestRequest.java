@@ -0,0 +1,24 @@
+package app.tempest.common.dto.requests;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to close one facility's carrier manifests for a day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarrierManifestRequest {
+     private String tenantId;
+     private Long facilityId;
+     // Zone that defines the facility's day, e.g. America/Chicago
+     private String timeZone;
+     // Day to close; null closes the current day in timeZone
+     private LocalDate manifestDate;
+}
@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ConsumeInventoryRequest {
+     private String tenantId;
      private String orderId;
      private String reservationId;
      private String sku;
@@ -16,6 +16,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CreatePickWaveRequest {
+     private String tenantId;
+     /** Wave the order belongs to; null for single-order picking */
+     private Long waveId;
      private Long orderId;
      private Long facilityId;
      private String strategy;
@@ -1,5 +1,8 @@
 package app.tempest.common.dto.requests;
 
+import java.util.List;
+
+import app.tempest.common.dto.ParcelDTO;
 import app.tempest.common.dto.ShipToDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,5 +23,7 @@ public class CreateShipmentRequest {
      private String carrier;
      private String serviceLevel;
      private ShipToDTO shipTo;
+     /** Packages in the shipment, when already known */
+     private List<ParcelDTO> parcels;
 }
 
@@ -0,0 +1,23 @@
+package app.tempest.common.dto.requests;
+
+import java.util.List;
+
+import app.tempest.common.dto.PickOrderDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to create pick tasks for every order in a wave in one call.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateWavePickTasksRequest {
+     private String tenantId;
+     private Long waveId;
+     private Long facilityId;
+     private List<PickOrderDTO> orders;
+}
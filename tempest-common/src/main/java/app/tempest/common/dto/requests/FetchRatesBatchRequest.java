@@ -0,0 +1,21 @@
+package app.tempest.common.dto.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to fetch one carrier's shipping rates for many shipments of a tenant
+ * in a single activity call.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FetchRatesBatchRequest {
+     private String tenantId;
+     private List<FetchRatesRequest> shipments;
+}
@@ -1,5 +1,6 @@
 package app.tempest.common.dto.requests;
 
+import app.tempest.common.dto.ParcelDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,5 +17,11 @@ public class FetchRatesRequest {
      private String tenantId;
      private Long shipmentId;
      private Long orderId;
+
+     // Rate lane - any field left null is taken from the shipment in SMS
+     private Long facilityId;
+     private String destinationPostalCode;
+     private String destinationCountry;
+     private ParcelDTO parcel;
 }
 
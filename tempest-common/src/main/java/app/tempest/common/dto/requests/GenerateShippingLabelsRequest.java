@@ -0,0 +1,20 @@
+package app.tempest.common.dto.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to generate shipping labels for many shipments of a tenant at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerateShippingLabelsRequest {
+     private String tenantId;
+     private List<GenerateShippingLabelRequest> labels;
+}
@@ -0,0 +1,23 @@
+package app.tempest.common.dto.requests;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request for one keyset page of a tenant's AWAITING_WAVE orders, oldest first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetOrdersAwaitingWaveRequest {
+     private String tenantId;
+     // Keyset position (createdAt, orderId) of the last order seen; null for the first page
+     private Instant afterCreatedAt;
+     private Long afterOrderId;
+     private int limit;
+}
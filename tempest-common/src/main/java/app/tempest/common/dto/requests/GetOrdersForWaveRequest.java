@@ -0,0 +1,20 @@
+package app.tempest.common.dto.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request for the details of the orders in one planned wave or wave shard.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetOrdersForWaveRequest {
+     private String tenantId;
+     private List<Long> orderIds;
+}
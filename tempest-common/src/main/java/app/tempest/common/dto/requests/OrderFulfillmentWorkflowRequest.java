@@ -17,6 +17,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderFulfillmentWorkflowRequest {
+     private String tenantId;
      private Long orderId;
      private String requestId;
      private Long facilityId;
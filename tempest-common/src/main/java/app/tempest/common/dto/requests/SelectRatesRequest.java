@@ -0,0 +1,20 @@
+package app.tempest.common.dto.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to record the selected rate of many shipments of a tenant at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SelectRatesRequest {
+     private String tenantId;
+     private List<SelectRateRequest> selections;
+}
@@ -2,6 +2,8 @@ package app.tempest.common.dto.requests;
 
 import java.util.List;
 
+import app.tempest.common.dto.RateSelectionPolicy;
+import app.tempest.common.dto.WaveExecutionStateDTO;
 import app.tempest.common.dto.WaveOrderDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,6 +22,108 @@ public class WaveExecutionRequest {
      private Long waveId;
      private Long facilityId;
      private String waveNumber;
+
+     /**
+      * The wave's orders. Null for sharded waves, whose shards load their own
+      * orders from the wave row (see firstOrderId).
+      */
      private List<WaveOrderDTO> orders;
+
+     /**
+      * Number of orders in the wave when orders is null. Null means
+      * orders.size().
+      */
+     private Integer orderCount;
+
+     /**
+      * Maximum number of allocation batches (not orders) in flight at once.
+      * Null or non-positive uses the workflow default.
+      */
+     private Integer allocationConcurrency;
+
+     /**
+      * Number of orders sent per allocateBatch call.
+      * Null or non-positive uses the workflow default.
+      */
+     private Integer allocationBatchSize;
+
+     /**
+      * Streaming mode: each order is consumed when its own pick completes and
+      * gets its shipment when its own pack completes, instead of waiting for
+      * the wave-level signals. Null means false.
+      */
+     private Boolean streaming;
+
+     /**
+      * Orders per child workflow when the wave is large. Waves with more orders
+      * than this run as sharded child workflows. Null or non-positive disables
+      * sharding.
+      */
+     private Integer shardSize;
+
+     /**
+      * Index of this shard within its parent wave. Set only on shard (child)
+      * workflow requests.
+      */
+     private Integer shardIndex;
+
+     /**
+      * First and last order ID (inclusive) of this shard's range of the wave's
+      * orders. Set only on shard requests; the shard loads its orders from the
+      * range when orders is null.
+      */
+     private Long firstOrderId;
+     private Long lastOrderId;
+
+     /**
+      * History length (events) after which the shipment loop continues as new.
+      * Null or non-positive uses the workflow default.
+      */
+     private Integer continueAsNewHistoryEvents;
+
+     /**
+      * History size (bytes) after which the shipment loop continues as new.
+      * Null or non-positive uses the workflow default.
+      */
+     private Long continueAsNewHistoryBytes;
+
+     /**
+      * Latency budget (ms) for one shipment's rate shopping. Carriers that have
+      * not answered by then are cancelled and marked TIMED_OUT. Null or
+      * non-positive waits for every carrier.
+      */
+     private Long rateShoppingDeadlineMs;
+
+     /**
+      * Delay (ms) after which a carrier that has not answered gets a second,
+      * parallel rate call; the first success wins. Null or non-positive
+      * disables hedging.
+      */
+     private Long rateShoppingHedgeAfterMs;
+
+     /**
+      * Bulk rate shopping: when set, every shipment of the wave is quoted in
+      * batches and gets a rate chosen by this policy; shipments without a
+      * qualifying rate are left NEEDS_REVIEW. Null leaves rate selection to
+      * people until the autoSelectRates signal.
+      */
+     private RateSelectionPolicy rateSelectionPolicy;
+
+     /**
+      * SLA for CHEAPEST_WITHIN_SLA, in business days.
+      */
+     private Integer rateSelectionMaxTransitDays;
+
+     /**
+      * Shipments per batched carrier call in bulk rate shopping. Null or
+      * non-positive uses the workflow default.
+      */
+     private Integer rateShoppingBatchSize;
+
+     /**
+      * State carried over from the previous run when the workflow continued as
+      * new. Null on the first run.
+      */
+     private WaveExecutionStateDTO resumeState;
 }
 
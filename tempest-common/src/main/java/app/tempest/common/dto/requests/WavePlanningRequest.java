@@ -0,0 +1,36 @@
+package app.tempest.common.dto.requests;
+
+import java.time.Instant;
+import java.util.List;
+
+import app.tempest.common.dto.AwaitingWaveOrderDTO;
+import app.tempest.common.dto.results.WavePlanningResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to plan and release waves for one facility from the tenant's
+ * AWAITING_WAVE orders.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WavePlanningRequest {
+     private String tenantId;
+     private Long facilityId;
+     // Orders fetched from OMS per activity call
+     private int pageSize;
+     // Upper bound on orders considered in one planning run
+     private int maxOrders;
+
+     // Set when the run continues as new after a page; null for a fresh run
+     private Instant afterCreatedAt;
+     private Long afterOrderId;
+     // Orders held back from the previous page, planned again with the next one
+     private List<AwaitingWaveOrderDTO> carriedOrders;
+     // Totals of the pages already planned
+     private WavePlanningResult progress;
+}
@@ -0,0 +1,19 @@
+package app.tempest.common.dto.results;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a batch inventory allocation, one entry per requested order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocateInventoryBatchResult {
+     private List<OrderAllocationResult> orders;
+}
@@ -0,0 +1,22 @@
+package app.tempest.common.dto.results;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import app.tempest.common.dto.CarrierManifestDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one end-of-day close: a manifest per carrier that had shipments.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarrierManifestResult {
+     private LocalDate manifestDate;
+     private List<CarrierManifestDTO> manifests;
+}
@@ -1,5 +1,8 @@
 package app.tempest.common.dto.results;
 
+import java.util.List;
+
+import app.tempest.common.dto.ParcelDTO;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,5 +19,7 @@ public class CreateShipmentResult {
      private Long shipmentId;
      private String status;
      private boolean alreadyExisted;
+     /** Packages in the shipment, including the default parcel SMS added if none were given */
+     private List<ParcelDTO> parcels;
 }
 
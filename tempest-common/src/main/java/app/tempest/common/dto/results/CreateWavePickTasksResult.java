@@ -0,0 +1,24 @@
+package app.tempest.common.dto.results;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of wave pick task creation, with the pick task IDs of every
+ * requested order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateWavePickTasksResult {
+     private Long waveId;
+     private Map<Long, List<Long>> pickTaskIdsByOrder;
+     /** Orders whose pick tasks were created by an earlier call */
+     private List<Long> alreadyExistedOrderIds;
+}
@@ -0,0 +1,20 @@
+package app.tempest.common.dto.results;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of fetching one carrier's rates for a batch of shipments, one entry
+ * per requested shipment in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FetchRatesBatchResult {
+     private List<FetchRatesResult> results;
+}
@@ -14,6 +14,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class GenerateShippingLabelResult {
      private Long labelId;
+     private Long shipmentId;
      private String trackingNumber;
      private String labelUrl;
 }
@@ -0,0 +1,24 @@
+package app.tempest.common.dto.results;
+
+import java.time.Instant;
+import java.util.List;
+
+import app.tempest.common.dto.AwaitingWaveOrderDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of AWAITING_WAVE orders.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetOrdersAwaitingWaveResult {
+     private List<AwaitingWaveOrderDTO> orders;
+     // Keyset position for the next page; null when this was the last page
+     private Instant nextAfterCreatedAt;
+     private Long nextAfterOrderId;
+}
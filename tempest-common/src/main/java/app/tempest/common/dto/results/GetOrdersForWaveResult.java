@@ -0,0 +1,20 @@
+package app.tempest.common.dto.results;
+
+import java.util.List;
+
+import app.tempest.common.dto.WaveOrderDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Details of the requested orders that are still AWAITING_WAVE.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetOrdersForWaveResult {
+     private List<WaveOrderDTO> orders;
+}
@@ -0,0 +1,25 @@
+package app.tempest.common.dto.results;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of allocating a single order within a batch allocation.
+ * An order is allocated all-or-nothing: when any line fails, success is false
+ * and none of its lines hold a reservation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAllocationResult {
+     private Long orderId;
+     private boolean success;
+     private String reservationId;
+     private List<AllocateInventoryResult> lines;
+     private String errorMessage;
+}
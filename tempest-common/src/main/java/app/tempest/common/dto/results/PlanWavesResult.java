@@ -0,0 +1,25 @@
+package app.tempest.common.dto.results;
+
+import java.util.List;
+
+import app.tempest.common.dto.AwaitingWaveOrderDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Waves planned from one page of AWAITING_WAVE orders.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanWavesResult {
+     // Order IDs of each planned wave, in release order
+     private List<List<Long>> waves;
+     // Not planned this time: carried into the next page, or left for a later run
+     private List<AwaitingWaveOrderDTO> held;
+     // Already in an open wave
+     private int ordersSkipped;
+}
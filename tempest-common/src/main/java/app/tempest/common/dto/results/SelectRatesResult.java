@@ -0,0 +1,20 @@
+package app.tempest.common.dto.results;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of recording selected rates for a batch of shipments.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SelectRatesResult {
+     private List<Long> selectedShipmentIds;
+     private List<Long> missingShipmentIds; // not found for the tenant
+}
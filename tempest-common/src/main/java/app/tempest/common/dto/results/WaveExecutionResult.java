@@ -20,6 +20,12 @@ public class WaveExecutionResult {
      private int totalOrders;
      private int successfulOrders;
      private int failedOrders;
+
+     /**
+      * Shipment of each shipped order. Empty for shards and sharded waves, so a
+      * shard's result stays small in its parent's history; their shipments are
+      * read from each shard with getShipmentStates.
+      */
      private List<OrderShipmentResult> orderShipments;
 }
 
@@ -0,0 +1,25 @@
+package app.tempest.common.dto.results;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one wave planning run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WavePlanningResult {
+     private int ordersConsidered;
+     // Already in an open wave
+     private int ordersSkipped;
+     private int ordersPlanned;
+     // Left for a later run (under-filled wave that has not waited long enough)
+     private int ordersHeld;
+     private List<Long> waveIds;
+}
@@ -1,8 +1,10 @@
 package app.tempest.common.temporal.activities.ims;
 
+import app.tempest.common.dto.requests.AllocateInventoryBatchRequest;
 import app.tempest.common.dto.requests.AllocateInventoryRequest;
 import app.tempest.common.dto.requests.ConsumeInventoryRequest;
 import app.tempest.common.dto.requests.ReleaseInventoryRequest;
+import app.tempest.common.dto.results.AllocateInventoryBatchResult;
 import app.tempest.common.dto.results.AllocateInventoryResult;
 import app.tempest.common.dto.results.ConsumeInventoryResult;
 import app.tempest.common.dto.results.ReleaseInventoryResult;
@@ -20,6 +22,13 @@ public interface ImsActivities {
     @ActivityMethod
     AllocateInventoryResult allocate(AllocateInventoryRequest request);
 
+    /**
+     * Allocate inventory for many orders in one call and one transaction.
+     * Each order is allocated all-or-nothing and reported with per-line results.
+     */
+    @ActivityMethod
+    AllocateInventoryBatchResult allocateBatch(AllocateInventoryBatchRequest request);
+
     @ActivityMethod
     ReleaseInventoryResult releaseInventory(ReleaseInventoryRequest request);
 
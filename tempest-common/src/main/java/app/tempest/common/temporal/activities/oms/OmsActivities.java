@@ -1,7 +1,11 @@
 package app.tempest.common.temporal.activities.oms;
 
+import app.tempest.common.dto.requests.GetOrdersAwaitingWaveRequest;
+import app.tempest.common.dto.requests.GetOrdersForWaveRequest;
 import app.tempest.common.dto.requests.MarkOrderReservedRequest;
 import app.tempest.common.dto.requests.MarkOrderShippedRequest;
+import app.tempest.common.dto.results.GetOrdersAwaitingWaveResult;
+import app.tempest.common.dto.results.GetOrdersForWaveResult;
 import app.tempest.common.dto.results.MarkOrderReservedResult;
 import app.tempest.common.dto.results.MarkOrderShippedResult;
 import io.temporal.activity.ActivityInterface;
@@ -20,5 +24,25 @@ public interface OmsActivities {
 
     @ActivityMethod
     MarkOrderShippedResult markOrderShipped(MarkOrderShippedRequest request);
+
+    /**
+     * One keyset page of AWAITING_WAVE orders as planning keys, for wave planning.
+     */
+    @ActivityMethod
+    GetOrdersAwaitingWaveResult getOrdersAwaitingWave(GetOrdersAwaitingWaveRequest request);
+
+    /**
+     * Lines and ship-to of the orders in one planned wave, skipping any that
+     * are no longer AWAITING_WAVE.
+     */
+    @ActivityMethod
+    GetOrdersForWaveResult getOrdersForWave(GetOrdersForWaveRequest request);
+
+    /**
+     * Lines and ship-to of the orders in one shard of a released wave,
+     * whatever their status.
+     */
+    @ActivityMethod
+    GetOrdersForWaveResult getOrdersForWaveShard(GetOrdersForWaveRequest request);
 }
 
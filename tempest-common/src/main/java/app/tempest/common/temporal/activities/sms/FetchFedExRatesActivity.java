@@ -1,6 +1,8 @@
 package app.tempest.common.temporal.activities.sms;
 
+import app.tempest.common.dto.requests.FetchRatesBatchRequest;
 import app.tempest.common.dto.requests.FetchRatesRequest;
+import app.tempest.common.dto.results.FetchRatesBatchResult;
 import app.tempest.common.dto.results.FetchRatesResult;
 import io.temporal.activity.ActivityInterface;
 import io.temporal.activity.ActivityMethod;
@@ -16,5 +18,10 @@ public interface FetchFedExRatesActivity {
 
     @ActivityMethod
     FetchRatesResult fetchFedExRates(FetchRatesRequest request);
-}
 
+    /**
+     * Fetch FedEx rates for many shipments in one call (bulk rate shopping).
+     */
+    @ActivityMethod
+    FetchRatesBatchResult fetchFedExRatesBatch(FetchRatesBatchRequest request);
+}
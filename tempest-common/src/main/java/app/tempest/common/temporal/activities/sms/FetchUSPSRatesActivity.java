@@ -1,6 +1,8 @@
 package app.tempest.common.temporal.activities.sms;
 
+import app.tempest.common.dto.requests.FetchRatesBatchRequest;
 import app.tempest.common.dto.requests.FetchRatesRequest;
+import app.tempest.common.dto.results.FetchRatesBatchResult;
 import app.tempest.common.dto.results.FetchRatesResult;
 import io.temporal.activity.ActivityInterface;
 import io.temporal.activity.ActivityMethod;
@@ -15,5 +17,10 @@ public interface FetchUSPSRatesActivity {
 
     @ActivityMethod
     FetchRatesResult fetchUSPSRates(FetchRatesRequest request);
-}
 
+    /**
+     * Fetch USPS rates for many shipments in one call (bulk rate shopping).
+     */
+    @ActivityMethod
+    FetchRatesBatchResult fetchUSPSRatesBatch(FetchRatesBatchRequest request);
+}
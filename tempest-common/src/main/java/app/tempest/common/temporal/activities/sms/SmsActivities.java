@@ -4,12 +4,16 @@ import app.tempest.common.dto.requests.ConfirmShipmentRequest;
 import app.tempest.common.dto.requests.CreateShipmentRequest;
 import app.tempest.common.dto.requests.FetchRatesRequest;
 import app.tempest.common.dto.requests.GenerateShippingLabelRequest;
+import app.tempest.common.dto.requests.GenerateShippingLabelsRequest;
 import app.tempest.common.dto.requests.SelectRateRequest;
+import app.tempest.common.dto.requests.SelectRatesRequest;
 import app.tempest.common.dto.results.ConfirmShipmentResult;
 import app.tempest.common.dto.results.CreateShipmentResult;
 import app.tempest.common.dto.results.FetchRatesResult;
 import app.tempest.common.dto.results.GenerateShippingLabelResult;
+import app.tempest.common.dto.results.GenerateShippingLabelsResult;
 import app.tempest.common.dto.results.SelectRateResult;
+import app.tempest.common.dto.results.SelectRatesResult;
 import io.temporal.activity.ActivityInterface;
 import io.temporal.activity.ActivityMethod;
 
@@ -27,6 +31,9 @@ public interface SmsActivities {
     @ActivityMethod
     GenerateShippingLabelResult generateLabel(GenerateShippingLabelRequest request);
 
+    @ActivityMethod
+    GenerateShippingLabelsResult generateLabels(GenerateShippingLabelsRequest request);
+
     @ActivityMethod
     ConfirmShipmentResult confirmShipment(ConfirmShipmentRequest request);
 
@@ -35,5 +42,8 @@ public interface SmsActivities {
 
     @ActivityMethod
     SelectRateResult selectRate(SelectRateRequest request);
+
+    @ActivityMethod
+    SelectRatesResult selectRates(SelectRatesRequest request);
 }
 
@@ -1,7 +1,9 @@
 package app.tempest.common.temporal.activities.wms;
 
 import app.tempest.common.dto.requests.CreatePickWaveRequest;
+import app.tempest.common.dto.requests.CreateWavePickTasksRequest;
 import app.tempest.common.dto.results.CreatePickWaveResult;
+import app.tempest.common.dto.results.CreateWavePickTasksResult;
 import io.temporal.activity.ActivityInterface;
 import io.temporal.activity.ActivityMethod;
 
@@ -15,5 +17,13 @@ public interface WmsActivities {
 
     @ActivityMethod
     CreatePickWaveResult createPickWave(CreatePickWaveRequest request);
+
+    /**
+     * Create pick tasks for every order in a wave in one call and one transaction,
+     * consolidating identical SKUs across orders. Orders that already have pick
+     * tasks in the wave get their existing task IDs back.
+     */
+    @ActivityMethod
+    CreateWavePickTasksResult createWavePickTasks(CreateWavePickTasksRequest request);
 }
 
@@ -0,0 +1,91 @@
+package app.tempest.common.temporal.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.protobuf.ByteString;
+
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.EncodingKeys;
+import io.temporal.payload.codec.PayloadCodec;
+import io.temporal.payload.codec.PayloadCodecException;
+
+/**
+ * Gzip-compresses Temporal payloads above a size threshold.
+ *
+ * A compressed payload wraps the complete original payload (metadata and
+ * data) under the "binary/gzip" encoding, so decoding restores it exactly and
+ * the JSON converter underneath never sees the difference. Payloads without
+ * that encoding pass through untouched, which keeps existing histories and
+ * uncompressed peers readable. Decoding always works; encoding can be switched
+ * off, which is how a service is rolled back or brought up alongside peers
+ * that don't have the codec yet.
+ */
+public class GzipPayloadCodec implements PayloadCodec {
+
+    public static final String ENCODING = "binary/gzip";
+
+    private static final ByteString ENCODING_BYTES = ByteString.copyFromUtf8(ENCODING);
+
+    private final int thresholdBytes;
+    private final boolean compressionEnabled;
+
+    public GzipPayloadCodec(int thresholdBytes, boolean compressionEnabled) {
+        this.thresholdBytes = thresholdBytes;
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    @Override
+    public List<Payload> encode(List<Payload> payloads) {
+        if (!compressionEnabled) {
+            return payloads;
+        }
+        return payloads.stream().map(this::encode).toList();
+    }
+
+    @Override
+    public List<Payload> decode(List<Payload> payloads) {
+        return payloads.stream().map(this::decode).toList();
+    }
+
+    private Payload encode(Payload payload) {
+        if (payload.getData().size() < thresholdBytes) {
+            return payload;
+        }
+        byte[] compressed = gzip(payload.toByteArray());
+        // Already-compressed or high-entropy data: keep the original
+        if (compressed.length >= payload.getSerializedSize()) {
+            return payload;
+        }
+        return Payload.newBuilder()
+                .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ENCODING_BYTES)
+                .setData(ByteString.copyFrom(compressed))
+                .build();
+    }
+
+    private Payload decode(Payload payload) {
+        if (!ENCODING_BYTES.equals(payload.getMetadataMap().get(EncodingKeys.METADATA_ENCODING_KEY))) {
+            return payload;
+        }
+        try (InputStream in = new GZIPInputStream(payload.getData().newInput())) {
+            return Payload.parseFrom(in);
+        } catch (IOException e) {
+            throw new PayloadCodecException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (OutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new PayloadCodecException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
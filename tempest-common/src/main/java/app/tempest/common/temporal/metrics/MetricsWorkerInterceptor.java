@@ -0,0 +1,131 @@
+package app.tempest.common.temporal.metrics;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.uber.m3.tally.Scope;
+import com.uber.m3.util.Duration;
+
+import io.temporal.activity.ActivityExecutionContext;
+import io.temporal.common.interceptors.ActivityInboundCallsInterceptor;
+import io.temporal.common.interceptors.ActivityInboundCallsInterceptorBase;
+import io.temporal.common.interceptors.WorkerInterceptorBase;
+import io.temporal.common.interceptors.WorkflowInboundCallsInterceptor;
+import io.temporal.common.interceptors.WorkflowInboundCallsInterceptorBase;
+import io.temporal.common.interceptors.WorkflowOutboundCallsInterceptor;
+import io.temporal.common.interceptors.WorkflowOutboundCallsInterceptorBase;
+import io.temporal.workflow.Workflow;
+
+/**
+ * Worker interceptor that records activity and workflow execution latency.
+ *
+ * Timers go through the Temporal metrics scope of the call, which already
+ * carries namespace, task_queue, workflow_type and (for activities)
+ * activity_type tags; this adds tenant (bounded by TenantTagGuard) and outcome.
+ * Workflow timers use the replay-aware workflow scope and workflow time, so they
+ * are emitted once per run and never during replay.
+ */
+@Component
+public class MetricsWorkerInterceptor extends WorkerInterceptorBase {
+
+    public static final String ACTIVITY_LATENCY = "tempest_activity_execution_latency";
+    public static final String WORKFLOW_LATENCY = "tempest_workflow_execution_latency";
+
+    private static final String TENANT_TAG = "tenant";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final TenantTagGuard tenantTagGuard;
+
+    public MetricsWorkerInterceptor(TenantTagGuard tenantTagGuard) {
+        this.tenantTagGuard = tenantTagGuard;
+    }
+
+    @Override
+    public ActivityInboundCallsInterceptor interceptActivity(ActivityInboundCallsInterceptor next) {
+        return new ActivityMetricsInterceptor(next);
+    }
+
+    @Override
+    public WorkflowInboundCallsInterceptor interceptWorkflow(WorkflowInboundCallsInterceptor next) {
+        return new WorkflowMetricsInterceptor(next);
+    }
+
+    private final class ActivityMetricsInterceptor extends ActivityInboundCallsInterceptorBase {
+
+        private ActivityExecutionContext context;
+
+        ActivityMetricsInterceptor(ActivityInboundCallsInterceptor next) {
+            super(next);
+        }
+
+        @Override
+        public void init(ActivityExecutionContext context) {
+            this.context = context;
+            super.init(context);
+        }
+
+        @Override
+        public ActivityOutput execute(ActivityInput input) {
+            long start = System.nanoTime();
+            String outcome = "failed";
+            try {
+                ActivityOutput output = super.execute(input);
+                outcome = "completed";
+                return output;
+            } finally {
+                record(context.getMetricsScope(), ACTIVITY_LATENCY, input.getArguments(), outcome,
+                        Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+    }
+
+    private final class WorkflowMetricsInterceptor extends WorkflowInboundCallsInterceptorBase {
+
+        private long startMillis;
+        private Object[] arguments;
+
+        WorkflowMetricsInterceptor(WorkflowInboundCallsInterceptor next) {
+            super(next);
+        }
+
+        @Override
+        public void init(WorkflowOutboundCallsInterceptor outboundCalls) {
+            super.init(new WorkflowOutboundCallsInterceptorBase(outboundCalls) {
+                @Override
+                public void continueAsNew(ContinueAsNewInput input) {
+                    recordWorkflow("continued_as_new");
+                    super.continueAsNew(input);
+                }
+            });
+        }
+
+        @Override
+        public WorkflowOutput execute(WorkflowInput input) {
+            startMillis = Workflow.currentTimeMillis();
+            arguments = input.getArguments();
+            WorkflowOutput output;
+            try {
+                output = super.execute(input);
+            } catch (RuntimeException e) {
+                recordWorkflow("failed");
+                throw e;
+            }
+            recordWorkflow("completed");
+            return output;
+        }
+
+        private void recordWorkflow(String outcome) {
+            record(Workflow.getMetricsScope(), WORKFLOW_LATENCY, arguments, outcome,
+                    Duration.ofMillis(Workflow.currentTimeMillis() - startMillis));
+        }
+    }
+
+    private void record(Scope scope, String name, Object[] arguments, String outcome, Duration duration) {
+        scope.tagged(Map.of(
+                TENANT_TAG, tenantTagGuard.tagFor(arguments),
+                OUTCOME_TAG, outcome))
+                .timer(name)
+                .record(duration);
+    }
+}
@@ -0,0 +1,87 @@
+package app.tempest.common.temporal.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounds the cardinality of the tenant metric tag.
+ *
+ * The first max-tenant-tags distinct tenants seen by this process are tagged
+ * with their own ID; any tenant after that is tagged "other", and calls with
+ * no tenant are tagged "unknown". This keeps the number of time series per
+ * metric bounded no matter how many tenants the service handles.
+ */
+@Component
+public class TenantTagGuard {
+
+    public static final String OTHER = "other";
+    public static final String UNKNOWN = "unknown";
+
+    // Public no-arg getTenantId() per argument class, resolved once
+    private static final ClassValue<Optional<Method>> TENANT_GETTERS = new ClassValue<>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+            try {
+                Method getter = type.getMethod("getTenantId");
+                return getter.getReturnType() == String.class ? Optional.of(getter) : Optional.empty();
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    private final int maxTenantTags;
+    private final Set<String> taggedTenants = ConcurrentHashMap.newKeySet();
+
+    public TenantTagGuard(@Value("${tempest.metrics.max-tenant-tags:50}") int maxTenantTags) {
+        this.maxTenantTags = maxTenantTags;
+    }
+
+    /**
+     * Tag value for the tenant of a Temporal call, taken from the first argument
+     * that exposes getTenantId().
+     */
+    public String tagFor(Object[] arguments) {
+        return tagFor(tenantOf(arguments));
+    }
+
+    public String tagFor(String tenantId) {
+        if (tenantId == null || tenantId.isEmpty()) {
+            return UNKNOWN;
+        }
+        if (taggedTenants.contains(tenantId)) {
+            return tenantId;
+        }
+        // Racy by at most a few entries under contention, which is fine for a guard
+        if (taggedTenants.size() < maxTenantTags) {
+            taggedTenants.add(tenantId);
+            return tenantId;
+        }
+        return OTHER;
+    }
+
+    static String tenantOf(Object[] arguments) {
+        if (arguments == null) {
+            return null;
+        }
+        for (Object argument : arguments) {
+            if (argument == null) {
+                continue;
+            }
+            Optional<Method> getter = TENANT_GETTERS.get(argument.getClass());
+            if (getter.isPresent()) {
+                try {
+                    return (String) getter.get().invoke(argument);
+                } catch (ReflectiveOperationException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
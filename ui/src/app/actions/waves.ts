@@ -1,7 +1,7 @@
 "use server";
 
 import { revalidatePath } from "next/cache";
-import { getWmsClient } from "@/services/wms-client";
+import { getWmsClient, RateSelectionPolicy } from "@/services/wms-client";
 
 export interface CreateWaveRequest {
      facilityId: number;
@@ -201,6 +201,7 @@ export interface ShipmentState {
      serviceLevel?: string;
      trackingNumber?: string;
      labelUrl?: string;
+     reviewReason?: string;
 }
 
 /**
@@ -251,6 +252,31 @@ export async function signalRateSelected(
      }
 }
 
+/**
+ * Signal bulk rate shopping for every shipment in a wave.
+ */
+export async function signalAutoSelectRates(
+     waveId: number,
+     policy: RateSelectionPolicy,
+     maxTransitDays?: number
+): Promise<ActionResult> {
+     try {
+          const client = getWmsClient();
+
+          await client.signalAutoSelectRates(waveId, policy, maxTransitDays);
+
+          revalidatePath(`/waves/${waveId}`);
+
+          return { success: true };
+     } catch (error) {
+          console.error("Failed to signal auto select rates:", error);
+          return {
+               success: false,
+               error: error instanceof Error ? error.message : "Failed to auto-select rates",
+          };
+     }
+}
+
 /**
  * Signal to print label for a shipment.
  */
@@ -302,6 +328,7 @@ export interface CarrierRate {
      serviceLevel: string;
      price: number;
      estimatedDelivery: string;
+     transitDays?: number;
 }
 
 /**
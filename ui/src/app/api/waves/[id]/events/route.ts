@@ -0,0 +1,41 @@
+import { NextRequest, NextResponse } from "next/server";
+import { getWmsClient } from "@/services/wms-client";
+
+interface RouteParams {
+  params: Promise<{ id: string }>;
+}
+
+export const dynamic = "force-dynamic";
+
+/**
+ * GET /api/waves/[id]/events
+ * Relay the WMS wave progress event stream to the browser.
+ * The upstream stream is closed when the browser disconnects.
+ */
+export async function GET(request: NextRequest, { params }: RouteParams) {
+  try {
+    const client = getWmsClient();
+    const { id } = await params;
+    const waveId = parseInt(id, 10);
+
+    if (isNaN(waveId)) {
+      return NextResponse.json({ error: "Invalid wave ID" }, { status: 400 });
+    }
+
+    const upstream = await client.openWaveEvents(waveId, request.signal);
+
+    return new Response(upstream.body, {
+      headers: {
+        "Content-Type": "text/event-stream",
+        "Cache-Control": "no-cache, no-transform",
+        Connection: "keep-alive",
+      },
+    });
+  } catch (error) {
+    console.error("Failed to open wave event stream:", error);
+    return NextResponse.json(
+      { error: "Failed to open wave event stream" },
+      { status: 502 }
+    );
+  }
+}
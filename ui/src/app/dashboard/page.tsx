@@ -29,10 +29,13 @@ async function fetchDashboardStats(): Promise<DashboardStats> {
 
      try {
           const omsClient = getOmsClient();
-          const orders = await omsClient.getOrders();
-          stats.orders.total = orders.length;
-          stats.orders.awaitingWave = orders.filter((o) => o.status === "AWAITING_WAVE").length;
-          stats.orders.inProgress = orders.filter((o) => ["RESERVED", "PICKING", "PACKING"].includes(o.status)).length;
+          const counts = await omsClient.getOrderCounts();
+          stats.orders.total = Object.values(counts).reduce((sum, count) => sum + count, 0);
+          stats.orders.awaitingWave = counts.AWAITING_WAVE ?? 0;
+          stats.orders.inProgress = ["RESERVED", "PICKING", "PACKING"].reduce(
+               (sum, status) => sum + (counts[status] ?? 0),
+               0
+          );
      } catch {
           // Service unavailable - use defaults
      }
@@ -3,29 +3,30 @@ import { PageHeader } from "@/components/shared";
 import { Button } from "@/components/ui/button";
 import { Plus } from "lucide-react";
 import Link from "next/link";
-import { getOmsClient, Order } from "@/services/oms-client";
+import { getOmsClient, OrderPage } from "@/services/oms-client";
 import { OrdersList } from "./orders-list";
 
-async function getOrders(status?: string): Promise<Order[]> {
+async function getOrders(status?: string, cursor?: string): Promise<OrderPage> {
   const client = getOmsClient();
   try {
-    if (status) {
-      return await client.getOrdersByStatus(status);
-    }
-    return await client.getOrders();
+    return await client.getOrdersPage({ status }, cursor);
   } catch (error) {
     console.error("Failed to fetch orders:", error);
-    return [];
+    return { orders: [], nextCursor: null };
   }
 }
 
 interface OrdersPageProps {
-  searchParams: Promise<{ status?: string }>;
+  searchParams: Promise<{ status?: string; cursor?: string }>;
 }
 
 export default async function OrdersPage({ searchParams }: OrdersPageProps) {
   const params = await searchParams;
-  const orders = await getOrders(params.status);
+  const { orders, nextCursor } = await getOrders(params.status, params.cursor);
+
+  const nextPageParams = new URLSearchParams();
+  if (params.status) nextPageParams.set("status", params.status);
+  if (nextCursor) nextPageParams.set("cursor", nextCursor);
 
   const statusFilters = [
     { label: "All", value: undefined },
@@ -75,6 +76,22 @@ export default async function OrdersPage({ searchParams }: OrdersPageProps) {
 
       {/* Orders list */}
       <OrdersList orders={orders} statusFilter={params.status} />
+
+      {/* Keyset paging: newest first, one page at a time */}
+      {(params.cursor || nextCursor) && (
+        <div className="flex justify-end gap-2 mt-4">
+          {params.cursor && (
+            <Button variant="outline" size="sm" asChild>
+              <Link href={params.status ? `/orders?status=${params.status}` : "/orders"}>Newest</Link>
+            </Button>
+          )}
+          {nextCursor && (
+            <Button variant="outline" size="sm" asChild>
+              <Link href={`/orders?${nextPageParams.toString()}`}>Next page</Link>
+            </Button>
+          )}
+        </div>
+      )}
     </MainLayout>
   );
 }
@@ -43,8 +43,7 @@ export default async function WaveDetailPage({ params }: WaveDetailPageProps) {
   let orders: { id: number; externalOrderId: string; status: string; customerName?: string }[] = [];
   if (wave.orderIds && wave.orderIds.length > 0) {
     try {
-      const allOrders = await omsClient.getOrders();
-      orders = allOrders.filter((o) => wave.orderIds.includes(o.id));
+      orders = await omsClient.getOrdersByIds(wave.orderIds);
     } catch {
       // Orders fetch failed, continue without
     }
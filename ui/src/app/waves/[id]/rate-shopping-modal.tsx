@@ -24,6 +24,9 @@ import { useRouter } from "next/navigation";
 import { useState, useTransition, useEffect, useCallback } from "react";
 import { toast } from "sonner";
 
+// Rate fetch statuses after which the workflow stops updating the rates
+const FINAL_STATUSES = ["COMPLETED", "PARTIAL", "TIMED_OUT", "FAILED"];
+
 interface RateShoppingModalProps {
      waveId: number;
      shipmentId: number | null;
@@ -47,8 +50,8 @@ export function RateShoppingModal({ waveId, shipmentId, open, onOpenChange }: Ra
           if (result.success && result.data) {
                setFetchState(result.data);
 
-               // Stop polling when completed
-               if (result.data.status === "COMPLETED" || result.data.status === "FAILED") {
+               // Stop polling once every carrier has answered or timed out
+               if (FINAL_STATUSES.includes(result.data.status)) {
                     setIsFetching(false);
                }
           }
@@ -153,6 +156,13 @@ export function RateShoppingModal({ waveId, shipmentId, open, onOpenChange }: Ra
                               Failed
                          </Badge>
                     );
+               case "TIMED_OUT":
+                    return (
+                         <Badge variant="outline" className="bg-amber-500/10 text-amber-600 border-amber-500/20">
+                              <Clock className="h-3 w-3 mr-1" />
+                              Timed out
+                         </Badge>
+                    );
                default:
                     return (
                          <Badge variant="outline" className="text-muted-foreground">
@@ -163,6 +173,7 @@ export function RateShoppingModal({ waveId, shipmentId, open, onOpenChange }: Ra
      };
 
      const rates = fetchState?.rates ?? [];
+     const fetchDone = fetchState != null && FINAL_STATUSES.includes(fetchState.status);
 
      return (
           <Dialog open={open} onOpenChange={handleClose}>
@@ -197,7 +208,7 @@ export function RateShoppingModal({ waveId, shipmentId, open, onOpenChange }: Ra
                          </div>
                     )}
 
-                    {/* Carrier Status - shown while fetching */}
+                    {/* Carrier Status - shown until every carrier has answered */}
                     {hasStartedFetch && fetchState && fetchState.status !== "COMPLETED" && (
                          <div className="py-4 space-y-3">
                               <div className="text-sm font-medium text-muted-foreground mb-2">Carrier Status:</div>
@@ -221,20 +232,31 @@ export function RateShoppingModal({ waveId, shipmentId, open, onOpenChange }: Ra
                                         )}
                                    </div>
                               </div>
-                              <div className="text-center text-sm text-muted-foreground">
-                                   <Loader2 className="h-4 w-4 inline mr-2 animate-spin" />
-                                   Waiting for all carriers to respond...
-                              </div>
+                              {fetchDone ? (
+                                   <div className="text-center text-sm text-amber-600">
+                                        <AlertTriangle className="h-4 w-4 inline mr-2" />
+                                        {rates.length > 0
+                                             ? "Not every carrier responded in time. Showing the rates received."
+                                             : "No carrier returned rates in time."}
+                                   </div>
+                              ) : (
+                                   <div className="text-center text-sm text-muted-foreground">
+                                        <Loader2 className="h-4 w-4 inline mr-2 animate-spin" />
+                                        Waiting for all carriers to respond...
+                                   </div>
+                              )}
                          </div>
                     )}
 
-                    {/* Rates List - shown when completed */}
-                    {hasStartedFetch && fetchState?.status === "COMPLETED" && rates.length > 0 && (
+                    {/* Rates List - grows as each carrier responds */}
+                    {hasStartedFetch && rates.length > 0 && (
                          <div className="py-4">
-                              <div className="flex items-center gap-2 mb-3 text-sm text-green-600">
-                                   <CheckCircle2 className="h-4 w-4" />
-                                   All rates fetched successfully!
-                              </div>
+                              {fetchState?.status === "COMPLETED" && (
+                                   <div className="flex items-center gap-2 mb-3 text-sm text-green-600">
+                                        <CheckCircle2 className="h-4 w-4" />
+                                        All rates fetched successfully!
+                                   </div>
+                              )}
                               <RadioGroup
                                    value={selectedRate ?? ""}
                                    onValueChange={setSelectedRate}
@@ -279,7 +301,7 @@ export function RateShoppingModal({ waveId, shipmentId, open, onOpenChange }: Ra
                          <Button variant="outline" onClick={handleClose}>
                               Cancel
                          </Button>
-                         {fetchState?.status === "COMPLETED" && (
+                         {rates.length > 0 && (
                               <Button onClick={handleSelectRate} disabled={!selectedRate || isPending}>
                                    {isPending && <Loader2 className="h-4 w-4 mr-2 animate-spin" />}
                                    Select Rate
@@ -1,49 +1,39 @@
 "use client";
 
-import { useState, useTransition, useEffect } from "react";
+import { useState, useTransition } from "react";
 import { useRouter } from "next/navigation";
 import { Button } from "@/components/ui/button";
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card";
 import { Badge } from "@/components/ui/badge";
-import { Truck, Printer, CheckCircle2, DollarSign, Loader2, Package, ExternalLink } from "lucide-react";
-import { getShipmentStates, signalPrintLabel, signalShipmentConfirmed, ShipmentState } from "@/app/actions/waves";
+import { Input } from "@/components/ui/input";
+import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@/components/ui/select";
+import { Truck, Printer, CheckCircle2, DollarSign, Loader2, Package, ExternalLink, AlertTriangle, Zap } from "lucide-react";
+import { signalAutoSelectRates, signalPrintLabel, signalShipmentConfirmed, ShipmentState } from "@/app/actions/waves";
+import type { RateSelectionPolicy } from "@/services/wms-client";
 import { toast } from "sonner";
 
 interface ShipmentsCardProps {
      waveId: number;
      currentStep?: string;
+     shipments: Record<number, ShipmentState>;
      onOpenRateModal: (shipmentId: number) => void;
 }
 
-export function ShipmentsCard({ waveId, currentStep, onOpenRateModal }: ShipmentsCardProps) {
+export function ShipmentsCard({ waveId, currentStep, shipments, onOpenRateModal }: ShipmentsCardProps) {
      const router = useRouter();
      const [isPending, startTransition] = useTransition();
-     const [shipments, setShipments] = useState<Record<number, ShipmentState>>({});
      const [loadingAction, setLoadingAction] = useState<string | null>(null);
+     const [policy, setPolicy] = useState<RateSelectionPolicy>("CHEAPEST");
+     const [maxTransitDays, setMaxTransitDays] = useState("3");
 
      // Show shipments card only when we're in the shipping phase
      const showShipments =
+          currentStep === "STREAMING_ORDERS" ||
           currentStep === "WAITING_FOR_SHIPMENTS" ||
           currentStep === "CREATING_SHIPMENTS" ||
           currentStep === "MARKING_SHIPPED" ||
           currentStep === "COMPLETED";
 
-     // Poll for shipment states
-     useEffect(() => {
-          if (!showShipments) return;
-
-          const fetchShipments = async () => {
-               const result = await getShipmentStates(waveId);
-               if (result.success && result.data) {
-                    setShipments(result.data);
-               }
-          };
-
-          fetchShipments();
-          const interval = setInterval(fetchShipments, 2000);
-          return () => clearInterval(interval);
-     }, [waveId, showShipments]);
-
      const handlePrintLabel = (shipmentId: number) => {
           setLoadingAction(`print-${shipmentId}`);
           startTransition(async () => {
@@ -63,6 +53,26 @@ export function ShipmentsCard({ waveId, currentStep, onOpenRateModal }: Shipment
           });
      };
 
+     const handleAutoSelectRates = () => {
+          setLoadingAction("auto-rates");
+          startTransition(async () => {
+               const days = policy === "CHEAPEST_WITHIN_SLA" ? Number(maxTransitDays) : undefined;
+               const result = await signalAutoSelectRates(waveId, policy, days);
+
+               if (result.success) {
+                    toast.success("Rate shopping started", {
+                         description: "Shipments the policy cannot decide will be marked for review",
+                    });
+                    router.refresh();
+               } else {
+                    toast.error("Failed to auto-select rates", {
+                         description: result.error,
+                    });
+               }
+               setLoadingAction(null);
+          });
+     };
+
      const handleConfirmShipped = (shipmentId: number) => {
           setLoadingAction(`confirm-${shipmentId}`);
           startTransition(async () => {
@@ -86,6 +96,8 @@ export function ShipmentsCard({ waveId, currentStep, onOpenRateModal }: Shipment
           switch (status) {
                case "CREATED":
                     return <Badge variant="outline">Created</Badge>;
+               case "NEEDS_REVIEW":
+                    return <Badge className="bg-amber-500">Needs Review</Badge>;
                case "RATE_SELECTED":
                     return <Badge variant="secondary">Rate Selected</Badge>;
                case "LABEL_GENERATED":
@@ -102,6 +114,7 @@ export function ShipmentsCard({ waveId, currentStep, onOpenRateModal }: Shipment
      }
 
      const shipmentList = Object.values(shipments);
+     const awaitingRate = (status: string) => status === "CREATED" || status === "NEEDS_REVIEW";
 
      if (shipmentList.length === 0) {
           return (
@@ -121,11 +134,51 @@ export function ShipmentsCard({ waveId, currentStep, onOpenRateModal }: Shipment
 
      return (
           <Card>
-               <CardHeader>
+               <CardHeader className="space-y-3">
                     <CardTitle className="text-base flex items-center gap-2">
                          <Truck className="h-5 w-5" />
                          Shipments ({shipmentList.length})
                     </CardTitle>
+                    {/* Bulk rate shopping - only exceptions are left for review */}
+                    {currentStep !== "COMPLETED" && (
+                         <div className="flex flex-wrap items-center gap-2">
+                              <Select value={policy} onValueChange={(value) => setPolicy(value as RateSelectionPolicy)}>
+                                   <SelectTrigger className="w-[200px] h-8">
+                                        <SelectValue />
+                                   </SelectTrigger>
+                                   <SelectContent>
+                                        <SelectItem value="CHEAPEST">Cheapest</SelectItem>
+                                        <SelectItem value="FASTEST">Fastest</SelectItem>
+                                        <SelectItem value="CHEAPEST_WITHIN_SLA">Cheapest within SLA</SelectItem>
+                                   </SelectContent>
+                              </Select>
+                              {policy === "CHEAPEST_WITHIN_SLA" && (
+                                   <Input
+                                        type="number"
+                                        min={1}
+                                        value={maxTransitDays}
+                                        onChange={(e) => setMaxTransitDays(e.target.value)}
+                                        className="w-[80px] h-8"
+                                        aria-label="Max transit days"
+                                   />
+                              )}
+                              <Button
+                                   variant="outline"
+                                   size="sm"
+                                   onClick={handleAutoSelectRates}
+                                   disabled={
+                                        isPending ||
+                                        (policy === "CHEAPEST_WITHIN_SLA" && !(Number(maxTransitDays) >= 1))
+                                   }>
+                                   {loadingAction === "auto-rates" ? (
+                                        <Loader2 className="h-3 w-3 mr-1 animate-spin" />
+                                   ) : (
+                                        <Zap className="h-3 w-3 mr-1" />
+                                   )}
+                                   Auto-select Rates
+                              </Button>
+                         </div>
+                    )}
                </CardHeader>
                <CardContent className="space-y-4">
                     {shipmentList.map((shipment) => (
@@ -146,6 +199,14 @@ export function ShipmentsCard({ waveId, currentStep, onOpenRateModal }: Shipment
                                    </div>
                               )}
 
+                              {/* Why bulk rate shopping needs a person */}
+                              {shipment.status === "NEEDS_REVIEW" && shipment.reviewReason && (
+                                   <div className="flex items-center gap-1 text-sm text-amber-600">
+                                        <AlertTriangle className="h-3 w-3" />
+                                        {shipment.reviewReason}
+                                   </div>
+                              )}
+
                               {/* Tracking number */}
                               {shipment.trackingNumber && (
                                    <div className="flex items-center gap-2 text-sm">
@@ -165,8 +226,8 @@ export function ShipmentsCard({ waveId, currentStep, onOpenRateModal }: Shipment
 
                               {/* Actions based on status */}
                               <div className="flex flex-wrap gap-2 pt-2">
-                                   {/* Get Rates - available when CREATED */}
-                                   {(shipment.status === "CREATED" || shipment.status === "RATE_SELECTED") && (
+                                   {/* Get Rates - available until a label is printed */}
+                                   {(awaitingRate(shipment.status) || shipment.status === "RATE_SELECTED") && (
                                         <Button
                                              variant="outline"
                                              size="sm"
@@ -177,8 +238,8 @@ export function ShipmentsCard({ waveId, currentStep, onOpenRateModal }: Shipment
                                         </Button>
                                    )}
 
-                                   {/* Print Label - available when CREATED or RATE_SELECTED */}
-                                   {(shipment.status === "CREATED" || shipment.status === "RATE_SELECTED") && (
+                                   {/* Print Label - available when CREATED, NEEDS_REVIEW or RATE_SELECTED */}
+                                   {(awaitingRate(shipment.status) || shipment.status === "RATE_SELECTED") && (
                                         <Button
                                              variant="default"
                                              size="sm"
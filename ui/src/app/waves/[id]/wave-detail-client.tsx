@@ -2,7 +2,7 @@
 
 import { useState, useTransition } from "react";
 import { useRouter } from "next/navigation";
-import { useWorkflowPolling } from "@/hooks/use-polling";
+import { useWaveEvents } from "@/hooks/use-wave-events";
 import { WorkflowStatusCard } from "@/components/shared";
 import { Button } from "@/components/ui/button";
 import { Card, CardContent, CardHeader, CardTitle } from "@/components/ui/card";
@@ -23,7 +23,6 @@ import {
      signalPicksComplete,
      signalPacksComplete,
      cancelWave,
-     getWaveWorkflowStatus,
      ReleaseWaveRequest,
 } from "@/app/actions/waves";
 import { toast } from "sonner";
@@ -67,32 +66,25 @@ export function WaveDetailClient({
      const terminalStates = ["COMPLETED", "CANCELLED", "FAILED"];
      const isTerminal = terminalStates.includes(initialStatus);
 
-     const { data, isPolling } = useWorkflowPolling(
-          async () => {
-               const result = await getWaveWorkflowStatus(waveId);
-               if (result.success && result.data) {
-                    return result.data;
-               }
-               return { status: initialStatus };
-          },
-          {
-               enabled: !!workflowId && !isTerminal,
-               intervalMs: 2000,
-          }
-     );
+     // Live progress pushed by the server; replaces polling /status and /shipments
+     const { status: liveStatus, shipments, isConnected } = useWaveEvents(waveId, !!workflowId && !isTerminal);
 
-     const status = data?.status ?? initialStatus;
-     const currentStep = data?.currentStep;
-     const blockingReason = data?.blockingReason;
+     const status = liveStatus?.status ?? initialStatus;
+     const currentStep = liveStatus?.currentStep;
+     const blockingReason = liveStatus?.blockingReason;
 
      // Dynamically determine which actions are available based on workflow step
      const showPicksButton =
           canSignalPicks &&
-          (currentStep === "WAITING_FOR_PICKS" || currentStep === "CREATING_PICK_TASKS" || !currentStep);
+          (currentStep === "WAITING_FOR_PICKS" ||
+               currentStep === "CREATING_PICK_TASKS" ||
+               currentStep === "STREAMING_ORDERS" ||
+               !currentStep);
      const showPacksButton =
           canSignalPacks &&
           (currentStep === "WAITING_FOR_PACKS" ||
                currentStep === "CONSUMING_INVENTORY" ||
+               currentStep === "STREAMING_ORDERS" ||
                (currentStep && currentStep.includes("PACK")));
 
      const handleRelease = () => {
@@ -176,7 +168,7 @@ export function WaveDetailClient({
                     status={status}
                     currentStep={currentStep}
                     blockingReason={blockingReason}
-                    isPolling={isPolling && !terminalStates.includes(status)}
+                    isPolling={isConnected && !terminalStates.includes(status)}
                />
 
                {/* Actions */}
@@ -286,6 +278,7 @@ export function WaveDetailClient({
                <ShipmentsCard
                     waveId={waveId}
                     currentStep={currentStep}
+                    shipments={shipments}
                     onOpenRateModal={(shipmentId) => setRateModalShipmentId(shipmentId)}
                />
 
@@ -1,2 +1,2 @@
 export { usePolling, useWorkflowPolling } from "./use-polling";
-
+export { useWaveEvents } from "./use-wave-events";
@@ -0,0 +1,77 @@
+"use client";
+
+import { useEffect, useState } from "react";
+
+export interface WaveEventStatus {
+  status: string;
+  currentStep?: string;
+  blockingReason?: string | null;
+}
+
+export interface WaveEventShipment {
+  shipmentId: number;
+  orderId: number;
+  status: string;
+  carrier?: string;
+  serviceLevel?: string;
+  trackingNumber?: string;
+  labelUrl?: string;
+}
+
+interface UseWaveEventsResult {
+  /** Latest workflow status, or null until the first event */
+  status: WaveEventStatus | null;
+  /** Shipment states by shipment ID, merged from delta events */
+  shipments: Record<number, WaveEventShipment>;
+  /** Whether the event stream is currently open */
+  isConnected: boolean;
+}
+
+/**
+ * Hook for live wave progress over server-sent events.
+ * The server sends only changes; "shipments" events carry just the shipments
+ * that changed and are merged into the current map. After a reconnect the
+ * server resends the full state, so nothing is missed. The stream ends when
+ * the wave reaches a terminal state.
+ */
+export function useWaveEvents(waveId: number, enabled = true): UseWaveEventsResult {
+  const [status, setStatus] = useState<WaveEventStatus | null>(null);
+  const [shipments, setShipments] = useState<Record<number, WaveEventShipment>>({});
+  const [isConnected, setIsConnected] = useState(false);
+
+  useEffect(() => {
+    if (!enabled) return;
+
+    const terminalStates = ["COMPLETED", "CANCELLED", "FAILED"];
+    const source = new EventSource(`/api/waves/${waveId}/events`);
+
+    source.onopen = () => setIsConnected(true);
+
+    source.addEventListener("status", (event) => {
+      const data = JSON.parse((event as MessageEvent).data) as WaveEventStatus;
+      setStatus(data);
+      if (terminalStates.includes(data.status)) {
+        // Don't let EventSource reconnect once the server has closed the stream
+        source.close();
+        setIsConnected(false);
+      }
+    });
+
+    source.addEventListener("shipments", (event) => {
+      const data = JSON.parse((event as MessageEvent).data) as {
+        shipments: Record<number, WaveEventShipment>;
+      };
+      setShipments((current) => ({ ...current, ...data.shipments }));
+    });
+
+    // EventSource retries on its own; just reflect the state
+    source.onerror = () => setIsConnected(source.readyState === EventSource.OPEN);
+
+    return () => {
+      source.close();
+      setIsConnected(false);
+    };
+  }, [waveId, enabled]);
+
+  return { status, shipments, isConnected };
+}
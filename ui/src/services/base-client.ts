@@ -41,6 +41,20 @@ export abstract class BaseServiceClient {
     return this.handleResponse<T>(response);
   }
 
+  /**
+   * Make a GET request and also return the response headers, for endpoints
+   * that put paging information in headers.
+   */
+  protected async getWithHeaders<T>(path: string): Promise<{ body: T; headers: Headers }> {
+    const response = await fetch(`${this.baseUrl}${path}`, {
+      method: "GET",
+      headers: this.createHeaders(),
+    });
+
+    const body = await this.handleResponse<T>(response);
+    return { body, headers: response.headers };
+  }
+
   /**
    * Make a POST request.
    */
@@ -79,6 +93,29 @@ export abstract class BaseServiceClient {
     return this.handleResponse<T>(response);
   }
 
+  /**
+   * Open a server-sent event stream. Returns the raw response so the caller
+   * can relay its body; the stream stays open until the server or signal ends it.
+   */
+  protected async openEventStream(path: string, signal?: AbortSignal): Promise<Response> {
+    const response = await fetch(`${this.baseUrl}${path}`, {
+      method: "GET",
+      headers: { ...this.createHeaders(), Accept: "text/event-stream" },
+      cache: "no-store",
+      signal,
+    });
+
+    if (!response.ok || !response.body) {
+      throw new ServiceClientError(
+        response.status,
+        response.statusText,
+        "Failed to open event stream"
+      );
+    }
+
+    return response;
+  }
+
   /**
    * Create headers for the request.
    * No authentication in demo mode.
@@ -69,6 +69,25 @@ export interface CreateOrderResponse {
   externalOrderId: string;
 }
 
+/**
+ * Filters for listing orders. sku takes precedence over status.
+ */
+export interface OrderFilter {
+  status?: string;
+  sku?: string;
+}
+
+/**
+ * One page of orders, newest first. nextCursor is null on the last page.
+ */
+export interface OrderPage {
+  orders: Order[];
+  nextCursor: string | null;
+}
+
+// OMS caps pages (and ID lookups) at this many orders
+const MAX_ORDERS_PER_REQUEST = 500;
+
 /**
  * Workflow status response.
  */
@@ -92,24 +111,63 @@ export class OmsClient extends BaseServiceClient {
   }
 
   /**
-   * Get all orders.
+   * Get one page of orders, newest first. Pass the previous page's
+   * nextCursor to get the page after it.
+   */
+  async getOrdersPage(filter: OrderFilter = {}, cursor?: string, limit?: number): Promise<OrderPage> {
+    const params = new URLSearchParams();
+    if (filter.status) params.set("status", filter.status);
+    if (filter.sku) params.set("sku", filter.sku);
+    if (cursor) params.set("cursor", cursor);
+    if (limit) params.set("limit", String(limit));
+    const query = params.toString();
+
+    const { body, headers } = await this.getWithHeaders<Order[]>(`/orders${query ? `?${query}` : ""}`);
+    return { orders: body ?? [], nextCursor: headers.get("X-Next-Cursor") };
+  }
+
+  /**
+   * Get all orders, following the pages to the end.
    */
   async getOrders(): Promise<Order[]> {
-    return this.get<Order[]>("/orders");
+    return this.getAllOrders({});
   }
 
   /**
-   * Get orders by status.
+   * Get all orders with a status, following the pages to the end.
    */
   async getOrdersByStatus(status: string): Promise<Order[]> {
-    return this.get<Order[]>(`/orders?status=${encodeURIComponent(status)}`);
+    return this.getAllOrders({ status });
   }
 
   /**
-   * Get orders containing a specific SKU.
+   * Get all orders containing a specific SKU, following the pages to the end.
    */
   async getOrdersBySku(sku: string): Promise<Order[]> {
-    return this.get<Order[]>(`/orders?sku=${encodeURIComponent(sku)}`);
+    return this.getAllOrders({ sku });
+  }
+
+  /**
+   * Get the given orders, newest first. Unknown IDs are skipped.
+   */
+  async getOrdersByIds(ids: number[]): Promise<Order[]> {
+    const orders: Order[] = [];
+    for (let i = 0; i < ids.length; i += MAX_ORDERS_PER_REQUEST) {
+      const chunk = ids.slice(i, i + MAX_ORDERS_PER_REQUEST);
+      orders.push(...(await this.get<Order[]>(`/orders?ids=${chunk.join(",")}`)));
+    }
+    return orders;
+  }
+
+  private async getAllOrders(filter: OrderFilter): Promise<Order[]> {
+    const orders: Order[] = [];
+    let cursor: string | undefined;
+    do {
+      const page = await this.getOrdersPage(filter, cursor, MAX_ORDERS_PER_REQUEST);
+      orders.push(...page.orders);
+      cursor = page.nextCursor ?? undefined;
+    } while (cursor);
+    return orders;
   }
 
   /**
@@ -103,11 +103,12 @@ export interface WorkflowStatus {
 export interface ShipmentState {
   shipmentId: number;
   orderId: number;
-  status: string;  // CREATED, RATE_SELECTED, LABEL_GENERATED, SHIPPED
+  status: string;  // CREATED, NEEDS_REVIEW, RATE_SELECTED, LABEL_GENERATED, SHIPPED
   carrier?: string;
   serviceLevel?: string;
   trackingNumber?: string;
   labelUrl?: string;
+  reviewReason?: string;
 }
 
 /**
@@ -125,14 +126,20 @@ export interface CarrierRate {
   serviceLevel: string;
   price: number;
   estimatedDelivery: string;
+  transitDays?: number;
 }
 
+/**
+ * How bulk rate shopping picks a rate for each shipment.
+ */
+export type RateSelectionPolicy = "CHEAPEST" | "FASTEST" | "CHEAPEST_WITHIN_SLA";
+
 /**
  * Fetched rates response from workflow query.
  */
 export interface FetchedRatesResponse {
   shipmentId: number;
-  status: string;  // PENDING, FETCHING, COMPLETED, FAILED
+  status: string;  // PENDING, FETCHING, COMPLETED, PARTIAL, TIMED_OUT, FAILED
   rates: CarrierRate[];
   uspsStatus?: string;
   upsStatus?: string;
@@ -238,6 +245,13 @@ export class WmsClient extends BaseServiceClient {
     return this.get<WorkflowStatus>(`/api/waves/${waveId}/status`);
   }
 
+  /**
+   * Open the wave progress event stream ("status" and "shipments" events).
+   */
+  async openWaveEvents(waveId: number, signal?: AbortSignal): Promise<Response> {
+    return this.openEventStream(`/api/waves/${waveId}/events`, signal);
+  }
+
   /**
    * Get shipment states for a wave.
    */
@@ -274,6 +288,14 @@ export class WmsClient extends BaseServiceClient {
     return this.post<void>(`/api/waves/${waveId}/shipments/${shipmentId}/fetch-rates`);
   }
 
+  /**
+   * Signal bulk rate shopping for every shipment in a wave.
+   * Shipments the policy cannot decide are left NEEDS_REVIEW.
+   */
+  async signalAutoSelectRates(waveId: number, policy: RateSelectionPolicy, maxTransitDays?: number): Promise<void> {
+    return this.post<void>(`/api/waves/${waveId}/auto-select-rates`, { policy, maxTransitDays });
+  }
+
   /**
    * Get fetched rates for a shipment.
    */
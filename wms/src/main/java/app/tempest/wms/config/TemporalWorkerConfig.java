@@ -3,40 +3,46 @@ package app.tempest.wms.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import app.tempest.common.config.TemporalWorkerTuning;
 import app.tempest.common.temporal.TaskQueues;
 import app.tempest.wms.temporal.activities.impl.UpdateWaveStatusActivityImpl;
+import app.tempest.wms.temporal.activities.impl.WavePlanningActivityImpl;
+import app.tempest.wms.temporal.activities.impl.WaveShardActivityImpl;
 import app.tempest.wms.temporal.activities.impl.WmsActivitiesImpl;
 import app.tempest.wms.temporal.workflow.impl.WaveExecutionWorkflowImpl;
+import app.tempest.wms.temporal.workflow.impl.WavePlanningWorkflowImpl;
 import io.temporal.client.WorkflowClient;
 import io.temporal.worker.Worker;
 import io.temporal.worker.WorkerFactory;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 @Configuration
 public class TemporalWorkerConfig {
 
     @Bean
     public WorkerFactory workerFactory(
             WorkflowClient workflowClient,
+            TemporalWorkerTuning workerTuning,
             WmsActivitiesImpl wmsActivities,
-            UpdateWaveStatusActivityImpl updateWaveStatusActivity) {
+            UpdateWaveStatusActivityImpl updateWaveStatusActivity,
+            WavePlanningActivityImpl wavePlanningActivity,
+            WaveShardActivityImpl waveShardActivity) {
 
-        WorkerFactory factory = WorkerFactory.newInstance(workflowClient);
+        WorkerFactory factory = workerTuning.newWorkerFactory(workflowClient);
 
-        Worker worker = factory.newWorker(TaskQueues.WMS);
+        Worker worker = workerTuning.newWorker(factory, TaskQueues.WMS);
 
         // Register workflow implementations
-        worker.registerWorkflowImplementationTypes(WaveExecutionWorkflowImpl.class);
+        worker.registerWorkflowImplementationTypes(WaveExecutionWorkflowImpl.class, WavePlanningWorkflowImpl.class);
 
         // Register consolidated WMS activities for cross-service calls
         // Plus internal WMS activities
         worker.registerActivitiesImplementations(
                 wmsActivities,
-                updateWaveStatusActivity);
+                updateWaveStatusActivity,
+                wavePlanningActivity,
+                waveShardActivity);
 
-        log.info("Starting WMS Temporal worker on task queue: {}", TaskQueues.WMS);
-        factory.start();
+        workerTuning.start(factory, TaskQueues.WMS);
 
         return factory;
     }
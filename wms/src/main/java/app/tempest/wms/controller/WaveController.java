@@ -1,8 +1,12 @@
 package app.tempest.wms.controller;
 
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -11,11 +15,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import app.tempest.common.dto.FetchedRatesDTO;
+import app.tempest.common.dto.WaveSnapshotDTO;
+import app.tempest.wms.dto.AutoSelectRatesRequest;
 import app.tempest.wms.dto.CreateWaveRequest;
 import app.tempest.wms.dto.ReleaseWaveRequest;
 import app.tempest.wms.dto.SelectRateRequest;
@@ -23,6 +31,8 @@ import app.tempest.wms.dto.ShipmentStatesResponse;
 import app.tempest.wms.dto.WaveResponse;
 import app.tempest.wms.dto.WorkflowStatusResponse;
 import app.tempest.wms.entity.Wave.WaveStatus;
+import app.tempest.wms.service.WavePlanningScheduler;
+import app.tempest.wms.service.WaveProgressBroadcaster;
 import app.tempest.wms.service.WaveService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +45,8 @@ import lombok.extern.slf4j.Slf4j;
 public class WaveController {
 
      private final WaveService waveService;
+     private final WaveProgressBroadcaster waveProgressBroadcaster;
+     private final WavePlanningScheduler wavePlanningScheduler;
 
      /**
       * Create a new wave with the specified orders.
@@ -52,6 +64,24 @@ public class WaveController {
           return ResponseEntity.status(HttpStatus.CREATED).body(response);
      }
 
+     /**
+      * Run wave planning now: AWAITING_WAVE orders are grouped into waves, which
+      * are created and released. Only the tenant's planning facility (its first
+      * active warehouse) is accepted. Runs asynchronously through the tenant's
+      * planning schedule; skipped if a run for the tenant is already in progress.
+      */
+     @PostMapping("/plan")
+     public ResponseEntity<Map<String, String>> planWaves(
+               @AuthenticationPrincipal Jwt jwt,
+               @RequestParam Long facilityId) {
+
+          String tenantId = extractTenantId(jwt);
+          log.info("Triggering wave planning - tenantId: {}, facilityId: {}", tenantId, facilityId);
+
+          String scheduleId = wavePlanningScheduler.trigger(tenantId, facilityId);
+          return ResponseEntity.accepted().body(Map.of("scheduleId", scheduleId));
+     }
+
      /**
       * Get a wave by ID.
       */
@@ -153,6 +183,38 @@ public class WaveController {
           return ResponseEntity.ok().build();
      }
 
+     /**
+      * Signal that one order's picks are completed (streaming waves).
+      */
+     @PostMapping("/{waveId}/orders/{orderId}/pick-completed")
+     public ResponseEntity<Void> signalOrderPickCompleted(
+               @AuthenticationPrincipal Jwt jwt,
+               @PathVariable Long waveId,
+               @PathVariable Long orderId) {
+
+          String tenantId = extractTenantId(jwt);
+          log.info("Signaling order pick completed - tenantId: {}, waveId: {}, orderId: {}", tenantId, waveId, orderId);
+
+          waveService.signalOrderPickCompleted(tenantId, waveId, orderId);
+          return ResponseEntity.ok().build();
+     }
+
+     /**
+      * Signal that one order's packing is completed (streaming waves).
+      */
+     @PostMapping("/{waveId}/orders/{orderId}/pack-completed")
+     public ResponseEntity<Void> signalOrderPackCompleted(
+               @AuthenticationPrincipal Jwt jwt,
+               @PathVariable Long waveId,
+               @PathVariable Long orderId) {
+
+          String tenantId = extractTenantId(jwt);
+          log.info("Signaling order pack completed - tenantId: {}, waveId: {}, orderId: {}", tenantId, waveId, orderId);
+
+          waveService.signalOrderPackCompleted(tenantId, waveId, orderId);
+          return ResponseEntity.ok().build();
+     }
+
      /**
       * Get the workflow status for a wave.
       */
@@ -166,6 +228,45 @@ public class WaveController {
           return ResponseEntity.ok(status);
      }
 
+     /**
+      * Get a versioned snapshot of a wave (status, step, counters, shipments and
+      * rates). The version is returned as the ETag; a request whose
+      * If-None-Match still matches gets 304 Not Modified.
+      */
+     @GetMapping("/{waveId}/snapshot")
+     public ResponseEntity<WaveSnapshotDTO> getWaveSnapshot(
+               @AuthenticationPrincipal Jwt jwt,
+               @PathVariable Long waveId,
+               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+          String tenantId = extractTenantId(jwt);
+          WaveSnapshotDTO snapshot = waveService.getWaveSnapshot(tenantId, waveId, versionFromEtag(ifNoneMatch));
+
+          String etag = "\"" + snapshot.getVersion() + "\"";
+          if (!snapshot.isModified()) {
+               return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+          }
+          return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(snapshot);
+     }
+
+     /**
+      * Stream wave progress as server-sent events ("status" and "shipments",
+      * changes only). Replaces polling /status and /shipments.
+      */
+     @GetMapping(path = "/{waveId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+     public SseEmitter streamWaveEvents(
+               @AuthenticationPrincipal Jwt jwt,
+               @PathVariable Long waveId) {
+
+          String tenantId = extractTenantId(jwt);
+          log.info("Opening wave event stream - tenantId: {}, waveId: {}", tenantId, waveId);
+
+          return waveProgressBroadcaster.subscribe(tenantId, waveId);
+     }
+
      /**
       * Get shipment states for a wave.
       */
@@ -232,6 +333,24 @@ public class WaveController {
           return ResponseEntity.ok().build();
      }
 
+     /**
+      * Signal bulk rate shopping for every shipment in a wave.
+      * Shipments the policy cannot decide are left NEEDS_REVIEW.
+      */
+     @PostMapping("/{waveId}/auto-select-rates")
+     public ResponseEntity<Void> signalAutoSelectRates(
+               @AuthenticationPrincipal Jwt jwt,
+               @PathVariable Long waveId,
+               @Valid @RequestBody AutoSelectRatesRequest request) {
+
+          String tenantId = extractTenantId(jwt);
+          log.info("Signaling auto select rates - tenantId: {}, waveId: {}, policy: {}",
+                    tenantId, waveId, request.getPolicy());
+
+          waveService.signalAutoSelectRates(tenantId, waveId, request.getPolicy(), request.getMaxTransitDays());
+          return ResponseEntity.ok().build();
+     }
+
      /**
       * Signal to fetch rates for a shipment.
       * This triggers parallel rate fetching from USPS, UPS, and FedEx.
@@ -267,6 +386,20 @@ public class WaveController {
           return ResponseEntity.ok(rates);
      }
 
+     private static String versionFromEtag(String ifNoneMatch) {
+          if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+               return null;
+          }
+          String etag = ifNoneMatch.trim();
+          if (etag.startsWith("W/")) {
+               etag = etag.substring(2);
+          }
+          if (etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+               etag = etag.substring(1, etag.length() - 1);
+          }
+          return etag;
+     }
+
      private String extractTenantId(Jwt jwt) {
           // Extract tenant_id from JWT claims
           String tenantId = jwt.getClaimAsString("tenant_id");
@@ -0,0 +1,26 @@
+package app.tempest.wms.dto;
+
+import app.tempest.common.dto.RateSelectionPolicy;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for bulk rate shopping across a wave.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoSelectRatesRequest {
+
+     @NotNull
+     private RateSelectionPolicy policy;
+
+     /**
+      * SLA in business days; required for CHEAPEST_WITHIN_SLA.
+      */
+     private Integer maxTransitDays;
+}
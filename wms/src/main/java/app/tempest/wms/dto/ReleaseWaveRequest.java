@@ -22,4 +22,10 @@ public class ReleaseWaveRequest {
       * These are fetched from OMS and passed to the workflow.
       */
      private List<WaveOrderDetail> orders;
+
+     /**
+      * Run the wave in streaming mode (orders advance on their own pick and
+      * pack signals). Null uses the service default.
+      */
+     private Boolean streaming;
 }
@@ -0,0 +1,80 @@
+package app.tempest.wms.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One stop on the pick path: the total quantity of a SKU to take from a
+ * location for every order in the wave. The order line split lives on the
+ * PickTasks that reference it.
+ */
+@Entity
+@Table(name = "batch_picks")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPick {
+
+     @Id
+     @GeneratedValue(strategy = GenerationType.IDENTITY)
+     private Long id;
+
+     @Column(name = "tenant_id", nullable = false)
+     private String tenantId;
+
+     @Column(name = "facility_id", nullable = false)
+     private Long facilityId;
+
+     @Column(name = "wave_id")
+     private Long waveId;
+
+     @Column(name = "sku", nullable = false)
+     private String sku;
+
+     @Column(name = "quantity", nullable = false)
+     private int quantity;
+
+     // Null when the SKU is not slotted in the facility
+     @Column(name = "location_id")
+     private Long locationId;
+
+     @Column(name = "zone")
+     private String zone;
+
+     @Column(name = "pick_sequence")
+     private Integer pickSequence;
+
+     @Enumerated(EnumType.STRING)
+     @Column(name = "status", nullable = false)
+     @Builder.Default
+     private PickTask.PickStatus status = PickTask.PickStatus.PENDING;
+
+     @Column(name = "assigned_user_id")
+     private String assignedUserId;
+
+     @Column(name = "picked_at")
+     private Instant pickedAt;
+
+     @Column(name = "created_at", nullable = false)
+     @Builder.Default
+     private Instant createdAt = Instant.now();
+
+     @Column(name = "updated_at", nullable = false)
+     @Builder.Default
+     private Instant updatedAt = Instant.now();
+}
@@ -0,0 +1,55 @@
+package app.tempest.wms.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "facilities")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Facility {
+
+     @Id
+     @GeneratedValue(strategy = GenerationType.IDENTITY)
+     private Long id;
+
+     @Column(name = "tenant_id", nullable = false)
+     private String tenantId;
+
+     @Column(name = "code", nullable = false)
+     private String code;
+
+     @Column(name = "name", nullable = false)
+     private String name;
+
+     // WAREHOUSE or STORE
+     @Column(name = "facility_type", nullable = false)
+     @Builder.Default
+     private String facilityType = "WAREHOUSE";
+
+     @Column(name = "active", nullable = false)
+     @Builder.Default
+     private boolean active = true;
+
+     @Column(name = "created_at", nullable = false)
+     @Builder.Default
+     private Instant createdAt = Instant.now();
+
+     @Column(name = "updated_at", nullable = false)
+     @Builder.Default
+     private Instant updatedAt = Instant.now();
+}
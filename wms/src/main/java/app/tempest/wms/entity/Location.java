@@ -0,0 +1,67 @@
+package app.tempest.wms.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "locations")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Location {
+
+     @Id
+     @GeneratedValue(strategy = GenerationType.IDENTITY)
+     private Long id;
+
+     @Column(name = "tenant_id", nullable = false)
+     private String tenantId;
+
+     @Column(name = "facility_id", nullable = false)
+     private Long facilityId;
+
+     @Column(name = "code", nullable = false)
+     private String code;
+
+     // PICK, BULK, STAGING, etc.
+     @Column(name = "location_type", nullable = false)
+     @Builder.Default
+     private String locationType = "PICK";
+
+     @Column(name = "zone")
+     private String zone;
+
+     @Column(name = "aisle")
+     private Integer aisle;
+
+     @Column(name = "bay")
+     private Integer bay;
+
+     @Column(name = "shelf_level")
+     private Integer shelfLevel;
+
+     @Column(name = "active", nullable = false)
+     @Builder.Default
+     private boolean active = true;
+
+     @Column(name = "created_at", nullable = false)
+     @Builder.Default
+     private Instant createdAt = Instant.now();
+
+     @Column(name = "updated_at", nullable = false)
+     @Builder.Default
+     private Instant updatedAt = Instant.now();
+}
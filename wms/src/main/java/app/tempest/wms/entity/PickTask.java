@@ -0,0 +1,88 @@
+package app.tempest.wms.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Quantity of one order line to pick. Tasks for the same SKU and location in a
+ * wave share a BatchPick, which holds their place in the pick sequence.
+ */
+@Entity
+@Table(name = "pick_tasks")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PickTask {
+
+     @Id
+     @GeneratedValue(strategy = GenerationType.IDENTITY)
+     private Long id;
+
+     @Column(name = "tenant_id", nullable = false)
+     private String tenantId;
+
+     @Column(name = "wave_id")
+     private Long waveId;
+
+     @Column(name = "order_id", nullable = false)
+     private Long orderId;
+
+     @Column(name = "order_line_id", nullable = false)
+     private Long orderLineId;
+
+     @Column(name = "sku", nullable = false)
+     private String sku;
+
+     @Column(name = "quantity", nullable = false)
+     private int quantity;
+
+     @Column(name = "from_location_id")
+     private Long fromLocationId;
+
+     @Column(name = "batch_pick_id")
+     private Long batchPickId;
+
+     @Column(name = "zone")
+     private String zone;
+
+     @Enumerated(EnumType.STRING)
+     @Column(name = "status", nullable = false)
+     @Builder.Default
+     private PickStatus status = PickStatus.PENDING;
+
+     @Column(name = "assigned_user_id")
+     private String assignedUserId;
+
+     @Column(name = "picked_at")
+     private Instant pickedAt;
+
+     @Column(name = "created_at", nullable = false)
+     @Builder.Default
+     private Instant createdAt = Instant.now();
+
+     @Column(name = "updated_at", nullable = false)
+     @Builder.Default
+     private Instant updatedAt = Instant.now();
+
+     public enum PickStatus {
+          PENDING,
+          IN_PROGRESS,
+          COMPLETED,
+          CANCELLED
+     }
+}
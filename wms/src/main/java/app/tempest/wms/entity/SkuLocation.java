@@ -0,0 +1,57 @@
+package app.tempest.wms.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A pick location a SKU is slotted in.
+ */
+@Entity
+@Table(name = "sku_locations")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkuLocation {
+
+     @Id
+     @GeneratedValue(strategy = GenerationType.IDENTITY)
+     private Long id;
+
+     @Column(name = "tenant_id", nullable = false)
+     private String tenantId;
+
+     @Column(name = "facility_id", nullable = false)
+     private Long facilityId;
+
+     @Column(name = "location_id", nullable = false)
+     private Long locationId;
+
+     @Column(name = "sku", nullable = false)
+     private String sku;
+
+     // Lower is preferred
+     @Column(name = "priority", nullable = false)
+     @Builder.Default
+     private int priority = 0;
+
+     @Column(name = "created_at", nullable = false)
+     @Builder.Default
+     private Instant createdAt = Instant.now();
+
+     @Column(name = "updated_at", nullable = false)
+     @Builder.Default
+     private Instant updatedAt = Instant.now();
+}
@@ -0,0 +1,15 @@
+package app.tempest.wms.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import app.tempest.wms.entity.BatchPick;
+import app.tempest.wms.entity.PickTask.PickStatus;
+
+@Repository
+public interface BatchPickRepository extends JpaRepository<BatchPick, Long> {
+
+     List<BatchPick> findByTenantIdAndWaveIdAndStatus(String tenantId, Long waveId, PickStatus status);
+}
@@ -0,0 +1,20 @@
+package app.tempest.wms.repo;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import app.tempest.wms.entity.Facility;
+
+@Repository
+public interface FacilityRepository extends JpaRepository<Facility, Long> {
+
+     Optional<Facility> findByTenantIdAndId(String tenantId, Long id);
+
+     List<Facility> findByActiveTrueAndFacilityTypeOrderByTenantIdAscIdAsc(String facilityType);
+
+     Optional<Facility> findFirstByTenantIdAndActiveTrueAndFacilityTypeOrderByIdAsc(String tenantId,
+               String facilityType);
+}
@@ -0,0 +1,15 @@
+package app.tempest.wms.repo;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import app.tempest.wms.entity.Location;
+
+@Repository
+public interface LocationRepository extends JpaRepository<Location, Long> {
+
+     List<Location> findByTenantIdAndIdIn(String tenantId, Collection<Long> ids);
+}
@@ -0,0 +1,19 @@
+package app.tempest.wms.repo;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import app.tempest.wms.entity.PickTask;
+
+@Repository
+public interface PickTaskRepository extends JpaRepository<PickTask, Long> {
+
+     List<PickTask> findByTenantIdAndWaveIdAndOrderIdIn(String tenantId, Long waveId, Collection<Long> orderIds);
+
+     List<PickTask> findByTenantIdAndWaveIdIsNullAndOrderIdIn(String tenantId, Collection<Long> orderIds);
+
+     List<PickTask> findByBatchPickIdIn(Collection<Long> batchPickIds);
+}
@@ -0,0 +1,15 @@
+package app.tempest.wms.repo;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import app.tempest.wms.entity.SkuLocation;
+
+@Repository
+public interface SkuLocationRepository extends JpaRepository<SkuLocation, Long> {
+
+     List<SkuLocation> findByTenantIdAndFacilityIdAndSkuIn(String tenantId, Long facilityId, Collection<String> skus);
+}
@@ -1,19 +1,31 @@
 package app.tempest.wms.repo;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import app.tempest.wms.entity.Wave;
 import app.tempest.wms.entity.Wave.WaveStatus;
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface WaveRepository extends JpaRepository<Wave, Long> {
 
      Optional<Wave> findByTenantIdAndId(String tenantId, Long id);
 
+     /**
+      * Load and row-lock a wave for the rest of the transaction.
+      */
+     @Lock(LockModeType.PESSIMISTIC_WRITE)
+     @Query("SELECT w FROM Wave w WHERE w.tenantId = :tenantId AND w.id = :id")
+     Optional<Wave> findForUpdate(@Param("tenantId") String tenantId, @Param("id") Long id);
+
      Optional<Wave> findByTenantIdAndWaveNumber(String tenantId, String waveNumber);
 
      List<Wave> findByTenantIdAndFacilityIdAndStatus(String tenantId, Long facilityId, WaveStatus status);
@@ -25,4 +37,37 @@ public interface WaveRepository extends JpaRepository<Wave, Long> {
      List<Wave> findByTenantId(String tenantId);
 
      boolean existsByTenantIdAndWaveNumber(String tenantId, String waveNumber);
+
+     /**
+      * Which of the given orders are in one of the tenant's waves with one of the
+      * given statuses.
+      */
+     @Query("""
+               SELECT o FROM Wave w JOIN w.orderIds o
+               WHERE w.tenantId = :tenantId AND w.status IN :statuses AND o IN :orderIds
+               """)
+     List<Long> findOrderIdsInWaves(@Param("tenantId") String tenantId,
+               @Param("statuses") Collection<WaveStatus> statuses, @Param("orderIds") Collection<Long> orderIds);
+
+     /**
+      * A wave's order IDs in ascending order.
+      */
+     @Query("""
+               SELECT o FROM Wave w JOIN w.orderIds o
+               WHERE w.tenantId = :tenantId AND w.id = :waveId
+               ORDER BY o
+               """)
+     List<Long> findOrderIds(@Param("tenantId") String tenantId, @Param("waveId") Long waveId);
+
+     /**
+      * A wave's order IDs from firstOrderId to lastOrderId (inclusive), in
+      * ascending order.
+      */
+     @Query("""
+               SELECT o FROM Wave w JOIN w.orderIds o
+               WHERE w.tenantId = :tenantId AND w.id = :waveId AND o BETWEEN :firstOrderId AND :lastOrderId
+               ORDER BY o
+               """)
+     List<Long> findOrderIdsInRange(@Param("tenantId") String tenantId, @Param("waveId") Long waveId,
+               @Param("firstOrderId") Long firstOrderId, @Param("lastOrderId") Long lastOrderId);
 }
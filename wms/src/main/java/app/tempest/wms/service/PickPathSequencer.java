@@ -0,0 +1,179 @@
+package app.tempest.wms.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import app.tempest.wms.entity.BatchPick;
+import app.tempest.wms.entity.Location;
+
+/**
+ * Orders a wave's batch picks into the path a picker walks.
+ *
+ * Zones are walked one after another in zone order; picks without a zone come
+ * after the zoned ones, and picks whose SKU has no location come last. Within
+ * a zone:
+ * <ul>
+ * <li>SERPENTINE (S-shape) visits aisles in ascending order and walks each
+ * aisle end to end, alternating direction, so the picker leaves an aisle at
+ * the end where the next one starts. O(n log n) - the default.</li>
+ * <li>NEAREST_NEIGHBOR starts at the front of the first aisle and always goes
+ * to the closest remaining stop. Changing aisles goes round the shorter end
+ * of the aisle. Shorter than SERPENTINE when picks are sparse, but O(n^2), so
+ * zones with more than nearestNeighborMaxStops stops fall back to
+ * SERPENTINE.</li>
+ * </ul>
+ * Distances are in bays; aisleSpacing is the walk between adjacent aisles in
+ * bays. Locations without aisle and bay come after the rest of their zone, in
+ * location code order.
+ */
+public class PickPathSequencer {
+
+     public enum Strategy {
+          SERPENTINE,
+          NEAREST_NEIGHBOR
+     }
+
+     private record Stop(BatchPick pick, Location location) {
+
+          int aisle() {
+               return location.getAisle();
+          }
+
+          int bay() {
+               return location.getBay();
+          }
+     }
+
+     private static final Comparator<Stop> BY_CODE = Comparator
+               .comparing((Stop stop) -> stop.location().getCode())
+               .thenComparing(stop -> stop.pick().getSku());
+
+     private final Strategy strategy;
+     private final int aisleSpacing;
+     private final int nearestNeighborMaxStops;
+
+     public PickPathSequencer(Strategy strategy, int aisleSpacing, int nearestNeighborMaxStops) {
+          this.strategy = strategy;
+          this.aisleSpacing = aisleSpacing;
+          this.nearestNeighborMaxStops = nearestNeighborMaxStops;
+     }
+
+     /**
+      * @param locations locations by ID; picks whose location is missing are
+      *                  treated as unslotted
+      * @return the picks in walk order
+      */
+     public List<BatchPick> sequence(List<BatchPick> picks, Map<Long, Location> locations) {
+          Map<String, List<Stop>> byZone = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+          List<BatchPick> unslotted = new ArrayList<>();
+          for (BatchPick pick : picks) {
+               Location location = pick.getLocationId() != null ? locations.get(pick.getLocationId()) : null;
+               if (location == null) {
+                    unslotted.add(pick);
+                    continue;
+               }
+               byZone.computeIfAbsent(location.getZone(), k -> new ArrayList<>()).add(new Stop(pick, location));
+          }
+
+          List<BatchPick> sequenced = new ArrayList<>(picks.size());
+          byZone.values().forEach(stops -> sequenceZone(stops).forEach(stop -> sequenced.add(stop.pick())));
+          unslotted.sort(Comparator.comparing(BatchPick::getSku));
+          sequenced.addAll(unslotted);
+          return sequenced;
+     }
+
+     private List<Stop> sequenceZone(List<Stop> stops) {
+          List<Stop> placed = new ArrayList<>(stops.size());
+          List<Stop> unplaced = new ArrayList<>();
+          for (Stop stop : stops) {
+               if (stop.location().getAisle() != null && stop.location().getBay() != null) {
+                    placed.add(stop);
+               } else {
+                    unplaced.add(stop);
+               }
+          }
+
+          List<Stop> path = strategy == Strategy.NEAREST_NEIGHBOR && placed.size() <= nearestNeighborMaxStops
+                    ? nearestNeighbor(placed)
+                    : serpentine(placed);
+          unplaced.sort(BY_CODE);
+          path.addAll(unplaced);
+          return path;
+     }
+
+     private static List<Stop> serpentine(List<Stop> stops) {
+          stops.sort(Comparator.comparingInt(Stop::aisle).thenComparingInt(Stop::bay).thenComparing(BY_CODE));
+          List<Stop> path = new ArrayList<>(stops.size());
+          boolean reverse = false;
+          int start = 0;
+          while (start < stops.size()) {
+               // stops[start, end) share an aisle and are in ascending bay order
+               int end = start;
+               while (end < stops.size() && stops.get(end).aisle() == stops.get(start).aisle()) {
+                    end++;
+               }
+               List<Stop> aisle = stops.subList(start, end);
+               if (reverse) {
+                    for (int i = aisle.size() - 1; i >= 0; i--) {
+                         path.add(aisle.get(i));
+                    }
+               } else {
+                    path.addAll(aisle);
+               }
+               reverse = !reverse;
+               start = end;
+          }
+          return path;
+     }
+
+     private List<Stop> nearestNeighbor(List<Stop> stops) {
+          if (stops.isEmpty()) {
+               return new ArrayList<>();
+          }
+          // Deterministic ties: earlier in aisle/bay/code order wins
+          stops.sort(Comparator.comparingInt(Stop::aisle).thenComparingInt(Stop::bay).thenComparing(BY_CODE));
+          int aisleLength = 0;
+          for (Stop stop : stops) {
+               aisleLength = Math.max(aisleLength, stop.bay() + 1);
+          }
+
+          int n = stops.size();
+          boolean[] visited = new boolean[n];
+          List<Stop> path = new ArrayList<>(n);
+          int currentAisle = stops.get(0).aisle();
+          int currentBay = 0;
+          for (int step = 0; step < n; step++) {
+               int next = -1;
+               long nextDistance = Long.MAX_VALUE;
+               for (int i = 0; i < n; i++) {
+                    if (visited[i]) {
+                         continue;
+                    }
+                    long distance = distance(currentAisle, currentBay, stops.get(i), aisleLength);
+                    if (distance < nextDistance) {
+                         next = i;
+                         nextDistance = distance;
+                    }
+               }
+               visited[next] = true;
+               Stop stop = stops.get(next);
+               path.add(stop);
+               currentAisle = stop.aisle();
+               currentBay = stop.bay();
+          }
+          return path;
+     }
+
+     private long distance(int aisle, int bay, Stop to, int aisleLength) {
+          if (aisle == to.aisle()) {
+               return Math.abs(bay - to.bay());
+          }
+          // Leave by the front or back cross-aisle, whichever is shorter
+          long viaFront = bay + to.bay();
+          long viaBack = 2L * aisleLength - bay - to.bay();
+          return (long) Math.abs(aisle - to.aisle()) * aisleSpacing + Math.min(viaFront, viaBack);
+     }
+}
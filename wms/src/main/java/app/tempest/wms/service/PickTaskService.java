@@ -0,0 +1,246 @@
+package app.tempest.wms.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.tempest.wms.entity.BatchPick;
+import app.tempest.wms.entity.Facility;
+import app.tempest.wms.entity.Location;
+import app.tempest.wms.entity.PickTask;
+import app.tempest.wms.entity.PickTask.PickStatus;
+import app.tempest.wms.entity.SkuLocation;
+import app.tempest.wms.repo.BatchPickRepository;
+import app.tempest.wms.repo.FacilityRepository;
+import app.tempest.wms.repo.LocationRepository;
+import app.tempest.wms.repo.PickTaskRepository;
+import app.tempest.wms.repo.SkuLocationRepository;
+import app.tempest.wms.repo.WaveRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates pick tasks for order lines.
+ *
+ * Each SKU resolves to its preferred active slot in the facility
+ * (sku_locations, lowest priority first). Lines for the same SKU and location
+ * are consolidated into one BatchPick - across every order in the wave, so
+ * pick tasks created for later orders join the open batch picks of earlier
+ * ones - and each order line keeps its own PickTask for sortation. The wave's
+ * pending batch picks are then re-sequenced along the pick path with
+ * PickPathSequencer.
+ *
+ * Creation is idempotent per order: orders that already have pick tasks in
+ * the wave get their existing task IDs back, so activity retries are safe.
+ * Calls for the same wave (e.g. from its shards) are serialized on the wave
+ * row, so they never update the same batch pick concurrently.
+ */
+@Slf4j
+@Service
+public class PickTaskService {
+
+     /**
+      * One order line to pick.
+      */
+     public record PickLine(Long orderId, Long orderLineId, String sku, int quantity) {
+     }
+
+     /**
+      * @param taskIdsByOrder  pick task IDs for every requested order
+      * @param existingOrderIds orders whose tasks were created by an earlier call
+      */
+     public record PickTasks(Map<Long, List<Long>> taskIdsByOrder, Set<Long> existingOrderIds) {
+     }
+
+     private final PickTaskRepository pickTaskRepository;
+     private final BatchPickRepository batchPickRepository;
+     private final SkuLocationRepository skuLocationRepository;
+     private final LocationRepository locationRepository;
+     private final FacilityRepository facilityRepository;
+     private final WaveRepository waveRepository;
+     private final PickPathSequencer sequencer;
+
+     public PickTaskService(
+               PickTaskRepository pickTaskRepository,
+               BatchPickRepository batchPickRepository,
+               SkuLocationRepository skuLocationRepository,
+               LocationRepository locationRepository,
+               FacilityRepository facilityRepository,
+               WaveRepository waveRepository,
+               @Value("${wms.picking.path-strategy:SERPENTINE}") PickPathSequencer.Strategy pathStrategy,
+               @Value("${wms.picking.aisle-spacing:3}") int aisleSpacing,
+               @Value("${wms.picking.nearest-neighbor-max-stops:2000}") int nearestNeighborMaxStops) {
+          this.pickTaskRepository = pickTaskRepository;
+          this.batchPickRepository = batchPickRepository;
+          this.skuLocationRepository = skuLocationRepository;
+          this.locationRepository = locationRepository;
+          this.facilityRepository = facilityRepository;
+          this.waveRepository = waveRepository;
+          this.sequencer = new PickPathSequencer(pathStrategy, aisleSpacing, nearestNeighborMaxStops);
+     }
+
+     /**
+      * Create pick tasks for the lines of one or more orders.
+      *
+      * @param waveId null for single-order picking; lines are then consolidated
+      *               within this call only
+      * @throws IllegalArgumentException if the wave or facility does not exist,
+      *                                  the facility is inactive, or a line has
+      *                                  no order line ID
+      */
+     @Transactional
+     public PickTasks createPickTasks(String tenantId, Long waveId, Long facilityId, List<PickLine> lines) {
+          if (waveId != null) {
+               waveRepository.findForUpdate(tenantId, waveId)
+                         .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
+          }
+          Set<Long> orderIds = lines.stream().map(PickLine::orderId).collect(Collectors.toCollection(LinkedHashSet::new));
+          Map<Long, List<Long>> taskIdsByOrder = new LinkedHashMap<>();
+          orderIds.forEach(orderId -> taskIdsByOrder.put(orderId, new ArrayList<>()));
+
+          List<PickTask> existing = waveId != null
+                    ? pickTaskRepository.findByTenantIdAndWaveIdAndOrderIdIn(tenantId, waveId, orderIds)
+                    : pickTaskRepository.findByTenantIdAndWaveIdIsNullAndOrderIdIn(tenantId, orderIds);
+          Set<Long> existingOrderIds = new LinkedHashSet<>();
+          for (PickTask task : existing) {
+               existingOrderIds.add(task.getOrderId());
+               taskIdsByOrder.get(task.getOrderId()).add(task.getId());
+          }
+          List<PickLine> newLines = lines.stream()
+                    .filter(line -> !existingOrderIds.contains(line.orderId()))
+                    .filter(line -> line.quantity() > 0)
+                    .toList();
+          if (newLines.isEmpty()) {
+               return new PickTasks(taskIdsByOrder, existingOrderIds);
+          }
+
+          Facility facility = facilityRepository.findByTenantIdAndId(tenantId, facilityId)
+                    .filter(Facility::isActive)
+                    .orElseThrow(() -> new IllegalArgumentException("Facility not found or inactive: " + facilityId));
+          for (PickLine line : newLines) {
+               if (line.orderLineId() == null) {
+                    throw new IllegalArgumentException("orderLineId is required - order: " + line.orderId()
+                              + ", sku: " + line.sku());
+               }
+          }
+
+          long started = System.nanoTime();
+          Map<String, Location> slots = resolveSlots(tenantId, facility.getId(), newLines);
+
+          // Consolidate by SKU and location, joining the wave's open batch picks
+          Map<String, BatchPick> batches = new LinkedHashMap<>();
+          List<BatchPick> pending = waveId != null
+                    ? batchPickRepository.findByTenantIdAndWaveIdAndStatus(tenantId, waveId, PickStatus.PENDING)
+                    : new ArrayList<>();
+          for (BatchPick batch : pending) {
+               if (Objects.equals(batch.getFacilityId(), facility.getId())) {
+                    batches.putIfAbsent(batchKey(batch.getSku(), batch.getLocationId()), batch);
+               }
+          }
+          for (PickLine line : newLines) {
+               Location slot = slots.get(line.sku());
+               Long locationId = slot != null ? slot.getId() : null;
+               BatchPick batch = batches.computeIfAbsent(batchKey(line.sku(), locationId), k -> BatchPick.builder()
+                         .tenantId(tenantId)
+                         .facilityId(facility.getId())
+                         .waveId(waveId)
+                         .sku(line.sku())
+                         .locationId(locationId)
+                         .zone(slot != null ? slot.getZone() : null)
+                         .build());
+               batch.setQuantity(batch.getQuantity() + line.quantity());
+          }
+
+          // Sequence before saving so each batch pick is written once
+          List<BatchPick> all = new ArrayList<>(batches.values());
+          Map<Long, Location> locations = new HashMap<>();
+          slots.values().forEach(location -> locations.put(location.getId(), location));
+          Set<Long> missing = all.stream()
+                    .map(BatchPick::getLocationId)
+                    .filter(id -> id != null && !locations.containsKey(id))
+                    .collect(Collectors.toSet());
+          if (!missing.isEmpty()) {
+               locationRepository.findByTenantIdAndIdIn(tenantId, missing)
+                         .forEach(location -> locations.put(location.getId(), location));
+          }
+          List<BatchPick> path = sequencer.sequence(all, locations);
+          for (int i = 0; i < path.size(); i++) {
+               path.get(i).setPickSequence(i + 1);
+          }
+          batchPickRepository.saveAll(all);
+
+          List<PickTask> tasks = new ArrayList<>(newLines.size());
+          for (PickLine line : newLines) {
+               Location slot = slots.get(line.sku());
+               BatchPick batch = batches.get(batchKey(line.sku(), slot != null ? slot.getId() : null));
+               tasks.add(PickTask.builder()
+                         .tenantId(tenantId)
+                         .waveId(waveId)
+                         .orderId(line.orderId())
+                         .orderLineId(line.orderLineId())
+                         .sku(line.sku())
+                         .quantity(line.quantity())
+                         .fromLocationId(batch.getLocationId())
+                         .batchPickId(batch.getId())
+                         .zone(batch.getZone())
+                         .build());
+          }
+          pickTaskRepository.saveAll(tasks);
+          tasks.forEach(task -> taskIdsByOrder.get(task.getOrderId()).add(task.getId()));
+
+          long unslotted = all.stream().filter(batch -> batch.getLocationId() == null).count();
+          log.info("Created {} pick tasks in {} batch picks ({} unslotted) in {} ms - waveId: {}, orders: {}",
+                    tasks.size(), all.size(), unslotted, (System.nanoTime() - started) / 1_000_000, waveId,
+                    orderIds.size() - existingOrderIds.size());
+          if (unslotted > 0) {
+               log.warn("SKUs without an active pick location in facility {}: {}", facility.getCode(),
+                         all.stream()
+                                   .filter(batch -> batch.getLocationId() == null)
+                                   .map(BatchPick::getSku)
+                                   .toList());
+          }
+          return new PickTasks(taskIdsByOrder, existingOrderIds);
+     }
+
+     /**
+      * Preferred active location in the facility for each SKU: lowest priority,
+      * then lowest location ID.
+      */
+     private Map<String, Location> resolveSlots(String tenantId, Long facilityId, List<PickLine> lines) {
+          Set<String> skus = lines.stream().map(PickLine::sku).collect(Collectors.toSet());
+          List<SkuLocation> skuLocations = skuLocationRepository.findByTenantIdAndFacilityIdAndSkuIn(tenantId,
+                    facilityId, skus);
+          if (skuLocations.isEmpty()) {
+               return Map.of();
+          }
+          Map<Long, Location> locations = locationRepository.findByTenantIdAndIdIn(tenantId,
+                    skuLocations.stream().map(SkuLocation::getLocationId).collect(Collectors.toSet()))
+                    .stream()
+                    .filter(Location::isActive)
+                    .collect(Collectors.toMap(Location::getId, Function.identity()));
+
+          Map<String, Location> slots = new HashMap<>();
+          skuLocations.stream()
+                    .filter(skuLocation -> locations.containsKey(skuLocation.getLocationId()))
+                    .sorted(Comparator.comparingInt(SkuLocation::getPriority)
+                              .thenComparing(SkuLocation::getLocationId))
+                    .forEach(skuLocation -> slots.putIfAbsent(skuLocation.getSku(),
+                              locations.get(skuLocation.getLocationId())));
+          return slots;
+     }
+
+     private static String batchKey(String sku, Long locationId) {
+          return sku + "@" + locationId;
+     }
+}
@@ -0,0 +1,141 @@
+package app.tempest.wms.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import app.tempest.common.dto.AwaitingWaveOrderDTO;
+
+/**
+ * Groups waiting orders into waves.
+ *
+ * Planning is a single in-memory pass over the orders' planning keys - no
+ * queries per order - so tens of thousands of orders plan in milliseconds:
+ * <ol>
+ * <li>Orders are split by destination (ship-to country and state) when
+ * splitByDestination is set, so each wave feeds one set of carrier lanes.</li>
+ * <li>Within a destination, orders with the same primary SKU (the SKU with the
+ * most units) are placed next to each other when skuAffinity is set, so a
+ * wave's picks concentrate on fewer SKUs. Clusters keep oldest-first order.</li>
+ * <li>Orders are packed into waves up to maxOrders, maxLines and maxUnits. An
+ * order larger than a limit gets a wave of its own.</li>
+ * <li>A destination's last, under-filled wave (fewer than minOrders) is held
+ * for a later run unless its oldest order has waited maxWait - the cutoff
+ * that keeps slow lanes from waiting indefinitely.</li>
+ * </ol>
+ * When more orders follow (the run is planned page by page), every
+ * destination's last wave is held instead, so it can fill up with the next
+ * page's orders.
+ */
+public class WavePlanner {
+
+     /**
+      * Planning rules. A limit of 0 means unlimited.
+      */
+     public record Rules(int maxOrders, int maxLines, int maxUnits, int minOrders, Duration maxWait,
+               boolean splitByDestination, boolean skuAffinity) {
+     }
+
+     public record PlannedWave(String destination, List<AwaitingWaveOrderDTO> orders, int lines, int units) {
+     }
+
+     public record Plan(List<PlannedWave> waves, List<AwaitingWaveOrderDTO> held) {
+     }
+
+     private static final Comparator<AwaitingWaveOrderDTO> OLDEST_FIRST = Comparator
+               .comparing(AwaitingWaveOrderDTO::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+               .thenComparing(AwaitingWaveOrderDTO::getOrderId);
+
+     private final Rules rules;
+
+     public WavePlanner(Rules rules) {
+          this.rules = rules;
+     }
+
+     public Plan plan(List<AwaitingWaveOrderDTO> orders, Instant now, boolean more) {
+          List<AwaitingWaveOrderDTO> sorted = new ArrayList<>(orders);
+          sorted.sort(OLDEST_FIRST);
+
+          Map<String, List<AwaitingWaveOrderDTO>> byDestination = new LinkedHashMap<>();
+          for (AwaitingWaveOrderDTO order : sorted) {
+               String destination = rules.splitByDestination() ? destinationOf(order) : "";
+               byDestination.computeIfAbsent(destination, k -> new ArrayList<>()).add(order);
+          }
+
+          List<PlannedWave> waves = new ArrayList<>();
+          List<AwaitingWaveOrderDTO> held = new ArrayList<>();
+          byDestination.forEach((destination, destinationOrders) -> {
+               List<PlannedWave> destinationWaves = pack(destination,
+                         rules.skuAffinity() ? clusterBySku(destinationOrders) : destinationOrders);
+               PlannedWave last = destinationWaves.get(destinationWaves.size() - 1);
+               if (more || (last.orders().size() < rules.minOrders() && !waitedTooLong(last, now))) {
+                    destinationWaves.remove(destinationWaves.size() - 1);
+                    held.addAll(last.orders());
+               }
+               waves.addAll(destinationWaves);
+          });
+          return new Plan(waves, held);
+     }
+
+     /**
+      * Reorder so orders sharing a primary SKU are adjacent. Clusters are ordered
+      * by their oldest order, since the input is oldest-first.
+      */
+     private static List<AwaitingWaveOrderDTO> clusterBySku(List<AwaitingWaveOrderDTO> orders) {
+          Map<String, List<AwaitingWaveOrderDTO>> clusters = new LinkedHashMap<>();
+          for (AwaitingWaveOrderDTO order : orders) {
+               String primarySku = order.getPrimarySku() != null ? order.getPrimarySku() : "";
+               clusters.computeIfAbsent(primarySku, k -> new ArrayList<>()).add(order);
+          }
+          List<AwaitingWaveOrderDTO> clustered = new ArrayList<>(orders.size());
+          clusters.values().forEach(clustered::addAll);
+          return clustered;
+     }
+
+     private List<PlannedWave> pack(String destination, List<AwaitingWaveOrderDTO> orders) {
+          List<PlannedWave> waves = new ArrayList<>();
+          List<AwaitingWaveOrderDTO> current = new ArrayList<>();
+          int lines = 0;
+          int units = 0;
+          for (AwaitingWaveOrderDTO order : orders) {
+               int orderLines = order.getLineCount();
+               int orderUnits = order.getUnitCount();
+               if (!current.isEmpty() && (exceeds(current.size() + 1, rules.maxOrders())
+                         || exceeds(lines + orderLines, rules.maxLines())
+                         || exceeds(units + orderUnits, rules.maxUnits()))) {
+                    waves.add(new PlannedWave(destination, current, lines, units));
+                    current = new ArrayList<>();
+                    lines = 0;
+                    units = 0;
+               }
+               current.add(order);
+               lines += orderLines;
+               units += orderUnits;
+          }
+          waves.add(new PlannedWave(destination, current, lines, units));
+          return waves;
+     }
+
+     private boolean waitedTooLong(PlannedWave wave, Instant now) {
+          return wave.orders().stream()
+                    .map(AwaitingWaveOrderDTO::getCreatedAt)
+                    .filter(createdAt -> createdAt != null)
+                    .anyMatch(createdAt -> !createdAt.plus(rules.maxWait()).isAfter(now));
+     }
+
+     private static boolean exceeds(int value, int limit) {
+          return limit > 0 && value > limit;
+     }
+
+     private static String destinationOf(AwaitingWaveOrderDTO order) {
+          String country = order.getShipToCountry();
+          String state = order.getShipToState();
+          return (country != null ? country.trim().toUpperCase(Locale.ROOT) : "") + "/"
+                    + (state != null ? state.trim().toUpperCase(Locale.ROOT) : "");
+     }
+}
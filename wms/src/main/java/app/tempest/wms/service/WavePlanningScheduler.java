@@ -0,0 +1,147 @@
+package app.tempest.wms.service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import app.tempest.common.config.TemporalSchedules;
+import app.tempest.common.dto.requests.WavePlanningRequest;
+import app.tempest.common.temporal.TaskQueues;
+import app.tempest.wms.entity.Facility;
+import app.tempest.wms.repo.FacilityRepository;
+import app.tempest.wms.temporal.workflow.WavePlanningWorkflow;
+import io.temporal.api.enums.v1.ScheduleOverlapPolicy;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.schedules.Schedule;
+import io.temporal.client.schedules.ScheduleActionStartWorkflow;
+import io.temporal.client.schedules.ScheduleHandle;
+import io.temporal.client.schedules.ScheduleIntervalSpec;
+import io.temporal.client.schedules.SchedulePolicy;
+import io.temporal.client.schedules.ScheduleSpec;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps one Temporal Schedule per tenant that starts a WavePlanningWorkflow
+ * every wms.wave-planning.interval.
+ *
+ * Orders carry no facility, so each tenant plans for one facility: its first
+ * active warehouse. Manual runs go through the same schedule and its overlap
+ * policy, so a run is skipped while the tenant's previous run is still going
+ * and two runs never plan the same orders.
+ */
+@Slf4j
+@Component
+public class WavePlanningScheduler {
+
+     private static final String WAREHOUSE = "WAREHOUSE";
+
+     private final TemporalSchedules temporalSchedules;
+     private final FacilityRepository facilityRepository;
+     private final boolean enabled;
+     private final Duration interval;
+     private final int pageSize;
+     private final int maxOrders;
+
+     public WavePlanningScheduler(
+               TemporalSchedules temporalSchedules,
+               FacilityRepository facilityRepository,
+               @Value("${wms.wave-planning.enabled:false}") boolean enabled,
+               @Value("${wms.wave-planning.interval:15m}") Duration interval,
+               @Value("${wms.wave-planning.page-size:2000}") int pageSize,
+               @Value("${wms.wave-planning.max-orders-per-run:50000}") int maxOrders) {
+          this.temporalSchedules = temporalSchedules;
+          this.facilityRepository = facilityRepository;
+          this.enabled = enabled;
+          this.interval = interval;
+          this.pageSize = pageSize;
+          this.maxOrders = maxOrders;
+     }
+
+     @EventListener(ApplicationReadyEvent.class)
+     public void registerSchedules() {
+          if (!enabled) {
+               log.info("Wave planning disabled (wms.wave-planning.enabled=false); no schedules registered");
+               return;
+          }
+          Set<String> plannedTenants = new HashSet<>();
+          for (Facility facility : facilityRepository.findByActiveTrueAndFacilityTypeOrderByTenantIdAscIdAsc(WAREHOUSE)) {
+               if (!plannedTenants.add(facility.getTenantId())) {
+                    continue;
+               }
+               try {
+                    ScheduleHandle handle = ensureSchedule(facility);
+                    log.info("Wave planning schedule {} every {} - facility: {}", handle.getId(), interval,
+                              facility.getCode());
+               } catch (Exception e) {
+                    log.warn("Failed to register wave planning schedule for facility {}: {}", facility.getId(),
+                              e.getMessage());
+               }
+          }
+     }
+
+     /**
+      * Start a planning run for the tenant's planning facility now. Skipped by
+      * Temporal if a run for the tenant is already in progress.
+      *
+      * @return the schedule ID
+      * @throws IllegalArgumentException if the facility is not the tenant's
+      *                                  planning facility (its first active warehouse)
+      * @throws IllegalStateException    if wave planning is disabled
+      */
+     public String trigger(String tenantId, Long facilityId) {
+          if (!enabled) {
+               throw new IllegalStateException("Wave planning is disabled");
+          }
+          Facility facility = facilityRepository
+                    .findFirstByTenantIdAndActiveTrueAndFacilityTypeOrderByIdAsc(tenantId, WAREHOUSE)
+                    .orElseThrow(() -> new IllegalArgumentException("No active warehouse to plan waves for"));
+          if (!facility.getId().equals(facilityId)) {
+               throw new IllegalArgumentException("Wave planning runs for facility " + facility.getId()
+                         + ", not " + facilityId);
+          }
+
+          ScheduleHandle handle = ensureSchedule(facility);
+          handle.trigger(ScheduleOverlapPolicy.SCHEDULE_OVERLAP_POLICY_SKIP);
+          log.info("Triggered wave planning - schedule: {}", handle.getId());
+          return handle.getId();
+     }
+
+     /**
+      * Create or update the tenant's schedule, planning for the given facility,
+      * with the current configuration.
+      */
+     private ScheduleHandle ensureSchedule(Facility facility) {
+          String scheduleId = "wave-planning-" + facility.getTenantId();
+          Schedule schedule = Schedule.newBuilder()
+                    .setAction(ScheduleActionStartWorkflow.newBuilder()
+                              .setWorkflowType(WavePlanningWorkflow.class)
+                              .setArguments(WavePlanningRequest.builder()
+                                        .tenantId(facility.getTenantId())
+                                        .facilityId(facility.getId())
+                                        .pageSize(pageSize)
+                                        .maxOrders(maxOrders)
+                                        .build())
+                              .setOptions(WorkflowOptions.newBuilder()
+                                        .setWorkflowId(scheduleId)
+                                        .setTaskQueue(TaskQueues.WMS)
+                                        .build())
+                              .build())
+                    .setSpec(ScheduleSpec.newBuilder()
+                              .setIntervals(List.of(new ScheduleIntervalSpec(interval)))
+                              .build())
+                    .setPolicy(SchedulePolicy.newBuilder()
+                              .setOverlap(ScheduleOverlapPolicy.SCHEDULE_OVERLAP_POLICY_SKIP)
+                              // Runs missed while Temporal was unreachable are not replayed
+                              .setCatchupWindow(interval)
+                              .build())
+                    .build();
+
+          return temporalSchedules.ensure(scheduleId, schedule);
+     }
+}
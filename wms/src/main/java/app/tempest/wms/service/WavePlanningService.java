@@ -0,0 +1,120 @@
+package app.tempest.wms.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import app.tempest.common.dto.AwaitingWaveOrderDTO;
+import app.tempest.common.dto.WaveOrderDTO;
+import app.tempest.common.dto.requests.WavePlanningRequest;
+import app.tempest.common.dto.results.PlanWavesResult;
+import app.tempest.wms.dto.CreateWaveRequest;
+import app.tempest.wms.entity.Wave;
+import app.tempest.wms.entity.Wave.WaveStatus;
+import app.tempest.wms.repo.WaveRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Plans waves from AWAITING_WAVE orders using WavePlanner, and creates and
+ * releases them.
+ *
+ * Orders already in an open wave (created, released or in progress) are
+ * skipped - OMS keeps them AWAITING_WAVE until the wave reserves them.
+ */
+@Slf4j
+@Service
+public class WavePlanningService {
+
+     private static final List<WaveStatus> OPEN_STATUSES = List.of(
+               WaveStatus.CREATED, WaveStatus.RELEASED, WaveStatus.IN_PROGRESS);
+
+     private final WaveService waveService;
+     private final WaveRepository waveRepository;
+     private final WavePlanner planner;
+
+     public WavePlanningService(
+               WaveService waveService,
+               WaveRepository waveRepository,
+               @Value("${wms.wave-planning.max-orders-per-wave:200}") int maxOrdersPerWave,
+               @Value("${wms.wave-planning.max-lines-per-wave:0}") int maxLinesPerWave,
+               @Value("${wms.wave-planning.max-units-per-wave:0}") int maxUnitsPerWave,
+               @Value("${wms.wave-planning.min-orders-per-wave:1}") int minOrdersPerWave,
+               @Value("${wms.wave-planning.max-wait:2h}") Duration maxWait,
+               @Value("${wms.wave-planning.split-by-destination:true}") boolean splitByDestination,
+               @Value("${wms.wave-planning.sku-affinity:true}") boolean skuAffinity) {
+          this.waveService = waveService;
+          this.waveRepository = waveRepository;
+          this.planner = new WavePlanner(new WavePlanner.Rules(maxOrdersPerWave, maxLinesPerWave, maxUnitsPerWave,
+                    minOrdersPerWave, maxWait, splitByDestination, skuAffinity));
+     }
+
+     /**
+      * Plan waves from one page of AWAITING_WAVE orders (plus any held back from
+      * the previous page). Nothing is created here: the caller releases each
+      * planned wave with {@link #releasePlannedWave}.
+      *
+      * @param more whether more pages follow in this run
+      */
+     public PlanWavesResult planWaves(WavePlanningRequest request, List<AwaitingWaveOrderDTO> orders, boolean more) {
+          String tenantId = request.getTenantId();
+          Set<Long> inOpenWaves = new HashSet<>(waveRepository.findOrderIdsInWaves(tenantId, OPEN_STATUSES,
+                    orders.stream().map(AwaitingWaveOrderDTO::getOrderId).toList()));
+          List<AwaitingWaveOrderDTO> candidates = orders.stream()
+                    .filter(order -> !inOpenWaves.contains(order.getOrderId()))
+                    .toList();
+
+          long started = System.nanoTime();
+          WavePlanner.Plan plan = planner.plan(candidates, Instant.now(), more);
+          log.info("Planned {} waves from {} orders in {} ms - tenantId: {}, facilityId: {}, held: {}, more: {}",
+                    plan.waves().size(), candidates.size(), (System.nanoTime() - started) / 1_000_000,
+                    tenantId, request.getFacilityId(), plan.held().size(), more);
+
+          return PlanWavesResult.builder()
+                    .waves(plan.waves().stream()
+                              .map(planned -> planned.orders().stream()
+                                        .map(AwaitingWaveOrderDTO::getOrderId)
+                                        .toList())
+                              .toList())
+                    .held(plan.held())
+                    .ordersSkipped(orders.size() - candidates.size())
+                    .build();
+     }
+
+     /**
+      * Create and release one planned wave. The wave number is chosen by the
+      * caller, so a retry finds the wave an earlier attempt created and only
+      * releases it if that did not happen yet.
+      *
+      * @return the wave ID, or null if none of the orders are still waiting
+      */
+     public Long releasePlannedWave(WavePlanningRequest request, String waveNumber, List<WaveOrderDTO> orders) {
+          String tenantId = request.getTenantId();
+          Wave existing = waveRepository.findByTenantIdAndWaveNumber(tenantId, waveNumber).orElse(null);
+          if (existing != null && existing.getStatus() != WaveStatus.CREATED) {
+               return existing.getId();
+          }
+          if (existing == null && orders.isEmpty()) {
+               return null;
+          }
+
+          Long waveId = existing != null ? existing.getId()
+                    : waveService.createWave(tenantId, CreateWaveRequest.builder()
+                              .facilityId(request.getFacilityId())
+                              .waveNumber(waveNumber)
+                              .orderIds(orders.stream()
+                                        .map(WaveOrderDTO::getOrderId)
+                                        .collect(Collectors.toList()))
+                              .build())
+                              .getId();
+          waveService.releaseWave(tenantId, waveId, orders, null);
+          log.info("Released planned wave {} - tenantId: {}, facilityId: {}, orders: {}",
+                    waveNumber, tenantId, request.getFacilityId(), orders.size());
+          return waveId;
+     }
+}
@@ -0,0 +1,230 @@
+package app.tempest.wms.service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import app.tempest.common.dto.ShipmentStateDTO;
+import app.tempest.common.dto.WaveSnapshotDTO;
+import app.tempest.wms.dto.ShipmentStatesResponse;
+import app.tempest.wms.dto.WorkflowStatusResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes wave progress to UI viewers over server-sent events.
+ *
+ * Each wave with at least one viewer has exactly one poller, which asks
+ * WaveService for the wave snapshot since the version it last saw and fans any
+ * change out to every viewer, so query load grows with the number of watched
+ * waves rather than viewers, and an unchanged wave costs one small query.
+ * Only changes are pushed: a "status" event when the status, step or blocking
+ * reason changes, and a "shipments" event holding just the shipments that are
+ * new or changed. A viewer joining late first receives the full cached state.
+ * The stream ends when the wave reaches a terminal status; the poller stops
+ * when its last viewer disconnects.
+ */
+@Slf4j
+@Component
+public class WaveProgressBroadcaster {
+
+     public static final String STATUS_EVENT = "status";
+     public static final String SHIPMENTS_EVENT = "shipments";
+
+     private static final Set<String> TERMINAL_STATUSES = Set.of("COMPLETED", "CANCELLED", "FAILED");
+
+     private final WaveService waveService;
+     private final long pollIntervalMs;
+     private final long heartbeatIntervalMs;
+     private final long emitterTimeoutMs;
+     private final ScheduledExecutorService scheduler;
+
+     private final Map<Long, WaveSubscription> subscriptions = new ConcurrentHashMap<>();
+
+     public WaveProgressBroadcaster(
+               WaveService waveService,
+               @Value("${wms.wave-events.poll-interval-ms:1000}") long pollIntervalMs,
+               @Value("${wms.wave-events.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+               @Value("${wms.wave-events.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+               @Value("${wms.wave-events.poller-threads:4}") int pollerThreads) {
+          this.waveService = waveService;
+          this.pollIntervalMs = pollIntervalMs;
+          this.heartbeatIntervalMs = heartbeatIntervalMs;
+          this.emitterTimeoutMs = emitterTimeoutMs;
+          this.scheduler = Executors.newScheduledThreadPool(pollerThreads,
+                    Thread.ofPlatform().name("wave-events-", 0).daemon().factory());
+     }
+
+     /**
+      * Open an event stream for a wave. Throws IllegalArgumentException if the
+      * wave does not exist for the tenant.
+      */
+     public SseEmitter subscribe(String tenantId, Long waveId) {
+          // Access check - the subscription itself is shared by every viewer of the wave
+          waveService.getWave(tenantId, waveId);
+
+          SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+          WaveSubscription subscription = subscriptions.compute(waveId, (id, existing) -> {
+               WaveSubscription s = existing != null ? existing : start(tenantId, waveId);
+               s.emitters.add(emitter);
+               return s;
+          });
+          emitter.onCompletion(() -> unsubscribe(subscription, emitter));
+          emitter.onTimeout(emitter::complete);
+          emitter.onError(e -> unsubscribe(subscription, emitter));
+
+          synchronized (subscription) {
+               if (subscription.status != null) {
+                    send(subscription, emitter, STATUS_EVENT, subscription.status);
+               }
+               if (!subscription.shipments.isEmpty()) {
+                    send(subscription, emitter, SHIPMENTS_EVENT,
+                              new ShipmentStatesResponse(new HashMap<>(subscription.shipments)));
+               }
+          }
+          log.debug("Wave {} events: {} viewer(s)", waveId, subscription.emitters.size());
+          return emitter;
+     }
+
+     @PreDestroy
+     void shutdown() {
+          scheduler.shutdownNow();
+          subscriptions.values().forEach(s -> s.emitters.forEach(SseEmitter::complete));
+          subscriptions.clear();
+     }
+
+     private WaveSubscription start(String tenantId, Long waveId) {
+          WaveSubscription subscription = new WaveSubscription(tenantId, waveId);
+          subscription.poller = scheduler.scheduleWithFixedDelay(
+                    () -> poll(subscription), 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+          return subscription;
+     }
+
+     private void unsubscribe(WaveSubscription subscription, SseEmitter emitter) {
+          subscriptions.computeIfPresent(subscription.waveId, (id, s) -> {
+               if (s != subscription) {
+                    return s;
+               }
+               s.emitters.remove(emitter);
+               if (s.emitters.isEmpty()) {
+                    s.poller.cancel(false);
+                    return null;
+               }
+               return s;
+          });
+     }
+
+     private void poll(WaveSubscription subscription) {
+          WaveSnapshotDTO snapshot;
+          try {
+               // One snapshot query per workflow; an unchanged wave costs only version strings
+               snapshot = waveService.getWaveSnapshot(subscription.tenantId, subscription.waveId,
+                         subscription.version);
+          } catch (Exception e) {
+               log.warn("Failed to poll wave {} for events: {}", subscription.waveId, e.getMessage());
+               return;
+          }
+
+          synchronized (subscription) {
+               subscription.version = snapshot.getVersion();
+               boolean sent = false;
+               if (snapshot.isModified()) {
+                    WorkflowStatusResponse status = WorkflowStatusResponse.builder()
+                              .status(snapshot.getStatus())
+                              .currentStep(snapshot.getCurrentStep())
+                              .blockingReason(snapshot.getBlockingReason())
+                              .build();
+                    if (!status.equals(subscription.status)) {
+                         subscription.status = status;
+                         broadcast(subscription, STATUS_EVENT, status);
+                         sent = true;
+                    }
+
+                    Map<Long, ShipmentStateDTO> changed = new LinkedHashMap<>();
+                    snapshot.getShipments().forEach((shipmentId, shipment) -> {
+                         if (!shipment.equals(subscription.shipments.get(shipmentId))) {
+                              changed.put(shipmentId, shipment);
+                         }
+                    });
+                    if (!changed.isEmpty()) {
+                         subscription.shipments.putAll(changed);
+                         broadcast(subscription, SHIPMENTS_EVENT, new ShipmentStatesResponse(changed));
+                         sent = true;
+                    }
+               }
+
+               long now = System.currentTimeMillis();
+               if (sent) {
+                    subscription.lastSentMillis = now;
+               } else if (now - subscription.lastSentMillis >= heartbeatIntervalMs) {
+                    // Comment line keeps proxies from closing an idle stream
+                    for (SseEmitter emitter : subscription.emitters) {
+                         sendHeartbeat(subscription, emitter);
+                    }
+                    subscription.lastSentMillis = now;
+               }
+
+               if (subscription.status != null && TERMINAL_STATUSES.contains(subscription.status.getStatus())) {
+                    log.info("Wave {} reached {} - closing {} event stream(s)", subscription.waveId,
+                              subscription.status.getStatus(), subscription.emitters.size());
+                    subscription.emitters.forEach(SseEmitter::complete);
+               }
+          }
+     }
+
+     private void broadcast(WaveSubscription subscription, String eventName, Object data) {
+          for (SseEmitter emitter : subscription.emitters) {
+               send(subscription, emitter, eventName, data);
+          }
+     }
+
+     private void send(WaveSubscription subscription, SseEmitter emitter, String eventName, Object data) {
+          try {
+               emitter.send(SseEmitter.event().name(eventName).data(data));
+          } catch (IOException | IllegalStateException e) {
+               // Viewer went away; the container may not report it until much later
+               unsubscribe(subscription, emitter);
+          }
+     }
+
+     private void sendHeartbeat(WaveSubscription subscription, SseEmitter emitter) {
+          try {
+               emitter.send(SseEmitter.event().comment("heartbeat"));
+          } catch (IOException | IllegalStateException e) {
+               unsubscribe(subscription, emitter);
+          }
+     }
+
+     /**
+      * Viewers of one wave and the state last pushed to them. Mutable state is
+      * guarded by the subscription's monitor.
+      */
+     private static final class WaveSubscription {
+          private final String tenantId;
+          private final Long waveId;
+          private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+          private final Map<Long, ShipmentStateDTO> shipments = new HashMap<>();
+          private volatile ScheduledFuture<?> poller;
+          private String version;
+          private WorkflowStatusResponse status;
+          private long lastSentMillis = System.currentTimeMillis();
+
+          WaveSubscription(String tenantId, Long waveId) {
+               this.tenantId = tenantId;
+               this.waveId = waveId;
+          }
+     }
+}
@@ -1,19 +1,27 @@
 package app.tempest.wms.service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import app.tempest.common.cache.QueryResultCache;
 import app.tempest.common.dto.FetchedRatesDTO;
 import app.tempest.common.dto.OrderLineDTO;
+import app.tempest.common.dto.RateSelectionPolicy;
 import app.tempest.common.dto.ShipmentStateDTO;
 import app.tempest.common.dto.ShipToDTO;
 import app.tempest.common.dto.WaveOrderDTO;
+import app.tempest.common.dto.WaveSnapshotDTO;
 import app.tempest.common.dto.requests.WaveExecutionRequest;
 import app.tempest.common.temporal.TaskQueues;
 import app.tempest.wms.dto.CreateWaveRequest;
@@ -40,6 +48,42 @@ public class WaveService {
 
      private final WaveRepository waveRepository;
      private final WorkflowClient workflowClient;
+     private final QueryResultCache queryCache;
+
+     // Waves with more orders than this run as sharded child workflows
+     @Value("${wms.wave-execution.shard-size:500}")
+     private int shardSize;
+
+     // Allocation batches a wave keeps in flight at once, and orders per batch
+     @Value("${wms.wave-execution.allocation.concurrency:10}")
+     private int allocationConcurrency;
+
+     @Value("${wms.wave-execution.allocation.batch-size:100}")
+     private int allocationBatchSize;
+
+     @Value("${wms.wave-execution.streaming:false}")
+     private boolean streamingByDefault;
+
+     @Value("${wms.wave-execution.continue-as-new.max-history-events:10000}")
+     private int continueAsNewHistoryEvents;
+
+     @Value("${wms.wave-execution.continue-as-new.max-history-bytes:10485760}")
+     private long continueAsNewHistoryBytes;
+
+     // Rate shopping latency budget and hedge delay per shipment (0 = off)
+     @Value("${wms.wave-execution.rate-shopping.deadline:10s}")
+     private Duration rateShoppingDeadline;
+
+     @Value("${wms.wave-execution.rate-shopping.hedge-after:0s}")
+     private Duration rateShoppingHedgeAfter;
+
+     // Shipments per batched carrier call in bulk rate shopping
+     @Value("${wms.wave-execution.rate-shopping.batch-size:100}")
+     private int rateShoppingBatchSize;
+
+     // How long a cached wave row (workflow ID, status) is trusted
+     @Value("${wms.query-cache.wave-ref-ttl:30s}")
+     private Duration waveRefTtl;
 
      /**
       * Create a new wave with the specified orders.
@@ -126,6 +170,18 @@ public class WaveService {
       */
      @Transactional
      public WaveResponse releaseWave(String tenantId, Long waveId, ReleaseWaveRequest request) {
+          List<WaveOrderDTO> waveOrders = request.getOrders().stream()
+                    .map(this::toWaveOrderDTO)
+                    .collect(Collectors.toList());
+          return releaseWave(tenantId, waveId, waveOrders, request.getStreaming());
+     }
+
+     /**
+      * Release a wave whose order details are already in workflow form, as
+      * produced by wave planning.
+      */
+     @Transactional
+     public WaveResponse releaseWave(String tenantId, Long waveId, List<WaveOrderDTO> waveOrders, Boolean streaming) {
           Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
                     .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
 
@@ -133,17 +189,25 @@ public class WaveService {
                throw new IllegalStateException("Wave cannot be released - current status: " + wave.getStatus());
           }
 
-          // Build workflow request
-          List<WaveOrderDTO> waveOrders = request.getOrders().stream()
-                    .map(this::toWaveOrderDTO)
-                    .collect(Collectors.toList());
-
+          // Build workflow request. A wave that will run sharded gets only its order
+          // count; each shard loads its own orders from the wave row
+          boolean sharded = shardSize > 0 && waveOrders.size() > shardSize;
           WaveExecutionRequest workflowRequest = WaveExecutionRequest.builder()
                     .tenantId(tenantId)
                     .waveId(wave.getId())
                     .facilityId(wave.getFacilityId())
                     .waveNumber(wave.getWaveNumber())
-                    .orders(waveOrders)
+                    .orders(sharded ? null : waveOrders)
+                    .orderCount(waveOrders.size())
+                    .allocationConcurrency(allocationConcurrency)
+                    .allocationBatchSize(allocationBatchSize)
+                    .shardSize(shardSize)
+                    .streaming(streaming != null ? streaming : streamingByDefault)
+                    .continueAsNewHistoryEvents(continueAsNewHistoryEvents)
+                    .continueAsNewHistoryBytes(continueAsNewHistoryBytes)
+                    .rateShoppingDeadlineMs(rateShoppingDeadline.toMillis())
+                    .rateShoppingHedgeAfterMs(rateShoppingHedgeAfter.toMillis())
+                    .rateShoppingBatchSize(rateShoppingBatchSize)
                     .build();
 
           // Start the workflow
@@ -164,6 +228,7 @@ public class WaveService {
           wave.setWorkflowId(workflowId);
           wave.setUpdatedAt(Instant.now());
           wave = waveRepository.save(wave);
+          queryCache.invalidateAfterCommit(tenantId, cacheGroup(waveId));
 
           return toResponse(wave);
      }
@@ -195,6 +260,7 @@ public class WaveService {
           wave.setStatus(WaveStatus.CANCELLED);
           wave.setUpdatedAt(Instant.now());
           wave = waveRepository.save(wave);
+          queryCache.invalidateAfterCommit(tenantId, cacheGroup(waveId));
 
           return toResponse(wave);
      }
@@ -203,16 +269,12 @@ public class WaveService {
       * Signal that all picks in a wave are completed.
       */
      public void signalPicksCompleted(String tenantId, Long waveId) {
-          Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
-                    .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
-
-          if (wave.getWorkflowId() == null) {
-               throw new IllegalStateException("Wave has no running workflow");
-          }
+          WaveRef wave = runningWave(tenantId, waveId);
 
           WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
-                    WaveExecutionWorkflow.class, wave.getWorkflowId());
+                    WaveExecutionWorkflow.class, wave.workflowId());
           workflow.allPicksCompleted();
+          queryCache.invalidate(tenantId, cacheGroup(waveId));
           log.info("Sent allPicksCompleted signal - waveId: {}", waveId);
      }
 
@@ -220,54 +282,76 @@ public class WaveService {
       * Signal that all packs in a wave are completed.
       */
      public void signalPacksCompleted(String tenantId, Long waveId) {
-          Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
-                    .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
-
-          if (wave.getWorkflowId() == null) {
-               throw new IllegalStateException("Wave has no running workflow");
-          }
+          WaveRef wave = runningWave(tenantId, waveId);
 
           WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
-                    WaveExecutionWorkflow.class, wave.getWorkflowId());
+                    WaveExecutionWorkflow.class, wave.workflowId());
           workflow.allPacksCompleted();
+          queryCache.invalidate(tenantId, cacheGroup(waveId));
           log.info("Sent allPacksCompleted signal - waveId: {}", waveId);
      }
 
      /**
-      * Get the workflow status for a wave.
+      * Signal that one order's picks are completed.
+      */
+     public void signalOrderPickCompleted(String tenantId, Long waveId, Long orderId) {
+          WaveRef wave = runningWave(tenantId, waveId);
+
+          WaveExecutionWorkflow workflow = orderWorkflow(wave, orderId);
+          workflow.orderPickCompleted(orderId);
+          queryCache.invalidate(tenantId, cacheGroup(waveId));
+          log.info("Sent orderPickCompleted signal - waveId: {}, orderId: {}", waveId, orderId);
+     }
+
+     /**
+      * Signal that one order's packing is completed.
+      */
+     public void signalOrderPackCompleted(String tenantId, Long waveId, Long orderId) {
+          WaveRef wave = runningWave(tenantId, waveId);
+
+          WaveExecutionWorkflow workflow = orderWorkflow(wave, orderId);
+          workflow.orderPackCompleted(orderId);
+          queryCache.invalidate(tenantId, cacheGroup(waveId));
+          log.info("Sent orderPackCompleted signal - waveId: {}, orderId: {}", waveId, orderId);
+     }
+
+     /**
+      * Get the workflow status for a wave. Served from the query cache.
       */
      @Transactional(readOnly = true)
      public WorkflowStatusResponse getWorkflowStatus(String tenantId, Long waveId) {
-          Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
-                    .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
+          WaveRef wave = waveRef(tenantId, waveId);
 
-          if (wave.getWorkflowId() == null) {
+          if (wave.workflowId() == null) {
                // No workflow started yet - return status from wave entity
                return WorkflowStatusResponse.builder()
-                         .status(wave.getStatus().name())
+                         .status(wave.status().name())
                          .currentStep(null)
                          .blockingReason(null)
                          .build();
           }
 
+          // Failed queries are not cached; the fallback is built outside the cache
           try {
-               WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
-                         WaveExecutionWorkflow.class, wave.getWorkflowId());
+               return queryCache.get(tenantId, cacheGroup(waveId), "status", () -> {
+                    WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
+                              WaveExecutionWorkflow.class, wave.workflowId());
 
-               String currentStep = workflow.getCurrentStep();
-               String blockingReason = workflow.getBlockingReason();
+                    String currentStep = workflow.getCurrentStep();
+                    String blockingReason = workflow.getBlockingReason();
 
-               return WorkflowStatusResponse.builder()
-                         .status(wave.getStatus().name())
-                         .currentStep(currentStep)
-                         .blockingReason(blockingReason)
-                         .build();
+                    return WorkflowStatusResponse.builder()
+                              .status(wave.status().name())
+                              .currentStep(currentStep)
+                              .blockingReason(blockingReason)
+                              .build();
+               });
           } catch (Exception e) {
                log.warn("Failed to query workflow status for waveId: {}, workflowId: {} - {}",
-                         waveId, wave.getWorkflowId(), e.getMessage());
+                         waveId, wave.workflowId(), e.getMessage());
                // Workflow may have completed or not exist - return status from wave entity
                return WorkflowStatusResponse.builder()
-                         .status(wave.getStatus().name())
+                         .status(wave.status().name())
                          .currentStep(null)
                          .blockingReason(null)
                          .build();
@@ -275,22 +359,33 @@ public class WaveService {
      }
 
      /**
-      * Get shipment states for a wave.
+      * Get shipment states for a wave. Served from the query cache.
       */
      @Transactional(readOnly = true)
      public ShipmentStatesResponse getShipmentStates(String tenantId, Long waveId) {
-          Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
-                    .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
+          WaveRef wave = waveRef(tenantId, waveId);
 
-          if (wave.getWorkflowId() == null) {
+          if (wave.workflowId() == null) {
                return new ShipmentStatesResponse(Map.of());
           }
 
           try {
-               WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
-                         WaveExecutionWorkflow.class, wave.getWorkflowId());
-               Map<Long, ShipmentStateDTO> shipments = workflow.getShipmentStates();
-               return new ShipmentStatesResponse(shipments);
+               return queryCache.get(tenantId, cacheGroup(waveId), "shipments", () -> {
+                    WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
+                              WaveExecutionWorkflow.class, wave.workflowId());
+                    List<String> shardWorkflowIds = workflow.getShardWorkflowIds();
+                    if (shardWorkflowIds.isEmpty()) {
+                         return new ShipmentStatesResponse(workflow.getShipmentStates());
+                    }
+
+                    // Sharded wave - shipments live in the shard workflows
+                    Map<Long, ShipmentStateDTO> shipments = new HashMap<>();
+                    for (String shardWorkflowId : shardWorkflowIds) {
+                         shipments.putAll(workflowClient.newWorkflowStub(
+                                   WaveExecutionWorkflow.class, shardWorkflowId).getShipmentStates());
+                    }
+                    return new ShipmentStatesResponse(shipments);
+               });
           } catch (Exception e) {
                log.warn("Failed to query shipment states for waveId: {} - {}", waveId, e.getMessage());
                return new ShipmentStatesResponse(Map.of());
@@ -298,19 +393,55 @@ public class WaveService {
      }
 
      /**
-      * Signal rate selection for a shipment.
+      * Get a versioned snapshot of a wave - status, step, counters, shipments and
+      * rates - with one query per workflow (parent plus shards).
+      *
+      * The version combines the wave row's status with the version of every
+      * workflow snapshot. If sinceVersion is still current the result has
+      * modified=false and carries only the version.
+      *
+      * The full snapshot is held in the query cache; when it expires, the
+      * refresh asks the workflows for changes since the cached version, so an
+      * idle wave costs one small query per workflow per TTL however many
+      * viewers poll it. The cached snapshot is shared and must not be modified.
       */
-     public void signalRateSelected(String tenantId, Long waveId, Long shipmentId, String carrier, String serviceLevel) {
-          Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
-                    .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
+     @Transactional(readOnly = true)
+     public WaveSnapshotDTO getWaveSnapshot(String tenantId, Long waveId, String sinceVersion) {
+          WaveRef wave = waveRef(tenantId, waveId);
 
-          if (wave.getWorkflowId() == null) {
-               throw new IllegalStateException("Wave has no running workflow");
+          WaveSnapshotDTO snapshot;
+          if (wave.workflowId() == null) {
+               snapshot = entitySnapshot(wave);
+          } else {
+               try {
+                    snapshot = queryCache.get(tenantId, cacheGroup(waveId), "snapshot", queryCache.getDefaultTtl(),
+                              previous -> loadWaveSnapshot(wave, previous));
+               } catch (Exception e) {
+                    log.warn("Failed to query wave snapshot for waveId: {}, workflowId: {} - {}",
+                              waveId, wave.workflowId(), e.getMessage());
+                    // Workflow may have completed or not exist - return status from wave entity
+                    snapshot = entitySnapshot(wave);
+               }
+          }
+          if (snapshot.getVersion().equals(sinceVersion)) {
+               return WaveSnapshotDTO.builder()
+                         .version(snapshot.getVersion())
+                         .modified(false)
+                         .shardWorkflowIds(snapshot.getShardWorkflowIds())
+                         .build();
           }
+          return snapshot;
+     }
 
-          WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
-                    WaveExecutionWorkflow.class, wave.getWorkflowId());
+     /**
+      * Signal rate selection for a shipment.
+      */
+     public void signalRateSelected(String tenantId, Long waveId, Long shipmentId, String carrier, String serviceLevel) {
+          WaveRef wave = runningWave(tenantId, waveId);
+
+          WaveExecutionWorkflow workflow = shipmentWorkflow(wave, shipmentId);
           workflow.rateSelected(shipmentId, carrier, serviceLevel);
+          queryCache.invalidate(tenantId, cacheGroup(waveId));
           log.info("Sent rateSelected signal - waveId: {}, shipmentId: {}, carrier: {}", waveId, shipmentId, carrier);
      }
 
@@ -318,16 +449,11 @@ public class WaveService {
       * Signal to print label for a shipment.
       */
      public void signalPrintLabel(String tenantId, Long waveId, Long shipmentId) {
-          Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
-                    .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
+          WaveRef wave = runningWave(tenantId, waveId);
 
-          if (wave.getWorkflowId() == null) {
-               throw new IllegalStateException("Wave has no running workflow");
-          }
-
-          WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
-                    WaveExecutionWorkflow.class, wave.getWorkflowId());
+          WaveExecutionWorkflow workflow = shipmentWorkflow(wave, shipmentId);
           workflow.printLabel(shipmentId);
+          queryCache.invalidate(tenantId, cacheGroup(waveId));
           log.info("Sent printLabel signal - waveId: {}, shipmentId: {}", waveId, shipmentId);
      }
 
@@ -335,16 +461,11 @@ public class WaveService {
       * Signal that a shipment has been confirmed as shipped.
       */
      public void signalShipmentConfirmed(String tenantId, Long waveId, Long shipmentId) {
-          Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
-                    .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
-
-          if (wave.getWorkflowId() == null) {
-               throw new IllegalStateException("Wave has no running workflow");
-          }
+          WaveRef wave = runningWave(tenantId, waveId);
 
-          WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
-                    WaveExecutionWorkflow.class, wave.getWorkflowId());
+          WaveExecutionWorkflow workflow = shipmentWorkflow(wave, shipmentId);
           workflow.shipmentConfirmed(shipmentId);
+          queryCache.invalidate(tenantId, cacheGroup(waveId));
           log.info("Sent shipmentConfirmed signal - waveId: {}, shipmentId: {}", waveId, shipmentId);
      }
 
@@ -353,28 +474,41 @@ public class WaveService {
       * This triggers parallel rate fetching from USPS, UPS, and FedEx.
       */
      public void signalFetchRates(String tenantId, Long waveId, Long shipmentId) {
-          Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
-                    .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
+          WaveRef wave = runningWave(tenantId, waveId);
 
-          if (wave.getWorkflowId() == null) {
-               throw new IllegalStateException("Wave has no running workflow");
+          WaveExecutionWorkflow workflow = shipmentWorkflow(wave, shipmentId);
+          workflow.fetchRates(shipmentId);
+          queryCache.invalidate(tenantId, cacheGroup(waveId));
+          log.info("Sent fetchRates signal - waveId: {}, shipmentId: {}", waveId, shipmentId);
+     }
+
+     /**
+      * Signal bulk rate shopping for every shipment in a wave. Only shipments
+      * the policy cannot decide are left NEEDS_REVIEW for a person.
+      */
+     public void signalAutoSelectRates(String tenantId, Long waveId, RateSelectionPolicy policy,
+               Integer maxTransitDays) {
+          if (policy == RateSelectionPolicy.CHEAPEST_WITHIN_SLA && (maxTransitDays == null || maxTransitDays < 1)) {
+               throw new IllegalArgumentException("maxTransitDays is required for " + policy);
           }
+          WaveRef wave = runningWave(tenantId, waveId);
 
           WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
-                    WaveExecutionWorkflow.class, wave.getWorkflowId());
-          workflow.fetchRates(shipmentId);
-          log.info("Sent fetchRates signal - waveId: {}, shipmentId: {}", waveId, shipmentId);
+                    WaveExecutionWorkflow.class, wave.workflowId());
+          workflow.autoSelectRates(policy, maxTransitDays);
+          queryCache.invalidate(tenantId, cacheGroup(waveId));
+          log.info("Sent autoSelectRates signal - waveId: {}, policy: {}, maxTransitDays: {}", waveId, policy,
+                    maxTransitDays);
      }
 
      /**
-      * Get fetched rates for a shipment.
+      * Get fetched rates for a shipment. Served from the query cache.
       */
      @Transactional(readOnly = true)
      public FetchedRatesDTO getFetchedRates(String tenantId, Long waveId, Long shipmentId) {
-          Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
-                    .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
+          WaveRef wave = waveRef(tenantId, waveId);
 
-          if (wave.getWorkflowId() == null) {
+          if (wave.workflowId() == null) {
                return FetchedRatesDTO.builder()
                          .shipmentId(shipmentId)
                          .status("PENDING")
@@ -383,9 +517,8 @@ public class WaveService {
           }
 
           try {
-               WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
-                         WaveExecutionWorkflow.class, wave.getWorkflowId());
-               return workflow.getFetchedRates(shipmentId);
+               return queryCache.get(tenantId, cacheGroup(waveId), "rates-" + shipmentId,
+                         () -> shipmentWorkflow(wave, shipmentId).getFetchedRates(shipmentId));
           } catch (Exception e) {
                log.warn("Failed to query fetched rates for waveId: {}, shipmentId: {} - {}",
                          waveId, shipmentId, e.getMessage());
@@ -398,6 +531,160 @@ public class WaveService {
           }
      }
 
+     /**
+      * Query-cache group holding everything cached for a wave. Anything that
+      * changes the wave row or signals one of its workflows invalidates it.
+      */
+     public static String cacheGroup(Long waveId) {
+          return "wave-" + waveId;
+     }
+
+     /**
+      * The parts of the wave row the query and signal paths need, from the query
+      * cache. The workflow ID never changes once set; the status is refreshed by
+      * invalidation on this instance and by wave-ref-ttl elsewhere.
+      */
+     private WaveRef waveRef(String tenantId, Long waveId) {
+          return queryCache.get(tenantId, cacheGroup(waveId), "wave", waveRefTtl, previous -> {
+               Wave wave = waveRepository.findByTenantIdAndId(tenantId, waveId)
+                         .orElseThrow(() -> new IllegalArgumentException("Wave not found: " + waveId));
+               return new WaveRef(tenantId, wave.getId(), wave.getWorkflowId(), wave.getStatus(),
+                         wave.getOrderIds() != null ? wave.getOrderIds().size() : 0);
+          });
+     }
+
+     private WaveRef runningWave(String tenantId, Long waveId) {
+          WaveRef wave = waveRef(tenantId, waveId);
+          if (wave.workflowId() == null) {
+               throw new IllegalStateException("Wave has no running workflow");
+          }
+          return wave;
+     }
+
+     /**
+      * Full snapshot of a released wave. With a previous snapshot, workflows are
+      * asked only for changes since its version and the previous one is reused
+      * if nothing changed. A failed query propagates, so it is never cached.
+      */
+     private WaveSnapshotDTO loadWaveSnapshot(WaveRef wave, WaveSnapshotDTO previous) {
+          String waveStatus = wave.status().name();
+
+          // "<wave status>-<parent version>[.<shard version>...]"
+          List<String> knownVersions = List.of();
+          if (previous != null && previous.getVersion().startsWith(waveStatus + "-")) {
+               knownVersions = List.of(previous.getVersion().substring(waveStatus.length() + 1).split("\\."));
+          }
+
+          WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
+                    WaveExecutionWorkflow.class, wave.workflowId());
+          WaveSnapshotDTO snapshot = workflow.getWaveSnapshot(versionAt(knownVersions, 0));
+
+          List<String> shardWorkflowIds = snapshot.getShardWorkflowIds() != null
+                    ? snapshot.getShardWorkflowIds()
+                    : List.of();
+          List<WaveExecutionWorkflow> shardStubs = new ArrayList<>();
+          List<WaveSnapshotDTO> shardSnapshots = new ArrayList<>();
+          for (int i = 0; i < shardWorkflowIds.size(); i++) {
+               WaveExecutionWorkflow shard = workflowClient.newWorkflowStub(
+                         WaveExecutionWorkflow.class, shardWorkflowIds.get(i));
+               shardStubs.add(shard);
+               shardSnapshots.add(shard.getWaveSnapshot(versionAt(knownVersions, i + 1)));
+          }
+
+          boolean modified = snapshot.isModified() || knownVersions.size() != shardSnapshots.size() + 1
+                    || shardSnapshots.stream().anyMatch(WaveSnapshotDTO::isModified);
+          if (!modified) {
+               return previous;
+          }
+
+          StringBuilder version = new StringBuilder(waveStatus).append('-').append(snapshot.getVersion());
+          shardSnapshots.forEach(shardSnapshot -> version.append('.').append(shardSnapshot.getVersion()));
+
+          // Something changed - fetch in full whatever came back unmodified
+          if (!snapshot.isModified()) {
+               snapshot = workflow.getWaveSnapshot(null);
+          }
+          for (int i = 0; i < shardSnapshots.size(); i++) {
+               WaveSnapshotDTO shardSnapshot = shardSnapshots.get(i);
+               if (!shardSnapshot.isModified()) {
+                    shardSnapshot = shardStubs.get(i).getWaveSnapshot(null);
+               }
+               // Sharded wave - shipments and rates live in the shard workflows
+               snapshot.getShipments().putAll(shardSnapshot.getShipments());
+               snapshot.getRates().putAll(shardSnapshot.getRates());
+          }
+
+          snapshot.setVersion(version.toString());
+          snapshot.setStatus(waveStatus);
+          return snapshot;
+     }
+
+     private WaveSnapshotDTO entitySnapshot(WaveRef wave) {
+          return WaveSnapshotDTO.builder()
+                    .version(wave.status().name())
+                    .modified(true)
+                    .waveId(wave.waveId())
+                    .status(wave.status().name())
+                    .totalOrders(wave.totalOrders())
+                    .shipments(Map.of())
+                    .rates(Map.of())
+                    .shardWorkflowIds(List.of())
+                    .build();
+     }
+
+     private static String versionAt(List<String> versions, int index) {
+          return index < versions.size() ? versions.get(index) : null;
+     }
+
+     /**
+      * Resolve the workflow that owns a shipment: the shard workflow for sharded
+      * waves, otherwise the wave workflow itself. Signalling the shard directly
+      * keeps per-shipment traffic out of the parent's history.
+      *
+      * Only the shard that created a shipment knows it, so each shard is asked
+      * in turn. Only a found shard is cached; if no shard claims the shipment
+      * the signal goes to the wave workflow, which forwards it to every shard.
+      */
+     private WaveExecutionWorkflow shipmentWorkflow(WaveRef wave, Long shipmentId) {
+          WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
+                    WaveExecutionWorkflow.class, wave.workflowId());
+          String shardWorkflowId;
+          try {
+               shardWorkflowId = queryCache.get(wave.tenantId(), cacheGroup(wave.waveId()), "shipment-" + shipmentId,
+                         () -> findShipmentShard(workflow, shipmentId));
+          } catch (NoSuchElementException e) {
+               // Not sharded, or no shard has the shipment - failures are not cached
+               return workflow;
+          }
+          return workflowClient.newWorkflowStub(WaveExecutionWorkflow.class, shardWorkflowId);
+     }
+
+     private String findShipmentShard(WaveExecutionWorkflow workflow, Long shipmentId) {
+          for (String shardWorkflowId : workflow.getShardWorkflowIds()) {
+               String owner = workflowClient.newWorkflowStub(WaveExecutionWorkflow.class, shardWorkflowId)
+                         .getShardWorkflowIdForShipment(shipmentId);
+               if (owner != null) {
+                    return owner;
+               }
+          }
+          throw new NoSuchElementException("No shard owns shipment " + shipmentId);
+     }
+
+     /**
+      * Resolve the workflow that owns an order: the shard workflow for sharded
+      * waves, otherwise the wave workflow itself.
+      */
+     private WaveExecutionWorkflow orderWorkflow(WaveRef wave, Long orderId) {
+          WaveExecutionWorkflow workflow = workflowClient.newWorkflowStub(
+                    WaveExecutionWorkflow.class, wave.workflowId());
+          String shardWorkflowId = queryCache.get(wave.tenantId(), cacheGroup(wave.waveId()), "order-" + orderId,
+                    () -> workflow.getShardWorkflowIdForOrder(orderId));
+          if (shardWorkflowId == null) {
+               return workflow;
+          }
+          return workflowClient.newWorkflowStub(WaveExecutionWorkflow.class, shardWorkflowId);
+     }
+
      private WaveOrderDTO toWaveOrderDTO(WaveOrderDetail order) {
           List<OrderLineDTO> orderLines = order.getOrderLines().stream()
                     .map(this::toOrderLineDTO)
@@ -448,4 +735,10 @@ public class WaveService {
                     .updatedAt(wave.getUpdatedAt())
                     .build();
      }
+
+     /**
+      * The parts of a wave row that the query and signal paths need.
+      */
+     private record WaveRef(String tenantId, Long waveId, String workflowId, WaveStatus status, int totalOrders) {
+     }
 }
@@ -0,0 +1,43 @@
+package app.tempest.wms.temporal.activities;
+
+import java.util.List;
+
+import app.tempest.common.dto.AwaitingWaveOrderDTO;
+import app.tempest.common.dto.WaveOrderDTO;
+import app.tempest.common.dto.requests.WavePlanningRequest;
+import app.tempest.common.dto.results.PlanWavesResult;
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityMethod;
+
+/**
+ * Activities that group waiting orders into waves and release them.
+ * Planning runs here rather than in workflow code, so rule changes never
+ * affect workflow determinism.
+ */
+@ActivityInterface
+public interface WavePlanningActivity {
+
+     /**
+      * Plan waves from one page of AWAITING_WAVE orders.
+      *
+      * @param request the facility and tenant to plan for
+      * @param orders  planning keys of the orders, oldest first
+      * @param more    whether more pages follow; if so each destination's last
+      *                wave is held for the next page
+      * @return the order IDs of each planned wave, and the orders held back
+      */
+     @ActivityMethod
+     PlanWavesResult planWaves(WavePlanningRequest request, List<AwaitingWaveOrderDTO> orders, boolean more);
+
+     /**
+      * Create and release one planned wave. Safe to retry: the wave number
+      * identifies the wave an earlier attempt created.
+      *
+      * @param request    the facility and tenant to plan for
+      * @param waveNumber the number to create the wave with
+      * @param orders     details of the wave's orders that are still waiting
+      * @return the wave ID, or null if no orders were left to release
+      */
+     @ActivityMethod
+     Long releasePlannedWave(WavePlanningRequest request, String waveNumber, List<WaveOrderDTO> orders);
+}
@@ -0,0 +1,38 @@
+package app.tempest.wms.temporal.activities;
+
+import java.util.List;
+
+import app.tempest.common.dto.WaveShardDTO;
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityMethod;
+
+/**
+ * Activities that split a large wave into shards of order IDs, read from the
+ * wave row, so order data never passes through the parent wave's history.
+ */
+@ActivityInterface
+public interface WaveShardActivity {
+
+     /**
+      * Split a wave's orders into contiguous ranges of order IDs.
+      *
+      * @param tenantId  the wave's tenant
+      * @param waveId    the wave to split
+      * @param shardSize the most orders per shard
+      * @return one range per shard, in ascending order ID order
+      */
+     @ActivityMethod
+     List<WaveShardDTO> planShards(String tenantId, Long waveId, int shardSize);
+
+     /**
+      * The wave's order IDs in one shard's range.
+      *
+      * @param tenantId     the wave's tenant
+      * @param waveId       the wave
+      * @param firstOrderId first order ID of the range (inclusive)
+      * @param lastOrderId  last order ID of the range (inclusive)
+      * @return the order IDs, ascending
+      */
+     @ActivityMethod
+     List<Long> getShardOrderIds(String tenantId, Long waveId, Long firstOrderId, Long lastOrderId);
+}
@@ -5,11 +5,13 @@ import java.time.Instant;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import app.tempest.common.cache.QueryResultCache;
 import app.tempest.common.dto.requests.UpdateWaveStatusRequest;
 import app.tempest.common.dto.results.UpdateWaveStatusResult;
 import app.tempest.wms.entity.Wave;
 import app.tempest.wms.entity.Wave.WaveStatus;
 import app.tempest.wms.repo.WaveRepository;
+import app.tempest.wms.service.WaveService;
 import app.tempest.wms.temporal.activities.UpdateWaveStatusActivity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +26,7 @@ import lombok.extern.slf4j.Slf4j;
 public class UpdateWaveStatusActivityImpl implements UpdateWaveStatusActivity {
 
      private final WaveRepository waveRepository;
+     private final QueryResultCache queryCache;
 
      @Override
      @Transactional
@@ -40,6 +43,7 @@ public class UpdateWaveStatusActivityImpl implements UpdateWaveStatusActivity {
           wave.setStatus(newStatus);
           wave.setUpdatedAt(Instant.now());
           waveRepository.save(wave);
+          queryCache.invalidateAfterCommit(request.getTenantId(), WaveService.cacheGroup(request.getWaveId()));
 
           log.info("Wave status updated - waveId: {}, {} -> {}", 
                     request.getWaveId(), previousStatus, newStatus);
@@ -0,0 +1,34 @@
+package app.tempest.wms.temporal.activities.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import app.tempest.common.dto.AwaitingWaveOrderDTO;
+import app.tempest.common.dto.WaveOrderDTO;
+import app.tempest.common.dto.requests.WavePlanningRequest;
+import app.tempest.common.dto.results.PlanWavesResult;
+import app.tempest.wms.service.WavePlanningService;
+import app.tempest.wms.temporal.activities.WavePlanningActivity;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Implementation of WavePlanningActivity.
+ * Delegates to WavePlanningService.
+ */
+@Component
+@RequiredArgsConstructor
+public class WavePlanningActivityImpl implements WavePlanningActivity {
+
+     private final WavePlanningService wavePlanningService;
+
+     @Override
+     public PlanWavesResult planWaves(WavePlanningRequest request, List<AwaitingWaveOrderDTO> orders, boolean more) {
+          return wavePlanningService.planWaves(request, orders, more);
+     }
+
+     @Override
+     public Long releasePlannedWave(WavePlanningRequest request, String waveNumber, List<WaveOrderDTO> orders) {
+          return wavePlanningService.releasePlannedWave(request, waveNumber, orders);
+     }
+}
@@ -0,0 +1,50 @@
+package app.tempest.wms.temporal.activities.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import app.tempest.common.dto.WaveShardDTO;
+import app.tempest.wms.repo.WaveRepository;
+import app.tempest.wms.temporal.activities.WaveShardActivity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of WaveShardActivity.
+ * Reads the wave's order IDs from the wave row.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WaveShardActivityImpl implements WaveShardActivity {
+
+     private final WaveRepository waveRepository;
+
+     @Override
+     @Transactional(readOnly = true)
+     public List<WaveShardDTO> planShards(String tenantId, Long waveId, int shardSize) {
+          List<Long> orderIds = waveRepository.findOrderIds(tenantId, waveId);
+
+          List<WaveShardDTO> shards = new ArrayList<>();
+          for (int from = 0; from < orderIds.size(); from += shardSize) {
+               int to = Math.min(from + shardSize, orderIds.size());
+               shards.add(WaveShardDTO.builder()
+                         .firstOrderId(orderIds.get(from))
+                         .lastOrderId(orderIds.get(to - 1))
+                         .orderCount(to - from)
+                         .build());
+          }
+
+          log.info("Planned wave shards - waveId: {}, orders: {}, shards: {}", waveId, orderIds.size(), shards.size());
+          return shards;
+     }
+
+     @Override
+     @Transactional(readOnly = true)
+     public List<Long> getShardOrderIds(String tenantId, Long waveId, Long firstOrderId, Long lastOrderId) {
+          return waveRepository.findOrderIdsInRange(tenantId, waveId, firstOrderId, lastOrderId);
+     }
+}
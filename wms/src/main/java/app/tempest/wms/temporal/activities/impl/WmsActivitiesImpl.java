@@ -1,12 +1,21 @@
 package app.tempest.wms.temporal.activities.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
 
+import app.tempest.common.dto.PickItemDTO;
 import app.tempest.common.dto.requests.CreatePickWaveRequest;
+import app.tempest.common.dto.requests.CreateWavePickTasksRequest;
 import app.tempest.common.dto.results.CreatePickWaveResult;
+import app.tempest.common.dto.results.CreateWavePickTasksResult;
 import app.tempest.common.temporal.activities.wms.WmsActivities;
+import app.tempest.wms.service.PickTaskService;
+import app.tempest.wms.service.PickTaskService.PickLine;
+import app.tempest.wms.service.PickTaskService.PickTasks;
+import io.temporal.failure.ApplicationFailure;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -15,34 +24,82 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class WmsActivitiesImpl implements WmsActivities {
 
+    private final PickTaskService pickTaskService;
+
     @Override
     public CreatePickWaveResult createPickWave(CreatePickWaveRequest request) {
-        log.info("Creating pick wave - orderId: {}, facilityId: {}, strategy: {}",
-                request.getOrderId(), request.getFacilityId(), request.getStrategy());
+        log.info("Creating pick wave - orderId: {}, waveId: {}, facilityId: {}, strategy: {}",
+                request.getOrderId(), request.getWaveId(), request.getFacilityId(), request.getStrategy());
 
-        // Stub implementation for now
-        // TODO: Implement actual wave creation logic
-        // 1. Check if wave for orderId already exists (idempotency)
-        // 2. If exists, return existing wave
-        // 3. Validate facility exists and is active
-        // 4. Create Wave entity with status CREATED
-        // 5. Create PickTask entities for each item
-        // 6. Return wave details
+        String tenantId = requireTenant(request.getTenantId());
+        List<PickLine> lines = new ArrayList<>();
+        addLines(lines, request.getOrderId(), request.getItems());
+        PickTasks pickTasks = createPickTasks(tenantId, request.getWaveId(), request.getFacilityId(), lines);
 
-        // Simulate wave and task ID generation
-        Long waveId = System.currentTimeMillis();
-        List<Long> pickTaskIds = List.of(waveId + 1, waveId + 2);
+        List<Long> pickTaskIds = pickTasks.taskIdsByOrder().getOrDefault(request.getOrderId(), List.of());
+        boolean alreadyExisted = pickTasks.existingOrderIds().contains(request.getOrderId());
 
-        log.info("Pick wave created - waveId: {}, pickTasks: {}", waveId, pickTaskIds.size());
+        log.info("Pick wave created - orderId: {}, pickTasks: {}, alreadyExisted: {}",
+                request.getOrderId(), pickTaskIds.size(), alreadyExisted);
 
         return CreatePickWaveResult.builder()
-                .waveId(waveId)
+                .waveId(request.getWaveId())
                 .status("CREATED")
                 .pickTaskIds(pickTaskIds)
-                .alreadyExisted(false)
+                .alreadyExisted(alreadyExisted)
                 .build();
     }
-}
 
+    @Override
+    public CreateWavePickTasksResult createWavePickTasks(CreateWavePickTasksRequest request) {
+        int orderCount = request.getOrders() != null ? request.getOrders().size() : 0;
+        log.info("Creating wave pick tasks - waveId: {}, facilityId: {}, orders: {}",
+                request.getWaveId(), request.getFacilityId(), orderCount);
+
+        String tenantId = requireTenant(request.getTenantId());
+        if (request.getWaveId() == null) {
+            throw ApplicationFailure.newNonRetryableFailure("waveId is required", "INVALID_PICK_REQUEST");
+        }
+        List<PickLine> lines = new ArrayList<>();
+        if (request.getOrders() != null) {
+            request.getOrders().forEach(order -> addLines(lines, order.getOrderId(), order.getItems()));
+        }
+        PickTasks pickTasks = createPickTasks(tenantId, request.getWaveId(), request.getFacilityId(), lines);
+
+        log.info("Wave pick tasks created - waveId: {}, orders: {}, alreadyExisted: {}",
+                request.getWaveId(), pickTasks.taskIdsByOrder().size(), pickTasks.existingOrderIds().size());
+
+        return CreateWavePickTasksResult.builder()
+                .waveId(request.getWaveId())
+                .pickTaskIdsByOrder(pickTasks.taskIdsByOrder())
+                .alreadyExistedOrderIds(new ArrayList<>(pickTasks.existingOrderIds()))
+                .build();
+    }
+
+    private PickTasks createPickTasks(String tenantId, Long waveId, Long facilityId, List<PickLine> lines) {
+        try {
+            return pickTaskService.createPickTasks(tenantId, waveId, facilityId, lines);
+        } catch (IllegalArgumentException e) {
+            throw ApplicationFailure.newNonRetryableFailure(e.getMessage(), "INVALID_PICK_REQUEST");
+        }
+    }
+
+    private static void addLines(List<PickLine> lines, Long orderId, List<PickItemDTO> items) {
+        if (items == null) {
+            return;
+        }
+        for (PickItemDTO item : items) {
+            lines.add(new PickLine(orderId, item.getOrderLineId(), item.getSku(), item.getQuantity()));
+        }
+    }
+
+    private static String requireTenant(String tenantId) {
+        if (tenantId == null || tenantId.isBlank()) {
+            throw ApplicationFailure.newNonRetryableFailure("tenantId is required", "MISSING_TENANT");
+        }
+        return tenantId;
+    }
+}
@@ -1,9 +1,13 @@
 package app.tempest.wms.temporal.workflow;
 
+import java.util.List;
 import java.util.Map;
 
 import app.tempest.common.dto.FetchedRatesDTO;
+import app.tempest.common.dto.RateSelectionPolicy;
+import app.tempest.common.dto.ShardProgressDTO;
 import app.tempest.common.dto.ShipmentStateDTO;
+import app.tempest.common.dto.WaveSnapshotDTO;
 import app.tempest.common.dto.WaveStatusDTO;
 import app.tempest.common.dto.requests.WaveExecutionRequest;
 import app.tempest.common.dto.results.WaveExecutionResult;
@@ -22,11 +26,19 @@ import io.temporal.workflow.WorkflowMethod;
  * 2. Pick task creation and completion
  * 3. Packing completion
  * 4. Shipment creation (auto after packs complete)
- * 5. HITL: Rate selection (optional), Print label, Confirm shipped
+ * 5. HITL: Rate selection (optional, or in bulk by policy), Print label,
+ * Confirm shipped
  * 
  * The workflow waits for human-driven signals (picks completed, packs
  * completed, print label, confirm shipped) and can be cancelled at any point
  * with proper compensation.
+ * 
+ * Waves larger than the request's shardSize run sharded: the wave workflow
+ * starts one child WaveExecutionWorkflow per shard of orders, forwards
+ * wave-level signals to them and aggregates their progress. Order and shipment
+ * signals should be sent to the owning shard (see getShardWorkflowIdForOrder
+ * and getShardWorkflowIdForShipment) to keep the parent's history bounded; the
+ * parent forwards shipment signals it receives to every running shard.
  */
 @WorkflowInterface
 public interface WaveExecutionWorkflow {
@@ -65,7 +77,7 @@ public interface WaveExecutionWorkflow {
 
      /**
       * Signal that a specific order's pick tasks are complete.
-      * Used for tracking per-order progress within the wave.
+      * In streaming mode this consumes the order's inventory right away.
       * 
       * @param orderId The order ID that has completed picking
       */
@@ -74,7 +86,7 @@ public interface WaveExecutionWorkflow {
 
      /**
       * Signal that a specific order's packing is complete.
-      * Used for tracking per-order progress within the wave.
+      * In streaming mode this creates the order's shipment right away.
       * 
       * @param orderId The order ID that has completed packing
       */
@@ -118,6 +130,19 @@ public interface WaveExecutionWorkflow {
      @QueryMethod
      WaveStatusDTO getWaveStatus();
 
+     /**
+      * Query a snapshot of everything a wave view shows: status, step, blocking
+      * reason, counters, shipments and fetched rates. The version is derived
+      * from the snapshot's content, so it survives replay and continue-as-new
+      * and is the same on every worker.
+      * 
+      * @param sinceVersion The version the caller already has, or null
+      * @return The full snapshot, or only its version (modified=false) if it
+      *         still equals sinceVersion
+      */
+     @QueryMethod
+     WaveSnapshotDTO getWaveSnapshot(String sinceVersion);
+
      /**
       * Query the current step the workflow is executing.
       * 
@@ -153,6 +178,20 @@ public interface WaveExecutionWorkflow {
     @SignalMethod
     void fetchRates(Long shipmentId);
 
+    /**
+     * Signal to rate-shop every shipment in the wave in bulk. Shipments are
+     * quoted in batches (one call per carrier per batch) and get the rate the
+     * policy picks; shipments created later are handled the same way.
+     * Shipments that already have fetched rates are left alone, and shipments
+     * without a qualifying rate become NEEDS_REVIEW for a person to handle
+     * with fetchRates and rateSelected. Forwarded to every shard.
+     * 
+     * @param policy         How to pick a rate
+     * @param maxTransitDays SLA in business days for CHEAPEST_WITHIN_SLA
+     */
+    @SignalMethod
+    void autoSelectRates(RateSelectionPolicy policy, Integer maxTransitDays);
+
     /**
      * Query the fetched rates for a shipment.
      * Returns the current state of rate fetching including per-carrier status.
@@ -162,4 +201,42 @@ public interface WaveExecutionWorkflow {
      */
     @QueryMethod
     FetchedRatesDTO getFetchedRates(Long shipmentId);
+
+    /**
+     * Signal from a shard (child) workflow reporting its progress to the parent
+     * wave workflow. Sent at shard step transitions only.
+     * 
+     * @param progress The shard's current counts and step
+     */
+    @SignalMethod
+    void shardProgress(ShardProgressDTO progress);
+
+    /**
+     * Query the workflow IDs of this wave's shard workflows.
+     * 
+     * @return Shard workflow IDs in shard order, or an empty list if the wave is
+     *         not sharded
+     */
+    @QueryMethod
+    List<String> getShardWorkflowIds();
+
+    /**
+     * Query which shard workflow owns an order.
+     * 
+     * @param orderId The order ID
+     * @return The shard workflow ID, or null if the wave is not sharded
+     */
+    @QueryMethod
+    String getShardWorkflowIdForOrder(Long orderId);
+
+    /**
+     * Query whether this shard owns a shipment. Only shards know their
+     * shipments, so callers ask each of getShardWorkflowIds in turn.
+     * 
+     * @param shipmentId The shipment ID
+     * @return This shard's workflow ID if it created the shipment, otherwise
+     *         null (always null for the parent and for unsharded waves)
+     */
+    @QueryMethod
+    String getShardWorkflowIdForShipment(Long shipmentId);
 }
@@ -0,0 +1,23 @@
+package app.tempest.wms.temporal.workflow;
+
+import app.tempest.common.dto.requests.WavePlanningRequest;
+import app.tempest.common.dto.results.WavePlanningResult;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+
+/**
+ * Workflow for one wave planning run of a tenant, started by the tenant's
+ * Temporal Schedule (see WavePlanningScheduler).
+ *
+ * Pages AWAITING_WAVE orders from OMS as compact planning keys, oldest first,
+ * up to the request's maxOrders. Each page is planned by the planning
+ * activity; a planned wave's order details are fetched from OMS only when the
+ * wave is released. The workflow continues as new after each page, carrying
+ * the keyset position, the orders held back for the next page and the totals.
+ */
+@WorkflowInterface
+public interface WavePlanningWorkflow {
+
+     @WorkflowMethod
+     WavePlanningResult plan(WavePlanningRequest request);
+}
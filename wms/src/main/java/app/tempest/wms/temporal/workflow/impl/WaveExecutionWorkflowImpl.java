@@ -5,37 +5,63 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import app.tempest.common.dto.CarrierRateDTO;
 import app.tempest.common.dto.FetchedRatesDTO;
+import app.tempest.common.dto.OrderAllocationDTO;
 import app.tempest.common.dto.OrderLineDTO;
+import app.tempest.common.dto.ParcelDTO;
 import app.tempest.common.dto.PickItemDTO;
+import app.tempest.common.dto.PickOrderDTO;
+import app.tempest.common.dto.RateSelectionPolicy;
+import app.tempest.common.dto.ShardProgressDTO;
 import app.tempest.common.dto.ShipToDTO;
 import app.tempest.common.dto.ShipmentStateDTO;
+import app.tempest.common.dto.WaveExecutionStateDTO;
 import app.tempest.common.dto.WaveOrderDTO;
+import app.tempest.common.dto.WaveShardDTO;
+import app.tempest.common.dto.WaveSnapshotDTO;
 import app.tempest.common.dto.WaveStatusDTO;
+import app.tempest.common.dto.requests.FetchRatesBatchRequest;
 import app.tempest.common.dto.requests.FetchRatesRequest;
+import app.tempest.common.dto.requests.AllocateInventoryBatchRequest;
 import app.tempest.common.dto.requests.AllocateInventoryRequest;
 import app.tempest.common.dto.requests.ConfirmShipmentRequest;
 import app.tempest.common.dto.requests.ConsumeInventoryRequest;
 import app.tempest.common.dto.requests.CreatePickWaveRequest;
+import app.tempest.common.dto.requests.CreateWavePickTasksRequest;
 import app.tempest.common.dto.requests.CreateShipmentRequest;
 import app.tempest.common.dto.requests.GenerateShippingLabelRequest;
+import app.tempest.common.dto.requests.GetOrdersForWaveRequest;
+import app.tempest.common.dto.requests.GenerateShippingLabelsRequest;
 import app.tempest.common.dto.requests.MarkOrderReservedRequest;
 import app.tempest.common.dto.requests.MarkOrderShippedRequest;
 import app.tempest.common.dto.requests.ReleaseInventoryRequest;
 import app.tempest.common.dto.requests.SelectRateRequest;
+import app.tempest.common.dto.requests.SelectRatesRequest;
 import app.tempest.common.dto.requests.WaveExecutionRequest;
+import app.tempest.common.dto.results.AllocateInventoryBatchResult;
 import app.tempest.common.dto.results.AllocateInventoryResult;
 import app.tempest.common.dto.results.CreateShipmentResult;
 import app.tempest.common.dto.results.GenerateShippingLabelResult;
+import app.tempest.common.dto.results.GenerateShippingLabelsResult;
+import app.tempest.common.dto.results.OrderAllocationResult;
 import app.tempest.common.dto.results.OrderShipmentResult;
+import app.tempest.common.dto.results.SelectRatesResult;
 import app.tempest.common.dto.results.WaveExecutionResult;
 import app.tempest.common.dto.requests.UpdateWaveStatusRequest;
 import app.tempest.common.temporal.TaskQueues;
+import app.tempest.common.dto.results.FetchRatesBatchResult;
 import app.tempest.common.dto.results.FetchRatesResult;
 import app.tempest.common.temporal.activities.ims.ImsActivities;
 import app.tempest.common.temporal.activities.oms.OmsActivities;
@@ -45,18 +71,26 @@ import app.tempest.common.temporal.activities.sms.FetchUSPSRatesActivity;
 import app.tempest.common.temporal.activities.sms.SmsActivities;
 import app.tempest.common.temporal.activities.wms.WmsActivities;
 import app.tempest.wms.temporal.activities.UpdateWaveStatusActivity;
+import app.tempest.wms.temporal.activities.WaveShardActivity;
 import app.tempest.wms.temporal.workflow.WaveExecutionWorkflow;
 import io.temporal.activity.ActivityOptions;
 import io.temporal.common.RetryOptions;
+import io.temporal.failure.CanceledFailure;
+import io.temporal.failure.TemporalFailure;
 import io.temporal.workflow.Async;
+import io.temporal.workflow.CancellationScope;
+import io.temporal.workflow.ChildWorkflowOptions;
 import io.temporal.workflow.Promise;
+import io.temporal.workflow.SignalExternalWorkflowException;
 import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInfo;
+import org.slf4j.Logger;
 
 /**
  * Implementation of WaveExecutionWorkflow with HITL shipment handling.
  * 
  * Orchestrates batch fulfillment of orders in a wave:
- * 1. Allocate inventory for all orders
+ * 1. Allocate inventory for all orders (batched, bounded concurrency per wave)
  * 2. Mark orders as reserved
  * 3. Create pick tasks for the wave
  * 4. Wait for all picks to complete (signal)
@@ -68,9 +102,35 @@ import io.temporal.workflow.Workflow;
  * - Print label (signal triggers activity)
  * - Confirm shipped (signal)
  * 9. Mark orders as shipped when all shipments confirmed
+ * 
+ * In streaming mode steps 4-7 run per order instead of per wave: after step 3
+ * the workflow goes straight into the step 8 loop, which also consumes
+ * inventory for each order whose pick has completed and creates the shipment
+ * for each order whose pack has completed. The wave-level signals still flush
+ * every remaining order, and the wave completes once every order that has not
+ * failed is shipped.
+ * 
+ * Rate shopping runs beside the step 8 loop: each carrier's rates are
+ * published as they arrive, and carriers still out at the request's deadline
+ * are cancelled and marked TIMED_OUT (the shipment's rates are then PARTIAL).
+ * With a rate selection policy (from the request or the autoSelectRates
+ * signal) the loop also rate-shops shipments in bulk: batched carrier calls,
+ * a rate chosen per shipment, and NEEDS_REVIEW for the exceptions.
+ * 
+ * The step 8 loop continues as new once the history passes the configured
+ * event count or size, carrying all wave state (including queued signals) into
+ * the next run through WaveExecutionRequest.resumeState.
+ * 
+ * Waves with more orders than the request's shardSize run in sharded mode:
+ * this workflow splits the wave row's order IDs into ranges and starts one
+ * child WaveExecutionWorkflow per range. Each shard loads its own orders and
+ * runs steps 1-9; the parent forwards wave-level signals to them and keeps the
+ * counters each shard reports at its step transitions.
  */
 public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
 
+     private static final Logger log = Workflow.getLogger(WaveExecutionWorkflowImpl.class);
+
      // Workflow state
      private String status = "STARTED";
      private String currentStep = "INITIALIZING";
@@ -78,6 +138,9 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
      private boolean allPicksCompleted = false;
      private boolean allPacksCompleted = false;
      private boolean cancelled = false;
+     private boolean streaming = false;
+     private boolean picksFlushed = false;
+     private boolean packsFlushed = false;
      private String cancellationReason = null;
 
      // Per-order tracking
@@ -97,6 +160,15 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
      // Rate fetching state
      private final Map<Long, FetchedRatesDTO> fetchedRatesMap = new HashMap<>();
      private final Set<Long> shipmentsToFetchRates = new HashSet<>();
+     private final Map<Long, CancellationScope> rateShops = new HashMap<>(); // shipmentId -> running carrier calls
+     private Duration rateShoppingDeadline;
+     private Duration rateShoppingHedgeAfter;
+
+     // Bulk rate shopping state
+     private RateSelectionPolicy rateSelectionPolicy;
+     private Integer rateSelectionMaxTransitDays;
+     private final Set<Long> shipmentsToAutoRate = new HashSet<>();
+     private boolean autoRatesForwarded = true;
 
      // Counters
      private int ordersAllocated = 0;
@@ -105,10 +177,67 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
      private int ordersShipped = 0;
      private int ordersFailed = 0;
 
+     // Sharding state (parent wave only) - bounded by shard count, never by order count in history
+     private final List<String> shardWorkflowIds = new ArrayList<>();
+     private final Map<Integer, ShardProgressDTO> shardProgress = new TreeMap<>();
+     private final List<WaveShardDTO> shardRanges = new ArrayList<>();
+     private final List<Promise<WaveExecutionResult>> shardResults = new ArrayList<>();
+     private final List<Runnable> pendingShardSignals = new ArrayList<>();
+     private boolean sharded = false;
+     private boolean picksForwarded = false;
+     private boolean packsForwarded = false;
+     private boolean cancelForwarded = false;
+     private Integer shardIndex;
+
+     // Progress not yet reported to the parent (shards only); reports carry deltas
+     private int unreportedAdvances = 0;
+     private Promise<Void> shardReportTimer;
+
+     // Pipeline order of steps, used to report the least-advanced shard as the wave's step
+     private static final List<String> STEP_ORDER = List.of(
+               "INITIALIZING", "ALLOCATING_INVENTORY", "MARKING_RESERVED", "CREATING_PICK_TASKS",
+               "STREAMING_ORDERS", "WAITING_FOR_PICKS", "CONSUMING_INVENTORY", "WAITING_FOR_PACKS", "CREATING_SHIPMENTS",
+               "WAITING_FOR_SHIPMENTS", "UPDATING_WAVE_STATUS", "COMPLETED");
+
+     // Allocation defaults when the request does not set them
+     private static final int DEFAULT_ALLOCATION_CONCURRENCY = 10;
+     private static final int DEFAULT_ALLOCATION_BATCH_SIZE = 100;
+
+     // Shipments per batched carrier call in bulk rate shopping when the request does not set it
+     private static final int DEFAULT_RATE_SHOPPING_BATCH_SIZE = 100;
+
+     // A streaming shard reports progress after this many order advances, or
+     // after the interval once any advance is pending, whichever comes first
+     private static final int SHARD_PROGRESS_REPORT_ADVANCES = 100;
+     private static final Duration SHARD_PROGRESS_REPORT_INTERVAL = Duration.ofSeconds(10);
+
+     // Labels per generateLabels call; keeps activity payloads bounded on very large waves
+     private static final int LABEL_BATCH_SIZE = 500;
+
+     // Continue-as-new thresholds for the shipment loop when the request does not set them
+     private static final int DEFAULT_CONTINUE_AS_NEW_HISTORY_EVENTS = 10_000;
+     private static final long DEFAULT_CONTINUE_AS_NEW_HISTORY_BYTES = 10L * 1024 * 1024;
+
+     // Workflow.getVersion change IDs for commands that differ from the original
+     // wave workflow. Runs that already passed a change point replay its
+     // DEFAULT_VERSION branch, which issues the original commands
+     private static final String BATCHED_ALLOCATION = "batched-allocation";
+     private static final String WAVE_PICK_TASKS = "wave-pick-tasks";
+     private static final String STOP_ON_CANCEL = "stop-on-cancel";
+     private static final String ASYNC_RATE_SHOP = "async-rate-shop";
+     private static final String BATCHED_LABELS = "batched-labels";
+     private static final String CONTINUE_AS_NEW = "continue-as-new";
+
+     // Snapshot version fingerprint (64-bit FNV parameters)
+     private static final long SNAPSHOT_HASH_SEED = 0xcbf29ce484222325L;
+     private static final long SNAPSHOT_HASH_PRIME = 0x100000001b3L;
+
      // Request data (for queries and activities)
      private Long waveId;
      private String tenantId;
+     private Long facilityId;
      private int totalOrders = 0;
+     private final Map<Long, WaveOrderDTO> ordersById = new LinkedHashMap<>();
 
      // Default activity options with retry
      private final ActivityOptions defaultActivityOptions = ActivityOptions.newBuilder()
@@ -134,9 +263,17 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
                          .setTaskQueue(TaskQueues.OMS)
                          .build());
 
-     // WMS Activities (local - same task queue as workflow)
+     // WMS Activities (local - same task queue as workflow); pick task creation
+     // runs in one transaction for every order in the wave
      private final WmsActivities wmsActivities = Workflow.newActivityStub(
                WmsActivities.class,
+               ActivityOptions.newBuilder(defaultActivityOptions)
+                         .setStartToCloseTimeout(Duration.ofMinutes(2))
+                         .build());
+
+     // WMS Activity reading a sharded wave's order IDs from the wave row
+     private final WaveShardActivity waveShardActivity = Workflow.newActivityStub(
+               WaveShardActivity.class,
                defaultActivityOptions);
 
      // WMS Activity to update wave status in DB
@@ -174,216 +311,848 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
                FetchFedExRatesActivity.class,
                rateActivityOptions);
 
+     // Batched rate calls for bulk rate shopping quote a whole batch per call
+     private final ActivityOptions rateBatchActivityOptions = ActivityOptions.newBuilder(rateActivityOptions)
+               .setStartToCloseTimeout(Duration.ofMinutes(2))
+               .build();
+
+     private final FetchUSPSRatesActivity uspsRatesBatchActivity = Workflow.newActivityStub(
+               FetchUSPSRatesActivity.class,
+               rateBatchActivityOptions);
+
+     private final FetchUPSRatesActivity upsRatesBatchActivity = Workflow.newActivityStub(
+               FetchUPSRatesActivity.class,
+               rateBatchActivityOptions);
+
+     private final FetchFedExRatesActivity fedexRatesBatchActivity = Workflow.newActivityStub(
+               FetchFedExRatesActivity.class,
+               rateBatchActivityOptions);
+
      @Override
      public WaveExecutionResult execute(WaveExecutionRequest request) {
           this.waveId = request.getWaveId();
           this.tenantId = request.getTenantId();
-          this.totalOrders = request.getOrders().size();
+          this.facilityId = request.getFacilityId();
+          this.shardIndex = request.getShardIndex();
+          if (shardIndex != null && request.getOrders() == null) {
+               // Kept in the request so they carry across continue-as-new
+               request.setOrders(loadShardOrders(request));
+          }
+          this.totalOrders = request.getOrders() != null ? request.getOrders().size()
+                    : Objects.requireNonNullElse(request.getOrderCount(), 0);
+          this.streaming = Boolean.TRUE.equals(request.getStreaming());
+          this.rateShoppingDeadline = positiveMillis(request.getRateShoppingDeadlineMs());
+          this.rateShoppingHedgeAfter = positiveMillis(request.getRateShoppingHedgeAfterMs());
+          this.rateSelectionPolicy = request.getRateSelectionPolicy();
+          this.rateSelectionMaxTransitDays = request.getRateSelectionMaxTransitDays();
+
+          if (shardIndex == null && request.getShardSize() != null && request.getShardSize() > 0
+                    && totalOrders > request.getShardSize()) {
+               return executeSharded(request);
+          }
 
-          // Initialize order statuses
           for (WaveOrderDTO order : request.getOrders()) {
-               orderStatuses.put(order.getOrderId(), "PENDING");
+               ordersById.put(order.getOrderId(), order);
           }
 
           try {
-               // Step 1: Allocate Inventory for all orders
-               currentStep = "ALLOCATING_INVENTORY";
-               status = "ALLOCATING";
+               if (request.getResumeState() != null) {
+                    // Continued from a previous run - resume the shipment loop where it left off
+                    restoreState(request.getResumeState());
+                    queueAutoRates();
+               } else {
+                    // Initialize order statuses
+                    for (WaveOrderDTO order : request.getOrders()) {
+                         orderStatuses.put(order.getOrderId(), "PENDING");
+                    }
+
+                    if (!executeUntilShipments(request)) {
+                         return handleCancellation(request);
+                    }
+               }
+
+               // Step 8: HITL - Wait for all shipments to be confirmed
+               if (streaming) {
+                    currentStep = "STREAMING_ORDERS";
+                    status = "IN_PROGRESS";
+                    blockingReason = "Waiting for order picks and packs: print labels and confirm shipped";
+               } else {
+                    currentStep = "WAITING_FOR_SHIPMENTS";
+                    blockingReason = "Waiting for shipments: print labels and confirm shipped";
+               }
+               reportShardProgress();
 
-               for (WaveOrderDTO order : request.getOrders()) {
-                    if (cancelled)
+               // Process label generation requests as they come in
+               while (!waveFulfilled() && !cancelled) {
+                    // Wait for either an order pick/pack (streaming), a rate fetch, label request,
+                    // a confirmation, or cancellation
+                    Workflow.await(() -> hasStreamingWork() ||
+                              !shipmentsToAutoRate.isEmpty() ||
+                              !shipmentsToFetchRates.isEmpty() ||
+                              !shipmentsToGenerateLabel.isEmpty() ||
+                              !shipmentsToConfirm.isEmpty() ||
+                              shardReportDue() ||
+                              waveFulfilled() ||
+                              cancelled);
+
+                    if (cancelled && Workflow.getVersion(STOP_ON_CANCEL, Workflow.DEFAULT_VERSION, 1) == 1) {
                          break;
-                    try {
-                         allocateInventoryForOrder(order);
-                         orderStatuses.put(order.getOrderId(), "ALLOCATED");
-                         ordersAllocated++;
-                    } catch (Exception e) {
-                         orderStatuses.put(order.getOrderId(), "ALLOCATION_FAILED");
-                         failedOrderIds.add(order.getOrderId());
-                         ordersFailed++;
+                    }
+
+                    // Streaming: consume picked orders and create shipments for packed orders
+                    if (streaming) {
+                         advanceStreamingOrders(request);
+                    }
+
+                    // Bulk rate shopping for shipments queued under the wave's policy
+                    if (!shipmentsToAutoRate.isEmpty()) {
+                         autoSelectRates(request);
+                    }
+
+                    // Start pending rate fetches (parallel carrier calls, not awaited here)
+                    for (Long shipmentId : new HashSet<>(shipmentsToFetchRates)) {
+                         shipmentsToFetchRates.remove(shipmentId);
+                         fetchRatesForShipment(shipmentId);
+                    }
+
+                    // Print every label requested since the last pass in one SMS call
+                    if (!shipmentsToGenerateLabel.isEmpty()) {
+                         if (Workflow.getVersion(BATCHED_LABELS, Workflow.DEFAULT_VERSION, 1) == 1) {
+                              List<Long> shipmentIds = shipmentsToGenerateLabel.stream().sorted().toList();
+                              shipmentsToGenerateLabel.clear();
+                              generateLabelsForShipments(shipmentIds);
+                         } else {
+                              for (Long shipmentId : new HashSet<>(shipmentsToGenerateLabel)) {
+                                   shipmentsToGenerateLabel.remove(shipmentId);
+                                   generateLabelForShipment(shipmentId);
+                              }
+                         }
+                    }
+
+                    // Process pending confirmations
+                    for (Long shipmentId : new HashSet<>(shipmentsToConfirm)) {
+                         shipmentsToConfirm.remove(shipmentId);
+                         confirmShipment(shipmentId);
+                    }
+
+                    // Carry shipment state into a fresh run before the history grows too large
+                    if (!waveFulfilled() && !cancelled && shouldContinueAsNew(request)
+                              && Workflow.getVersion(CONTINUE_AS_NEW, Workflow.DEFAULT_VERSION, 1) == 1) {
+                         continueAsNewWithState(request);
                     }
                }
 
+               blockingReason = null;
+               rateShops.values().forEach(CancellationScope::cancel);
+
                if (cancelled) {
                     return handleCancellation(request);
                }
 
-               // Step 2: Mark orders as reserved
-               currentStep = "MARKING_RESERVED";
-               status = "RESERVED";
+               // Step 9: Update wave status in database
+               currentStep = "UPDATING_WAVE_STATUS";
 
-               for (WaveOrderDTO order : request.getOrders()) {
-                    if (failedOrderIds.contains(order.getOrderId()))
-                         continue;
+               updateWaveStatus("COMPLETED");
+               blockingReason = null;
 
-                    MarkOrderReservedRequest reservedRequest = MarkOrderReservedRequest.builder()
-                              .orderId(order.getOrderId())
-                              .reservationId(orderReservationIds.get(order.getOrderId()))
-                              .build();
-                    omsActivities.markOrderReserved(reservedRequest);
-                    orderStatuses.put(order.getOrderId(), "RESERVED");
+               currentStep = "COMPLETED";
+               status = "COMPLETED";
+               reportShardProgress();
+
+               return WaveExecutionResult.builder()
+                         .waveId(waveId)
+                         .finalStatus("COMPLETED")
+                         .totalOrders(totalOrders)
+                         .successfulOrders(ordersShipped)
+                         .failedOrders(ordersFailed)
+                         .orderShipments(shardIndex != null ? List.of() : orderShipments)
+                         .build();
+
+          } catch (Exception e) {
+               status = "FAILED";
+               currentStep = "FAILED";
+               blockingReason = e.getMessage();
+
+               // Try to update wave status to FAILED
+               try {
+                    updateWaveStatus("FAILED");
+               } catch (Exception ignored) {
+                    // Best effort - don't fail the workflow if status update fails
                }
+               reportShardProgress();
 
-               // Step 3: Create pick tasks for the wave
-               currentStep = "CREATING_PICK_TASKS";
-               status = "PICKING";
+               throw e;
+          }
+     }
 
-               for (WaveOrderDTO order : request.getOrders()) {
-                    if (failedOrderIds.contains(order.getOrderId()))
-                         continue;
+     /**
+      * Load a shard's orders: its order IDs from the wave row, then their
+      * details from OMS. Only this shard's orders enter its history.
+      */
+     private List<WaveOrderDTO> loadShardOrders(WaveExecutionRequest request) {
+          List<Long> orderIds = waveShardActivity.getShardOrderIds(request.getTenantId(), request.getWaveId(),
+                    request.getFirstOrderId(), request.getLastOrderId());
+          return omsActivities.getOrdersForWaveShard(GetOrdersForWaveRequest.builder()
+                    .tenantId(request.getTenantId())
+                    .orderIds(orderIds)
+                    .build())
+                    .getOrders();
+     }
 
-                    List<PickItemDTO> pickItems = order.getOrderLines().stream()
-                              .map(line -> PickItemDTO.builder()
-                                        .sku(line.getSku())
-                                        .quantity(line.getQuantity())
-                                        .build())
-                              .toList();
+     /**
+      * Steps 1-7: allocate, reserve, create pick tasks, wait for picks, consume,
+      * wait for packs and create shipments.
+      *
+      * @return false if the wave was cancelled along the way
+      */
+     private boolean executeUntilShipments(WaveExecutionRequest request) {
+          // Step 1: Allocate Inventory for all orders
+          currentStep = "ALLOCATING_INVENTORY";
+          status = "ALLOCATING";
+
+          if (Workflow.getVersion(BATCHED_ALLOCATION, Workflow.DEFAULT_VERSION, 1) == 1) {
+               allocateInventoryForWave(request);
+          } else {
+               allocateInventoryPerOrder(request);
+          }
+          reportShardProgress();
+
+          if (cancelled) {
+               return false;
+          }
+
+          // Step 2: Mark orders as reserved
+          currentStep = "MARKING_RESERVED";
+          status = "RESERVED";
+
+          for (WaveOrderDTO order : request.getOrders()) {
+               if (failedOrderIds.contains(order.getOrderId()))
+                    continue;
 
-                    CreatePickWaveRequest pickRequest = CreatePickWaveRequest.builder()
+               MarkOrderReservedRequest reservedRequest = MarkOrderReservedRequest.builder()
+                         .orderId(order.getOrderId())
+                         .reservationId(orderReservationIds.get(order.getOrderId()))
+                         .build();
+               omsActivities.markOrderReserved(reservedRequest);
+               orderStatuses.put(order.getOrderId(), "RESERVED");
+          }
+
+          // Step 3: Create pick tasks for the whole wave in one activity, so
+          // identical SKUs are consolidated across orders
+          currentStep = "CREATING_PICK_TASKS";
+          status = "PICKING";
+
+          List<PickOrderDTO> pickOrders = new ArrayList<>();
+          for (WaveOrderDTO order : request.getOrders()) {
+               if (failedOrderIds.contains(order.getOrderId()))
+                    continue;
+
+               pickOrders.add(PickOrderDTO.builder()
+                         .orderId(order.getOrderId())
+                         .items(order.getOrderLines().stream()
+                                   .map(line -> PickItemDTO.builder()
+                                             .orderLineId(line.getOrderLineId())
+                                             .sku(line.getSku())
+                                             .quantity(line.getQuantity())
+                                             .build())
+                                   .toList())
+                         .build());
+          }
+
+          if (!pickOrders.isEmpty() && Workflow.getVersion(WAVE_PICK_TASKS, Workflow.DEFAULT_VERSION, 1) == 1) {
+               wmsActivities.createWavePickTasks(CreateWavePickTasksRequest.builder()
+                         .tenantId(request.getTenantId())
+                         .waveId(request.getWaveId())
+                         .facilityId(request.getFacilityId())
+                         .orders(pickOrders)
+                         .build());
+               for (PickOrderDTO order : pickOrders) {
+                    orderStatuses.put(order.getOrderId(), "PICKING");
+               }
+          } else {
+               // Runs started before wave pick tasks create one pick wave per order
+               for (PickOrderDTO order : pickOrders) {
+                    wmsActivities.createPickWave(CreatePickWaveRequest.builder()
+                              .tenantId(request.getTenantId())
                               .orderId(order.getOrderId())
                               .facilityId(request.getFacilityId())
                               .strategy("WAVE")
-                              .items(pickItems)
-                              .build();
-
-                    wmsActivities.createPickWave(pickRequest);
+                              .items(order.getItems())
+                              .build());
                     orderStatuses.put(order.getOrderId(), "PICKING");
                }
+          }
 
-               // Step 4: Wait for all picks to complete
-               currentStep = "WAITING_FOR_PICKS";
-               blockingReason = "Waiting for all picks to complete";
+          // Streaming mode runs steps 4-7 per order inside the step 8 loop
+          if (streaming) {
+               return true;
+          }
 
-               Workflow.await(() -> allPicksCompleted || cancelled);
-               blockingReason = null;
+          // Step 4: Wait for all picks to complete
+          currentStep = "WAITING_FOR_PICKS";
+          blockingReason = "Waiting for all picks to complete";
+          reportShardProgress();
 
-               if (cancelled) {
-                    return handleCancellation(request);
-               }
+          Workflow.await(() -> allPicksCompleted || cancelled);
+          blockingReason = null;
 
-               // Step 5: Consume inventory for all orders
-               currentStep = "CONSUMING_INVENTORY";
+          if (cancelled) {
+               return false;
+          }
 
-               for (WaveOrderDTO order : request.getOrders()) {
-                    if (failedOrderIds.contains(order.getOrderId()))
-                         continue;
+          // Step 5: Consume inventory for all orders
+          currentStep = "CONSUMING_INVENTORY";
 
-                    consumeInventoryForOrder(order);
-                    orderStatuses.put(order.getOrderId(), "PICKED");
+          for (WaveOrderDTO order : request.getOrders()) {
+               if (failedOrderIds.contains(order.getOrderId()))
+                    continue;
+
+               consumeInventoryForOrder(order);
+               orderStatuses.put(order.getOrderId(), "PICKED");
+               ordersPicked++;
+          }
+
+          // Step 6: Wait for all packs to complete
+          currentStep = "WAITING_FOR_PACKS";
+          status = "PACKING";
+          blockingReason = "Waiting for all packs to complete";
+          reportShardProgress();
+
+          Workflow.await(() -> allPacksCompleted || cancelled);
+          blockingReason = null;
+
+          if (cancelled) {
+               return false;
+          }
+
+          // Step 7: Create shipments for all orders (auto after packs complete)
+          currentStep = "CREATING_SHIPMENTS";
+          status = "SHIPPING";
+
+          for (WaveOrderDTO order : request.getOrders()) {
+               if (failedOrderIds.contains(order.getOrderId()))
+                    continue;
+
+               shipOrder(order, request.getFacilityId());
+          }
+
+          return true;
+     }
+
+     /**
+      * Streaming steps 5 and 7 for the orders whose picks or packs completed
+      * since the last pass. A pack implies the pick, so a packed order that was
+      * never reported picked is consumed first. The wave-level signals flush
+      * every order still waiting at that stage, once.
+      */
+     private void advanceStreamingOrders(WaveExecutionRequest request) {
+          int advanced = 0;
+          Set<Long> toConsume = new LinkedHashSet<>();
+          if ((allPicksCompleted || allPacksCompleted) && !picksFlushed) {
+               picksFlushed = true;
+               toConsume.addAll(ordersById.keySet());
+          }
+          toConsume.addAll(ordersPickCompleted);
+          toConsume.addAll(ordersPackCompleted);
+          ordersPickCompleted.clear();
+
+          for (Long orderId : toConsume) {
+               if ("PICKING".equals(orderStatuses.get(orderId))) {
+                    consumeInventoryForOrder(ordersById.get(orderId));
+                    orderStatuses.put(orderId, "PICKED");
                     ordersPicked++;
+                    advanced++;
                }
+          }
 
-               // Step 6: Wait for all packs to complete
-               currentStep = "WAITING_FOR_PACKS";
-               status = "PACKING";
-               blockingReason = "Waiting for all packs to complete";
-
-               Workflow.await(() -> allPacksCompleted || cancelled);
-               blockingReason = null;
+          Set<Long> toShip = new LinkedHashSet<>();
+          if (allPacksCompleted && !packsFlushed) {
+               packsFlushed = true;
+               toShip.addAll(ordersById.keySet());
+          }
+          toShip.addAll(ordersPackCompleted);
+          ordersPackCompleted.clear();
 
-               if (cancelled) {
-                    return handleCancellation(request);
+          for (Long orderId : toShip) {
+               if ("PICKED".equals(orderStatuses.get(orderId))) {
+                    shipOrder(ordersById.get(orderId), request.getFacilityId());
+                    advanced++;
                }
+          }
 
-               // Step 7: Create shipments for all orders (auto after packs complete)
-               currentStep = "CREATING_SHIPMENTS";
-               status = "SHIPPING";
+          // Shards report their counters as orders advance, coalesced so the
+          // parent's history does not grow per order
+          if (shardIndex != null) {
+               unreportedAdvances += advanced;
+               if (unreportedAdvances >= SHARD_PROGRESS_REPORT_ADVANCES
+                         || (unreportedAdvances > 0 && shardReportDue())) {
+                    reportShardProgress();
+               } else if (shardReportDue()) {
+                    // Fired after a full report went out - nothing left to send
+                    shardReportTimer = null;
+               }
+               if (unreportedAdvances > 0 && shardReportTimer == null) {
+                    shardReportTimer = Workflow.newTimer(SHARD_PROGRESS_REPORT_INTERVAL);
+               }
+          }
+     }
 
-               for (WaveOrderDTO order : request.getOrders()) {
-                    if (failedOrderIds.contains(order.getOrderId()))
-                         continue;
+     private boolean shardReportDue() {
+          return shardReportTimer != null && shardReportTimer.isCompleted();
+     }
 
-                    try {
-                         ShipmentStateDTO shipmentState = createShipmentForOrder(order, request.getFacilityId());
-                         shipmentStates.put(shipmentState.getShipmentId(), shipmentState);
-                         orderToShipmentMap.put(order.getOrderId(), shipmentState.getShipmentId());
-                         orderStatuses.put(order.getOrderId(), "SHIPMENT_CREATED");
-                         ordersPacked++;
-                    } catch (Exception e) {
-                         orderStatuses.put(order.getOrderId(), "SHIPMENT_FAILED");
-                         failedOrderIds.add(order.getOrderId());
-                         ordersFailed++;
-                    }
+     private void shipOrder(WaveOrderDTO order, Long facilityId) {
+          try {
+               ShipmentStateDTO shipmentState = createShipmentForOrder(order, facilityId);
+               shipmentStates.put(shipmentState.getShipmentId(), shipmentState);
+               if (rateSelectionPolicy != null) {
+                    shipmentsToAutoRate.add(shipmentState.getShipmentId());
                }
+               orderToShipmentMap.put(order.getOrderId(), shipmentState.getShipmentId());
+               orderStatuses.put(order.getOrderId(), "SHIPMENT_CREATED");
+               ordersPacked++;
+          } catch (Exception e) {
+               orderStatuses.put(order.getOrderId(), "SHIPMENT_FAILED");
+               failedOrderIds.add(order.getOrderId());
+               ordersFailed++;
+          }
+     }
 
-               // Step 8: HITL - Wait for all shipments to be confirmed
-               currentStep = "WAITING_FOR_SHIPMENTS";
-               blockingReason = "Waiting for shipments: print labels and confirm shipped";
+     private boolean hasStreamingWork() {
+          return streaming && (!ordersPickCompleted.isEmpty()
+                    || !ordersPackCompleted.isEmpty()
+                    || ((allPicksCompleted || allPacksCompleted) && !picksFlushed)
+                    || (allPacksCompleted && !packsFlushed));
+     }
 
-               // Process label generation requests as they come in
-               while (!allShipmentsConfirmed() && !cancelled) {
-                    // Wait for either a rate fetch, label request, a confirmation, or cancellation
-                    Workflow.await(() -> !shipmentsToFetchRates.isEmpty() ||
-                              !shipmentsToGenerateLabel.isEmpty() ||
-                              !shipmentsToConfirm.isEmpty() ||
-                              allShipmentsConfirmed() ||
-                              cancelled);
+     /**
+      * Whether the step 8 loop is done: every shipment confirmed, and in
+      * streaming mode also every order either shipped or failed.
+      */
+     private boolean waveFulfilled() {
+          if (!streaming) {
+               return allShipmentsConfirmed();
+          }
+          return orderStatuses.entrySet().stream()
+                    .allMatch(e -> "SHIPPED".equals(e.getValue()) || failedOrderIds.contains(e.getKey()));
+     }
 
-                    // Process pending rate fetches (parallel carrier calls)
-                    for (Long shipmentId : new HashSet<>(shipmentsToFetchRates)) {
-                         shipmentsToFetchRates.remove(shipmentId);
-                         fetchRatesForShipment(shipmentId);
-                    }
+     private boolean shouldContinueAsNew(WaveExecutionRequest request) {
+          WorkflowInfo info = Workflow.getInfo();
+          long maxEvents = positiveOrDefault(request.getContinueAsNewHistoryEvents(),
+                    DEFAULT_CONTINUE_AS_NEW_HISTORY_EVENTS);
+          long maxBytes = request.getContinueAsNewHistoryBytes() != null && request.getContinueAsNewHistoryBytes() > 0
+                    ? request.getContinueAsNewHistoryBytes()
+                    : DEFAULT_CONTINUE_AS_NEW_HISTORY_BYTES;
+          return info.isContinueAsNewSuggested()
+                    || info.getHistoryLength() >= maxEvents
+                    || info.getHistorySize() >= maxBytes;
+     }
 
-                    // Process pending label generations
-                    for (Long shipmentId : new HashSet<>(shipmentsToGenerateLabel)) {
-                         shipmentsToGenerateLabel.remove(shipmentId);
-                         generateLabelForShipment(shipmentId);
-                    }
+     /**
+      * Continue as new with the current wave state. Waits for running signal
+      * handlers first so their effects are captured; signals that are queued but
+      * not processed travel in the carried state, and any signal arriving while
+      * the run closes makes Temporal retry the workflow task so it is included.
+      * Running rate shops finish first (bounded by the rate shopping deadline).
+      * A cancellation that arrives during these waits wins: the run does not
+      * continue as new and the shipment loop handles the cancel instead.
+      */
+     private void continueAsNewWithState(WaveExecutionRequest request) {
+          Workflow.await(() -> rateShops.isEmpty() || cancelled);
+          Workflow.await(() -> Workflow.isEveryHandlerFinished() || cancelled);
+          if (cancelled) {
+               return;
+          }
+          // Progress waiting for the coalesced report would not survive the new run
+          reportShardProgress();
+          request.setRateSelectionPolicy(rateSelectionPolicy);
+          request.setRateSelectionMaxTransitDays(rateSelectionMaxTransitDays);
+          request.setResumeState(captureState());
+          Workflow.continueAsNew(request);
+     }
 
-                    // Process pending confirmations
-                    for (Long shipmentId : new HashSet<>(shipmentsToConfirm)) {
-                         shipmentsToConfirm.remove(shipmentId);
-                         confirmShipment(shipmentId);
+     private WaveExecutionStateDTO captureState() {
+          return WaveExecutionStateDTO.builder()
+                    .status(status)
+                    .currentStep(currentStep)
+                    .allPicksCompleted(allPicksCompleted)
+                    .allPacksCompleted(allPacksCompleted)
+                    .cancelled(cancelled)
+                    .cancellationReason(cancellationReason)
+                    .orderStatuses(new HashMap<>(orderStatuses))
+                    .orderReservationIds(new HashMap<>(orderReservationIds))
+                    .failedOrderIds(new ArrayList<>(failedOrderIds))
+                    .orderShipments(new ArrayList<>(orderShipments))
+                    .shipmentStates(new HashMap<>(shipmentStates))
+                    .orderToShipmentMap(new HashMap<>(orderToShipmentMap))
+                    .fetchedRates(new HashMap<>(fetchedRatesMap))
+                    .shipmentsToFetchRates(new ArrayList<>(shipmentsToFetchRates))
+                    .shipmentsToGenerateLabel(new ArrayList<>(shipmentsToGenerateLabel))
+                    .shipmentsToConfirm(new ArrayList<>(shipmentsToConfirm))
+                    .ordersPickCompleted(new ArrayList<>(ordersPickCompleted))
+                    .ordersPackCompleted(new ArrayList<>(ordersPackCompleted))
+                    .picksFlushed(picksFlushed)
+                    .packsFlushed(packsFlushed)
+                    .ordersAllocated(ordersAllocated)
+                    .ordersPicked(ordersPicked)
+                    .ordersPacked(ordersPacked)
+                    .ordersShipped(ordersShipped)
+                    .ordersFailed(ordersFailed)
+                    .build();
+     }
+
+     private void restoreState(WaveExecutionStateDTO state) {
+          status = state.getStatus();
+          currentStep = state.getCurrentStep();
+          allPicksCompleted = state.isAllPicksCompleted();
+          allPacksCompleted = state.isAllPacksCompleted();
+          cancelled = state.isCancelled();
+          cancellationReason = state.getCancellationReason();
+          orderStatuses.putAll(state.getOrderStatuses());
+          orderReservationIds.putAll(state.getOrderReservationIds());
+          failedOrderIds.addAll(state.getFailedOrderIds());
+          orderShipments.addAll(state.getOrderShipments());
+          shipmentStates.putAll(state.getShipmentStates());
+          orderToShipmentMap.putAll(state.getOrderToShipmentMap());
+          fetchedRatesMap.putAll(state.getFetchedRates());
+          shipmentsToFetchRates.addAll(state.getShipmentsToFetchRates());
+          shipmentsToGenerateLabel.addAll(state.getShipmentsToGenerateLabel());
+          shipmentsToConfirm.addAll(state.getShipmentsToConfirm());
+          if (state.getOrdersPickCompleted() != null) {
+               ordersPickCompleted.addAll(state.getOrdersPickCompleted());
+          }
+          if (state.getOrdersPackCompleted() != null) {
+               ordersPackCompleted.addAll(state.getOrdersPackCompleted());
+          }
+          picksFlushed = state.isPicksFlushed();
+          packsFlushed = state.isPacksFlushed();
+          ordersAllocated = state.getOrdersAllocated();
+          ordersPicked = state.getOrdersPicked();
+          ordersPacked = state.getOrdersPacked();
+          ordersShipped = state.getOrdersShipped();
+          ordersFailed = state.getOrdersFailed();
+     }
+
+     /**
+      * Version of the wave snapshot: a 64-bit fingerprint of every field
+      * getWaveSnapshot returns. It is computed from the state rather than kept
+      * as a counter, so it needs no bookkeeping at each state change, carries
+      * across continue-as-new for free and is stable across replay and workers
+      * (all hash codes involved are value-based). Entries are folded in ID order
+      * so map iteration order does not matter.
+      */
+     private String snapshotVersion() {
+          long hash = SNAPSHOT_HASH_SEED;
+          hash = mixHash(hash, Objects.hash(status, currentStep, blockingReason));
+          hash = mixHash(hash, Objects.hash(totalOrders, ordersAllocated, ordersPicked, ordersPacked,
+                    ordersShipped, ordersFailed, shardWorkflowIds));
+          for (Map.Entry<Long, ShipmentStateDTO> entry : new TreeMap<>(shipmentStates).entrySet()) {
+               hash = mixHash(hash, entry.getKey().hashCode());
+               hash = mixHash(hash, entry.getValue().hashCode());
+          }
+          for (Map.Entry<Long, FetchedRatesDTO> entry : new TreeMap<>(fetchedRatesMap).entrySet()) {
+               hash = mixHash(hash, entry.getKey().hashCode());
+               hash = mixHash(hash, entry.getValue().hashCode());
+          }
+          return Long.toHexString(hash);
+     }
+
+     // FNV-1a style step over a 32-bit value
+     private static long mixHash(long hash, int value) {
+          return (hash ^ (value & 0xffffffffL)) * SNAPSHOT_HASH_PRIME;
+     }
+
+     /**
+      * Persist the wave status. Shards leave the wave row to their parent.
+      */
+     private void updateWaveStatus(String newStatus) {
+          if (shardIndex != null)
+               return;
+          UpdateWaveStatusRequest updateRequest = UpdateWaveStatusRequest.builder()
+                    .tenantId(tenantId)
+                    .waveId(waveId)
+                    .status(newStatus)
+                    .build();
+          updateWaveStatusActivity.updateStatus(updateRequest);
+     }
+
+     /**
+      * Run a large wave as child workflows of at most shardSize orders each.
+      * Shards are ranges of the wave's order IDs and load their own orders, and
+      * the parent only forwards signals and keeps per-shard counters, so its
+      * history grows with the number of shards rather than the number of orders.
+      */
+     private WaveExecutionResult executeSharded(WaveExecutionRequest request) {
+          sharded = true;
+          status = "IN_PROGRESS";
+          currentStep = "STARTING_SHARDS";
+
+          String parentWorkflowId = Workflow.getInfo().getWorkflowId();
+
+          try {
+               shardRanges.addAll(waveShardActivity.planShards(tenantId, waveId, request.getShardSize()));
+               for (int i = 0; i < shardRanges.size(); i++) {
+                    WaveShardDTO range = shardRanges.get(i);
+                    String shardWorkflowId = parentWorkflowId + "-shard-" + i;
+                    WaveExecutionWorkflow shard = Workflow.newChildWorkflowStub(
+                              WaveExecutionWorkflow.class,
+                              ChildWorkflowOptions.newBuilder()
+                                        .setWorkflowId(shardWorkflowId)
+                                        .build());
+
+                    WaveExecutionRequest shardRequest = WaveExecutionRequest.builder()
+                              .tenantId(tenantId)
+                              .waveId(waveId)
+                              .facilityId(request.getFacilityId())
+                              .waveNumber(request.getWaveNumber())
+                              .firstOrderId(range.getFirstOrderId())
+                              .lastOrderId(range.getLastOrderId())
+                              .allocationConcurrency(request.getAllocationConcurrency())
+                              .allocationBatchSize(request.getAllocationBatchSize())
+                              .streaming(request.getStreaming())
+                              .continueAsNewHistoryEvents(request.getContinueAsNewHistoryEvents())
+                              .continueAsNewHistoryBytes(request.getContinueAsNewHistoryBytes())
+                              .rateShoppingDeadlineMs(request.getRateShoppingDeadlineMs())
+                              .rateShoppingHedgeAfterMs(request.getRateShoppingHedgeAfterMs())
+                              .rateSelectionPolicy(rateSelectionPolicy)
+                              .rateSelectionMaxTransitDays(rateSelectionMaxTransitDays)
+                              .rateShoppingBatchSize(request.getRateShoppingBatchSize())
+                              .shardIndex(i)
+                              .build();
+
+                    shardProgress.put(i, ShardProgressDTO.builder()
+                              .shardIndex(i)
+                              .status("STARTED")
+                              .currentStep("INITIALIZING")
+                              .totalOrders(range.getOrderCount())
+                              .build());
+                    shardResults.add(Async.function(shard::execute, shardRequest));
+                    // Wait for the child to start so signals can be forwarded to it
+                    Workflow.getWorkflowExecution(shard).get();
+                    shardWorkflowIds.add(shardWorkflowId);
+               }
+               refreshShardSummary();
+
+               // Forward wave-level and routed signals until every shard finishes
+               while (!allCompleted(shardResults)) {
+                    Workflow.await(() -> !pendingShardSignals.isEmpty()
+                              || (allPicksCompleted && !picksForwarded)
+                              || (allPacksCompleted && !packsForwarded)
+                              || (cancelled && !cancelForwarded)
+                              || !autoRatesForwarded
+                              || allCompleted(shardResults));
+
+                    if (allPicksCompleted && !picksForwarded) {
+                         picksForwarded = true;
+                         forEachRunningShard(WaveExecutionWorkflow::allPicksCompleted);
+                    }
+                    if (allPacksCompleted && !packsForwarded) {
+                         packsForwarded = true;
+                         forEachRunningShard(WaveExecutionWorkflow::allPacksCompleted);
+                    }
+                    if (cancelled && !cancelForwarded) {
+                         cancelForwarded = true;
+                         forEachRunningShard(shard -> shard.cancelWave(cancellationReason));
+                    }
+                    if (!autoRatesForwarded) {
+                         autoRatesForwarded = true;
+                         RateSelectionPolicy policy = rateSelectionPolicy;
+                         Integer maxTransitDays = rateSelectionMaxTransitDays;
+                         forEachRunningShard(shard -> shard.autoSelectRates(policy, maxTransitDays));
+                    }
+                    for (Runnable forward : new ArrayList<>(pendingShardSignals)) {
+                         pendingShardSignals.remove(forward);
+                         forward.run();
                     }
                }
 
+               // Aggregate shard results
+               currentStep = "AGGREGATING_SHARDS";
                blockingReason = null;
+               int successfulOrders = 0;
+               int failedOrders = 0;
+               int failedShards = 0;
+               for (int i = 0; i < shardResults.size(); i++) {
+                    Promise<WaveExecutionResult> shardResult = shardResults.get(i);
+                    if (shardResult.getFailure() != null) {
+                         failedShards++;
+                         failedOrders += shardRanges.get(i).getOrderCount();
+                         continue;
+                    }
+                    WaveExecutionResult result = shardResult.get();
+                    successfulOrders += result.getSuccessfulOrders();
+                    failedOrders += result.getFailedOrders();
+               }
 
+               String finalStatus;
                if (cancelled) {
-                    return handleCancellation(request);
+                    finalStatus = "CANCELLED";
+               } else if (failedShards == shardResults.size()) {
+                    finalStatus = "FAILED";
+               } else {
+                    finalStatus = "COMPLETED";
                }
 
-               // Step 9: Update wave status in database
                currentStep = "UPDATING_WAVE_STATUS";
+               updateWaveStatus(finalStatus);
 
-               UpdateWaveStatusRequest updateRequest = UpdateWaveStatusRequest.builder()
-                         .tenantId(tenantId)
-                         .waveId(waveId)
-                         .status("COMPLETED")
-                         .build();
-               updateWaveStatusActivity.updateStatus(updateRequest);
-
-               currentStep = "COMPLETED";
-               status = "COMPLETED";
+               status = finalStatus;
+               currentStep = finalStatus;
 
                return WaveExecutionResult.builder()
                          .waveId(waveId)
-                         .finalStatus("COMPLETED")
+                         .finalStatus(finalStatus)
                          .totalOrders(totalOrders)
-                         .successfulOrders(ordersShipped)
-                         .failedOrders(ordersFailed)
-                         .orderShipments(orderShipments)
+                         .successfulOrders(successfulOrders)
+                         .failedOrders(failedOrders)
+                         .orderShipments(List.of())
                          .build();
 
           } catch (Exception e) {
                status = "FAILED";
                currentStep = "FAILED";
                blockingReason = e.getMessage();
+               try {
+                    updateWaveStatus("FAILED");
+               } catch (Exception ignored) {
+                    // Best effort - don't fail the workflow if status update fails
+               }
+               throw e;
+          }
+     }
+
+     private static boolean allCompleted(List<? extends Promise<?>> promises) {
+          return promises.stream().allMatch(Promise::isCompleted);
+     }
+
+     private void forEachRunningShard(Consumer<WaveExecutionWorkflow> signal) {
+          List<Promise<Void>> sent = new ArrayList<>();
+          for (int i = 0; i < shardWorkflowIds.size(); i++) {
+               if (!shardResults.get(i).isCompleted()) {
+                    int index = i;
+                    sent.add(Async.procedure(() -> signalShard(index, signal)));
+               }
+          }
+          Promise.allOf(sent).get();
+     }
+
+     /**
+      * Signal a shard by workflow ID only, so the signal reaches its current run
+      * after the shard has continued as new. A shard that has already closed
+      * has nothing left to signal; any other failure is logged.
+      */
+     private void signalShard(int index, Consumer<WaveExecutionWorkflow> signal) {
+          String shardWorkflowId = shardWorkflowIds.get(index);
+          try {
+               signal.accept(Workflow.newExternalWorkflowStub(WaveExecutionWorkflow.class, shardWorkflowId));
+          } catch (SignalExternalWorkflowException e) {
+               // Shard already completed - nothing left to signal
+          } catch (Exception e) {
+               log.warn("Failed to signal shard - workflowId: {}, error: {}", shardWorkflowId, e.getMessage());
+          }
+     }
+
+     /**
+      * Queue a shipment signal for every running shard. The parent does not
+      * track which shard created a shipment, and shards ignore shipments they
+      * do not own. Used only when a client signals the parent directly instead
+      * of the owning shard.
+      */
+     private void forwardToShipmentShard(Consumer<WaveExecutionWorkflow> signal) {
+          pendingShardSignals.add(() -> forEachRunningShard(signal));
+     }
+
+     private void forwardToOrderShard(Long orderId, Consumer<WaveExecutionWorkflow> signal) {
+          Integer index = shardForOrder(orderId);
+          if (index != null) {
+               pendingShardSignals.add(() -> signalShard(index, signal));
+          }
+     }
+
+     /**
+      * Index of the shard whose order ID range holds an order, or null.
+      */
+     private Integer shardForOrder(Long orderId) {
+          for (int i = 0; i < shardRanges.size(); i++) {
+               WaveShardDTO range = shardRanges.get(i);
+               if (orderId >= range.getFirstOrderId() && orderId <= range.getLastOrderId()) {
+                    return i;
+               }
+          }
+          return null;
+     }
 
-               // Try to update wave status to FAILED
-               try {
-                    UpdateWaveStatusRequest updateRequest = UpdateWaveStatusRequest.builder()
-                              .tenantId(tenantId)
-                              .waveId(waveId)
-                              .status("FAILED")
-                              .build();
-                    updateWaveStatusActivity.updateStatus(updateRequest);
-               } catch (Exception ignored) {
-                    // Best effort - don't fail the workflow if status update fails
+     /**
+      * Recompute the parent's counters, step and blocking reason from the latest
+      * progress of every shard. The wave's step is that of its least-advanced
+      * running shard.
+      */
+     private void refreshShardSummary() {
+          ordersAllocated = 0;
+          ordersPicked = 0;
+          ordersPacked = 0;
+          ordersShipped = 0;
+          ordersFailed = 0;
+
+          ShardProgressDTO slowest = null;
+          for (ShardProgressDTO progress : shardProgress.values()) {
+               ordersAllocated += progress.getOrdersAllocated();
+               ordersPicked += progress.getOrdersPicked();
+               ordersPacked += progress.getOrdersPacked();
+               ordersShipped += progress.getOrdersShipped();
+               ordersFailed += progress.getOrdersFailed();
+               if (STEP_ORDER.contains(progress.getCurrentStep()) && !"COMPLETED".equals(progress.getCurrentStep())
+                         && (slowest == null || STEP_ORDER.indexOf(progress.getCurrentStep()) < STEP_ORDER
+                                   .indexOf(slowest.getCurrentStep()))) {
+                    slowest = progress;
                }
+          }
 
-               throw e;
+          if (slowest != null) {
+               currentStep = slowest.getCurrentStep();
+               blockingReason = slowest.getBlockingReason() == null ? null
+                         : "Shard " + (slowest.getShardIndex() + 1) + " of " + shardProgress.size() + ": "
+                                   + slowest.getBlockingReason();
+          }
+     }
+
+     /**
+      * Report this shard's progress to its parent wave. No-op for unsharded waves.
+      * Counters are absolute; failed orders and shipments are only those added
+      * since the previous report, so each report stays small.
+      */
+     private void reportShardProgress() {
+          if (shardIndex == null)
+               return;
+          Optional<String> parentWorkflowId = Workflow.getInfo().getParentWorkflowId();
+          if (parentWorkflowId.isEmpty())
+               return;
+
+          ShardProgressDTO progress = ShardProgressDTO.builder()
+                    .shardIndex(shardIndex)
+                    .status(status)
+                    .currentStep(currentStep)
+                    .blockingReason(blockingReason)
+                    .totalOrders(totalOrders)
+                    .ordersAllocated(ordersAllocated)
+                    .ordersPicked(ordersPicked)
+                    .ordersPacked(ordersPacked)
+                    .ordersShipped(ordersShipped)
+                    .ordersFailed(ordersFailed)
+                    .build();
+          unreportedAdvances = 0;
+          if (shardReportDue()) {
+               shardReportTimer = null;
+          }
+          try {
+               Workflow.newExternalWorkflowStub(WaveExecutionWorkflow.class, parentWorkflowId.get())
+                         .shardProgress(progress);
+          } catch (SignalExternalWorkflowException e) {
+               // Parent already closed - nothing to report to
+          } catch (Exception e) {
+               log.warn("Failed to report shard progress - parentWorkflowId: {}, error: {}",
+                         parentWorkflowId.get(), e.getMessage());
           }
      }
 
@@ -394,25 +1163,113 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
                     .allMatch(s -> "SHIPPED".equals(s.getStatus()));
      }
 
-     private void allocateInventoryForOrder(WaveOrderDTO order) {
-          String reservationId = null;
-          for (OrderLineDTO line : order.getOrderLines()) {
-               AllocateInventoryRequest allocateRequest = AllocateInventoryRequest.builder()
-                         .orderId(order.getOrderId())
-                         .sku(line.getSku())
-                         .quantity(line.getQuantity())
-                         .build();
+     /**
+      * Allocate inventory for every order in the wave. Orders are grouped into
+      * allocateBatch calls of allocationBatchSize orders, and up to
+      * allocationConcurrency batches run at a time. Each order records its own
+      * outcome, so a failed order never fails the stage. Stops launching new
+      * batches once the wave is cancelled.
+      */
+     private void allocateInventoryForWave(WaveExecutionRequest request) {
+          int limit = positiveOrDefault(request.getAllocationConcurrency(), DEFAULT_ALLOCATION_CONCURRENCY);
+          int batchSize = positiveOrDefault(request.getAllocationBatchSize(), DEFAULT_ALLOCATION_BATCH_SIZE);
+
+          List<WaveOrderDTO> orders = request.getOrders();
+          List<Promise<Void>> inFlight = new ArrayList<>();
+          for (int from = 0; from < orders.size(); from += batchSize) {
+               if (cancelled)
+                    break;
+               if (inFlight.size() >= limit) {
+                    Promise.anyOf(inFlight).get();
+                    inFlight.removeIf(Promise::isCompleted);
+               }
+               List<WaveOrderDTO> batch = orders.subList(from, Math.min(from + batchSize, orders.size()));
+               inFlight.add(Async.procedure(this::allocateBatch, batch));
+          }
+
+          if (!inFlight.isEmpty()) {
+               Promise.allOf(inFlight).get();
+          }
+     }
+
+     /**
+      * Allocation as runs started before batched allocation did it: one order
+      * at a time, one allocate call per line.
+      */
+     private void allocateInventoryPerOrder(WaveExecutionRequest request) {
+          for (WaveOrderDTO order : request.getOrders()) {
+               if (cancelled)
+                    break;
+               try {
+                    String reservationId = null;
+                    for (OrderLineDTO line : order.getOrderLines()) {
+                         AllocateInventoryResult result = imsActivities.allocate(AllocateInventoryRequest.builder()
+                                   .tenantId(tenantId)
+                                   .orderId(order.getOrderId())
+                                   .sku(line.getSku())
+                                   .quantity(line.getQuantity())
+                                   .build());
+                         reservationId = result.getReservationId();
+                    }
+                    orderReservationIds.put(order.getOrderId(), reservationId);
+                    orderStatuses.put(order.getOrderId(), "ALLOCATED");
+                    ordersAllocated++;
+               } catch (Exception e) {
+                    orderStatuses.put(order.getOrderId(), "ALLOCATION_FAILED");
+                    failedOrderIds.add(order.getOrderId());
+                    ordersFailed++;
+               }
+          }
+     }
+
+     private void allocateBatch(List<WaveOrderDTO> batch) {
+          AllocateInventoryBatchRequest batchRequest = AllocateInventoryBatchRequest.builder()
+                    .tenantId(tenantId)
+                    .orders(batch.stream()
+                              .map(order -> OrderAllocationDTO.builder()
+                                        .orderId(order.getOrderId())
+                                        .orderLines(order.getOrderLines())
+                                        .build())
+                              .toList())
+                    .build();
+
+          Map<Long, OrderAllocationResult> resultsByOrder = new HashMap<>();
+          try {
+               AllocateInventoryBatchResult result = imsActivities.allocateBatch(batchRequest);
+               for (OrderAllocationResult orderResult : result.getOrders()) {
+                    resultsByOrder.put(orderResult.getOrderId(), orderResult);
+               }
+          } catch (Exception e) {
+               // Whole batch failed after retries - every order in it is unallocated
+          }
 
-               AllocateInventoryResult result = imsActivities.allocate(allocateRequest);
-               reservationId = result.getReservationId();
+          for (WaveOrderDTO order : batch) {
+               OrderAllocationResult orderResult = resultsByOrder.get(order.getOrderId());
+               if (orderResult != null && orderResult.isSuccess()) {
+                    orderReservationIds.put(order.getOrderId(), orderResult.getReservationId());
+                    orderStatuses.put(order.getOrderId(), "ALLOCATED");
+                    ordersAllocated++;
+               } else {
+                    orderStatuses.put(order.getOrderId(), "ALLOCATION_FAILED");
+                    failedOrderIds.add(order.getOrderId());
+                    ordersFailed++;
+               }
           }
-          orderReservationIds.put(order.getOrderId(), reservationId);
+     }
+
+     private static Duration positiveMillis(Long millis) {
+          return millis != null && millis > 0 ? Duration.ofMillis(millis) : null;
+     }
+
+     private static int positiveOrDefault(Integer value, int defaultValue) {
+          return value != null && value > 0 ? value : defaultValue;
      }
 
      private void consumeInventoryForOrder(WaveOrderDTO order) {
           String reservationId = orderReservationIds.get(order.getOrderId());
           for (OrderLineDTO line : order.getOrderLines()) {
                ConsumeInventoryRequest consumeRequest = ConsumeInventoryRequest.builder()
+                         .tenantId(tenantId)
                          .orderId(String.valueOf(order.getOrderId()))
                          .reservationId(reservationId)
                          .sku(line.getSku())
@@ -434,6 +1291,7 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
                     .build();
 
           CreateShipmentResult shipmentResult = smsActivities.createShipment(shipmentRequest);
+          List<ParcelDTO> parcels = shipmentResult.getParcels();
 
           return ShipmentStateDTO.builder()
                     .shipmentId(shipmentResult.getShipmentId())
@@ -441,19 +1299,33 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
                     .status("CREATED")
                     .carrier("PENDING")
                     .serviceLevel("STANDARD")
+                    .parcel(parcels != null && parcels.size() == 1 ? parcels.get(0) : null)
                     .build();
      }
 
      /**
-      * Fetch rates from all carriers in parallel.
-      * USPS and UPS will succeed immediately.
-      * FedEx will fail 4 times before succeeding on the 5th attempt.
+      * Start fetching rates from all carriers in parallel without blocking the
+      * shipment loop. Each carrier's rates are published to the shipment's
+      * FetchedRatesDTO as soon as they arrive. A carrier that has not answered
+      * by the rate shopping deadline is cancelled and marked TIMED_OUT, and with
+      * hedging on, a carrier silent for the hedge delay gets a second call.
+      * Re-fetching a shipment cancels its previous fetch.
       */
      private void fetchRatesForShipment(Long shipmentId) {
           ShipmentStateDTO shipment = shipmentStates.get(shipmentId);
           if (shipment == null)
                return;
 
+          if (Workflow.getVersion(ASYNC_RATE_SHOP, Workflow.DEFAULT_VERSION, 1) == Workflow.DEFAULT_VERSION) {
+               fetchRatesBlocking(shipment);
+               return;
+          }
+
+          CancellationScope previous = rateShops.remove(shipmentId);
+          if (previous != null) {
+               previous.cancel();
+          }
+
           // Initialize the fetched rates state
           FetchedRatesDTO ratesState = FetchedRatesDTO.builder()
                     .shipmentId(shipmentId)
@@ -465,61 +1337,372 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
                     .build();
           fetchedRatesMap.put(shipmentId, ratesState);
 
-          FetchRatesRequest request = FetchRatesRequest.builder()
+          FetchRatesRequest request = rateRequest(shipment);
+
+          // Launch all three carrier rate fetches in parallel; each records its own outcome
+          List<Promise<Void>> carriers = new ArrayList<>();
+          CancellationScope calls = Workflow.newCancellationScope(() -> {
+               carriers.add(Async.procedure(() -> fetchCarrierRates(ratesState, "USPS",
+                         ratesState::setUspsStatus, uspsRatesActivity::fetchUSPSRates, request)));
+               carriers.add(Async.procedure(() -> fetchCarrierRates(ratesState, "UPS",
+                         ratesState::setUpsStatus, upsRatesActivity::fetchUPSRates, request)));
+               carriers.add(Async.procedure(() -> fetchCarrierRates(ratesState, "FedEx",
+                         ratesState::setFedexStatus, fedexRatesActivity::fetchFedExRates, request)));
+          });
+          rateShops.put(shipmentId, calls);
+          calls.run();
+          Async.procedure(() -> closeRateShop(shipmentId, calls, carriers));
+     }
+
+     /**
+      * Rate fetch as runs started before asynchronous rate shopping did it: the
+      * shipment loop waits until all three carriers have answered.
+      */
+     private void fetchRatesBlocking(ShipmentStateDTO shipment) {
+          FetchedRatesDTO ratesState = FetchedRatesDTO.builder()
+                    .shipmentId(shipment.getShipmentId())
+                    .status("FETCHING")
+                    .uspsStatus("FETCHING")
+                    .upsStatus("FETCHING")
+                    .fedexStatus("FETCHING")
+                    .rates(new ArrayList<>())
+                    .build();
+          fetchedRatesMap.put(shipment.getShipmentId(), ratesState);
+
+          FetchRatesRequest request = rateRequest(shipment);
+          Promise<FetchRatesResult> uspsPromise = Async.function(uspsRatesActivity::fetchUSPSRates, request);
+          Promise<FetchRatesResult> upsPromise = Async.function(upsRatesActivity::fetchUPSRates, request);
+          Promise<FetchRatesResult> fedexPromise = Async.function(fedexRatesActivity::fetchFedExRates, request);
+          Promise.allOf(uspsPromise, upsPromise, fedexPromise).get();
+
+          ratesState.getRates().addAll(uspsPromise.get().getRates());
+          ratesState.setUspsStatus("COMPLETED");
+          ratesState.getRates().addAll(upsPromise.get().getRates());
+          ratesState.setUpsStatus("COMPLETED");
+          ratesState.getRates().addAll(fedexPromise.get().getRates());
+          ratesState.setFedexStatus("COMPLETED");
+          ratesState.setStatus("COMPLETED");
+     }
+
+     /**
+      * Destination lets SMS serve the quote from its lane cache; origin and
+      * parcels come from the shipment.
+      */
+     private FetchRatesRequest rateRequest(ShipmentStateDTO shipment) {
+          WaveOrderDTO order = ordersById.get(shipment.getOrderId());
+          ShipToDTO shipTo = order != null ? order.getShipTo() : null;
+          return FetchRatesRequest.builder()
                     .tenantId(tenantId)
-                    .shipmentId(shipmentId)
+                    .shipmentId(shipment.getShipmentId())
                     .orderId(shipment.getOrderId())
+                    .facilityId(facilityId)
+                    .destinationPostalCode(shipTo != null ? shipTo.getPostalCode() : null)
+                    .destinationCountry(shipTo != null ? shipTo.getCountry() : null)
+                    .parcel(shipment.getParcel())
                     .build();
+     }
 
-          // Launch all three carrier rate fetches in parallel using Async.function
-          Promise<FetchRatesResult> uspsPromise = Async.function(
-                    uspsRatesActivity::fetchUSPSRates, request);
-          Promise<FetchRatesResult> upsPromise = Async.function(
-                    upsRatesActivity::fetchUPSRates, request);
-          Promise<FetchRatesResult> fedexPromise = Async.function(
-                    fedexRatesActivity::fetchFedExRates, request);
+     /**
+      * Wait for a shipment's carrier calls up to the rate shopping deadline,
+      * then cancel whatever is still running: late carriers time out and
+      * losing hedged calls stop.
+      */
+     private void closeRateShop(Long shipmentId, CancellationScope calls, List<Promise<Void>> carriers) {
+          if (rateShoppingDeadline != null) {
+               Workflow.await(rateShoppingDeadline, () -> allCompleted(carriers));
+          } else {
+               Workflow.await(() -> allCompleted(carriers));
+          }
+          calls.cancel();
+          Workflow.await(() -> allCompleted(carriers));
+          rateShops.remove(shipmentId, calls);
+     }
 
-          // Wait for all to complete
-          Promise.allOf(uspsPromise, upsPromise, fedexPromise).get();
+     /**
+      * Fetch one carrier's rates and record the outcome. Never throws a
+      * Temporal failure, so the carrier's promise always completes normally.
+      */
+     private void fetchCarrierRates(FetchedRatesDTO ratesState, String carrier, Consumer<String> setStatus,
+               Function<FetchRatesRequest, FetchRatesResult> fetch, FetchRatesRequest request) {
+          try {
+               FetchRatesResult result = rateShoppingHedgeAfter != null
+                         ? fetchHedged(fetch, request)
+                         : fetch.apply(request);
+               ratesState.getRates().addAll(result.getRates());
+               setStatus.accept("COMPLETED");
+          } catch (TemporalFailure e) {
+               if (e instanceof CanceledFailure || e.getCause() instanceof CanceledFailure) {
+                    setStatus.accept("TIMED_OUT");
+               } else {
+                    setStatus.accept("FAILED");
+                    String error = carrier + ": " + e.getMessage();
+                    ratesState.setErrorMessage(ratesState.getErrorMessage() == null
+                              ? error
+                              : ratesState.getErrorMessage() + "; " + error);
+               }
+          }
+          ratesState.setStatus(overallRatesStatus(ratesState));
+     }
 
-          // Collect all rates
-          List<CarrierRateDTO> allRates = new ArrayList<>();
+     /**
+      * Call a carrier and, if it has not answered within the hedge delay, call
+      * it a second time in parallel. The first successful answer wins; the
+      * other call is cancelled when the rate shop closes.
+      */
+     private FetchRatesResult fetchHedged(Function<FetchRatesRequest, FetchRatesResult> fetch,
+               FetchRatesRequest request) {
+          Promise<FetchRatesResult> primary = Async.function(fetch::apply, request);
+          if (Workflow.await(rateShoppingHedgeAfter, primary::isCompleted)) {
+               return primary.get();
+          }
+          Promise<FetchRatesResult> hedge = Async.function(fetch::apply, request);
+          Workflow.await(() -> succeeded(primary) || succeeded(hedge)
+                    || (primary.isCompleted() && hedge.isCompleted()));
+          return succeeded(hedge) ? hedge.get() : primary.get();
+     }
 
-          FetchRatesResult uspsResult = uspsPromise.get();
-          allRates.addAll(uspsResult.getRates());
-          ratesState.setUspsStatus("COMPLETED");
+     private static boolean succeeded(Promise<?> promise) {
+          return promise.isCompleted() && promise.getFailure() == null;
+     }
 
-          FetchRatesResult upsResult = upsPromise.get();
-          allRates.addAll(upsResult.getRates());
-          ratesState.setUpsStatus("COMPLETED");
+     /**
+      * FETCHING while any carrier is out, COMPLETED when every carrier
+      * answered, PARTIAL when some did, otherwise TIMED_OUT or FAILED.
+      */
+     private static String overallRatesStatus(FetchedRatesDTO ratesState) {
+          List<String> carriers = List.of(ratesState.getUspsStatus(), ratesState.getUpsStatus(),
+                    ratesState.getFedexStatus());
+          if (carriers.contains("FETCHING")) {
+               return "FETCHING";
+          }
+          if (carriers.stream().allMatch("COMPLETED"::equals)) {
+               return "COMPLETED";
+          }
+          if (carriers.contains("COMPLETED")) {
+               return "PARTIAL";
+          }
+          return carriers.contains("TIMED_OUT") ? "TIMED_OUT" : "FAILED";
+     }
 
-          FetchRatesResult fedexResult = fedexPromise.get();
-          allRates.addAll(fedexResult.getRates());
-          ratesState.setFedexStatus("COMPLETED");
+     private static boolean awaitingRate(ShipmentStateDTO shipment) {
+          return "CREATED".equals(shipment.getStatus()) || "NEEDS_REVIEW".equals(shipment.getStatus());
+     }
 
-          // Update final state
-          ratesState.setRates(allRates);
-          ratesState.setStatus("COMPLETED");
+     /**
+      * Queue every shipment still waiting for a rate, and not already being
+      * handled by a person, for bulk rate shopping.
+      */
+     private void queueAutoRates() {
+          if (rateSelectionPolicy == null) {
+               return;
+          }
+          for (ShipmentStateDTO shipment : shipmentStates.values()) {
+               if ("CREATED".equals(shipment.getStatus()) && !fetchedRatesMap.containsKey(shipment.getShipmentId())) {
+                    shipmentsToAutoRate.add(shipment.getShipmentId());
+               }
+          }
+     }
+
+     /**
+      * Bulk rate shopping: quote the queued shipments in batches, one call per
+      * carrier per batch, and select a rate for each by the wave's policy.
+      */
+     private void autoSelectRates(WaveExecutionRequest request) {
+          List<Long> shipmentIds = shipmentsToAutoRate.stream().sorted().toList();
+          shipmentsToAutoRate.clear();
+          if (rateSelectionPolicy == null) {
+               return;
+          }
+          int batchSize = positiveOrDefault(request.getRateShoppingBatchSize(), DEFAULT_RATE_SHOPPING_BATCH_SIZE);
+          for (int start = 0; start < shipmentIds.size() && !cancelled; start += batchSize) {
+               List<ShipmentStateDTO> batch = shipmentIds.subList(start, Math.min(start + batchSize, shipmentIds.size()))
+                         .stream()
+                         .map(shipmentStates::get)
+                         .filter(shipment -> shipment != null && "CREATED".equals(shipment.getStatus())
+                                   && !fetchedRatesMap.containsKey(shipment.getShipmentId()))
+                         .toList();
+               if (!batch.isEmpty()) {
+                    autoSelectRatesBatch(batch);
+               }
+          }
+     }
+
+     /**
+      * Quote one batch with all carriers in parallel, publish each shipment's
+      * rates, and record the chosen rates in one SMS call. A shipment is only
+      * auto-selected when every carrier quoted it; otherwise, or when no rate
+      * meets the policy, it becomes NEEDS_REVIEW.
+      */
+     private void autoSelectRatesBatch(List<ShipmentStateDTO> batch) {
+          FetchRatesBatchRequest request = FetchRatesBatchRequest.builder()
+                    .tenantId(tenantId)
+                    .shipments(batch.stream().map(this::rateRequest).toList())
+                    .build();
+          Promise<FetchRatesBatchResult> usps = Async.function(uspsRatesBatchActivity::fetchUSPSRatesBatch, request);
+          Promise<FetchRatesBatchResult> ups = Async.function(upsRatesBatchActivity::fetchUPSRatesBatch, request);
+          Promise<FetchRatesBatchResult> fedex = Async.function(fedexRatesBatchActivity::fetchFedExRatesBatch,
+                    request);
+          Workflow.await(() -> allCompleted(List.of(usps, ups, fedex)));
+
+          Map<Long, List<CarrierRateDTO>> uspsRates = batchRates(usps);
+          Map<Long, List<CarrierRateDTO>> upsRates = batchRates(ups);
+          Map<Long, List<CarrierRateDTO>> fedexRates = batchRates(fedex);
+
+          List<SelectRateRequest> selections = new ArrayList<>();
+          Map<Long, CarrierRateDTO> chosen = new HashMap<>();
+          for (ShipmentStateDTO shipment : batch) {
+               Long shipmentId = shipment.getShipmentId();
+               // A person may have started on the shipment while the batch was out
+               if (!"CREATED".equals(shipment.getStatus()) || fetchedRatesMap.containsKey(shipmentId)) {
+                    continue;
+               }
+               FetchedRatesDTO ratesState = FetchedRatesDTO.builder()
+                         .shipmentId(shipmentId)
+                         .rates(new ArrayList<>())
+                         .build();
+               List<String> errors = new ArrayList<>();
+               ratesState.setUspsStatus(collectRates(ratesState, "USPS", usps, uspsRates.get(shipmentId), errors));
+               ratesState.setUpsStatus(collectRates(ratesState, "UPS", ups, upsRates.get(shipmentId), errors));
+               ratesState.setFedexStatus(collectRates(ratesState, "FedEx", fedex, fedexRates.get(shipmentId), errors));
+               ratesState.setStatus(overallRatesStatus(ratesState));
+               ratesState.setErrorMessage(errors.isEmpty() ? null : String.join("; ", errors));
+               fetchedRatesMap.put(shipmentId, ratesState);
+
+               if (!"COMPLETED".equals(ratesState.getStatus())) {
+                    needsReview(shipment, "Not every carrier returned rates");
+                    continue;
+               }
+               Optional<CarrierRateDTO> rate = rateSelectionPolicy.select(ratesState.getRates(),
+                         rateSelectionMaxTransitDays);
+               if (rate.isEmpty()) {
+                    needsReview(shipment, rateSelectionPolicy == RateSelectionPolicy.CHEAPEST_WITHIN_SLA
+                              ? "No rate within " + rateSelectionMaxTransitDays + " transit days"
+                              : "No rate matches " + rateSelectionPolicy);
+                    continue;
+               }
+               chosen.put(shipmentId, rate.get());
+               selections.add(SelectRateRequest.builder()
+                         .tenantId(tenantId)
+                         .shipmentId(shipmentId)
+                         .carrier(rate.get().getCarrier())
+                         .serviceLevel(rate.get().getServiceLevel())
+                         .build());
+          }
+          if (selections.isEmpty()) {
+               return;
+          }
+
+          SelectRatesResult result = smsActivities.selectRates(SelectRatesRequest.builder()
+                    .tenantId(tenantId)
+                    .selections(selections)
+                    .build());
+          for (Long shipmentId : result.getSelectedShipmentIds()) {
+               ShipmentStateDTO shipment = shipmentStates.get(shipmentId);
+               CarrierRateDTO rate = chosen.get(shipmentId);
+               if (shipment != null && rate != null && "CREATED".equals(shipment.getStatus())) {
+                    shipment.setCarrier(rate.getCarrier());
+                    shipment.setServiceLevel(rate.getServiceLevel());
+                    shipment.setStatus("RATE_SELECTED");
+               }
+          }
+          for (Long shipmentId : result.getMissingShipmentIds()) {
+               ShipmentStateDTO shipment = shipmentStates.get(shipmentId);
+               if (shipment != null && "CREATED".equals(shipment.getStatus())) {
+                    needsReview(shipment, "Shipment not found in SMS");
+               }
+          }
+     }
+
+     private static Map<Long, List<CarrierRateDTO>> batchRates(Promise<FetchRatesBatchResult> promise) {
+          Map<Long, List<CarrierRateDTO>> rates = new HashMap<>();
+          if (promise.getFailure() == null) {
+               for (FetchRatesResult result : promise.get().getResults()) {
+                    rates.put(result.getShipmentId(), result.getRates());
+               }
+          }
+          return rates;
+     }
+
+     /**
+      * Add one carrier's rates for a shipment from a batch call.
+      *
+      * @return the carrier's status for the shipment
+      */
+     private static String collectRates(FetchedRatesDTO ratesState, String carrier,
+               Promise<FetchRatesBatchResult> promise, List<CarrierRateDTO> rates, List<String> errors) {
+          if (promise.getFailure() != null) {
+               errors.add(carrier + ": " + promise.getFailure().getMessage());
+               return "FAILED";
+          }
+          if (rates == null) {
+               errors.add(carrier + ": no result for shipment");
+               return "FAILED";
+          }
+          ratesState.getRates().addAll(rates);
+          return "COMPLETED";
+     }
+
+     private static void needsReview(ShipmentStateDTO shipment, String reason) {
+          shipment.setStatus("NEEDS_REVIEW");
+          shipment.setReviewReason(reason);
+     }
+
+     /**
+      * Generate labels for the given shipments with one generateLabels call
+      * per LABEL_BATCH_SIZE shipments. SMS hands out tracking numbers from
+      * pre-allocated blocks and writes the whole batch in one statement.
+      */
+     private void generateLabelsForShipments(List<Long> shipmentIds) {
+          List<GenerateShippingLabelRequest> labels = new ArrayList<>();
+          for (Long shipmentId : shipmentIds) {
+               ShipmentStateDTO shipment = shipmentStates.get(shipmentId);
+               if (shipment == null)
+                    continue;
+               labels.add(GenerateShippingLabelRequest.builder()
+                         .tenantId(tenantId)
+                         .shipmentId(shipmentId)
+                         .orderId(shipment.getOrderId())
+                         .carrier(shipment.getCarrier())
+                         .serviceLevel(shipment.getServiceLevel())
+                         .build());
+          }
+
+          for (int start = 0; start < labels.size(); start += LABEL_BATCH_SIZE) {
+               GenerateShippingLabelsResult result = smsActivities.generateLabels(GenerateShippingLabelsRequest.builder()
+                         .tenantId(tenantId)
+                         .labels(labels.subList(start, Math.min(start + LABEL_BATCH_SIZE, labels.size())))
+                         .build());
+
+               // Update shipment state; shipments SMS does not know keep their status
+               for (GenerateShippingLabelResult label : result.getLabels()) {
+                    ShipmentStateDTO shipment = shipmentStates.get(label.getShipmentId());
+                    if (shipment == null)
+                         continue;
+                    shipment.setTrackingNumber(label.getTrackingNumber());
+                    shipment.setLabelUrl(label.getLabelUrl());
+                    shipment.setStatus("LABEL_GENERATED");
+               }
+          }
      }
 
+     /**
+      * Label generation as runs started before batched labels did it: one
+      * generateLabel call per shipment.
+      */
      private void generateLabelForShipment(Long shipmentId) {
           ShipmentStateDTO shipment = shipmentStates.get(shipmentId);
           if (shipment == null)
                return;
 
-          GenerateShippingLabelRequest labelRequest = GenerateShippingLabelRequest.builder()
+          GenerateShippingLabelResult label = smsActivities.generateLabel(GenerateShippingLabelRequest.builder()
                     .tenantId(tenantId)
                     .shipmentId(shipmentId)
                     .orderId(shipment.getOrderId())
                     .carrier(shipment.getCarrier())
                     .serviceLevel(shipment.getServiceLevel())
-                    .build();
-
-          GenerateShippingLabelResult labelResult = smsActivities.generateLabel(labelRequest);
-
-          // Update shipment state
-          shipment.setTrackingNumber(labelResult.getTrackingNumber());
-          shipment.setLabelUrl(labelResult.getLabelUrl());
+                    .build());
+          shipment.setTrackingNumber(label.getTrackingNumber());
+          shipment.setLabelUrl(label.getLabelUrl());
           shipment.setStatus("LABEL_GENERATED");
      }
 
@@ -569,6 +1752,7 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
                String reservationId = orderReservationIds.get(order.getOrderId());
                if (reservationId != null) {
                     ReleaseInventoryRequest releaseRequest = ReleaseInventoryRequest.builder()
+                              .tenantId(tenantId)
                               .orderId(String.valueOf(order.getOrderId()))
                               .reservationId(reservationId)
                               .reason(cancellationReason)
@@ -579,14 +1763,10 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
           }
 
           // Update wave status in database
-          UpdateWaveStatusRequest updateRequest = UpdateWaveStatusRequest.builder()
-                    .tenantId(tenantId)
-                    .waveId(waveId)
-                    .status("CANCELLED")
-                    .build();
-          updateWaveStatusActivity.updateStatus(updateRequest);
+          updateWaveStatus("CANCELLED");
 
           currentStep = "CANCELLED";
+          reportShardProgress();
 
           return WaveExecutionResult.builder()
                     .waveId(waveId)
@@ -618,18 +1798,30 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
 
      @Override
      public void orderPickCompleted(Long orderId) {
+          if (sharded) {
+               forwardToOrderShard(orderId, shard -> shard.orderPickCompleted(orderId));
+               return;
+          }
           ordersPickCompleted.add(orderId);
      }
 
      @Override
      public void orderPackCompleted(Long orderId) {
+          if (sharded) {
+               forwardToOrderShard(orderId, shard -> shard.orderPackCompleted(orderId));
+               return;
+          }
           ordersPackCompleted.add(orderId);
      }
 
      @Override
      public void rateSelected(Long shipmentId, String carrier, String serviceLevel) {
+          if (sharded) {
+               forwardToShipmentShard(shard -> shard.rateSelected(shipmentId, carrier, serviceLevel));
+               return;
+          }
           ShipmentStateDTO shipment = shipmentStates.get(shipmentId);
-          if (shipment != null && "CREATED".equals(shipment.getStatus())) {
+          if (shipment != null && awaitingRate(shipment)) {
                // Call activity to update the shipment in DB
                SelectRateRequest selectRequest = SelectRateRequest.builder()
                          .tenantId(tenantId)
@@ -643,20 +1835,28 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
                shipment.setCarrier(carrier);
                shipment.setServiceLevel(serviceLevel);
                shipment.setStatus("RATE_SELECTED");
+               shipment.setReviewReason(null);
           }
      }
 
      @Override
      public void printLabel(Long shipmentId) {
+          if (sharded) {
+               forwardToShipmentShard(shard -> shard.printLabel(shipmentId));
+               return;
+          }
           ShipmentStateDTO shipment = shipmentStates.get(shipmentId);
-          if (shipment != null &&
-                    ("CREATED".equals(shipment.getStatus()) || "RATE_SELECTED".equals(shipment.getStatus()))) {
+          if (shipment != null && (awaitingRate(shipment) || "RATE_SELECTED".equals(shipment.getStatus()))) {
                shipmentsToGenerateLabel.add(shipmentId);
           }
      }
 
      @Override
      public void shipmentConfirmed(Long shipmentId) {
+          if (sharded) {
+               forwardToShipmentShard(shard -> shard.shipmentConfirmed(shipmentId));
+               return;
+          }
           ShipmentStateDTO shipment = shipmentStates.get(shipmentId);
           if (shipment != null && "LABEL_GENERATED".equals(shipment.getStatus())) {
                shipmentsToConfirm.add(shipmentId);
@@ -665,12 +1865,35 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
 
      @Override
      public void fetchRates(Long shipmentId) {
+          if (sharded) {
+               forwardToShipmentShard(shard -> shard.fetchRates(shipmentId));
+               return;
+          }
           ShipmentStateDTO shipment = shipmentStates.get(shipmentId);
-          if (shipment != null && "CREATED".equals(shipment.getStatus())) {
+          if (shipment != null && awaitingRate(shipment)) {
                shipmentsToFetchRates.add(shipmentId);
           }
      }
 
+     @Override
+     public void autoSelectRates(RateSelectionPolicy policy, Integer maxTransitDays) {
+          this.rateSelectionPolicy = policy;
+          this.rateSelectionMaxTransitDays = maxTransitDays;
+          if (sharded) {
+               autoRatesForwarded = false;
+               return;
+          }
+          queueAutoRates();
+     }
+
+     @Override
+     public void shardProgress(ShardProgressDTO progress) {
+          if (!sharded)
+               return;
+          shardProgress.put(progress.getShardIndex(), progress);
+          refreshShardSummary();
+     }
+
      // Query handlers
 
      @Override
@@ -691,6 +1914,35 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
                     .build();
      }
 
+     @Override
+     public WaveSnapshotDTO getWaveSnapshot(String sinceVersion) {
+          String version = snapshotVersion();
+          if (version.equals(sinceVersion)) {
+               return WaveSnapshotDTO.builder()
+                         .version(version)
+                         .modified(false)
+                         .shardWorkflowIds(new ArrayList<>(shardWorkflowIds))
+                         .build();
+          }
+          return WaveSnapshotDTO.builder()
+                    .version(version)
+                    .modified(true)
+                    .waveId(waveId)
+                    .status(status)
+                    .currentStep(currentStep)
+                    .blockingReason(blockingReason)
+                    .totalOrders(totalOrders)
+                    .ordersAllocated(ordersAllocated)
+                    .ordersPicked(ordersPicked)
+                    .ordersPacked(ordersPacked)
+                    .ordersShipped(ordersShipped)
+                    .ordersFailed(ordersFailed)
+                    .shipments(new HashMap<>(shipmentStates))
+                    .rates(new HashMap<>(fetchedRatesMap))
+                    .shardWorkflowIds(new ArrayList<>(shardWorkflowIds))
+                    .build();
+     }
+
      @Override
      public String getCurrentStep() {
           return currentStep;
@@ -718,4 +1970,23 @@ public class WaveExecutionWorkflowImpl implements WaveExecutionWorkflow {
           }
           return rates;
      }
+
+     @Override
+     public List<String> getShardWorkflowIds() {
+          return new ArrayList<>(shardWorkflowIds);
+     }
+
+     @Override
+     public String getShardWorkflowIdForOrder(Long orderId) {
+          Integer index = shardForOrder(orderId);
+          return index == null || index >= shardWorkflowIds.size() ? null : shardWorkflowIds.get(index);
+     }
+
+     @Override
+     public String getShardWorkflowIdForShipment(Long shipmentId) {
+          // Only the shard that created a shipment knows it
+          return shardIndex != null && shipmentStates.containsKey(shipmentId)
+                    ? Workflow.getInfo().getWorkflowId()
+                    : null;
+     }
 }
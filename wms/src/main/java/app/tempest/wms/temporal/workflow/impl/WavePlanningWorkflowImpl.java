@@ -0,0 +1,117 @@
+package app.tempest.wms.temporal.workflow.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import app.tempest.common.dto.AwaitingWaveOrderDTO;
+import app.tempest.common.dto.WaveOrderDTO;
+import app.tempest.common.dto.requests.GetOrdersAwaitingWaveRequest;
+import app.tempest.common.dto.requests.GetOrdersForWaveRequest;
+import app.tempest.common.dto.requests.WavePlanningRequest;
+import app.tempest.common.dto.results.GetOrdersAwaitingWaveResult;
+import app.tempest.common.dto.results.PlanWavesResult;
+import app.tempest.common.dto.results.WavePlanningResult;
+import app.tempest.common.temporal.TaskQueues;
+import app.tempest.common.temporal.activities.oms.OmsActivities;
+import app.tempest.wms.temporal.activities.WavePlanningActivity;
+import app.tempest.wms.temporal.workflow.WavePlanningWorkflow;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.common.RetryOptions;
+import io.temporal.workflow.Workflow;
+
+public class WavePlanningWorkflowImpl implements WavePlanningWorkflow {
+
+     // OMS Activities (on oms-tasks queue)
+     private final OmsActivities omsActivities = Workflow.newActivityStub(
+               OmsActivities.class,
+               ActivityOptions.newBuilder()
+                         .setTaskQueue(TaskQueues.OMS)
+                         .setStartToCloseTimeout(Duration.ofSeconds(30))
+                         .setRetryOptions(RetryOptions.newBuilder()
+                                   .setMaximumAttempts(5)
+                                   .setInitialInterval(Duration.ofSeconds(1))
+                                   .setBackoffCoefficient(2.0)
+                                   .build())
+                         .build());
+
+     // Planning a page is quick; releasing a wave starts its workflow. A retried
+     // release finds the wave the failed attempt created by its wave number
+     private final WavePlanningActivity planningActivity = Workflow.newActivityStub(
+               WavePlanningActivity.class,
+               ActivityOptions.newBuilder()
+                         .setStartToCloseTimeout(Duration.ofMinutes(1))
+                         .setRetryOptions(RetryOptions.newBuilder()
+                                   .setMaximumAttempts(3)
+                                   .setInitialInterval(Duration.ofSeconds(5))
+                                   .build())
+                         .build());
+
+     @Override
+     public WavePlanningResult plan(WavePlanningRequest request) {
+          WavePlanningResult progress = request.getProgress() != null ? request.getProgress()
+                    : WavePlanningResult.builder().waveIds(new ArrayList<>()).build();
+
+          GetOrdersAwaitingWaveResult page = omsActivities.getOrdersAwaitingWave(
+                    GetOrdersAwaitingWaveRequest.builder()
+                              .tenantId(request.getTenantId())
+                              .afterCreatedAt(request.getAfterCreatedAt())
+                              .afterOrderId(request.getAfterOrderId())
+                              .limit(Math.min(request.getPageSize(),
+                                        request.getMaxOrders() - progress.getOrdersConsidered()))
+                              .build());
+          progress.setOrdersConsidered(progress.getOrdersConsidered() + page.getOrders().size());
+          boolean more = page.getNextAfterOrderId() != null
+                    && progress.getOrdersConsidered() < request.getMaxOrders();
+
+          List<AwaitingWaveOrderDTO> orders = new ArrayList<>();
+          if (request.getCarriedOrders() != null) {
+               orders.addAll(request.getCarriedOrders());
+          }
+          orders.addAll(page.getOrders());
+
+          List<AwaitingWaveOrderDTO> held = List.of();
+          if (!orders.isEmpty()) {
+               PlanWavesResult plan = planningActivity.planWaves(request, orders, more);
+               progress.setOrdersSkipped(progress.getOrdersSkipped() + plan.getOrdersSkipped());
+               held = plan.getHeld();
+               for (List<Long> orderIds : plan.getWaves()) {
+                    releaseWave(request, orderIds, progress);
+               }
+          }
+
+          if (more) {
+               // One page per run keeps order data from piling up in history
+               Workflow.continueAsNew(WavePlanningRequest.builder()
+                         .tenantId(request.getTenantId())
+                         .facilityId(request.getFacilityId())
+                         .pageSize(request.getPageSize())
+                         .maxOrders(request.getMaxOrders())
+                         .afterCreatedAt(page.getNextAfterCreatedAt())
+                         .afterOrderId(page.getNextAfterOrderId())
+                         .carriedOrders(held)
+                         .progress(progress)
+                         .build());
+          }
+          progress.setOrdersHeld(held.size());
+          return progress;
+     }
+
+     /**
+      * Fetch the details of one planned wave's orders and release it. Only this
+      * wave's orders pass through workflow history.
+      */
+     private void releaseWave(WavePlanningRequest request, List<Long> orderIds, WavePlanningResult progress) {
+          List<WaveOrderDTO> waveOrders = omsActivities.getOrdersForWave(GetOrdersForWaveRequest.builder()
+                    .tenantId(request.getTenantId())
+                    .orderIds(orderIds)
+                    .build())
+                    .getOrders();
+          String waveNumber = "WAVE-" + Workflow.randomUUID().toString().substring(0, 8).toUpperCase();
+          Long waveId = planningActivity.releasePlannedWave(request, waveNumber, waveOrders);
+          if (waveId != null) {
+               progress.getWaveIds().add(waveId);
+               progress.setOrdersPlanned(progress.getOrdersPlanned() + waveOrders.size());
+          }
+     }
+}
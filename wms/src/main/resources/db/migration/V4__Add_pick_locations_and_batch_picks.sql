@@ -0,0 +1,67 @@
+-- V4: Location-aware pick task generation
+-- Locations get walk coordinates, SKUs get pick slots, and identical SKUs
+-- across a wave are consolidated into one batch pick per location
+
+-- Walk coordinates used to sequence picks within a zone
+ALTER TABLE locations ADD COLUMN IF NOT EXISTS aisle INTEGER;
+ALTER TABLE locations ADD COLUMN IF NOT EXISTS bay INTEGER;
+ALTER TABLE locations ADD COLUMN IF NOT EXISTS shelf_level INTEGER;
+
+-- SKU slotting: the pick locations a SKU is stocked in
+CREATE TABLE IF NOT EXISTS sku_locations (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(255) NOT NULL,
+    facility_id BIGINT NOT NULL REFERENCES facilities(id),
+    location_id BIGINT NOT NULL REFERENCES locations(id),
+    sku VARCHAR(255) NOT NULL,
+    priority INTEGER NOT NULL DEFAULT 0,
+    created_by_user_id VARCHAR(255),
+    updated_by_user_id VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+
+    -- A SKU is slotted at most once per location
+    CONSTRAINT uk_sku_locations_tenant_location_sku UNIQUE (tenant_id, location_id, sku)
+);
+
+-- Indexes for SKU slotting
+CREATE INDEX IF NOT EXISTS idx_sku_locations_facility_sku ON sku_locations(tenant_id, facility_id, sku);
+
+-- Batch picks: one stop per SKU and location, covering every order in the wave
+CREATE TABLE IF NOT EXISTS batch_picks (
+    id BIGSERIAL PRIMARY KEY,
+    tenant_id VARCHAR(255) NOT NULL,
+    facility_id BIGINT NOT NULL REFERENCES facilities(id),
+    wave_id BIGINT REFERENCES waves(id),
+    sku VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL,
+    location_id BIGINT REFERENCES locations(id),
+    zone VARCHAR(50),
+    pick_sequence INTEGER,
+    status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    assigned_user_id VARCHAR(255),
+    picked_at TIMESTAMP WITH TIME ZONE,
+    created_by_user_id VARCHAR(255),
+    updated_by_user_id VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- Indexes for batch picks
+CREATE INDEX IF NOT EXISTS idx_batch_picks_tenant_id ON batch_picks(tenant_id);
+CREATE INDEX IF NOT EXISTS idx_batch_picks_wave_id ON batch_picks(wave_id, status);
+
+-- Pick tasks stay per order line (for sortation) and take their place in the
+-- pick sequence from the batch pick they reference
+ALTER TABLE pick_tasks ADD COLUMN IF NOT EXISTS batch_pick_id BIGINT REFERENCES batch_picks(id);
+ALTER TABLE pick_tasks ADD COLUMN IF NOT EXISTS zone VARCHAR(50);
+
+CREATE INDEX IF NOT EXISTS idx_pick_tasks_batch_pick_id ON pick_tasks(batch_pick_id);
+CREATE INDEX IF NOT EXISTS idx_pick_tasks_order_id ON pick_tasks(tenant_id, order_id);
+
+-- Comments
+COMMENT ON COLUMN locations.aisle IS 'Aisle number within the zone; aisles are walked in ascending order';
+COMMENT ON COLUMN locations.bay IS 'Bay position along the aisle, from the front cross-aisle';
+COMMENT ON COLUMN sku_locations.priority IS 'Lower is preferred when a SKU is slotted in several locations';
+COMMENT ON COLUMN batch_picks.pick_sequence IS 'Walk order across the wave: zone by zone, then along the pick path';
+COMMENT ON COLUMN batch_picks.status IS 'PENDING, IN_PROGRESS, COMPLETED, CANCELLED';
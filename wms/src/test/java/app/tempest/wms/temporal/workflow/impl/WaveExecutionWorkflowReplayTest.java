@@ -0,0 +1,21 @@
+package app.tempest.wms.temporal.workflow.impl;
+
+import org.junit.jupiter.api.Test;
+
+import io.temporal.testing.WorkflowReplayer;
+
+/**
+ * Replays a history recorded in the shape the original wave workflow wrote it:
+ * one allocate call per order line, then markOrderReserved, then one
+ * createPickWave call per order, with no version markers. A command change
+ * that is not behind a Workflow.getVersion gate fails this replay with a
+ * non-determinism error.
+ */
+class WaveExecutionWorkflowReplayTest {
+
+     @Test
+     void replaysWaveStartedBeforeVersionGates() throws Exception {
+          WorkflowReplayer.replayWorkflowExecutionFromResource(
+                    "wave-execution-baseline-history.json", WaveExecutionWorkflowImpl.class);
+     }
+}